@@ -0,0 +1,121 @@
+package dms.bench;
+
+import ch.vorburger.mariaDB4j.DB;
+import ch.vorburger.mariaDB4j.DBConfigurationBuilder;
+import dms.dao.MysqlMovieDao;
+import dms.model.Movie;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Database used by the DAO suites.
+ *
+ * <p>By default an embedded MariaDB is started on a free port, so the suites need neither
+ * a container nor an installed server. Set {@code -Ddms.bench.url=jdbc:mysql://...} (plus
+ * {@code dms.bench.user} / {@code dms.bench.pass}) to run against an existing MySQL
+ * instead. Either way the {@code movies} table is recreated and filled with a generated
+ * catalog.</p>
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+
+    /** Table definition matching {@code sql/schema.sql}, portable to MariaDB. */
+    private static final String DDL =
+            "CREATE TABLE movies (" +
+            " movie_id VARCHAR(10) NOT NULL PRIMARY KEY," +
+            " title VARCHAR(200) NOT NULL," +
+            " director VARCHAR(120) NOT NULL," +
+            " release_year INT NOT NULL," +
+            " duration_minutes INT NOT NULL," +
+            " genre VARCHAR(80) NOT NULL," +
+            " rating DOUBLE NOT NULL," +
+            " version BIGINT NOT NULL DEFAULT 0," +
+            " KEY idx_movies_title_id (title, movie_id)," +
+            " FULLTEXT KEY ft_movies_text (title, director, genre)" +
+            ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4";
+
+    private static final String SCHEMA = "dms_bench";
+
+    private final DB embedded;
+    private final String url;
+    private final String user;
+    private final String pass;
+
+    private BenchmarkDatabase(DB embedded, String url, String user, String pass) {
+        this.embedded = embedded;
+        this.url = url;
+        this.user = user;
+        this.pass = pass;
+    }
+
+    /**
+     * Starts (or attaches to) the database and loads {@code size} generated movies.
+     *
+     * @param size catalog size
+     * @return running database
+     * @throws Exception if the server cannot be started or loaded
+     */
+    static BenchmarkDatabase start(int size) throws Exception {
+        BenchmarkDatabase db;
+        String external = System.getProperty("dms.bench.url");
+        if (external != null && !external.isBlank()) {
+            db = new BenchmarkDatabase(null, external,
+                    System.getProperty("dms.bench.user", "root"), System.getProperty("dms.bench.pass", ""));
+        } else {
+            DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+            config.setPort(0); // any free port
+            DB mariadb = DB.newEmbeddedDB(config.build());
+            mariadb.start();
+            mariadb.createDB(SCHEMA);
+            db = new BenchmarkDatabase(mariadb, config.getURL(SCHEMA), "root", "");
+        }
+        db.load(CatalogGenerator.movies(size, CatalogGenerator.DEFAULT_SEED));
+        return db;
+    }
+
+    /**
+     * Opens a connected DAO with default pool settings.
+     *
+     * @return connected DAO (caller closes it)
+     * @throws SQLException if connecting fails
+     */
+    MysqlMovieDao connectDao() throws SQLException {
+        MysqlMovieDao dao = new MysqlMovieDao();
+        dao.connect(url, user, pass);
+        return dao;
+    }
+
+    /**
+     * Opens a plain JDBC connection (no pool, no statement cache).
+     *
+     * @return connection (caller closes it)
+     * @throws SQLException if connecting fails
+     */
+    Connection openConnection() throws SQLException {
+        return DriverManager.getConnection(url, user, pass);
+    }
+
+    private void load(List<Movie> movies) throws SQLException {
+        try (Connection c = openConnection(); Statement st = c.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS movies");
+            st.execute(DDL);
+        }
+        MysqlMovieDao dao = connectDao();
+        try {
+            if (!dao.insertAll(movies).isSuccess()) throw new SQLException("Failed to load benchmark catalog");
+        } finally {
+            dao.close();
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (embedded != null) embedded.stop();
+    }
+}
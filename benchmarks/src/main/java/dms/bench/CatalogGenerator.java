@@ -0,0 +1,74 @@
+package dms.bench;
+
+import dms.model.Movie;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic catalogs for the benchmarks.
+ *
+ * <p>Genres and directors are drawn from small pools, like a real catalog, so interning and
+ * dictionary encoding see realistic repetition. The same size and seed always give the same
+ * movies.</p>
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+public final class CatalogGenerator {
+
+    /** Seed used by every suite unless stated otherwise. */
+    public static final long DEFAULT_SEED = 20251018L;
+
+    private static final String[] GENRES = {
+            "Action", "Adventure", "Animation", "Comedy", "Crime", "Documentary",
+            "Drama", "Fantasy", "Horror", "Romance", "Science Fiction", "Thriller"
+    };
+
+    private static final String[] WORDS = {
+            "Night", "Return", "Shadow", "River", "Last", "Empire", "Silent", "Storm", "Garden", "Code",
+            "Winter", "Echo", "Broken", "Golden", "City", "Dream", "Iron", "Lost", "Star", "Road"
+    };
+
+    private static final String[] FIRST = {"Ana", "Ben", "Carla", "David", "Elena", "Frank", "Grace", "Hugo"};
+    private static final String[] LAST = {"Nolan", "Bigelow", "Scott", "Gerwig", "Villeneuve", "Kurosawa",
+            "Varda", "Lynch", "Coppola", "Bong"};
+
+    private static final int DIRECTOR_POOL = 500;
+
+    private CatalogGenerator() { }
+
+    /**
+     * Generates {@code size} movies with unique IDs {@code M0000000}, {@code M0000001}, ...
+     *
+     * @param size number of movies
+     * @param seed random seed
+     * @return movies in ID order
+     */
+    public static List<Movie> movies(int size, long seed) {
+        final SplittableRandom rnd = new SplittableRandom(seed);
+        final String[] directors = new String[DIRECTOR_POOL];
+        for (int i = 0; i < DIRECTOR_POOL; i++) {
+            directors[i] = FIRST[i % FIRST.length] + " " + LAST[(i / FIRST.length) % LAST.length] + " " + i;
+        }
+        final List<Movie> out = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String title = WORDS[rnd.nextInt(WORDS.length)] + " " + WORDS[rnd.nextInt(WORDS.length)] + " " + i;
+            out.add(new Movie(id(i), title, directors[rnd.nextInt(DIRECTOR_POOL)],
+                    1950 + rnd.nextInt(75), 80 + rnd.nextInt(100),
+                    GENRES[rnd.nextInt(GENRES.length)], rnd.nextInt(101) / 10.0));
+        }
+        return out;
+    }
+
+    /**
+     * Returns the ID of the {@code i}-th generated movie.
+     *
+     * @param i index
+     * @return movie ID
+     */
+    public static String id(int i) {
+        return String.format("M%07d", i);
+    }
+}
@@ -0,0 +1,90 @@
+package dms.bench;
+
+import dms.dao.MysqlMovieDao;
+import dms.model.Movie;
+import dms.model.MovieColumns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MysqlMovieDao} read paths against a real database (embedded MariaDB by default,
+ * see {@link BenchmarkDatabase}).
+ *
+ * <pre>{@code
+ * java -jar benchmarks/target/benchmarks.jar DaoBenchmark -p size=10000
+ * }</pre>
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoBenchmark {
+
+    /** Catalog size loaded into the database. */
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private BenchmarkDatabase db;
+    private MysqlMovieDao dao;
+    private SplittableRandom rnd;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        db = BenchmarkDatabase.start(size);
+        dao = db.connectDao();
+        rnd = new SplittableRandom(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        dao.close();
+        db.close();
+    }
+
+    @Benchmark
+    public List<Movie> findAll() throws Exception {
+        return dao.findAll();
+    }
+
+    @Benchmark
+    public MovieColumns loadColumns() throws Exception {
+        return dao.loadColumns(MysqlMovieDao.DEFAULT_FETCH_SIZE);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Optional<Movie> findById() throws Exception {
+        return dao.findById(CatalogGenerator.id(rnd.nextInt(size)));
+    }
+
+    @Benchmark
+    public List<Movie> findFirstPage() throws Exception {
+        return dao.findPage(null, null, 100);
+    }
+
+    @Benchmark
+    public List<Movie> searchByTitle() throws Exception {
+        return dao.searchByTitle("Storm");
+    }
+}
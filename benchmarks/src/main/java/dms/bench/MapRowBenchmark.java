@@ -0,0 +1,98 @@
+package dms.bench;
+
+import dms.dao.MovieRowMapper;
+import dms.dao.StringInterner;
+import dms.model.Movie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row mapping cost: the former by-name {@code mapRow} versus {@link MovieRowMapper}
+ * (index access, interned genre/director, no re-trimming). Both variants run the same query
+ * on the same connection, so the difference is the mapping itself. Run with {@code -prof gc}
+ * to compare allocations per operation:
+ *
+ * <pre>{@code
+ * java -jar benchmarks/target/benchmarks.jar MapRowBenchmark -prof gc
+ * }</pre>
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapRowBenchmark {
+
+    private static final String SQL = "SELECT movie_id,title,director,release_year,duration_minutes,genre,rating " +
+            "FROM movies ORDER BY title, movie_id";
+
+    /** Catalog size (rows mapped per operation). */
+    @Param({"1000", "10000"})
+    public int size;
+
+    private BenchmarkDatabase db;
+    private Connection connection;
+    private PreparedStatement statement;
+    private final StringInterner interner = new StringInterner();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        db = BenchmarkDatabase.start(size);
+        connection = db.openConnection();
+        statement = connection.prepareStatement(SQL);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        statement.close();
+        connection.close();
+        db.close();
+    }
+
+    /** Baseline: the original by-name lookup plus trimming constructor. */
+    @Benchmark
+    public void byName(Blackhole bh) throws Exception {
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(new Movie(
+                        rs.getString("movie_id"),
+                        rs.getString("title"),
+                        rs.getString("director"),
+                        rs.getInt("release_year"),
+                        rs.getInt("duration_minutes"),
+                        rs.getString("genre"),
+                        rs.getDouble("rating")));
+            }
+        }
+    }
+
+    /** Current path used by {@code MysqlMovieDao}. */
+    @Benchmark
+    public void rowMapper(Blackhole bh) throws Exception {
+        try (ResultSet rs = statement.executeQuery()) {
+            MovieRowMapper mapper = new MovieRowMapper(rs, interner);
+            while (rs.next()) bh.consume(mapper.map(rs));
+        }
+    }
+}
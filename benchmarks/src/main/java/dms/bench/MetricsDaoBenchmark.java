@@ -0,0 +1,90 @@
+package dms.bench;
+
+import dms.dao.InMemoryMovieDao;
+import dms.dao.MetricsMovieDao;
+import dms.model.Movie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of {@link MetricsMovieDao}: the same {@code findById} against a bare
+ * {@link InMemoryMovieDao} and against the decorated one. The difference between the two
+ * is the cost of timing and counting one call. No database.
+ *
+ * <pre>{@code
+ * java -jar benchmarks/target/benchmarks.jar MetricsDaoBenchmark
+ * }</pre>
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsDaoBenchmark {
+
+    /** Catalog size held by the in-memory DAO. */
+    @Param({"10000"})
+    public int size;
+
+    private InMemoryMovieDao plain;
+    private MetricsMovieDao metered;
+
+    /** IDs built up front; formatting one per call would cost more than the decorator. */
+    private String[] idPool;
+
+    /** Per-thread random source, so the threaded case does not contend on it. */
+    @State(Scope.Thread)
+    public static class Ids {
+        private final SplittableRandom rnd = new SplittableRandom(42);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        plain = new InMemoryMovieDao(CatalogGenerator.movies(size, CatalogGenerator.DEFAULT_SEED));
+        metered = new MetricsMovieDao(plain);
+        idPool = new String[size];
+        for (int i = 0; i < size; i++) idPool[i] = CatalogGenerator.id(i);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        metered.close();
+    }
+
+    @Benchmark
+    public Optional<Movie> findByIdPlain(Ids ids) throws Exception {
+        return plain.findById(idPool[ids.rnd.nextInt(size)]);
+    }
+
+    @Benchmark
+    public Optional<Movie> findByIdMetered(Ids ids) throws Exception {
+        return metered.findById(idPool[ids.rnd.nextInt(size)]);
+    }
+
+    /** Four callers updating the same histogram and counters. */
+    @Benchmark
+    @Threads(4)
+    public Optional<Movie> findByIdMeteredContended(Ids ids) throws Exception {
+        return metered.findById(idPool[ids.rnd.nextInt(size)]);
+    }
+}
@@ -0,0 +1,86 @@
+package dms.bench;
+
+import dms.model.Movie;
+import dms.service.MovieService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory model and service hot paths: {@link Movie} construction, {@code equals}/{@code hashCode}
+ * (through hash-set lookups) and {@link MovieService#validateMovie(Movie)}. No database.
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovieBenchmark {
+
+    /** Catalog size (movies processed per operation). */
+    @Param({"1000", "100000"})
+    public int size;
+
+    private List<Movie> movies;
+    private Set<Movie> set;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        movies = CatalogGenerator.movies(size, CatalogGenerator.DEFAULT_SEED);
+        set = new HashSet<>(movies);
+    }
+
+    @Benchmark
+    public void construct(Blackhole bh) {
+        for (Movie m : movies) {
+            bh.consume(new Movie(m.getMovieId(), m.getTitle(), m.getDirector(), m.getReleaseYear(),
+                    m.getDurationMinutes(), m.getGenre(), m.getRating()));
+        }
+    }
+
+    @Benchmark
+    public void constructNormalized(Blackhole bh) {
+        for (Movie m : movies) {
+            bh.consume(Movie.ofNormalized(m.getMovieId(), m.getTitle(), m.getDirector(), m.getReleaseYear(),
+                    m.getDurationMinutes(), m.getGenre(), m.getRating()));
+        }
+    }
+
+    @Benchmark
+    public int hashCodes() {
+        int h = 0;
+        for (Movie m : movies) h += m.hashCode();
+        return h;
+    }
+
+    @Benchmark
+    public int setLookups() {
+        int hits = 0;
+        for (Movie m : movies) if (set.contains(m)) hits++;
+        return hits;
+    }
+
+    @Benchmark
+    public void validate() {
+        for (Movie m : movies) MovieService.validateMovie(m);
+    }
+}
@@ -0,0 +1,80 @@
+package dms.bench;
+
+import dms.gui.MovieTableModel;
+import dms.model.Movie;
+import dms.model.MovieColumns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Table population and rendering reads: encoding a result into {@link MovieColumns},
+ * handing it to {@link MovieTableModel}, and reading one screenful of cells the way
+ * {@code JTable} paints. Runs headless (no window is created).
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TableModelBenchmark {
+
+    /** Rows loaded into the model. */
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private List<Movie> movies;
+    private MovieTableModel model;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        movies = CatalogGenerator.movies(size, CatalogGenerator.DEFAULT_SEED);
+        model = new MovieTableModel();
+        model.setMovies(movies);
+    }
+
+    @Benchmark
+    public MovieColumns encodeColumns() {
+        return MovieColumns.of(movies);
+    }
+
+    @Benchmark
+    public MovieTableModel populateModel() {
+        MovieTableModel m = new MovieTableModel();
+        m.setMovies(movies);
+        return m;
+    }
+
+    /** Reads 50 rows x 7 columns from the middle of the table. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void paintScreenful(Blackhole bh) {
+        int first = Math.max(0, size / 2 - 25);
+        int last = Math.min(size, first + 50);
+        for (int row = first; row < last; row++) {
+            for (int col = 0; col < model.getColumnCount(); col++) bh.consume(model.getValueAt(row, col));
+        }
+    }
+
+    @Benchmark
+    public double averageDurationColumnar() {
+        return model.getColumns().getAverageDuration();
+    }
+}
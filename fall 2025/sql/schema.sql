@@ -40,12 +40,17 @@ CREATE TABLE movies (
                         duration_minutes INT          NOT NULL,         -- Duration in minutes (1..999)
                         genre            VARCHAR(80)  NOT NULL,         -- Genre (e.g., Action, Drama)
                         rating           DOUBLE       NOT NULL,         -- Rating between 0.0 and 10.0
+                        version          BIGINT       NOT NULL DEFAULT 0, -- Optimistic-locking version (V4)
 
     -- Constraints
                         CONSTRAINT pk_movies PRIMARY KEY (movie_id),
                         CONSTRAINT chk_release_year CHECK (release_year BETWEEN 1888 AND 2100),
                         CONSTRAINT chk_duration CHECK (duration_minutes BETWEEN 1 AND 999),
-                        CONSTRAINT chk_rating CHECK (rating BETWEEN 0.0 AND 10.0)
+                        CONSTRAINT chk_rating CHECK (rating BETWEEN 0.0 AND 10.0),
+
+    -- Indexes
+                        INDEX idx_movies_title_id (title, movie_id),                      -- Keyset pagination (V2)
+                        FULLTEXT INDEX ft_movies_text (title, director, genre)            -- Ranked text search (V3)
 );
 
 -- -------------------------------
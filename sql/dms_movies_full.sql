@@ -38,7 +38,10 @@ CREATE TABLE `movies` (
   `duration_minutes` int NOT NULL,
   `genre` varchar(80) NOT NULL,
   `rating` double NOT NULL,
+  `version` bigint NOT NULL DEFAULT '0',
   PRIMARY KEY (`movie_id`),
+  KEY `idx_movies_title_id` (`title`,`movie_id`),
+  FULLTEXT KEY `ft_movies_text` (`title`,`director`,`genre`),
   CONSTRAINT `chk_duration` CHECK ((`duration_minutes` between 1 and 999)),
   CONSTRAINT `chk_rating` CHECK ((`rating` between 0.0 and 10.0)),
   CONSTRAINT `chk_release_year` CHECK ((`release_year` between 1888 and 2100))
@@ -51,7 +54,7 @@ CREATE TABLE `movies` (
 
 LOCK TABLES `movies` WRITE;
 /*!40000 ALTER TABLE `movies` DISABLE KEYS */;
-INSERT INTO `movies` VALUES ('AVA2015','Avatar','James Cameron',2009,162,'Science Fiction',8),('AVA2022','Avatar: The Way of Water','James Cameron',2022,192,'Science Fiction',7.6),('DKN2008','The Dark Knight','Christopher Nolan',2008,152,'Action',9),('FOR1994','Forrest Gump','Robert Zemeckis',1994,142,'Drama',8.8),('FUR2015','Mad Max: Fury Road','George Miller',2015,120,'Action',8.1),('GLA2000','Gladiator','Ridley Scott',2000,155,'Action',8.5),('GOD1972','The Godfather','Francis Ford Coppola',1972,175,'Crime',9.2),('GUA2014','Guardians of the Galaxy','James Gunn',2014,121,'Action',8),('INT2010','Inception','Christopher Nolan',2010,148,'Science Fiction',9),('JUR1993','Jurassic Park','Steven Spielberg',1993,127,'Adventure',8.2),('LOT2001','The Fellowship of the Ring','Peter Jackson',2001,178,'Fantasy',8.8),('LOT2002','The Two Towers','Peter Jackson',2002,179,'Fantasy',8.7),('LOT2003','The Return of the King','Peter Jackson',2003,201,'Fantasy',9),('MAT1999','The Matrix','Lana Wachowski, Lilly Wachowski',1999,136,'Science Fiction',8.7),('PAR2019','Parasite','Bong Joon-ho',2019,132,'Thriller',8.6),('PUL1994','Pulp Fiction','Quentin Tarantino',1994,154,'Crime',8.9),('SCH1993','Schindler\'s List','Steven Spielberg',1993,195,'Drama',9),('STA1977','Star Wars: A New Hope','George Lucas',1977,121,'Science Fiction',8.6),('TIT1997','Titanic','James Cameron',1997,195,'Romance',7.9),('WHI2014','Whiplash','Damien Chazelle',2014,106,'Drama',8.5);
+INSERT INTO `movies` VALUES ('AVA2015','Avatar','James Cameron',2009,162,'Science Fiction',8,0),('AVA2022','Avatar: The Way of Water','James Cameron',2022,192,'Science Fiction',7.6,0),('DKN2008','The Dark Knight','Christopher Nolan',2008,152,'Action',9,0),('FOR1994','Forrest Gump','Robert Zemeckis',1994,142,'Drama',8.8,0),('FUR2015','Mad Max: Fury Road','George Miller',2015,120,'Action',8.1,0),('GLA2000','Gladiator','Ridley Scott',2000,155,'Action',8.5,0),('GOD1972','The Godfather','Francis Ford Coppola',1972,175,'Crime',9.2,0),('GUA2014','Guardians of the Galaxy','James Gunn',2014,121,'Action',8,0),('INT2010','Inception','Christopher Nolan',2010,148,'Science Fiction',9,0),('JUR1993','Jurassic Park','Steven Spielberg',1993,127,'Adventure',8.2,0),('LOT2001','The Fellowship of the Ring','Peter Jackson',2001,178,'Fantasy',8.8,0),('LOT2002','The Two Towers','Peter Jackson',2002,179,'Fantasy',8.7,0),('LOT2003','The Return of the King','Peter Jackson',2003,201,'Fantasy',9,0),('MAT1999','The Matrix','Lana Wachowski, Lilly Wachowski',1999,136,'Science Fiction',8.7,0),('PAR2019','Parasite','Bong Joon-ho',2019,132,'Thriller',8.6,0),('PUL1994','Pulp Fiction','Quentin Tarantino',1994,154,'Crime',8.9,0),('SCH1993','Schindler\'s List','Steven Spielberg',1993,195,'Drama',9,0),('STA1977','Star Wars: A New Hope','George Lucas',1977,121,'Science Fiction',8.6,0),('TIT1997','Titanic','James Cameron',1997,195,'Romance',7.9,0),('WHI2014','Whiplash','Damien Chazelle',2014,106,'Drama',8.5,0);
 /*!40000 ALTER TABLE `movies` ENABLE KEYS */;
 UNLOCK TABLES;
 
@@ -0,0 +1,13 @@
+-- ==========================================================
+--  Migration V2: composite index for keyset pagination
+--  Supports: SELECT ... WHERE title > ? OR (title = ? AND movie_id > ?)
+--            ORDER BY title, movie_id LIMIT ?
+--  (spelled out rather than as (title, movie_id) > (?, ?), which
+--  MySQL does not reliably turn into a range seek on this index)
+--  Lets MySQL seek directly to the page start instead of
+--  scanning and discarding OFFSET rows.
+-- ==========================================================
+USE dms_movies;
+
+ALTER TABLE movies
+    ADD INDEX idx_movies_title_id (title, movie_id);
@@ -0,0 +1,11 @@
+-- ==========================================================
+--  Migration V3: FULLTEXT index for ranked text search
+--  Supports: MATCH(title, director, genre) AGAINST (? IN NATURAL LANGUAGE MODE)
+--            MATCH(title, director, genre) AGAINST (? IN BOOLEAN MODE)
+--  The column list must match the MATCH() list exactly.
+--  Note: InnoDB ignores words shorter than innodb_ft_min_token_size (3).
+-- ==========================================================
+USE dms_movies;
+
+ALTER TABLE movies
+    ADD FULLTEXT INDEX ft_movies_text (title, director, genre);
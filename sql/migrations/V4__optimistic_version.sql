@@ -0,0 +1,12 @@
+-- ==========================================================
+--  Migration V4: optimistic-locking version column
+--  Supports: UPDATE movies SET ..., version = version + 1
+--            WHERE movie_id = ? AND version = ?
+--  A conditional update that matches 0 rows means another client
+--  changed (or deleted) the row since it was read; no locks are held.
+--  Existing rows start at version 0.
+-- ==========================================================
+USE dms_movies;
+
+ALTER TABLE movies
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER rating;
@@ -38,7 +38,10 @@ CREATE TABLE `movies` (
   `duration_minutes` int NOT NULL,
   `genre` varchar(80) NOT NULL,
   `rating` double NOT NULL,
+  `version` bigint NOT NULL DEFAULT '0',
   PRIMARY KEY (`movie_id`),
+  KEY `idx_movies_title_id` (`title`,`movie_id`),
+  FULLTEXT KEY `ft_movies_text` (`title`,`director`,`genre`),
   CONSTRAINT `chk_duration` CHECK ((`duration_minutes` between 1 and 999)),
   CONSTRAINT `chk_rating` CHECK ((`rating` between 0.0 and 10.0)),
   CONSTRAINT `chk_release_year` CHECK ((`release_year` between 1888 and 2100))
@@ -1,5 +1,6 @@
 package dms.app;
 
+import dms.dao.MysqlMovieDao;
 import dms.gui.MovieTableFrameMysql;
 
 import javax.swing.JPasswordField;
@@ -16,6 +17,7 @@ import javax.swing.SwingUtilities;
  *
  * <p><b>Responsibilities</b></p>
  * <ul>
+ *   <li>Load the MySQL JDBC driver in the background while the prompts are shown.</li>
  *   <li>Prompt the user for MySQL host, username, and password.</li>
  *   <li>Construct a JDBC URL targeting the {@code dms_movies} schema.</li>
  *   <li>Store {@code JDBC_URL}, {@code DB_USER}, and {@code DB_PASS} as system properties.</li>
@@ -48,6 +50,11 @@ public final class GuiMainMysql {
    * @param args command-line arguments (unused)
    */
   public static void main(String[] args) {
+    // Load the JDBC driver while the user answers the connection prompts.
+    final Thread preload = new Thread(MysqlMovieDao::preloadDriver, "dms-driver-preload");
+    preload.setDaemon(true);
+    preload.start();
+
     SwingUtilities.invokeLater(() -> {
       try {
         // --- Step 1: Request MySQL Host ---
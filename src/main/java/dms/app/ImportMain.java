@@ -0,0 +1,100 @@
+package dms.app;
+
+import dms.dao.MysqlMovieDao;
+import dms.service.ImportReport;
+import dms.service.MovieImporter;
+import dms.service.MovieService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Headless entry point for bulk-importing a CSV/TSV movie file into MySQL.
+ *
+ * <p><b>Usage</b></p>
+ * <pre>{@code
+ *   java -DJDBC_URL=jdbc:mysql://localhost:3306/dms_movies -DDB_USER=root -DDB_PASS=secret \
+ *        -cp movie-manager-dms-1.0.0.jar dms.app.ImportMain movies.csv [--load-data] [--writers N] [--chunk N]
+ * }</pre>
+ *
+ * <p>Connection settings are read from system properties first, then environment variables
+ * ({@code JDBC_URL}, {@code DB_USER}, {@code DB_PASS}), like the GUI.</p>
+ *
+ * @author  Luis
+ * @version 1.1
+ * @since   1.1
+ * @see     dms.service.MovieImporter
+ */
+public final class ImportMain {
+
+  /** Not instantiable. Use {@link #main(String[])}. */
+  private ImportMain() { }
+
+  /**
+   * Imports the file given as first argument and prints a summary.
+   *
+   * @param args file path followed by optional flags
+   */
+  public static void main(String[] args) {
+    if (args.length == 0) {
+      System.err.println("Usage: ImportMain <file.csv|file.tsv> [--load-data] [--writers N] [--chunk N]");
+      System.exit(2);
+    }
+    final Path file = Paths.get(args[0]);
+    if (!Files.isReadable(file)) {
+      System.err.println("Cannot read file: " + file);
+      System.exit(2);
+    }
+
+    final MysqlMovieDao dao = new MysqlMovieDao();
+    final MovieImporter importer = new MovieImporter(new MovieService(dao));
+    int exitCode = 0;
+    try {
+      for (int i = 1; i < args.length; i++) {
+        switch (args[i]) {
+          case "--load-data": importer.setUseLoadData(true); break;
+          case "--writers":   importer.setWriters(Integer.parseInt(args[++i])); break;
+          case "--chunk":     importer.setChunkSize(Integer.parseInt(args[++i])); break;
+          default:
+            System.err.println("Unknown option: " + args[i]);
+            System.exit(2);
+        }
+      }
+
+      dao.connect(
+              getPropOrEnv("JDBC_URL",
+                      "jdbc:mysql://localhost:3306/dms_movies?serverTimezone=UTC&useUnicode=true&characterEncoding=utf8"),
+              getPropOrEnv("DB_USER", "root"),
+              getPropOrEnv("DB_PASS", ""));
+      importer.setProgressListener((read, inserted, rejected) ->
+              System.out.printf("\rread=%d inserted=%d rejected=%d", read, inserted, rejected));
+
+      final ImportReport report = importer.importFile(file);
+      System.out.println();
+      System.out.println(report);
+      report.getRejections().forEach(r -> System.out.println("  rejected " + r));
+    } catch (Exception e) {
+      System.err.println("Import failed: " + e.getMessage());
+      exitCode = 1;
+    } finally {
+      try { dao.close(); } catch (Exception ignore) { }
+    }
+    System.exit(exitCode);
+  }
+
+  /**
+   * Reads a value from System properties first, then environment variables, or returns a default.
+   *
+   * @param key    property/env key
+   * @param defVal default value if not found
+   * @return resolved value
+   */
+  private static String getPropOrEnv(String key, String defVal) {
+    String v = System.getProperty(key);
+    if (v != null && !v.isBlank()) return v;
+    v = System.getenv(key);
+    if (v != null && !v.isBlank()) return v;
+    return defVal;
+  }
+}
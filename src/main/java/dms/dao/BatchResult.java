@@ -0,0 +1,126 @@
+package dms.dao;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-row outcome of a bulk DAO operation ({@code insertAll}, {@code updateAll}, {@code deleteAll}).
+ *
+ * <p>Each input row, in input order, gets one of:</p>
+ * <ul>
+ *   <li>a value {@code >= 0}: number of rows affected by that statement</li>
+ *   <li>{@link Statement#SUCCESS_NO_INFO}: executed, but the driver did not report a count
+ *       (typical for rewritten multi-row inserts)</li>
+ *   <li>{@link Statement#EXECUTE_FAILED}: not applied (its chunk failed and was rolled back)</li>
+ * </ul>
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+public final class BatchResult {
+
+    private final int[] rowCounts;
+    private final List<SQLException> errors;
+
+    /**
+     * Creates a result.
+     *
+     * @param rowCounts per-row counts (not copied)
+     * @param errors    failures of rolled-back chunks, in order of occurrence
+     */
+    public BatchResult(int[] rowCounts, List<SQLException> errors) {
+        if (rowCounts == null) throw new IllegalArgumentException("rowCounts cannot be null");
+        this.rowCounts = rowCounts;
+        this.errors = (errors == null) ? List.of() : Collections.unmodifiableList(new ArrayList<>(errors));
+    }
+
+    /**
+     * Returns the number of input rows.
+     *
+     * @return row count of the request
+     */
+    public int size() {
+        return rowCounts.length;
+    }
+
+    /**
+     * Returns the raw count reported for the row at {@code index}.
+     *
+     * @param index input position
+     * @return affected rows, {@link Statement#SUCCESS_NO_INFO} or {@link Statement#EXECUTE_FAILED}
+     */
+    public int getRowCount(int index) {
+        return rowCounts[index];
+    }
+
+    /**
+     * Indicates whether the row at {@code index} changed at least one database row.
+     * An update or delete whose ID does not exist reports {@code false}.
+     *
+     * @param index input position
+     * @return {@code true} if applied and affecting a row
+     */
+    public boolean isApplied(int index) {
+        int c = rowCounts[index];
+        return c > 0 || c == Statement.SUCCESS_NO_INFO;
+    }
+
+    /**
+     * Indicates whether the row at {@code index} was rolled back because its chunk failed.
+     *
+     * @param index input position
+     * @return {@code true} if the row was not applied due to an error
+     */
+    public boolean isFailed(int index) {
+        return rowCounts[index] == Statement.EXECUTE_FAILED;
+    }
+
+    /**
+     * Returns how many rows were applied.
+     *
+     * @return number of indexes for which {@link #isApplied(int)} is true
+     */
+    public int getAppliedCount() {
+        int n = 0;
+        for (int i = 0; i < rowCounts.length; i++) if (isApplied(i)) n++;
+        return n;
+    }
+
+    /**
+     * Returns how many rows failed.
+     *
+     * @return number of indexes for which {@link #isFailed(int)} is true
+     */
+    public int getFailedCount() {
+        int n = 0;
+        for (int c : rowCounts) if (c == Statement.EXECUTE_FAILED) n++;
+        return n;
+    }
+
+    /**
+     * Returns the errors raised by failed chunks.
+     *
+     * @return unmodifiable list (empty if everything succeeded)
+     */
+    public List<SQLException> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Indicates whether no chunk failed.
+     *
+     * @return {@code true} if {@link #getErrors()} is empty
+     */
+    public boolean isSuccess() {
+        return errors.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{rows=" + rowCounts.length + ", applied=" + getAppliedCount()
+                + ", failed=" + getFailedCount() + ", errors=" + errors.size() + '}';
+    }
+}
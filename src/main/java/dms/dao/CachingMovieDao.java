@@ -0,0 +1,400 @@
+package dms.dao;
+
+import dms.model.Movie;
+import dms.model.MovieColumns;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Read-through caching decorator for any {@link MovieDao}.
+ *
+ * <p><b>Responsibilities:</b></p>
+ * <ul>
+ *   <li>Cache {@link #findById(String)} results, including "not found" answers</li>
+ *   <li>Bound the cache by entry count (least-recently-used eviction) and by age (TTL)</li>
+ *   <li>Invalidate affected IDs on every insert/update/delete, single or bulk</li>
+ *   <li>Count hits, misses and evictions</li>
+ * </ul>
+ *
+ * <p>All other reads ({@code findAll}, {@code streamAll}, {@code loadColumns},
+ * {@code findPage}, the searches) and the connection lifecycle pass through unchanged.
+ * Cached movies are copied on the way in and out, so callers may freely mutate the
+ * instances they receive. Writes that bypass this decorator (e.g. another
+ * process) become visible at the latest after the TTL.</p>
+ *
+ * <h2>Usage</h2>
+ * <pre>{@code
+ * MysqlMovieDao mysql = new MysqlMovieDao();
+ * MovieService service = new MovieService(new CachingMovieDao(mysql, 10_000, 60_000));
+ * }</pre>
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+public class CachingMovieDao implements DelegatingMovieDao {
+
+    /** Default maximum number of cached IDs. */
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    /** Default time-to-live of a cached entry (ms). */
+    public static final long DEFAULT_TTL_MS = 60_000;
+
+    private final MovieDao delegate;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    /** Access-ordered map giving LRU iteration order; guarded by {@code this}. */
+    private final LinkedHashMap<String, CacheEntry> cache;
+
+    /**
+     * Incremented by every write. A miss only stores its result if no write happened
+     * while it was loading, so a concurrent update cannot be overwritten by a stale read.
+     */
+    private final AtomicLong writeEpoch = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Wraps a DAO with default size and TTL.
+     *
+     * @param delegate DAO to wrap (non-null)
+     */
+    public CachingMovieDao(MovieDao delegate) {
+        this(delegate, DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MS);
+    }
+
+    /**
+     * Wraps a DAO with explicit bounds.
+     *
+     * @param delegate   DAO to wrap (non-null)
+     * @param maxEntries maximum cached IDs (&gt; 0)
+     * @param ttlMillis  entry lifetime in milliseconds (&gt; 0)
+     * @throws IllegalArgumentException if an argument is invalid
+     */
+    public CachingMovieDao(MovieDao delegate, int maxEntries, long ttlMillis) {
+        if (delegate == null) throw new IllegalArgumentException("delegate cannot be null");
+        if (maxEntries <= 0) throw new IllegalArgumentException("maxEntries must be > 0");
+        if (ttlMillis <= 0) throw new IllegalArgumentException("ttlMillis must be > 0");
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.cache = new LinkedHashMap<>(Math.min(maxEntries, 1024) * 2, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                if (size() > CachingMovieDao.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public MovieDao getDelegate() {
+        return delegate;
+    }
+
+    // ---------- CONNECTION ----------
+
+    @Override
+    public void connect(String jdbcUrl, String user, String pass) throws SQLException {
+        delegate.connect(jdbcUrl, user, pass);
+        invalidateAll();
+    }
+
+    @Override
+    public boolean isConnected() {
+        return delegate.isConnected();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        delegate.close();
+    }
+
+    @Override
+    public void flush() throws SQLException {
+        delegate.flush();
+    }
+
+    // ---------- READ OPERATIONS ----------
+
+    @Override
+    public List<Movie> findAll() throws SQLException {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<Movie> streamAll(int fetchSize) throws SQLException {
+        return delegate.streamAll(fetchSize);
+    }
+
+    @Override
+    public MovieColumns loadColumns(int fetchSize) throws SQLException {
+        return delegate.loadColumns(fetchSize);
+    }
+
+    @Override
+    public List<Movie> findPage(String afterTitle, String afterId, int limit) throws SQLException {
+        return delegate.findPage(afterTitle, afterId, limit);
+    }
+
+    @Override
+    public List<Movie> searchByTitle(String titleFragment) throws SQLException {
+        return delegate.searchByTitle(titleFragment);
+    }
+
+    @Override
+    public List<Movie> searchByTitlePage(String titleFragment, String afterTitle, String afterId, int limit)
+            throws SQLException {
+        return delegate.searchByTitlePage(titleFragment, afterTitle, afterId, limit);
+    }
+
+    @Override
+    public List<Movie> fullTextSearch(String query, FullTextMode mode, int limit) throws SQLException {
+        return delegate.fullTextSearch(query, mode, limit);
+    }
+
+    @Override
+    public CatalogSummary summarize() throws SQLException {
+        return delegate.summarize();
+    }
+
+    @Override
+    public Map<String, Long> countBy(GroupBy groupBy) throws SQLException {
+        return delegate.countBy(groupBy);
+    }
+
+    /**
+     * Returns the cached answer for {@code id} when present and fresh; otherwise loads it
+     * from the delegate and caches the result (found or not).
+     *
+     * @param rawId movie ID (surrounding whitespace is ignored)
+     * @return the movie, or empty if it does not exist
+     * @throws SQLException if the delegate fails
+     */
+    @Override
+    public Optional<Movie> findById(String rawId) throws SQLException {
+        if (rawId == null || rawId.isBlank()) {
+            throw new IllegalArgumentException("Movie ID cannot be empty");
+        }
+        final String id = rawId.trim();   // same key as invalidate()
+        final long now = System.nanoTime();
+        synchronized (this) {
+            CacheEntry e = cache.get(id);
+            if (e != null) {
+                if (now - e.loadedAtNanos < ttlNanos) {
+                    hits.incrementAndGet();
+                    return e.movie == null ? Optional.empty() : Optional.of(copy(e.movie));
+                }
+                cache.remove(id);
+                evictions.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+        final long epoch = writeEpoch.get();
+        final Optional<Movie> loaded = delegate.findById(id);
+        synchronized (this) {
+            if (writeEpoch.get() == epoch) {
+                cache.put(id, new CacheEntry(loaded.map(CachingMovieDao::copy).orElse(null), now));
+            }
+        }
+        return loaded;
+    }
+
+    // ---------- WRITE OPERATIONS ----------
+
+    @Override
+    public Movie insert(Movie movie) throws SQLException {
+        try {
+            return delegate.insert(movie);
+        } finally {
+            if (movie != null) invalidate(movie.getMovieId());
+        }
+    }
+
+    @Override
+    public boolean update(Movie movie) throws SQLException {
+        try {
+            return delegate.update(movie);
+        } finally {
+            if (movie != null) invalidate(movie.getMovieId());
+        }
+    }
+
+    @Override
+    public boolean updateIfUnchanged(Movie movie) throws SQLException {
+        try {
+            return delegate.updateIfUnchanged(movie);
+        } finally {
+            if (movie != null) invalidate(movie.getMovieId());
+        }
+    }
+
+    @Override
+    public boolean upsert(Movie movie) throws SQLException {
+        try {
+            return delegate.upsert(movie);
+        } finally {
+            if (movie != null) invalidate(movie.getMovieId());
+        }
+    }
+
+    @Override
+    public boolean delete(String id) throws SQLException {
+        try {
+            return delegate.delete(id);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public BatchResult insertAll(Collection<Movie> movies) throws SQLException {
+        try {
+            return delegate.insertAll(movies);
+        } finally {
+            invalidateMovies(movies);
+        }
+    }
+
+    @Override
+    public BatchResult updateAll(Collection<Movie> movies) throws SQLException {
+        try {
+            return delegate.updateAll(movies);
+        } finally {
+            invalidateMovies(movies);
+        }
+    }
+
+    @Override
+    public BatchResult upsertAll(Collection<Movie> movies) throws SQLException {
+        try {
+            return delegate.upsertAll(movies);
+        } finally {
+            invalidateMovies(movies);
+        }
+    }
+
+    @Override
+    public BatchResult deleteAll(Collection<String> ids) throws SQLException {
+        try {
+            return delegate.deleteAll(ids);
+        } finally {
+            if (ids != null) {
+                synchronized (this) {
+                    writeEpoch.incrementAndGet();
+                    for (String id : ids) if (id != null) cache.remove(id.trim());
+                }
+            }
+        }
+    }
+
+    // ---------- CACHE MANAGEMENT ----------
+
+    /**
+     * Drops the cached entry for one ID.
+     *
+     * @param id movie ID (ignored if null)
+     */
+    public synchronized void invalidate(String id) {
+        writeEpoch.incrementAndGet();
+        if (id != null) cache.remove(id.trim());
+    }
+
+    /** Drops every cached entry (e.g. after an external bulk load). */
+    public synchronized void invalidateAll() {
+        writeEpoch.incrementAndGet();
+        cache.clear();
+    }
+
+    /**
+     * Drops the cached entries of a collection of movies.
+     *
+     * @param movies movies whose IDs are invalidated (null-safe)
+     */
+    private void invalidateMovies(Collection<Movie> movies) {
+        if (movies == null) return;
+        synchronized (this) {
+            writeEpoch.incrementAndGet();
+            for (Movie m : movies) if (m != null) cache.remove(m.getMovieId());
+        }
+    }
+
+    // ---------- STATISTICS ----------
+
+    /** @return number of lookups answered from the cache */
+    public long getHitCount() { return hits.get(); }
+
+    /** @return number of lookups that went to the delegate */
+    public long getMissCount() { return misses.get(); }
+
+    /** @return number of entries dropped for size or age */
+    public long getEvictionCount() { return evictions.get(); }
+
+    /**
+     * Returns the fraction of lookups served from the cache.
+     *
+     * @return hit rate between 0.0 and 1.0 (0.0 before the first lookup)
+     */
+    public double getHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    /**
+     * Returns the number of cached IDs (positive and negative).
+     *
+     * @return current entry count
+     */
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CachingMovieDao{size=%d, hits=%d, misses=%d, evictions=%d, hitRate=%.2f}",
+                size(), getHitCount(), getMissCount(), getEvictionCount(), getHitRate());
+    }
+
+    // ---------- HELPERS ----------
+
+    /**
+     * Defensive copy so cached state cannot be changed through returned instances.
+     *
+     * @param m movie to copy
+     * @return equal, independent instance
+     */
+    private static Movie copy(Movie m) {
+        final Movie c = new Movie(m.getMovieId(), m.getTitle(), m.getDirector(), m.getReleaseYear(),
+                m.getDurationMinutes(), m.getGenre(), m.getRating());
+        c.setVersion(m.getVersion());
+        return c;
+    }
+
+    /** Cached lookup result; {@code movie == null} records a negative lookup. */
+    private static final class CacheEntry {
+        final Movie movie;
+        final long loadedAtNanos;
+
+        CacheEntry(Movie movie, long loadedAtNanos) {
+            this.movie = movie;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package dms.dao;
+
+/**
+ * Catalog-wide aggregates computed in one pass (one SQL row for {@link MysqlMovieDao}).
+ *
+ * <p><b>Author:</b> Luis Augusto Monserratt Alvarado</p>
+ * <p><b>Version:</b> 1.1</p>
+ */
+public final class CatalogSummary {
+
+    /** Summary of an empty catalog. */
+    public static final CatalogSummary EMPTY = new CatalogSummary(0, 0, 0, 0, 0.0);
+
+    private final long count;
+    private final long totalDuration;
+    private final int minDuration;
+    private final int maxDuration;
+    private final double ratingSum;
+
+    /**
+     * Creates a summary.
+     *
+     * @param count         number of movies
+     * @param totalDuration sum of all durations (minutes)
+     * @param minDuration   shortest duration (0 when empty)
+     * @param maxDuration   longest duration (0 when empty)
+     * @param ratingSum     sum of all ratings
+     */
+    public CatalogSummary(long count, long totalDuration, int minDuration, int maxDuration, double ratingSum) {
+        this.count = count;
+        this.totalDuration = totalDuration;
+        this.minDuration = minDuration;
+        this.maxDuration = maxDuration;
+        this.ratingSum = ratingSum;
+    }
+
+    /** @return number of movies */
+    public long getCount() { return count; }
+
+    /** @return sum of all durations in minutes */
+    public long getTotalDuration() { return totalDuration; }
+
+    /** @return shortest duration in minutes (0 when empty) */
+    public int getMinDuration() { return minDuration; }
+
+    /** @return longest duration in minutes (0 when empty) */
+    public int getMaxDuration() { return maxDuration; }
+
+    /** @return sum of all ratings */
+    public double getRatingSum() { return ratingSum; }
+
+    /** @return average duration in minutes (0.0 when empty) */
+    public double getAverageDuration() {
+        return count == 0 ? 0.0 : (double) totalDuration / count;
+    }
+
+    /** @return average rating (0.0 when empty) */
+    public double getAverageRating() {
+        return count == 0 ? 0.0 : ratingSum / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CatalogSummary{count=%d, avgDuration=%.2f, minDuration=%d, maxDuration=%d, avgRating=%.2f}",
+                count, getAverageDuration(), minDuration, maxDuration, getAverageRating());
+    }
+}
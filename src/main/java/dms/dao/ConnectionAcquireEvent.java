@@ -0,0 +1,39 @@
+package dms.dao;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight-recorder event for {@link ConnectionPool#borrow()}: time spent waiting for a free
+ * connection, validating an idle one or opening a new one. Only borrows of at least 1 ms
+ * are recorded by default, with a stack trace so pool contention can be traced to callers.
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+@Name("dms.ConnectionAcquire")
+@Label("Connection Acquire")
+@Category({"DMS", "Database"})
+@Description("Borrowing a connection from the DMS connection pool")
+@Threshold("1 ms")
+final class ConnectionAcquireEvent extends Event {
+
+    @Label("Opened")
+    @Description("A new physical connection was opened")
+    boolean opened;
+
+    @Label("Failed")
+    @Description("Timed out, interrupted, pool closed or connection failed")
+    boolean failed;
+
+    @Label("Active")
+    @Description("Borrowed connections after this borrow")
+    int active;
+
+    @Label("Max Size")
+    int maxSize;
+}
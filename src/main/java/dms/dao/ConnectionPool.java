@@ -0,0 +1,935 @@
+package dms.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Small, bounded, thread-safe JDBC connection pool used by {@link MysqlMovieDao}.
+ *
+ * <p><b>Responsibilities:</b></p>
+ * <ul>
+ *   <li>Keep between {@code minIdle} and {@code maxSize} physical connections open</li>
+ *   <li>Validate connections on borrow ({@link Connection#isValid(int)}) and replace broken ones</li>
+ *   <li>Block callers up to a timeout when every connection is in use</li>
+ *   <li>Evict connections idle longer than the idle timeout</li>
+ *   <li>Optionally report connections held longer than a threshold (leak detection), with
+ *       the stack that borrowed them</li>
+ *   <li>Cache prepared statements per physical connection, keyed by SQL</li>
+ *   <li>Expose occupancy, wait-time and statement-cache statistics via {@link #getStats()}</li>
+ * </ul>
+ *
+ * <p>Borrowed connections are proxies: calling {@link Connection#close()} returns the
+ * physical connection to the pool instead of closing it, so callers simply use
+ * try-with-resources. Physical connections are closed outside the pool lock, so a slow
+ * socket close never blocks other borrowers.</p>
+ *
+ * <p><b>Statement cache:</b> {@code prepareStatement(String)} on a borrowed connection
+ * returns a cached statement when the same SQL was prepared on that physical connection
+ * before. Closing it clears its parameters and batch and puts it back in the cache. Each
+ * connection keeps its {@link #setStatementCacheSize(int) most recently used} statements
+ * open. With Connector/J's {@code useServerPrepStmts=true}, the server-side plan is reused
+ * as well. Other {@code prepareStatement} overloads are never cached. The pool caches
+ * rather than Connector/J's {@code cachePrepStmts} because it reports hits, misses and
+ * evictions and restores fetch size, max rows and timeout on reuse; leave
+ * {@code cachePrepStmts} off so statements are not cached twice.</p>
+ *
+ * <h2>Usage</h2>
+ * <pre>{@code
+ * ConnectionPool pool = new ConnectionPool(url, user, pass);
+ * try (Connection c = pool.borrow()) {
+ *     // use c
+ * }
+ * pool.close();
+ * }</pre>
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    /** Default number of connections kept open even when idle. */
+    public static final int DEFAULT_MIN_IDLE = 1;
+
+    /** Default upper bound of physical connections. */
+    public static final int DEFAULT_MAX_SIZE = 8;
+
+    /** Default maximum time a caller waits for a free connection (ms). */
+    public static final long DEFAULT_BORROW_TIMEOUT_MS = 10_000;
+
+    /** Default time after which surplus idle connections are closed (ms). */
+    public static final long DEFAULT_IDLE_TIMEOUT_MS = 5 * 60_000;
+
+    /**
+     * Default leak-detection threshold: 0, disabled. A positive threshold captures the
+     * borrowing stack trace on every borrow, so it is meant for diagnosing leaks.
+     */
+    public static final long DEFAULT_LEAK_THRESHOLD_MS = 0;
+
+    /** Default number of prepared statements cached per physical connection. */
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 32;
+
+    /** Seconds passed to {@link Connection#isValid(int)} during validation. */
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    /** Interval of the background eviction/leak-detection task (ms). */
+    private static final long HOUSEKEEPING_INTERVAL_MS = 30_000;
+
+    private static final System.Logger LOG = System.getLogger(ConnectionPool.class.getName());
+
+    private final String jdbcUrl;
+    private final String user;
+    private final String pass;
+    private final int minIdle;
+    private final int maxSize;
+    private final long borrowTimeoutMs;
+    private final long idleTimeoutMs;
+    private final long leakThresholdMs;
+
+    /** Guards {@link #idle} and {@link #total}. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Signalled whenever a connection is returned or capacity is freed. */
+    private final Condition available = lock.newCondition();
+
+    /** Idle connections; most recently used first (LIFO keeps hot sockets busy). */
+    private final Deque<Entry> idle = new ArrayDeque<>();
+
+    /** Connections currently handed out to callers. */
+    private final Set<Entry> borrowed = ConcurrentHashMap.newKeySet();
+
+    /** Number of physical connections (idle + borrowed + being opened). */
+    private int total;
+
+    /** True once {@link #close()} has been called. */
+    private volatile boolean closed;
+
+    /** Prepared statements cached per physical connection (0 disables caching). */
+    private volatile int statementCacheSize = DEFAULT_STATEMENT_CACHE_SIZE;
+
+    /** Background task for idle eviction, min-idle top-up and leak detection. */
+    private final ScheduledExecutorService housekeeper;
+
+    // Statistics
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong destroyedCount = new AtomicLong();
+    private final AtomicLong leakCount = new AtomicLong();
+    private final AtomicLong statementHits = new AtomicLong();
+    private final AtomicLong statementMisses = new AtomicLong();
+    private final AtomicLong statementEvictions = new AtomicLong();
+
+    /**
+     * Creates a pool with default sizing and timeouts.
+     *
+     * @param jdbcUrl JDBC URL
+     * @param user    database username
+     * @param pass    database password
+     */
+    public ConnectionPool(String jdbcUrl, String user, String pass) {
+        this(jdbcUrl, user, pass, DEFAULT_MIN_IDLE, DEFAULT_MAX_SIZE,
+                DEFAULT_BORROW_TIMEOUT_MS, DEFAULT_IDLE_TIMEOUT_MS, DEFAULT_LEAK_THRESHOLD_MS);
+    }
+
+    /**
+     * Creates a pool with explicit sizing and timeouts.
+     *
+     * @param jdbcUrl         JDBC URL (cannot be blank)
+     * @param user            database username
+     * @param pass            database password
+     * @param minIdle         connections kept open while idle (0..maxSize)
+     * @param maxSize         maximum physical connections (&gt;= 1)
+     * @param borrowTimeoutMs maximum wait for a free connection, in milliseconds
+     * @param idleTimeoutMs   idle time after which surplus connections are closed
+     * @param leakThresholdMs borrow duration after which a leak warning with the borrowing
+     *                        stack is logged (0 disables; when enabled every borrow captures a stack)
+     * @throws IllegalArgumentException if any argument is out of range
+     */
+    public ConnectionPool(String jdbcUrl, String user, String pass, int minIdle, int maxSize,
+                          long borrowTimeoutMs, long idleTimeoutMs, long leakThresholdMs) {
+        if (jdbcUrl == null || jdbcUrl.isBlank())
+            throw new IllegalArgumentException("JDBC URL cannot be empty");
+        if (maxSize < 1)
+            throw new IllegalArgumentException("maxSize must be >= 1");
+        if (minIdle < 0 || minIdle > maxSize)
+            throw new IllegalArgumentException("minIdle must be 0..maxSize");
+        if (borrowTimeoutMs < 0 || idleTimeoutMs < 0 || leakThresholdMs < 0)
+            throw new IllegalArgumentException("Timeouts cannot be negative");
+        this.jdbcUrl = jdbcUrl;
+        this.user = user;
+        this.pass = pass;
+        this.minIdle = minIdle;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.leakThresholdMs = leakThresholdMs;
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "dms-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep,
+                HOUSEKEEPING_INTERVAL_MS, HOUSEKEEPING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // ---------- LIFECYCLE ----------
+
+    /**
+     * Opens {@code minIdle} connections (at least one) so configuration errors
+     * surface immediately instead of on the first query.
+     *
+     * @throws SQLException if a connection cannot be established
+     */
+    public void warmUp() throws SQLException {
+        int target = Math.max(1, minIdle);
+        Connection[] opened = new Connection[target];
+        try {
+            for (int i = 0; i < target; i++) opened[i] = borrow();
+        } finally {
+            for (Connection c : opened) {
+                if (c != null) c.close();
+            }
+        }
+    }
+
+    /**
+     * Opens up to {@code count} more idle connections in the background, each on its own
+     * thread so the handshakes overlap, without exceeding the maximum size. Meant for right
+     * after {@link #warmUp()} when a burst of concurrent work is about to start; failures are
+     * ignored and {@link #borrow()} keeps opening connections on demand.
+     *
+     * @param count connections to open (values &lt;= 0 do nothing)
+     */
+    public void prestartAsync(int count) {
+        int n;
+        lock.lock();
+        try {
+            n = closed ? 0 : Math.max(0, Math.min(count, maxSize - total));
+            total += n;
+        } finally {
+            lock.unlock();
+        }
+        for (int i = 0; i < n; i++) {
+            Thread t = new Thread(this::openIdle, "dms-pool-prestart-" + (i + 1));
+            t.setDaemon(true);
+            t.start();
+        }
+    }
+
+    /**
+     * Sets how many prepared statements each physical connection keeps cached.
+     * Takes effect for statements prepared afterwards.
+     *
+     * @param size cache size per connection (0 disables caching)
+     * @throws IllegalArgumentException if negative
+     */
+    public void setStatementCacheSize(int size) {
+        if (size < 0) throw new IllegalArgumentException("Statement cache size cannot be negative");
+        this.statementCacheSize = size;
+    }
+
+    /**
+     * Indicates whether the pool is still accepting borrow requests.
+     *
+     * @return {@code true} if {@link #close()} has not been called
+     */
+    public boolean isOpen() {
+        return !closed;
+    }
+
+    /**
+     * Closes all idle connections and stops housekeeping. Borrowed connections are
+     * closed physically when their holders return them.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        final List<Entry> drained;
+        lock.lock();
+        try {
+            drained = new ArrayList<>(idle);
+            idle.clear();
+            total -= drained.size();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Entry e : drained) destroy(e);
+    }
+
+    // ---------- BORROW / RELEASE ----------
+
+    /**
+     * Borrows a validated connection, opening a new one if capacity allows or waiting
+     * up to the borrow timeout otherwise. Broken connections are transparently replaced.
+     *
+     * <p>Borrows taking 1 ms or more are recorded as {@code dms.ConnectionAcquire}
+     * flight-recorder events.</p>
+     *
+     * @return a pooled connection; closing it returns it to the pool
+     * @throws SQLException if the pool is closed, the wait times out, or a connection cannot be opened
+     */
+    public Connection borrow() throws SQLException {
+        final ConnectionAcquireEvent event = new ConnectionAcquireEvent();
+        event.begin();
+        try {
+            return acquire(event);
+        } catch (SQLException | RuntimeException ex) {
+            event.failed = true;
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.active = borrowed.size();
+                event.maxSize = maxSize;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Body of {@link #borrow()}.
+     *
+     * @param event flight-recorder event to annotate
+     * @return a pooled connection
+     * @throws SQLException if the pool is closed, the wait times out, or a connection cannot be opened
+     */
+    private Connection acquire(ConnectionAcquireEvent event) throws SQLException {
+        final long start = System.nanoTime();
+        final long deadline = start + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMs);
+        while (true) {
+            Entry entry = null;
+            boolean create = false;
+            lock.lock();
+            try {
+                while (!closed && idle.isEmpty() && total >= maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timeoutCount.incrementAndGet();
+                        throw new SQLException("Timed out after " + borrowTimeoutMs
+                                + " ms waiting for a database connection (pool size " + maxSize + ").");
+                    }
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection.", ie);
+                    }
+                }
+                if (closed) throw new SQLException("Connection pool is closed.");
+                if (!idle.isEmpty()) {
+                    entry = idle.pollFirst();
+                } else {
+                    total++;
+                    create = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (create) {
+                event.opened = true;
+                try {
+                    entry = new Entry(DriverManager.getConnection(jdbcUrl, user, pass));
+                    createdCount.incrementAndGet();
+                } catch (SQLException | RuntimeException ex) {
+                    releaseCapacity();
+                    throw ex;
+                }
+            } else if (!isUsable(entry)) {
+                destroy(entry);
+                releaseCapacity();
+                continue;
+            }
+            recordWait(System.nanoTime() - start);
+            return checkout(entry);
+        }
+    }
+
+    /**
+     * Opens a physical connection with the pool's credentials that is <b>not</b> pooled,
+     * for one-off work that needs extra driver options (e.g. {@code LOAD DATA LOCAL INFILE}).
+     * The caller owns the connection and must close it.
+     *
+     * @param extraUrlOptions additional {@code key=value[&key=value]} URL options
+     * @return a new, unpooled connection
+     * @throws SQLException if the pool is closed or the connection cannot be opened
+     */
+    public Connection openUnpooled(String extraUrlOptions) throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed.");
+        String url = jdbcUrl;
+        if (extraUrlOptions != null && !extraUrlOptions.isBlank()) {
+            url += (url.contains("?") ? "&" : "?") + extraUrlOptions;
+        }
+        return DriverManager.getConnection(url, user, pass);
+    }
+
+    /**
+     * Returns a physical connection to the pool (called by the proxy's {@code close()}).
+     *
+     * @param entry pooled entry being returned
+     */
+    private void release(Entry entry) {
+        borrowed.remove(entry);
+        dropStatementsInUse(entry);
+        boolean keep = !closed && resetForReuse(entry.raw);
+        lock.lock();
+        try {
+            keep &= !closed;   // close() may have drained the idle queue meanwhile
+            if (keep) {
+                entry.lastUsedNanos = System.nanoTime();
+                idle.addFirst(entry);
+            } else {
+                total--;
+            }
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (!keep) destroy(entry);
+    }
+
+    /** Gives back one unit of capacity after a failed open or a discarded connection. */
+    private void releaseCapacity() {
+        lock.lock();
+        try {
+            total--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Opens a physical connection for capacity already reserved in {@code total} and adds it
+     * to the idle queue; releases the capacity if opening fails or the pool was closed.
+     */
+    private void openIdle() {
+        final Entry e;
+        try {
+            e = new Entry(DriverManager.getConnection(jdbcUrl, user, pass));
+        } catch (SQLException ex) {
+            releaseCapacity();
+            return;
+        }
+        createdCount.incrementAndGet();
+        final boolean discard;
+        lock.lock();
+        try {
+            discard = closed;
+            if (discard) total--;
+            else idle.addLast(e);
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (discard) destroy(e);
+    }
+
+    /**
+     * Marks an entry as borrowed and wraps it in a returning proxy.
+     *
+     * @param entry entry to hand out
+     * @return proxy connection
+     */
+    private Connection checkout(Entry entry) {
+        entry.borrowedAtNanos = System.nanoTime();
+        entry.borrowSite = (leakThresholdMs > 0) ? new Throwable("Connection borrowed here") : null;
+        borrowed.add(entry);
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ReturningHandler(entry));
+    }
+
+    /**
+     * Validates a connection taken from the idle queue.
+     *
+     * @param entry candidate entry
+     * @return {@code true} if the connection is open and answers a validation ping
+     */
+    private static boolean isUsable(Entry entry) {
+        try {
+            return !entry.raw.isClosed() && entry.raw.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Restores default session state (auto-commit, no open transaction) before reuse.
+     *
+     * @param raw physical connection
+     * @return {@code true} if the connection can go back to the idle queue
+     */
+    private static boolean resetForReuse(Connection raw) {
+        try {
+            if (raw.isClosed()) return false;
+            if (!raw.getAutoCommit()) {
+                raw.rollback();
+                raw.setAutoCommit(true);
+            }
+            if (raw.isReadOnly()) raw.setReadOnly(false);
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Physically closes a connection, ignoring errors. Never called with the pool lock
+     * held, since closing a socket can block.
+     *
+     * @param entry entry to destroy
+     */
+    private void destroy(Entry entry) {
+        destroyedCount.incrementAndGet();
+        entry.statements.clear(); // closed together with the connection
+        try {
+            entry.raw.close();
+        } catch (SQLException ignore) {
+            // Already broken; nothing else to do.
+        }
+    }
+
+    // ---------- STATEMENT CACHE ----------
+
+    /**
+     * Returns a cached statement for {@code sql} on this connection, preparing and caching
+     * it on a miss. If the cached statement is still open in the same borrow (the same SQL
+     * prepared twice), an uncached statement is returned instead.
+     *
+     * @param entry      physical connection (owned by the calling thread while borrowed)
+     * @param sql        SQL text (cache key)
+     * @param connection the proxy handed to the caller, returned by {@code getConnection()}
+     * @return a statement whose {@code close()} returns it to the cache
+     * @throws SQLException if preparing fails
+     */
+    private PreparedStatement prepareCached(Entry entry, String sql, Connection connection) throws SQLException {
+        CachedStatement cs = entry.statements.get(sql);
+        if (cs != null && !cs.inUse) {
+            statementHits.incrementAndGet();
+        } else {
+            statementMisses.incrementAndGet();
+            PreparedStatement raw = entry.raw.prepareStatement(sql);
+            if (cs != null) return raw;
+            cs = new CachedStatement(sql, raw);
+            entry.statements.put(sql, cs);
+            evictStatements(entry);
+        }
+        cs.inUse = true;
+        return (PreparedStatement) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                new CachedStatementHandler(entry, cs, connection));
+    }
+
+    /**
+     * Trims a connection's cache to the configured size, least recently used first.
+     * Statements still in use are closed when their holder closes them.
+     *
+     * @param entry physical connection
+     */
+    private void evictStatements(Entry entry) {
+        Iterator<CachedStatement> it = entry.statements.values().iterator();
+        while (entry.statements.size() > statementCacheSize && it.hasNext()) {
+            CachedStatement victim = it.next();
+            it.remove();
+            statementEvictions.incrementAndGet();
+            victim.evicted = true;
+            if (!victim.inUse) closeQuietly(victim.raw);
+        }
+    }
+
+    /**
+     * Closes statements the borrower never closed, so they cannot leak into the next borrow.
+     *
+     * @param entry connection being returned
+     */
+    private static void dropStatementsInUse(Entry entry) {
+        Iterator<CachedStatement> it = entry.statements.values().iterator();
+        while (it.hasNext()) {
+            CachedStatement cs = it.next();
+            if (cs.inUse) {
+                it.remove();
+                cs.evicted = true;
+                closeQuietly(cs.raw);
+            }
+        }
+    }
+
+    /**
+     * Clears per-execution state so the next borrower gets a fresh-looking statement.
+     *
+     * @param ps statement to reset
+     * @throws SQLException if the statement is broken
+     */
+    private static void resetStatement(PreparedStatement ps) throws SQLException {
+        ResultSet open = ps.getResultSet();
+        if (open != null) open.close();
+        ps.clearParameters();
+        ps.clearBatch();
+        ps.clearWarnings();
+        if (ps.getFetchSize() != 0) ps.setFetchSize(0);
+        if (ps.getMaxRows() != 0) ps.setMaxRows(0);
+        if (ps.getQueryTimeout() != 0) ps.setQueryTimeout(0);
+    }
+
+    /**
+     * Closes a statement, ignoring errors.
+     *
+     * @param ps statement to close
+     */
+    private static void closeQuietly(PreparedStatement ps) {
+        try {
+            ps.close();
+        } catch (SQLException ignore) {
+            // Closing anyway.
+        }
+    }
+
+    // ---------- HOUSEKEEPING ----------
+
+    /**
+     * Evicts stale idle connections, tops up to {@code minIdle}, and reports leaks.
+     * Package-private so tests can run it without waiting for the schedule.
+     */
+    void housekeep() {
+        if (closed) return;
+        final long now = System.nanoTime();
+        final long idleNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        final List<Entry> evicted = new ArrayList<>();
+        int missing;
+        lock.lock();
+        try {
+            Iterator<Entry> it = idle.descendingIterator(); // least recently used first
+            while (it.hasNext() && total > minIdle) {
+                Entry e = it.next();
+                if (idleTimeoutMs > 0 && now - e.lastUsedNanos > idleNanos) {
+                    it.remove();
+                    evicted.add(e);
+                    total--;
+                }
+            }
+            missing = Math.max(0, minIdle - total);
+            total += missing;
+        } finally {
+            lock.unlock();
+        }
+
+        for (Entry e : evicted) destroy(e);
+        for (int i = 0; i < missing; i++) openIdle();
+
+        if (leakThresholdMs > 0) {
+            final long leakNanos = TimeUnit.MILLISECONDS.toNanos(leakThresholdMs);
+            for (Entry e : borrowed) {
+                if (!e.leakReported && now - e.borrowedAtNanos > leakNanos) {
+                    e.leakReported = true;
+                    leakCount.incrementAndGet();
+                    LOG.log(System.Logger.Level.WARNING, "Possible connection leak: held for more than "
+                            + leakThresholdMs + " ms.", e.borrowSite);
+                }
+            }
+        }
+    }
+
+    // ---------- STATISTICS ----------
+
+    /**
+     * Records how long a borrow call waited.
+     *
+     * @param nanos wait time in nanoseconds
+     */
+    private void recordWait(long nanos) {
+        borrowCount.incrementAndGet();
+        totalWaitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Returns a point-in-time snapshot of pool occupancy and wait statistics.
+     *
+     * @return statistics snapshot
+     */
+    public Stats getStats() {
+        int idleNow;
+        int totalNow;
+        lock.lock();
+        try {
+            idleNow = idle.size();
+            totalNow = total;
+        } finally {
+            lock.unlock();
+        }
+        return new Stats(totalNow, idleNow, borrowed.size(), maxSize,
+                borrowCount.get(), totalWaitNanos.get(), maxWaitNanos.get(), timeoutCount.get(),
+                createdCount.get(), destroyedCount.get(), leakCount.get(),
+                statementHits.get(), statementMisses.get(), statementEvictions.get());
+    }
+
+    /**
+     * Immutable snapshot of pool statistics.
+     */
+    public static final class Stats {
+        private final int total;
+        private final int idle;
+        private final int active;
+        private final int maxSize;
+        private final long borrows;
+        private final long totalWaitNanos;
+        private final long maxWaitNanos;
+        private final long timeouts;
+        private final long created;
+        private final long destroyed;
+        private final long leaks;
+        private final long statementHits;
+        private final long statementMisses;
+        private final long statementEvictions;
+
+        Stats(int total, int idle, int active, int maxSize, long borrows, long totalWaitNanos,
+              long maxWaitNanos, long timeouts, long created, long destroyed, long leaks,
+              long statementHits, long statementMisses, long statementEvictions) {
+            this.total = total;
+            this.idle = idle;
+            this.active = active;
+            this.maxSize = maxSize;
+            this.borrows = borrows;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+            this.timeouts = timeouts;
+            this.created = created;
+            this.destroyed = destroyed;
+            this.leaks = leaks;
+            this.statementHits = statementHits;
+            this.statementMisses = statementMisses;
+            this.statementEvictions = statementEvictions;
+        }
+
+        /** @return physical connections currently open (idle + active) */
+        public int getTotal() { return total; }
+
+        /** @return connections waiting in the idle queue */
+        public int getIdle() { return idle; }
+
+        /** @return connections currently borrowed */
+        public int getActive() { return active; }
+
+        /** @return configured maximum pool size */
+        public int getMaxSize() { return maxSize; }
+
+        /** @return number of successful borrow calls */
+        public long getBorrows() { return borrows; }
+
+        /** @return average borrow wait in milliseconds (0 if no borrows yet) */
+        public double getAverageWaitMillis() {
+            return borrows == 0 ? 0.0 : totalWaitNanos / 1_000_000.0 / borrows;
+        }
+
+        /** @return longest borrow wait observed, in milliseconds */
+        public double getMaxWaitMillis() { return maxWaitNanos / 1_000_000.0; }
+
+        /** @return number of borrow calls that timed out */
+        public long getTimeouts() { return timeouts; }
+
+        /** @return physical connections opened since the pool was created */
+        public long getCreated() { return created; }
+
+        /** @return physical connections closed (evicted, broken or at shutdown) */
+        public long getDestroyed() { return destroyed; }
+
+        /** @return number of suspected leaks reported */
+        public long getLeaks() { return leaks; }
+
+        /** @return prepared statements served from a connection's cache */
+        public long getStatementHits() { return statementHits; }
+
+        /** @return prepared statements that had to be prepared */
+        public long getStatementMisses() { return statementMisses; }
+
+        /** @return cached statements closed to respect the cache size */
+        public long getStatementEvictions() { return statementEvictions; }
+
+        /** @return fraction of {@code prepareStatement(String)} calls served from cache (0.0 if none yet) */
+        public double getStatementHitRate() {
+            long calls = statementHits + statementMisses;
+            return calls == 0 ? 0.0 : (double) statementHits / calls;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Pool{total=%d, idle=%d, active=%d, max=%d, borrows=%d, avgWait=%.3fms, "
+                            + "maxWait=%.3fms, timeouts=%d, created=%d, destroyed=%d, leaks=%d, "
+                            + "stmtHits=%d, stmtMisses=%d, stmtEvictions=%d, stmtHitRate=%.2f}",
+                    total, idle, active, maxSize, borrows, getAverageWaitMillis(), getMaxWaitMillis(),
+                    timeouts, created, destroyed, leaks,
+                    statementHits, statementMisses, statementEvictions, getStatementHitRate());
+        }
+    }
+
+    // ---------- INTERNALS ----------
+
+    /** A physical connection plus its pool bookkeeping. */
+    private static final class Entry {
+        final Connection raw;
+        volatile long lastUsedNanos = System.nanoTime();
+        volatile long borrowedAtNanos;
+        volatile Throwable borrowSite;
+        volatile boolean leakReported;
+
+        /**
+         * Cached statements by SQL, least recently used first. Only the borrowing thread
+         * touches it; the pool lock hand-off makes it visible to the next borrower.
+         */
+        final Map<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+        Entry(Connection raw) {
+            this.raw = raw;
+        }
+    }
+
+    /** A physical prepared statement kept open between borrows. */
+    private static final class CachedStatement {
+        final String sql;
+        final PreparedStatement raw;
+        /** Handed out and not yet closed by its holder. */
+        boolean inUse;
+        /** Removed from the cache; close physically once no longer in use. */
+        boolean evicted;
+
+        CachedStatement(String sql, PreparedStatement raw) {
+            this.sql = sql;
+            this.raw = raw;
+        }
+    }
+
+    /**
+     * Proxy handler that turns a cached statement's {@code close()} into "reset and return
+     * to the connection's cache".
+     */
+    private static final class CachedStatementHandler implements InvocationHandler {
+        private final Entry entry;
+        private final CachedStatement cs;
+        private final Connection connection;
+        private boolean closed;
+
+        CachedStatementHandler(Entry entry, CachedStatement cs, Connection connection) {
+            this.entry = entry;
+            this.cs = cs;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        cs.inUse = false;
+                        if (cs.evicted) {
+                            closeQuietly(cs.raw);
+                        } else {
+                            try {
+                                resetStatement(cs.raw);
+                            } catch (SQLException broken) {
+                                entry.statements.remove(cs.sql);
+                                closeQuietly(cs.raw);
+                            }
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || cs.raw.isClosed();
+                case "getConnection":
+                    return connection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + cs.raw + (closed ? ", closed]" : "]");
+                default:
+                    if (closed) throw new SQLException("Statement is closed.");
+                    try {
+                        return method.invoke(cs.raw, args);
+                    } catch (InvocationTargetException ite) {
+                        throw ite.getCause();
+                    }
+            }
+        }
+    }
+
+    /**
+     * Proxy handler that turns {@code close()} into "return to pool" and rejects use
+     * after the connection has been returned.
+     */
+    private final class ReturningHandler implements InvocationHandler {
+        private final Entry entry;
+        private final AtomicBoolean returned = new AtomicBoolean();
+
+        ReturningHandler(Entry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        entry.leakReported = false;
+                        release(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned.get() || entry.raw.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + entry.raw + (returned.get() ? ", returned]" : "]");
+                case "prepareStatement":
+                    if (!returned.get() && args.length == 1 && statementCacheSize > 0) {
+                        return prepareCached(entry, (String) args[0], (Connection) proxy);
+                    }
+                    return forward(method, args); // other overloads are not cached
+                default:
+                    return forward(method, args);
+            }
+        }
+
+        private Object forward(Method method, Object[] args) throws Throwable {
+            if (returned.get()) throw new SQLException("Connection has already been returned to the pool.");
+            try {
+                return method.invoke(entry.raw, args);
+            } catch (InvocationTargetException ite) {
+                throw ite.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package dms.dao;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight-recorder event for one {@link MovieDao} call timed by {@link MetricsMovieDao}.
+ * The statements it ran appear as nested {@code dms.SqlStatement} events on the same
+ * thread.
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+@Name("dms.DaoCall")
+@Label("DAO Call")
+@Category({"DMS", "Database"})
+@Description("MovieDao method call, as seen by the service layer")
+@StackTrace(false)
+final class DaoCallEvent extends Event {
+
+    @Label("Operation")
+    @Description("MovieDao method name")
+    String operation;
+
+    @Label("DAO")
+    @Description("Simple class name of the decorated DAO")
+    String dao;
+
+    @Label("Rows")
+    @Description("Rows returned or applied")
+    long rows;
+
+    @Label("Failed")
+    boolean failed;
+
+    private static final EventType TYPE = EventType.getEventType(DaoCallEvent.class);
+
+    /** @return {@code true} while a flight recording has this event enabled */
+    static boolean isRecording() {
+        return TYPE.isEnabled();
+    }
+}
@@ -0,0 +1,44 @@
+package dms.dao;
+
+/**
+ * JMX view of one DAO operation recorded by {@link MetricsMovieDao}, registered as
+ * {@code dms:type=MovieDao,name=<dao name>,operation=<operation>}.
+ *
+ * <p>Latencies are in microseconds and cover every call since start or the last
+ * {@link #reset()}.</p>
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+public interface DaoOperationMXBean {
+
+    /** @return operation name, e.g. {@code findById} */
+    String getOperation();
+
+    /** @return completed calls, successful or not */
+    long getCallCount();
+
+    /** @return calls that threw */
+    long getErrorCount();
+
+    /** @return rows returned (reads) or affected (writes) */
+    long getRowCount();
+
+    /** @return mean latency (µs) */
+    double getMeanMicros();
+
+    /** @return median latency (µs) */
+    double getP50Micros();
+
+    /** @return 99th percentile latency (µs) */
+    double getP99Micros();
+
+    /** @return 99.9th percentile latency (µs) */
+    double getP999Micros();
+
+    /** @return slowest call (µs) */
+    double getMaxMicros();
+
+    /** Clears the counters and the histogram. */
+    void reset();
+}
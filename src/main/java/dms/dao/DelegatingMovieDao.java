@@ -0,0 +1,36 @@
+package dms.dao;
+
+/**
+ * Marker for {@link MovieDao} decorators (caching, metrics, ...) that wrap another DAO.
+ * <p>Lets callers reach implementation-specific features of the wrapped DAO, e.g. the
+ * connection lifecycle of {@link MysqlMovieDao}, through any number of decorators.</p>
+ *
+ * <p><b>Author:</b> Luis Augusto Monserratt Alvarado</p>
+ * <p><b>Version:</b> 1.1</p>
+ */
+public interface DelegatingMovieDao extends MovieDao {
+
+    /**
+     * Returns the DAO this decorator forwards to.
+     *
+     * @return wrapped DAO (never {@code null})
+     */
+    MovieDao getDelegate();
+
+    /**
+     * Walks a decorator chain looking for an implementation of the given type.
+     *
+     * @param dao  outermost DAO
+     * @param type implementation type to look for
+     * @param <T>  implementation type
+     * @return the first DAO in the chain that is an instance of {@code type}, or {@code null}
+     */
+    static <T extends MovieDao> T unwrap(MovieDao dao, Class<T> type) {
+        MovieDao current = dao;
+        while (current != null) {
+            if (type.isInstance(current)) return type.cast(current);
+            current = (current instanceof DelegatingMovieDao) ? ((DelegatingMovieDao) current).getDelegate() : null;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,490 @@
+package dms.dao;
+
+import dms.model.Movie;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * Thread-safe {@link MovieDao} that keeps the whole catalog in memory: non-blocking reads,
+ * per-ID serialized writes.
+ *
+ * <p><b>Uses:</b> a zero-latency backend for benchmarks and load tests, and a local-only
+ * mode that needs no database. Nothing is persisted; {@link #connect} and {@link #close}
+ * are no-ops.</p>
+ *
+ * <p><b>Structure:</b></p>
+ * <ul>
+ *   <li>A {@link ConcurrentHashMap} from ID to movie is the source of truth.</li>
+ *   <li>A {@link ConcurrentSkipListSet} of {@code (title, movie_id)} keys orders the catalog
+ *       like {@code ORDER BY title, movie_id} and serves scans, keyset pages and title searches.</li>
+ * </ul>
+ * <p>Writes to one ID are serialized by the map's {@code compute}, which locks the hash bin
+ * of that key (so two IDs sharing a bin also wait for each other); reads never block and
+ * run concurrently with writes. The title index may briefly hold the old
+ * and the new key of a movie being renamed, so readers only emit a movie at the index key
+ * that matches its current title. Scans are weakly consistent, like reads without snapshot
+ * isolation: a movie renamed while a scan is running may be seen at both positions or at
+ * neither.</p>
+ *
+ * <p>Versions follow the {@code movies.version} column: 0 on insert, +1 on every update or
+ * replacing upsert, so {@link #updateIfUnchanged} behaves like the MySQL conditional update.</p>
+ *
+ * <p>Movies are copied on the way in and out, so callers may freely mutate the instances
+ * they pass or receive.</p>
+ *
+ * <h2>Usage</h2>
+ * <pre>{@code
+ * MovieService service = new MovieService(new InMemoryMovieDao());
+ * service.createAll(movies);
+ * }</pre>
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+public class InMemoryMovieDao implements MovieDao {
+
+    /** Source of truth: current version of every movie by ID. */
+    private final ConcurrentHashMap<String, Movie> byId = new ConcurrentHashMap<>();
+
+    /** Catalog order; every current movie has its key here (stale keys may linger briefly). */
+    private final ConcurrentSkipListSet<TitleKey> byTitle = new ConcurrentSkipListSet<>();
+
+    /** Creates an empty store. */
+    public InMemoryMovieDao() { }
+
+    /**
+     * Creates a store pre-loaded with movies (later duplicates of an ID are ignored).
+     *
+     * @param movies initial contents
+     */
+    public InMemoryMovieDao(Collection<Movie> movies) {
+        for (Movie m : movies) {
+            final Movie stored = copy(m);
+            if (byId.putIfAbsent(stored.getMovieId(), stored) == null) byTitle.add(TitleKey.of(stored));
+        }
+    }
+
+    // ---------- READ OPERATIONS ----------
+
+    @Override
+    public List<Movie> findAll() {
+        final List<Movie> out = new ArrayList<>(byId.size());
+        for (TitleKey k : byTitle) {
+            Movie m = resolve(k);
+            if (m != null) out.add(m);
+        }
+        return out;
+    }
+
+    /**
+     * Streams the catalog in title order straight from the index; closing the stream is
+     * optional since it holds no resources.
+     *
+     * @param fetchSize ignored (must be &gt; 0)
+     * @return lazily evaluated, weakly consistent stream
+     */
+    @Override
+    public Stream<Movie> streamAll(int fetchSize) {
+        if (fetchSize <= 0) throw new IllegalArgumentException("fetchSize must be > 0");
+        return byTitle.stream().map(this::resolve).filter(Objects::nonNull);
+    }
+
+    @Override
+    public List<Movie> findPage(String afterTitle, String afterId, int limit) {
+        return seekPage(null, afterTitle, afterId, limit);
+    }
+
+    @Override
+    public Optional<Movie> findById(String id) {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("Movie ID cannot be empty");
+        }
+        final Movie m = byId.get(id.trim());
+        return m == null ? Optional.empty() : Optional.of(copy(m));
+    }
+
+    // ---------- SEARCH ----------
+
+    @Override
+    public List<Movie> searchByTitle(String titleFragment) {
+        return seekPage(requireFragment(titleFragment), null, null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Movie> searchByTitlePage(String titleFragment, String afterTitle, String afterId, int limit) {
+        return seekPage(requireFragment(titleFragment), afterTitle, afterId, limit);
+    }
+
+    /**
+     * Approximates MySQL full-text search over title, director and genre.
+     * <ul>
+     *   <li>Natural language: rows containing any query word, scored by matched words.</li>
+     *   <li>Boolean: {@code +word} required, {@code -word} excluded, {@code word*} prefix,
+     *       {@code "a phrase"} substring; unprefixed terms only add to the score.</li>
+     * </ul>
+     * Words are matched whole and case-insensitively; ties are ordered by title, then ID.
+     *
+     * @param query search text
+     * @param mode  query interpretation
+     * @param limit maximum rows to return (must be &gt; 0)
+     * @return a non-null list of matches, best first
+     */
+    @Override
+    public List<Movie> fullTextSearch(String query, FullTextMode mode, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search text cannot be empty");
+        }
+        if (mode == null) throw new IllegalArgumentException("mode cannot be null");
+        if (limit <= 0) throw new IllegalArgumentException("limit must be > 0");
+        final List<Term> terms = Term.parse(query, mode == FullTextMode.BOOLEAN);
+        final List<Scored> hits = new ArrayList<>();
+        for (TitleKey k : byTitle) {
+            final Movie m = resolve(k);
+            if (m == null) continue;
+            final String text = (m.getTitle() + ' ' + m.getDirector() + ' ' + m.getGenre()).toLowerCase(Locale.ROOT);
+            final String[] words = text.split("[^\\p{L}\\p{N}]+");
+            int score = 0;
+            boolean required = false;
+            boolean rejected = false;
+            for (Term t : terms) {
+                final boolean match = t.matches(text, words);
+                if (t.op == '-' && match) { rejected = true; break; }
+                if (t.op == '+') {
+                    if (!match) { rejected = true; break; }
+                    required = true;
+                }
+                if (match && t.op != '-') score++;
+            }
+            if (!rejected && (score > 0 || required)) hits.add(new Scored(m, score));
+        }
+        hits.sort(Comparator.comparingInt((Scored s) -> -s.score));  // stable: keeps title order for ties
+        final List<Movie> out = new ArrayList<>(Math.min(limit, hits.size()));
+        for (int i = 0; i < hits.size() && i < limit; i++) out.add(hits.get(i).movie);
+        return out;
+    }
+
+    // ---------- WRITE OPERATIONS ----------
+
+    /**
+     * Inserts a new movie.
+     *
+     * @param movie the movie to insert (must not be null)
+     * @return the movie passed in
+     * @throws SQLIntegrityConstraintViolationException if the ID already exists
+     */
+    @Override
+    public Movie insert(Movie movie) throws SQLException {
+        if (movie == null) {
+            throw new IllegalArgumentException("Movie cannot be null");
+        }
+        final Movie stored = copy(movie);
+        stored.setVersion(0);
+        final boolean[] duplicate = new boolean[1];
+        byId.compute(stored.getMovieId(), (id, current) -> {
+            if (current != null) {
+                duplicate[0] = true;
+                return current;
+            }
+            byTitle.add(TitleKey.of(stored));
+            return stored;
+        });
+        if (duplicate[0]) {
+            throw new SQLIntegrityConstraintViolationException(
+                    "Duplicate entry '" + stored.getMovieId() + "' for key 'movies.PRIMARY'", "23000", 1062);
+        }
+        movie.setVersion(0);
+        return movie;
+    }
+
+    @Override
+    public boolean update(Movie movie) {
+        return replace(movie, false);
+    }
+
+    /**
+     * Replaces a movie only while its stored version equals {@link Movie#getVersion()}; the
+     * check and the write happen in one per-ID {@code compute}.
+     *
+     * @param movie new values and the version they were based on (must not be null)
+     * @return {@code true} if replaced (the movie's version is advanced); {@code false} on a
+     *         version mismatch or missing ID
+     */
+    @Override
+    public boolean updateIfUnchanged(Movie movie) {
+        return replace(movie, true);
+    }
+
+    /**
+     * Inserts a movie or replaces the one with the same ID in a single per-ID {@code compute}.
+     *
+     * @param movie the movie to store (must not be null)
+     * @return {@code true} if inserted; {@code false} if an existing movie was replaced
+     *         (either way the movie's version is set to the stored one)
+     */
+    @Override
+    public boolean upsert(Movie movie) {
+        if (movie == null) {
+            throw new IllegalArgumentException("Movie cannot be null");
+        }
+        final Movie stored = copy(movie);
+        final Movie[] previous = new Movie[1];
+        byId.compute(stored.getMovieId(), (id, current) -> {
+            previous[0] = current;
+            stored.setVersion(current == null ? 0 : current.getVersion() + 1);
+            byTitle.add(TitleKey.of(stored));
+            return stored;
+        });
+        movie.setVersion(stored.getVersion());
+        if (previous[0] == null) return true;
+        dropStaleKey(previous[0]);
+        return false;
+    }
+
+    @Override
+    public boolean delete(String id) {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("Movie ID cannot be empty");
+        }
+        final Movie removed = byId.remove(id.trim());
+        if (removed == null) return false;
+        dropStaleKey(removed);
+        return true;
+    }
+
+    // ---------- STORE MANAGEMENT ----------
+
+    /**
+     * Returns the number of stored movies.
+     *
+     * @return movie count
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    /** Removes every movie. */
+    public void clear() {
+        for (String id : byId.keySet()) delete(id);
+    }
+
+    // ---------- HELPERS ----------
+
+    /**
+     * Replaces an existing movie, incrementing its version (and the movie's).
+     *
+     * @param movie        new values (must not be null)
+     * @param checkVersion if true, only replace while the stored version equals the movie's
+     * @return {@code true} if replaced
+     */
+    private boolean replace(Movie movie, boolean checkVersion) {
+        if (movie == null) {
+            throw new IllegalArgumentException("Movie cannot be null");
+        }
+        final Movie stored = copy(movie);
+        final Movie[] previous = new Movie[1];
+        byId.computeIfPresent(stored.getMovieId(), (id, current) -> {
+            if (checkVersion && current.getVersion() != stored.getVersion()) return current;
+            previous[0] = current;
+            stored.setVersion(current.getVersion() + 1);
+            byTitle.add(TitleKey.of(stored));  // new key first, so the row never disappears
+            return stored;
+        });
+        if (previous[0] == null) return false;
+        movie.setVersion(stored.getVersion());
+        dropStaleKey(previous[0]);
+        return true;
+    }
+
+    /**
+     * Shared ordered scan for pages and title searches.
+     *
+     * @param needle     lower-cased title fragment, or {@code null} for none
+     * @param afterTitle key title or {@code null}
+     * @param afterId    key ID or {@code null}
+     * @param limit      maximum rows
+     * @return matching rows in title order
+     */
+    private List<Movie> seekPage(String needle, String afterTitle, String afterId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be > 0");
+        }
+        if ((afterTitle == null) != (afterId == null)) {
+            throw new IllegalArgumentException("afterTitle and afterId must both be set or both be null");
+        }
+        final NavigableSet<TitleKey> range = (afterTitle == null)
+                ? byTitle
+                : byTitle.tailSet(new TitleKey(afterTitle, afterId), false);
+        final List<Movie> out = new ArrayList<>(Math.min(limit, 1024));
+        for (TitleKey k : range) {
+            if (needle != null && !k.lowerTitle.contains(needle)) continue;
+            final Movie m = resolve(k);
+            if (m == null) continue;
+            out.add(m);
+            if (out.size() == limit) break;
+        }
+        return out;
+    }
+
+    /**
+     * Returns a copy of the current movie for an index key, or {@code null} if the key is
+     * stale (movie deleted, renamed, or not yet published).
+     *
+     * @param k index key
+     * @return current movie at this key, or {@code null}
+     */
+    private Movie resolve(TitleKey k) {
+        final Movie m = byId.get(k.id);
+        return (m != null && m.getTitle().equals(k.title)) ? copy(m) : null;
+    }
+
+    /**
+     * Removes the index key of a replaced or deleted version unless the current version
+     * (if any) still uses it.
+     *
+     * @param old replaced or deleted version
+     */
+    private void dropStaleKey(Movie old) {
+        byId.compute(old.getMovieId(), (id, current) -> {
+            if (current == null || !current.getTitle().equals(old.getTitle())) byTitle.remove(TitleKey.of(old));
+            return current;
+        });
+    }
+
+    /**
+     * Validates and normalizes a title fragment.
+     *
+     * @param titleFragment fragment
+     * @return trimmed, lower-cased fragment
+     */
+    private static String requireFragment(String titleFragment) {
+        if (titleFragment == null || titleFragment.isBlank()) {
+            throw new IllegalArgumentException("Title fragment cannot be empty");
+        }
+        return titleFragment.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Independent copy; the source is already trimmed, so normalization is skipped.
+     *
+     * @param m movie to copy
+     * @return equal, independent instance
+     */
+    private static Movie copy(Movie m) {
+        final Movie c = Movie.ofNormalized(m.getMovieId(), m.getTitle(), m.getDirector(), m.getReleaseYear(),
+                m.getDurationMinutes(), m.getGenre(), m.getRating());
+        c.setVersion(m.getVersion());
+        return c;
+    }
+
+    /** Index key ordered case-insensitively by title, then exactly by title, then by ID. */
+    private static final class TitleKey implements Comparable<TitleKey> {
+        final String title;
+        final String lowerTitle;
+        final String id;
+
+        TitleKey(String title, String id) {
+            this.title = title;
+            this.lowerTitle = title.toLowerCase(Locale.ROOT);
+            this.id = id;
+        }
+
+        static TitleKey of(Movie m) {
+            return new TitleKey(m.getTitle(), m.getMovieId());
+        }
+
+        @Override
+        public int compareTo(TitleKey o) {
+            int c = String.CASE_INSENSITIVE_ORDER.compare(title, o.title);
+            if (c == 0) c = title.compareTo(o.title);
+            return c != 0 ? c : id.compareTo(o.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TitleKey && compareTo((TitleKey) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * title.hashCode() + id.hashCode();
+        }
+    }
+
+    /** One parsed full-text term. */
+    private static final class Term {
+        /** {@code '+'} required, {@code '-'} excluded, {@code ' '} optional. */
+        final char op;
+        final String text;
+        final boolean prefix;
+        final boolean phrase;
+
+        Term(char op, String text, boolean prefix, boolean phrase) {
+            this.op = op;
+            this.text = text;
+            this.prefix = prefix;
+            this.phrase = phrase;
+        }
+
+        boolean matches(String fullText, String[] words) {
+            if (phrase) return fullText.contains(text);
+            for (String w : words) {
+                if (prefix ? w.startsWith(text) : w.equals(text)) return true;
+            }
+            return false;
+        }
+
+        /**
+         * Splits a query into terms; operators are only recognized in boolean mode.
+         *
+         * @param query       raw query
+         * @param booleanMode whether {@code + - * "} are operators
+         * @return terms (possibly empty)
+         */
+        static List<Term> parse(String query, boolean booleanMode) {
+            final List<Term> terms = new ArrayList<>();
+            final String q = query.toLowerCase(Locale.ROOT);
+            int i = 0;
+            while (i < q.length()) {
+                char op = ' ';
+                if (booleanMode && (q.charAt(i) == '+' || q.charAt(i) == '-')) op = q.charAt(i++);
+                if (booleanMode && i < q.length() && q.charAt(i) == '"') {
+                    int end = q.indexOf('"', i + 1);
+                    if (end < 0) end = q.length();
+                    String phrase = q.substring(i + 1, end).trim().replaceAll("\\s+", " ");
+                    if (!phrase.isEmpty()) terms.add(new Term(op, phrase, false, true));
+                    i = end + 1;
+                    continue;
+                }
+                int start = i;
+                while (i < q.length() && Character.isLetterOrDigit(q.charAt(i))) i++;
+                boolean prefix = booleanMode && i < q.length() && q.charAt(i) == '*';
+                if (i > start) terms.add(new Term(op, q.substring(start, i), prefix, false));
+                if (i == start || prefix) i++;
+            }
+            return terms;
+        }
+    }
+
+    /** Full-text hit with its score. */
+    private static final class Scored {
+        final Movie movie;
+        final int score;
+
+        Scored(Movie movie, int score) {
+            this.movie = movie;
+            this.score = score;
+        }
+    }
+}
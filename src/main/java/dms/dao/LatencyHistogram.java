@@ -0,0 +1,161 @@
+package dms.dao;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with HDR-style log-linear buckets.
+ *
+ * <p>Values below 32&nbsp;ns get one bucket each; above that, every power of two is split
+ * into 32 equal sub-buckets, so any recorded value is reported within about 3% of its
+ * true value from 1&nbsp;ns up to {@link #MAX_TRACKABLE_NANOS} (larger values are clamped,
+ * but {@link Snapshot#getMax()} stays exact). The table is fixed at creation (about 10&nbsp;KB),
+ * so {@link #record(long)} never allocates or locks: one array increment plus one adder,
+ * and a CAS only when a new maximum is seen.</p>
+ *
+ * <p>Readers take a {@link Snapshot}; it is consistent enough for monitoring (a value
+ * recorded concurrently may be in its bucket but not yet in the mean).</p>
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+public final class LatencyHistogram {
+
+    /** Largest value with its own bucket (~2.4 hours); larger values share the last one. */
+    public static final long MAX_TRACKABLE_NANOS = (1L << 43) - 1;
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKETS = indexOf(MAX_TRACKABLE_NANOS) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos elapsed time in nanoseconds (negative values count as 0)
+     */
+    public void record(long nanos) {
+        final long v = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(Math.min(v, MAX_TRACKABLE_NANOS)));
+        sum.add(v);
+        long m = max.get();
+        while (v > m && !max.compareAndSet(m, v)) m = max.get();
+    }
+
+    /** Clears every bucket and counter. */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        sum.reset();
+        max.set(0);
+    }
+
+    /**
+     * Copies the current state.
+     *
+     * @return snapshot of the counts recorded so far
+     */
+    public Snapshot snapshot() {
+        final long[] copy = new long[BUCKETS];
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            n += copy[i];
+        }
+        return new Snapshot(copy, n, sum.sum(), max.get());
+    }
+
+    // ---------- BUCKET MATH ----------
+
+    /**
+     * Maps a value to its bucket: values below {@link #SUB_COUNT} map to themselves; larger
+     * values map to {@code group * SUB_COUNT + sub}, where {@code group} is the position of
+     * the highest bit minus {@code SUB_BITS - 1} and {@code sub} is the next five bits.
+     */
+    private static int indexOf(long v) {
+        if (v < SUB_COUNT) return (int) v;
+        final int msb = 63 - Long.numberOfLeadingZeros(v);
+        final int group = msb - SUB_BITS + 1;
+        final int sub = (int) (v >>> (msb - SUB_BITS)) & (SUB_COUNT - 1);
+        return group * SUB_COUNT + sub;
+    }
+
+    /** Highest value that maps to bucket {@code index}. */
+    private static long highestValueIn(int index) {
+        if (index < SUB_COUNT) return index;
+        final int group = index / SUB_COUNT;
+        final long sub = index % SUB_COUNT;
+        final long lowest = (SUB_COUNT + sub) << (group - 1);
+        return lowest + (1L << (group - 1)) - 1;
+    }
+
+    /**
+     * Immutable view of a histogram at one point in time. Times are in nanoseconds unless
+     * a {@link TimeUnit} is given.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        /** @return number of recorded values */
+        public long getCount() {
+            return count;
+        }
+
+        /** @return exact largest recorded value, 0 if empty */
+        public long getMax() {
+            return max;
+        }
+
+        /** @return mean of the recorded values, 0.0 if empty */
+        public double getMean() {
+            return count == 0 ? 0.0 : (double) sum / count;
+        }
+
+        /**
+         * Returns the value at a quantile, as the upper bound of the bucket containing it
+         * (never more than the exact maximum).
+         *
+         * @param quantile quantile in [0, 1], e.g. 0.99
+         * @return value at that quantile, 0 if empty
+         * @throws IllegalArgumentException if {@code quantile} is outside [0, 1]
+         */
+        public long getValueAtQuantile(double quantile) {
+            if (quantile < 0.0 || quantile > 1.0) {
+                throw new IllegalArgumentException("quantile must be between 0 and 1");
+            }
+            if (count == 0) return 0;
+            final long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return Math.min(highestValueIn(i), max);
+            }
+            return max;
+        }
+
+        /**
+         * Converts {@link #getValueAtQuantile(double)} to another unit, keeping fractions.
+         *
+         * @param quantile quantile in [0, 1]
+         * @param unit     target unit
+         * @return value at that quantile in {@code unit}
+         */
+        public double getValueAtQuantile(double quantile, TimeUnit unit) {
+            return (double) getValueAtQuantile(quantile) / unit.toNanos(1);
+        }
+    }
+}
@@ -0,0 +1,506 @@
+package dms.dao;
+
+import dms.model.Movie;
+import dms.model.MovieColumns;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Instrumenting decorator for any {@link MovieDao}: records per-operation latency
+ * histograms, call, error and row counts.
+ *
+ * <p><b>Responsibilities:</b></p>
+ * <ul>
+ *   <li>Time every call with {@link System#nanoTime()} into a {@link LatencyHistogram}
+ *       (p50/p99/p99.9/max) per {@link Operation}</li>
+ *   <li>Count calls, calls that threw, and rows returned (reads) or affected (writes)</li>
+ *   <li>Expose each operation as a {@link DaoOperationMXBean} ({@link #registerMBeans(String)})</li>
+ *   <li>Optionally print a text table periodically ({@link #startReporting(long, PrintStream)})</li>
+ *   <li>Emit a {@code dms.DaoCall} flight-recorder event per call (operation, rows, failure)
+ *       while a JFR recording is running</li>
+ * </ul>
+ *
+ * <p><b>Overhead:</b> recording is lock-free: two clock reads, one histogram bucket
+ * increment and a few {@link LongAdder}s, with no allocation besides the call's lambda
+ * (usually removed by the JIT), so the decorator can stay on in production. The
+ * flight-recorder event is only created while a recording has it enabled.
+ * {@link #streamAll(int)} times opening the stream; its rows are counted as they are
+ * consumed.</p>
+ *
+ * <h2>Usage</h2>
+ * <pre>{@code
+ * MetricsMovieDao dao = new MetricsMovieDao(new MysqlMovieDao());
+ * dao.registerMBeans("app");                  // visible in JConsole / VisualVM under "dms"
+ * dao.startReporting(60_000, System.out);     // optional text dump every minute
+ * MovieService service = new MovieService(dao);
+ * }</pre>
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+public class MetricsMovieDao implements DelegatingMovieDao {
+
+    /** Instrumented operations, one histogram each. */
+    public enum Operation {
+        CONNECT("connect"),
+        FLUSH("flush"),
+        FIND_ALL("findAll"),
+        STREAM_ALL("streamAll"),
+        LOAD_COLUMNS("loadColumns"),
+        FIND_PAGE("findPage"),
+        FIND_BY_ID("findById"),
+        SEARCH_BY_TITLE("searchByTitle"),
+        SEARCH_BY_TITLE_PAGE("searchByTitlePage"),
+        FULL_TEXT_SEARCH("fullTextSearch"),
+        INSERT("insert"),
+        UPDATE("update"),
+        UPDATE_IF_UNCHANGED("updateIfUnchanged"),
+        UPSERT("upsert"),
+        DELETE("delete"),
+        INSERT_ALL("insertAll"),
+        UPDATE_ALL("updateAll"),
+        UPSERT_ALL("upsertAll"),
+        DELETE_ALL("deleteAll"),
+        SUMMARIZE("summarize"),
+        COUNT_BY("countBy");
+
+        private final String methodName;
+
+        Operation(String methodName) {
+            this.methodName = methodName;
+        }
+
+        /** @return the {@link MovieDao} method name, e.g. {@code findById} */
+        public String methodName() {
+            return methodName;
+        }
+    }
+
+    private static final Pattern MBEAN_NAME = Pattern.compile("[A-Za-z0-9_.-]+");
+
+    private final MovieDao delegate;
+    private final OperationMetrics[] metrics = new OperationMetrics[Operation.values().length];
+
+    /** MBeans registered by {@link #registerMBeans(String)}; guarded by {@code this}. */
+    private final List<ObjectName> registered = new ArrayList<>();
+
+    /** Periodic reporter (null until {@link #startReporting}); guarded by {@code this}. */
+    private ScheduledExecutorService reporter;
+
+    /**
+     * Wraps a DAO.
+     *
+     * @param delegate DAO to instrument (non-null)
+     * @throws IllegalArgumentException if {@code delegate} is null
+     */
+    public MetricsMovieDao(MovieDao delegate) {
+        if (delegate == null) throw new IllegalArgumentException("delegate cannot be null");
+        this.delegate = delegate;
+        for (Operation op : Operation.values()) metrics[op.ordinal()] = new OperationMetrics(op);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public MovieDao getDelegate() {
+        return delegate;
+    }
+
+    // ---------- CONNECTION ----------
+
+    @Override
+    public void connect(String jdbcUrl, String user, String pass) throws SQLException {
+        timed(Operation.CONNECT, () -> { delegate.connect(jdbcUrl, user, pass); return null; }, MetricsMovieDao::none);
+    }
+
+    @Override
+    public boolean isConnected() {
+        return delegate.isConnected();
+    }
+
+    /**
+     * Stops the reporter, unregisters the MBeans and closes the delegate.
+     *
+     * @throws SQLException if closing the delegate fails
+     */
+    @Override
+    public void close() throws SQLException {
+        stopReporting();
+        unregisterMBeans();
+        delegate.close();
+    }
+
+    @Override
+    public void flush() throws SQLException {
+        timed(Operation.FLUSH, () -> { delegate.flush(); return null; }, MetricsMovieDao::none);
+    }
+
+    // ---------- READ OPERATIONS ----------
+
+    @Override
+    public List<Movie> findAll() throws SQLException {
+        return timed(Operation.FIND_ALL, delegate::findAll, List::size);
+    }
+
+    @Override
+    public Stream<Movie> streamAll(int fetchSize) throws SQLException {
+        final OperationMetrics m = metrics[Operation.STREAM_ALL.ordinal()];
+        return timed(Operation.STREAM_ALL, () -> delegate.streamAll(fetchSize), MetricsMovieDao::none)
+                .peek(movie -> m.rows.increment());
+    }
+
+    @Override
+    public MovieColumns loadColumns(int fetchSize) throws SQLException {
+        return timed(Operation.LOAD_COLUMNS, () -> delegate.loadColumns(fetchSize), MovieColumns::size);
+    }
+
+    @Override
+    public List<Movie> findPage(String afterTitle, String afterId, int limit) throws SQLException {
+        return timed(Operation.FIND_PAGE, () -> delegate.findPage(afterTitle, afterId, limit), List::size);
+    }
+
+    @Override
+    public Optional<Movie> findById(String id) throws SQLException {
+        return timed(Operation.FIND_BY_ID, () -> delegate.findById(id), o -> o.isPresent() ? 1 : 0);
+    }
+
+    @Override
+    public List<Movie> searchByTitle(String titleFragment) throws SQLException {
+        return timed(Operation.SEARCH_BY_TITLE, () -> delegate.searchByTitle(titleFragment), List::size);
+    }
+
+    @Override
+    public List<Movie> searchByTitlePage(String titleFragment, String afterTitle, String afterId, int limit)
+            throws SQLException {
+        return timed(Operation.SEARCH_BY_TITLE_PAGE,
+                () -> delegate.searchByTitlePage(titleFragment, afterTitle, afterId, limit), List::size);
+    }
+
+    @Override
+    public List<Movie> fullTextSearch(String query, FullTextMode mode, int limit) throws SQLException {
+        return timed(Operation.FULL_TEXT_SEARCH, () -> delegate.fullTextSearch(query, mode, limit), List::size);
+    }
+
+    @Override
+    public CatalogSummary summarize() throws SQLException {
+        return timed(Operation.SUMMARIZE, delegate::summarize, s -> 1);
+    }
+
+    @Override
+    public Map<String, Long> countBy(GroupBy groupBy) throws SQLException {
+        return timed(Operation.COUNT_BY, () -> delegate.countBy(groupBy), Map::size);
+    }
+
+    // ---------- WRITE OPERATIONS ----------
+
+    @Override
+    public Movie insert(Movie movie) throws SQLException {
+        return timed(Operation.INSERT, () -> delegate.insert(movie), m -> 1);
+    }
+
+    @Override
+    public boolean update(Movie movie) throws SQLException {
+        return timed(Operation.UPDATE, () -> delegate.update(movie), MetricsMovieDao::oneIfTrue);
+    }
+
+    @Override
+    public boolean updateIfUnchanged(Movie movie) throws SQLException {
+        return timed(Operation.UPDATE_IF_UNCHANGED, () -> delegate.updateIfUnchanged(movie), MetricsMovieDao::oneIfTrue);
+    }
+
+    @Override
+    public boolean upsert(Movie movie) throws SQLException {
+        return timed(Operation.UPSERT, () -> delegate.upsert(movie), inserted -> 1);
+    }
+
+    @Override
+    public boolean delete(String id) throws SQLException {
+        return timed(Operation.DELETE, () -> delegate.delete(id), MetricsMovieDao::oneIfTrue);
+    }
+
+    @Override
+    public BatchResult insertAll(Collection<Movie> movies) throws SQLException {
+        return timed(Operation.INSERT_ALL, () -> delegate.insertAll(movies), BatchResult::getAppliedCount);
+    }
+
+    @Override
+    public BatchResult updateAll(Collection<Movie> movies) throws SQLException {
+        return timed(Operation.UPDATE_ALL, () -> delegate.updateAll(movies), BatchResult::getAppliedCount);
+    }
+
+    @Override
+    public BatchResult upsertAll(Collection<Movie> movies) throws SQLException {
+        return timed(Operation.UPSERT_ALL, () -> delegate.upsertAll(movies), BatchResult::getAppliedCount);
+    }
+
+    @Override
+    public BatchResult deleteAll(Collection<String> ids) throws SQLException {
+        return timed(Operation.DELETE_ALL, () -> delegate.deleteAll(ids), BatchResult::getAppliedCount);
+    }
+
+    // ---------- METRICS ----------
+
+    /**
+     * Returns the live metrics of one operation.
+     *
+     * @param op operation
+     * @return its metrics (never {@code null})
+     */
+    public OperationMetrics getMetrics(Operation op) {
+        return metrics[op.ordinal()];
+    }
+
+    /** Clears every operation's counters and histogram. */
+    public void resetMetrics() {
+        for (OperationMetrics m : metrics) m.reset();
+    }
+
+    /**
+     * Formats the operations called so far as a fixed-width table (latencies in ms).
+     *
+     * @return multi-line report; only the header if nothing was called yet
+     */
+    public String report() {
+        final StringBuilder sb = new StringBuilder(256);
+        sb.append(String.format("%-20s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "calls", "errors", "rows", "mean ms", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        for (OperationMetrics m : metrics) {
+            final long calls = m.getCallCount();
+            if (calls == 0) continue;
+            final LatencyHistogram.Snapshot s = m.histogram.snapshot();
+            sb.append(String.format("%-20s %9d %7d %10d %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                    m.op.methodName(), calls, m.getErrorCount(), m.getRowCount(),
+                    s.getMean() / 1e6,
+                    s.getValueAtQuantile(0.50, TimeUnit.MILLISECONDS),
+                    s.getValueAtQuantile(0.99, TimeUnit.MILLISECONDS),
+                    s.getValueAtQuantile(0.999, TimeUnit.MILLISECONDS),
+                    s.getMax() / 1e6));
+        }
+        return sb.toString();
+    }
+
+    // ---------- REPORTING ----------
+
+    /**
+     * Prints {@link #report()} every {@code intervalMs} on a daemon thread, skipping periods
+     * without calls. Replaces a reporter started earlier.
+     *
+     * @param intervalMs period in milliseconds (&gt; 0)
+     * @param out        destination, e.g. {@code System.out}
+     * @throws IllegalArgumentException if {@code intervalMs} is not positive or {@code out} is null
+     */
+    public synchronized void startReporting(long intervalMs, PrintStream out) {
+        if (intervalMs <= 0) throw new IllegalArgumentException("intervalMs must be > 0");
+        if (out == null) throw new IllegalArgumentException("out cannot be null");
+        stopReporting();
+        reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "dms-metrics-report");
+            t.setDaemon(true);
+            return t;
+        });
+        final long[] lastCalls = {-1};
+        reporter.scheduleAtFixedRate(() -> {
+            long calls = 0;
+            for (OperationMetrics m : metrics) calls += m.getCallCount();
+            if (calls == lastCalls[0]) return;
+            lastCalls[0] = calls;
+            out.print("DAO metrics (" + delegate.getClass().getSimpleName() + ")" + System.lineSeparator() + report());
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Stops the periodic reporter, if running. */
+    public synchronized void stopReporting() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+    }
+
+    // ---------- JMX ----------
+
+    /**
+     * Registers one {@link DaoOperationMXBean} per operation with the platform MBean server as
+     * {@code dms:type=MovieDao,name=<name>,operation=<method>}, replacing beans left by an
+     * earlier instance with the same name.
+     *
+     * @param name distinguishes DAO instances (letters, digits, {@code _ . -})
+     * @throws JMException              if registration fails
+     * @throws IllegalArgumentException if {@code name} is blank or contains other characters
+     */
+    public synchronized void registerMBeans(String name) throws JMException {
+        if (name == null || !MBEAN_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("MBean name must match " + MBEAN_NAME.pattern());
+        }
+        unregisterMBeans();
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (OperationMetrics m : metrics) {
+            final ObjectName on = new ObjectName("dms:type=MovieDao,name=" + name + ",operation=" + m.op.methodName());
+            try {
+                server.registerMBean(m, on);
+            } catch (InstanceAlreadyExistsException stale) {
+                server.unregisterMBean(on);
+                server.registerMBean(m, on);
+            }
+            registered.add(on);
+        }
+    }
+
+    /** Unregisters the MBeans registered by this instance. */
+    public synchronized void unregisterMBeans() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName on : registered) {
+            try {
+                server.unregisterMBean(on);
+            } catch (JMException ignore) {
+                // already gone
+            }
+        }
+        registered.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "MetricsMovieDao{" + delegate + "}";
+    }
+
+    // ---------- HELPERS ----------
+
+    /**
+     * A DAO call that may throw {@link SQLException}.
+     *
+     * @param <T> result type
+     */
+    @FunctionalInterface
+    private interface SqlCall<T> {
+        T call() throws SQLException;
+    }
+
+    /**
+     * Runs a call and records its latency, outcome and row count.
+     *
+     * @param op   operation to record under
+     * @param call the delegate call
+     * @param rows row count of a successful result
+     * @param <T>  result type
+     * @return the call's result
+     * @throws SQLException whatever the call throws (recorded as an error)
+     */
+    private <T> T timed(Operation op, SqlCall<T> call, ToLongFunction<? super T> rows) throws SQLException {
+        final OperationMetrics m = metrics[op.ordinal()];
+        final DaoCallEvent event = DaoCallEvent.isRecording() ? new DaoCallEvent() : null;
+        if (event != null) event.begin();
+        final long start = System.nanoTime();
+        final T result;
+        try {
+            result = call.call();
+        } catch (SQLException | RuntimeException ex) {
+            m.record(System.nanoTime() - start, true);
+            commit(event, op, 0, true);
+            throw ex;
+        }
+        m.record(System.nanoTime() - start, false);
+        final long n = rows.applyAsLong(result);
+        m.rows.add(n);
+        commit(event, op, n, false);
+        return result;
+    }
+
+    private void commit(DaoCallEvent event, Operation op, long rows, boolean failed) {
+        if (event == null) return;
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.operation = op.methodName();
+        event.dao = delegate.getClass().getSimpleName();
+        event.rows = rows;
+        event.failed = failed;
+        event.commit();
+    }
+
+    private static long none(Object ignored) {
+        return 0;
+    }
+
+    private static long oneIfTrue(Boolean b) {
+        return b ? 1 : 0;
+    }
+
+    /** Counters and histogram of one operation; also its JMX view. */
+    public static final class OperationMetrics implements DaoOperationMXBean {
+        private final Operation op;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+
+        private OperationMetrics(Operation op) {
+            this.op = op;
+        }
+
+        private void record(long nanos, boolean failed) {
+            histogram.record(nanos);
+            calls.increment();
+            if (failed) errors.increment();
+        }
+
+        /** @return latency histogram snapshot (nanoseconds) */
+        public LatencyHistogram.Snapshot getSnapshot() {
+            return histogram.snapshot();
+        }
+
+        @Override
+        public String getOperation() { return op.methodName(); }
+
+        @Override
+        public long getCallCount() { return calls.sum(); }
+
+        @Override
+        public long getErrorCount() { return errors.sum(); }
+
+        @Override
+        public long getRowCount() { return rows.sum(); }
+
+        @Override
+        public double getMeanMicros() { return histogram.snapshot().getMean() / 1e3; }
+
+        @Override
+        public double getP50Micros() { return micros(0.50); }
+
+        @Override
+        public double getP99Micros() { return micros(0.99); }
+
+        @Override
+        public double getP999Micros() { return micros(0.999); }
+
+        @Override
+        public double getMaxMicros() { return histogram.snapshot().getMax() / 1e3; }
+
+        @Override
+        public void reset() {
+            histogram.reset();
+            calls.reset();
+            errors.reset();
+            rows.reset();
+        }
+
+        private double micros(double quantile) {
+            return histogram.snapshot().getValueAtQuantile(quantile, TimeUnit.MICROSECONDS);
+        }
+    }
+}
@@ -1,17 +1,29 @@
 package dms.dao;
 
 import dms.model.Movie;
+import dms.model.MovieColumns;
 
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object (DAO) interface for the {@link Movie} entity.
  * <p>
  * This interface defines the CRUD contract used by all DAO implementations
- * (e.g., {@code MysqlMovieDao}, {@code SqliteMovieDao}) for persistence operations.
+ * (e.g., {@code MysqlMovieDao}, {@code InMemoryMovieDao}) for persistence operations.
  * </p>
+ * <p>Every operation the service layer needs is declared here, with defaults for the
+ * optional ones (connection lifecycle, title search, upsert), so callers never have to downcast
+ * to a particular implementation.</p>
  *
  * <p>Responsibilities:</p>
  * <ul>
@@ -25,6 +37,72 @@ import java.util.Optional;
  */
 public interface MovieDao {
 
+    /**
+     * Dimensions supported by {@link #countBy(GroupBy)}.
+     */
+    enum GroupBy {
+        /** One bucket per genre. */
+        GENRE,
+        /** One bucket per release decade, keyed like {@code "1990"}. */
+        DECADE,
+        /** One bucket per director. */
+        DIRECTOR,
+        /** One bucket per whole rating point, keyed {@code "0"}..{@code "10"}. */
+        RATING
+    }
+
+    /**
+     * Query interpretation for {@link #fullTextSearch(String, FullTextMode, int)}.
+     */
+    enum FullTextMode {
+        /** Free text; rows ranked by relevance (MySQL {@code IN NATURAL LANGUAGE MODE}). */
+        NATURAL_LANGUAGE,
+        /** Operators such as {@code +must -not prefix*} and {@code "phrase"} (MySQL {@code IN BOOLEAN MODE}). */
+        BOOLEAN
+    }
+
+    // ---------- CONNECTION ----------
+
+    /**
+     * Connects to the backing store.
+     * <p>The default does nothing, for implementations without an external store.</p>
+     *
+     * @param jdbcUrl JDBC URL
+     * @param user    database username
+     * @param pass    database password
+     * @throws SQLException if the connection cannot be established
+     */
+    default void connect(String jdbcUrl, String user, String pass) throws SQLException {
+    }
+
+    /**
+     * Indicates whether the DAO can serve requests.
+     * <p>The default returns {@code true}, for implementations that are always available.</p>
+     *
+     * @return {@code true} if connected
+     */
+    default boolean isConnected() {
+        return true;
+    }
+
+    /**
+     * Releases the connection(s) to the backing store.
+     * <p>The default does nothing.</p>
+     *
+     * @throws SQLException if closing fails
+     */
+    default void close() throws SQLException {
+    }
+
+    /**
+     * Applies writes the DAO has acknowledged but not yet stored (see {@link WriteBehindMovieDao}).
+     * <p>The default does nothing, for DAOs that write synchronously.</p>
+     *
+     * @throws SQLException if the buffered writes cannot be applied
+     */
+    default void flush() throws SQLException {
+    }
+
     // ---------- READ OPERATIONS ----------
 
     /**
@@ -35,6 +113,58 @@ public interface MovieDao {
      */
     List<Movie> findAll() throws SQLException;
 
+    /**
+     * Streams all movies ordered by title, yielding rows as they are read instead of
+     * materializing the whole table.
+     * <p>The returned stream holds database resources and <b>must be closed</b>
+     * (use try-with-resources). Errors raised while iterating are reported as
+     * {@link UncheckedSQLException}.</p>
+     * <p>The default implementation simply streams {@link #findAll()}; implementations
+     * backed by a database should override it with a cursor-based read.</p>
+     *
+     * @param fetchSize number of rows fetched per round trip (hint; must be &gt; 0)
+     * @return a lazily populated stream of movies
+     * @throws SQLException if the query cannot be started
+     */
+    default Stream<Movie> streamAll(int fetchSize) throws SQLException {
+        return findAll().stream();
+    }
+
+    /**
+     * Loads all movies, ordered by title, into a compact {@link MovieColumns} store without
+     * keeping a {@link Movie} object per row.
+     * <p>The default implementation copies {@link #streamAll(int)}; JDBC implementations
+     * should override it to fill the store straight from the {@code ResultSet}.</p>
+     *
+     * @param fetchSize number of rows fetched per round trip (hint; must be &gt; 0)
+     * @return a new store holding every movie
+     * @throws SQLException if a database access error occurs
+     */
+    default MovieColumns loadColumns(int fetchSize) throws SQLException {
+        final MovieColumns columns = new MovieColumns();
+        try (Stream<Movie> s = streamAll(fetchSize)) {
+            s.forEach(columns::add);
+        } catch (UncheckedSQLException e) {
+            throw e.getCause();
+        }
+        columns.trimToSize();
+        return columns;
+    }
+
+    /**
+     * Returns the next page of movies in {@code (title, movie_id)} order, starting strictly
+     * after the given key (keyset / seek pagination).
+     * <p>Pass {@code null} for both key parts to fetch the first page. To fetch the next page,
+     * pass the title and ID of the last movie on the current page.</p>
+     *
+     * @param afterTitle title of the last row already seen, or {@code null} for the first page
+     * @param afterId    ID of the last row already seen, or {@code null} for the first page
+     * @param limit      maximum number of rows to return (must be &gt; 0)
+     * @return up to {@code limit} movies (empty when there are no more rows)
+     * @throws SQLException if a database access error occurs
+     */
+    List<Movie> findPage(String afterTitle, String afterId, int limit) throws SQLException;
+
     /**
      * Finds a single movie by its string primary key.
      *
@@ -44,10 +174,90 @@ public interface MovieDao {
      */
     Optional<Movie> findById(String id) throws SQLException;
 
+    // ---------- SEARCH ----------
+
+    /**
+     * Finds movies whose title contains a text fragment (case-insensitive), ordered by
+     * {@code (title, movie_id)}.
+     * <p>The default implementation filters {@link #streamAll(int)}; database-backed
+     * implementations should push the filter down.</p>
+     *
+     * @param titleFragment partial title text (must not be blank)
+     * @return a non-null list of matches
+     * @throws SQLException             if a database access error occurs
+     * @throws IllegalArgumentException if {@code titleFragment} is null or blank
+     */
+    default List<Movie> searchByTitle(String titleFragment) throws SQLException {
+        if (titleFragment == null || titleFragment.isBlank()) {
+            throw new IllegalArgumentException("Title fragment cannot be empty");
+        }
+        final String needle = titleFragment.trim().toLowerCase(Locale.ROOT);
+        final List<Movie> hits = new ArrayList<>();
+        try (Stream<Movie> s = streamAll(1000)) {
+            s.filter(m -> m.getTitle().toLowerCase(Locale.ROOT).contains(needle)).forEach(hits::add);
+        } catch (UncheckedSQLException e) {
+            throw e.getCause();
+        }
+        return hits;
+    }
+
+    /**
+     * Keyset-paginated variant of {@link #searchByTitle(String)}.
+     * <p>The default implementation pages through {@link #findPage} and filters each page.</p>
+     *
+     * @param titleFragment partial title text (must not be blank)
+     * @param afterTitle    title of the last row already seen, or {@code null} for the first page
+     * @param afterId       ID of the last row already seen, or {@code null} for the first page
+     * @param limit         maximum rows to return (must be &gt; 0)
+     * @return a non-null list of at most {@code limit} matches
+     * @throws SQLException             if a database access error occurs
+     * @throws IllegalArgumentException if arguments are invalid
+     */
+    default List<Movie> searchByTitlePage(String titleFragment, String afterTitle, String afterId, int limit)
+            throws SQLException {
+        if (titleFragment == null || titleFragment.isBlank()) {
+            throw new IllegalArgumentException("Title fragment cannot be empty");
+        }
+        if (limit <= 0) throw new IllegalArgumentException("limit must be > 0");
+        final String needle = titleFragment.trim().toLowerCase(Locale.ROOT);
+        final List<Movie> hits = new ArrayList<>(Math.min(limit, 1024));
+        String title = afterTitle;
+        String id = afterId;
+        while (hits.size() < limit) {
+            List<Movie> page = findPage(title, id, 1000);
+            for (Movie m : page) {
+                if (m.getTitle().toLowerCase(Locale.ROOT).contains(needle)) {
+                    hits.add(m);
+                    if (hits.size() == limit) break;
+                }
+            }
+            if (page.size() < 1000) break;
+            Movie last = page.get(page.size() - 1);
+            title = last.getTitle();
+            id = last.getMovieId();
+        }
+        return hits;
+    }
+
+    /**
+     * Ranked full-text search over title, director and genre, most relevant first.
+     * <p>Optional: the default throws {@link SQLFeatureNotSupportedException}.</p>
+     *
+     * @param query search text (natural language words, or boolean-mode expression)
+     * @param mode  how {@code query} is interpreted
+     * @param limit maximum rows to return (must be &gt; 0)
+     * @return a non-null list of matches
+     * @throws SQLException if a database access error occurs or the DAO does not support it
+     */
+    default List<Movie> fullTextSearch(String query, FullTextMode mode, int limit) throws SQLException {
+        throw new SQLFeatureNotSupportedException("fullTextSearch is not supported by " + getClass().getSimpleName());
+    }
+
     // ---------- CREATE ----------
 
     /**
      * Inserts a new {@link Movie} record into the database.
+     * <p>New rows start at version 0; on success the movie's version is set to 0 as well.</p>
      *
      * @param movie the movie to insert (all required fields must be provided)
      * @return the inserted movie instance
@@ -59,6 +269,8 @@ public interface MovieDao {
 
     /**
      * Updates an existing {@link Movie} record based on its primary key.
+     * <p>The stored version is incremented, and on success so is the movie's, so the movie
+     * carries the new stored version whenever it carried the one it was read at.</p>
      *
      * @param movie the movie to update; must contain a valid primary key
      * @return {@code true} if at least one row was updated; {@code false} if no match found
@@ -66,6 +278,44 @@ public interface MovieDao {
      */
     boolean update(Movie movie) throws SQLException;
 
+    /**
+     * Updates a movie only if the stored row still has the version the caller read
+     * ({@link Movie#getVersion()}), incrementing the version in the same step.
+     * <p>This is optimistic locking: no lock is held between reading and writing, and a
+     * concurrent edit is detected by the write itself. On success the movie's version is
+     * set to the new stored version. {@code false} means the row changed (or was deleted)
+     * since it was read; callers can re-read it to tell the two apart.</p>
+     * <p>Optional: the default throws {@link SQLFeatureNotSupportedException}, because
+     * a read-then-write fallback could not detect a concurrent edit reliably.</p>
+     *
+     * @param movie new values, carrying the version they were based on
+     * @return {@code true} if the row was updated; {@code false} on a version mismatch or missing row
+     * @throws SQLException if a database access error occurs or the operation is unsupported
+     */
+    default boolean updateIfUnchanged(Movie movie) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Conditional update not supported by " + getClass().getSimpleName());
+    }
+
+    // ---------- UPSERT ----------
+
+    /**
+     * Inserts a movie, or replaces the existing row with the same ID, without reading first.
+     * <p>A replaced row's version is incremented. On success the movie's version follows
+     * the stored one: 0 for a new row, incremented for a replaced row (as in
+     * {@link #update(Movie)}). The default implementation tries
+     * {@link #update(Movie)} and falls back to {@link #insert(Movie)}, which is not atomic;
+     * database-backed implementations should override it with a single statement.</p>
+     *
+     * @param movie the movie to store (must not be null)
+     * @return {@code true} if a new row was inserted; {@code false} if an existing row was replaced
+     * @throws SQLException if a database access error occurs or constraints are violated
+     */
+    default boolean upsert(Movie movie) throws SQLException {
+        if (update(movie)) return false;
+        insert(movie);
+        return true;
+    }
+
     // ---------- DELETE ----------
 
     /**
@@ -76,4 +326,168 @@ public interface MovieDao {
      * @throws SQLException if a database access error occurs
      */
     boolean delete(String id) throws SQLException;
+
+    // ---------- BULK OPERATIONS ----------
+
+    /**
+     * Inserts many movies in one bulk operation.
+     * <p>The default implementation calls {@link #insert(Movie)} once per row; JDBC
+     * implementations should override it with statement batching.</p>
+     *
+     * @param movies movies to insert (non-null, no null elements)
+     * @return per-row outcome in input order
+     * @throws SQLException if the operation cannot be started
+     */
+    default BatchResult insertAll(Collection<Movie> movies) throws SQLException {
+        final int[] counts = new int[movies.size()];
+        final List<SQLException> errors = new ArrayList<>();
+        int i = 0;
+        for (Movie m : movies) {
+            try {
+                insert(m);
+                counts[i] = 1;
+            } catch (SQLException ex) {
+                counts[i] = Statement.EXECUTE_FAILED;
+                errors.add(ex);
+            }
+            i++;
+        }
+        return new BatchResult(counts, errors);
+    }
+
+    /**
+     * Updates many movies in one bulk operation.
+     * <p>The version of each applied movie is advanced as in {@link #update(Movie)}. The
+     * default implementation calls {@link #update(Movie)} once per row.</p>
+     *
+     * @param movies movies to update (non-null, no null elements)
+     * @return per-row outcome in input order; a count of 0 means the ID was not found
+     * @throws SQLException if the operation cannot be started
+     */
+    default BatchResult updateAll(Collection<Movie> movies) throws SQLException {
+        final int[] counts = new int[movies.size()];
+        final List<SQLException> errors = new ArrayList<>();
+        int i = 0;
+        for (Movie m : movies) {
+            try {
+                counts[i] = update(m) ? 1 : 0;
+            } catch (SQLException ex) {
+                counts[i] = Statement.EXECUTE_FAILED;
+                errors.add(ex);
+            }
+            i++;
+        }
+        return new BatchResult(counts, errors);
+    }
+
+    /**
+     * Inserts or replaces many movies in one bulk operation.
+     * <p>Versions follow {@link #upsert(Movie)} for rows reported as inserted or replaced;
+     * movies of {@link Statement#SUCCESS_NO_INFO} rows keep their version, since which of
+     * the two happened is unknown. The default implementation calls {@link #upsert(Movie)} once per row; JDBC
+     * implementations should override it with statement batching.</p>
+     *
+     * @param movies movies to store (non-null, no null elements)
+     * @return per-row outcome in input order: 1 = inserted, 2 = replaced (MySQL's
+     *         affected-rows convention); batched drivers may report
+     *         {@link Statement#SUCCESS_NO_INFO} instead
+     * @throws SQLException if the operation cannot be started
+     */
+    default BatchResult upsertAll(Collection<Movie> movies) throws SQLException {
+        final int[] counts = new int[movies.size()];
+        final List<SQLException> errors = new ArrayList<>();
+        int i = 0;
+        for (Movie m : movies) {
+            try {
+                counts[i] = upsert(m) ? 1 : 2;
+            } catch (SQLException ex) {
+                counts[i] = Statement.EXECUTE_FAILED;
+                errors.add(ex);
+            }
+            i++;
+        }
+        return new BatchResult(counts, errors);
+    }
+
+    /**
+     * Deletes many movies by ID in one bulk operation.
+     * <p>The default implementation calls {@link #delete(String)} once per ID.</p>
+     *
+     * @param ids IDs to delete (non-null, no null or blank elements)
+     * @return per-row outcome in input order; a count of 0 means the ID was not found
+     * @throws SQLException if the operation cannot be started
+     */
+    default BatchResult deleteAll(Collection<String> ids) throws SQLException {
+        final int[] counts = new int[ids.size()];
+        final List<SQLException> errors = new ArrayList<>();
+        int i = 0;
+        for (String id : ids) {
+            try {
+                counts[i] = delete(id) ? 1 : 0;
+            } catch (SQLException ex) {
+                counts[i] = Statement.EXECUTE_FAILED;
+                errors.add(ex);
+            }
+            i++;
+        }
+        return new BatchResult(counts, errors);
+    }
+
+    // ---------- AGGREGATES ----------
+
+    /**
+     * Computes count, duration and rating aggregates for the whole catalog.
+     * <p>The default implementation scans {@link #streamAll(int)}; database-backed
+     * implementations should push the work down to the database.</p>
+     *
+     * @return catalog summary (never {@code null})
+     * @throws SQLException if a database access error occurs
+     */
+    default CatalogSummary summarize() throws SQLException {
+        long count = 0;
+        long total = 0;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        double ratings = 0.0;
+        try (Stream<Movie> s = streamAll(1000)) {
+            for (Movie m : (Iterable<Movie>) s::iterator) {
+                count++;
+                total += m.getDurationMinutes();
+                min = Math.min(min, m.getDurationMinutes());
+                max = Math.max(max, m.getDurationMinutes());
+                ratings += m.getRating();
+            }
+        } catch (UncheckedSQLException e) {
+            throw e.getCause();
+        }
+        return count == 0 ? CatalogSummary.EMPTY : new CatalogSummary(count, total, min, max, ratings);
+    }
+
+    /**
+     * Counts movies per group.
+     * <p>The default implementation scans {@link #streamAll(int)}.</p>
+     *
+     * @param groupBy grouping dimension (non-null)
+     * @return map from group key to movie count, ordered by key
+     * @throws SQLException if a database access error occurs
+     */
+    default Map<String, Long> countBy(GroupBy groupBy) throws SQLException {
+        if (groupBy == null) throw new IllegalArgumentException("groupBy cannot be null");
+        final Map<String, Long> counts = new TreeMap<>();
+        try (Stream<Movie> s = streamAll(1000)) {
+            s.forEach(m -> {
+                final String key;
+                switch (groupBy) {
+                    case GENRE:    key = m.getGenre(); break;
+                    case DIRECTOR: key = m.getDirector(); break;
+                    case RATING:   key = String.valueOf((int) Math.floor(m.getRating())); break;
+                    default:       key = String.valueOf(Math.floorDiv(m.getReleaseYear(), 10) * 10); break;
+                }
+                counts.merge(key, 1L, Long::sum);
+            });
+        } catch (UncheckedSQLException e) {
+            throw e.getCause();
+        }
+        return counts;
+    }
 }
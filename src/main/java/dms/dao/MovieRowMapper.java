@@ -0,0 +1,87 @@
+package dms.dao;
+
+import dms.model.Movie;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of one {@link ResultSet} over the {@code movies} columns to {@link Movie} objects
+ * with as little work per row as possible.
+ *
+ * <ul>
+ *   <li>Column positions are resolved once, when the mapper is created, so each row reads
+ *       by index instead of looking columns up by name.</li>
+ *   <li>Genre and director go through a shared {@link StringInterner}, so repeated values
+ *       share one instance.</li>
+ *   <li>Values come from the database already trimmed, so rows are built with
+ *       {@link Movie#ofNormalized} and skip the constructor's {@code trim()} calls.</li>
+ *   <li>The optional {@code version} column is copied into {@link Movie#setVersion} when the
+ *       query selects it.</li>
+ * </ul>
+ *
+ * <p>Create one mapper per result set; it is not thread-safe.</p>
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+public final class MovieRowMapper {
+
+    private final StringInterner interner;
+    private final int idCol;
+    private final int titleCol;
+    private final int directorCol;
+    private final int yearCol;
+    private final int durationCol;
+    private final int genreCol;
+    private final int ratingCol;
+    private final int versionCol;   // 0 when not selected
+
+    /**
+     * Resolves the column positions of {@code rs}.
+     *
+     * @param rs       result set containing the seven {@code movies} columns (any order),
+     *                 optionally with {@code version}
+     * @param interner canonical-value table for genre and director
+     * @throws SQLException if a column is missing
+     */
+    public MovieRowMapper(ResultSet rs, StringInterner interner) throws SQLException {
+        this.interner = interner;
+        this.idCol = rs.findColumn("movie_id");
+        this.titleCol = rs.findColumn("title");
+        this.directorCol = rs.findColumn("director");
+        this.yearCol = rs.findColumn("release_year");
+        this.durationCol = rs.findColumn("duration_minutes");
+        this.genreCol = rs.findColumn("genre");
+        this.ratingCol = rs.findColumn("rating");
+        this.versionCol = optionalColumn(rs, "version");
+    }
+
+    private static int optionalColumn(ResultSet rs, String label) {
+        try {
+            return rs.findColumn(label);
+        } catch (SQLException ex) {
+            return 0;
+        }
+    }
+
+    /**
+     * Maps the current row.
+     *
+     * @param rs the same result set, positioned on a row
+     * @return the movie
+     * @throws SQLException if a column cannot be read
+     */
+    public Movie map(ResultSet rs) throws SQLException {
+        final Movie m = Movie.ofNormalized(
+                rs.getString(idCol),
+                rs.getString(titleCol),
+                interner.intern(rs.getString(directorCol)),
+                rs.getInt(yearCol),
+                rs.getInt(durationCol),
+                interner.intern(rs.getString(genreCol)),
+                rs.getDouble(ratingCol));
+        if (versionCol > 0) m.setVersion(rs.getLong(versionCol));
+        return m;
+    }
+}
@@ -1,20 +1,44 @@
 package dms.dao;
 
 import dms.model.Movie;
+import dms.model.MovieColumns;
 
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * MySQL implementation of {@link MovieDao} using plain JDBC.
  *
  * <p><b>Responsibilities:</b></p>
  * <ul>
- *   <li>Open/close the DB connection</li>
+ *   <li>Open/close a bounded {@link ConnectionPool} (thread-safe, auto-reconnecting)</li>
  *   <li>CRUD operations (findAll, findById, insert, update, delete)</li>
  *   <li>Case-insensitive search by title using SQL LIKE</li>
+ *   <li>Keyset pagination over {@code (title, movie_id)}</li>
+ *   <li>Ranked full-text search ({@code MATCH ... AGAINST}) over title, director and genre</li>
+ *   <li>Single-statement upsert ({@code INSERT ... ON DUPLICATE KEY UPDATE}) and
+ *       version-checked conditional updates (optimistic locking on the {@code version} column)</li>
+ *   <li>Bulk insert/update/upsert/delete with JDBC batching and chunked commits</li>
+ *   <li>Aggregates (count, duration/rating statistics, grouped counts) computed in SQL</li>
+ *   <li>Optional slow-query log with bound parameters and {@code EXPLAIN} plans
+ *       ({@link #enableSlowQueryLog(Path, long)})</li>
+ *   <li>A {@code dms.SqlStatement} flight-recorder event per statement while a JFR
+ *       recording is running</li>
  * </ul>
  *
  * <p><b>Expected schema</b> (table {@code movies}):</p>
@@ -46,8 +70,34 @@ import java.util.Optional;
  */
 public class MysqlMovieDao implements MovieDao {
 
-    /** Active JDBC connection (null when closed). */
-    private Connection conn;
+    /** Default number of rows fetched per round trip by {@link #streamAll(int)}. */
+    public static final int DEFAULT_FETCH_SIZE = 500;
+
+    /** Default number of rows per batch/transaction in bulk operations. */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /** Insert-or-replace; a replaced row gets the new values and {@code version + 1}. */
+    private static final String UPSERT_SQL =
+            "INSERT INTO movies (movie_id,title,director,release_year,duration_minutes,genre,rating) " +
+            "VALUES (?,?,?,?,?,?,?) " +
+            "ON DUPLICATE KEY UPDATE title=VALUES(title), director=VALUES(director), " +
+            "release_year=VALUES(release_year), duration_minutes=VALUES(duration_minutes), " +
+            "genre=VALUES(genre), rating=VALUES(rating), version=version+1";
+
+    /** Rows executed and committed together by the {@code *All} bulk operations. */
+    private volatile int batchSize = DEFAULT_BATCH_SIZE;
+
+    /** Canonical genre/director strings shared by every mapped row. */
+    private final StringInterner interner = new StringInterner();
+
+    /** Connection pool (null until {@link #connect(String, String, String)} is called). */
+    private volatile ConnectionPool pool;
+
+    /** Leak-detection threshold for pools opened by {@code connect} (0 disables). */
+    private volatile long leakThresholdMs = ConnectionPool.DEFAULT_LEAK_THRESHOLD_MS;
+
+    /** Slow-query log (null unless {@link #enableSlowQueryLog(Path, long)} was called). */
+    private volatile SlowQueryLog slowQueryLog;
 
     /** Default constructor (no special initialization). */
     public MysqlMovieDao() { }
@@ -55,7 +105,9 @@ public class MysqlMovieDao implements MovieDao {
     // ---------- CONNECTION ----------
 
     /**
-     * Opens a JDBC connection to MySQL.
+     * Opens a connection pool to MySQL with default sizing.
+     * <p>Any previously opened pool is closed first. At least one connection is opened
+     * eagerly so bad credentials or an unreachable server fail here.</p>
      *
      * @param jdbcUrl JDBC URL (e.g., {@code jdbc:mysql://localhost:3306/dms_movies?...})
      * @param user    database username
@@ -63,7 +115,24 @@ public class MysqlMovieDao implements MovieDao {
      * @throws IllegalArgumentException if {@code jdbcUrl} is blank
      * @throws SQLException             if the driver is missing or the connection cannot be established
      */
+    @Override
     public void connect(String jdbcUrl, String user, String pass) throws SQLException {
+        connect(jdbcUrl, user, pass, ConnectionPool.DEFAULT_MIN_IDLE, ConnectionPool.DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Opens a connection pool to MySQL with explicit sizing.
+     *
+     * @param jdbcUrl JDBC URL
+     * @param user    database username
+     * @param pass    database password
+     * @param minIdle connections kept open while idle
+     * @param maxSize maximum number of concurrent connections
+     * @throws IllegalArgumentException if {@code jdbcUrl} is blank or sizes are invalid
+     * @throws SQLException             if the driver is missing or the connection cannot be established
+     */
+    public synchronized void connect(String jdbcUrl, String user, String pass,
+                                     int minIdle, int maxSize) throws SQLException {
         if (jdbcUrl == null || jdbcUrl.isBlank()) {
             throw new IllegalArgumentException("JDBC URL cannot be empty");
         }
@@ -73,65 +142,264 @@ public class MysqlMovieDao implements MovieDao {
         } catch (ClassNotFoundException e) {
             throw new SQLException("MySQL JDBC driver not found on classpath.", e);
         }
-        this.conn = DriverManager.getConnection(jdbcUrl, user, pass);
+        ConnectionPool fresh = new ConnectionPool(withDriverOptions(jdbcUrl), user, pass, minIdle, maxSize,
+                ConnectionPool.DEFAULT_BORROW_TIMEOUT_MS, ConnectionPool.DEFAULT_IDLE_TIMEOUT_MS,
+                leakThresholdMs);
+        try {
+            fresh.warmUp();
+        } catch (SQLException ex) {
+            fresh.close();
+            throw ex;
+        }
+        ConnectionPool old = this.pool;
+        this.pool = fresh;
+        if (old != null) old.close();
     }
 
     /**
-     * Checks whether the current JDBC connection is open.
+     * Turns on connection-leak detection for pools opened by later {@code connect} calls:
+     * connections held longer than {@code thresholdMs} are logged with the stack that
+     * borrowed them. Every borrow then captures a stack trace, so enable it only to
+     * diagnose leaks.
      *
-     * @return {@code true} if the connection is valid and open; {@code false} otherwise
+     * @param thresholdMs borrow duration in milliseconds (0 disables, the default)
+     * @throws IllegalArgumentException if negative
      */
-    public boolean isConnected() {
+    public void setLeakDetectionThreshold(long thresholdMs) {
+        if (thresholdMs < 0) throw new IllegalArgumentException("thresholdMs cannot be negative");
+        this.leakThresholdMs = thresholdMs;
+    }
+
+    /**
+     * Loads and registers the MySQL driver (and {@link DriverManager}) ahead of
+     * {@link #connect(String, String, String)}, e.g. on a background thread while the user
+     * is still typing credentials. Loading the driver is a large share of the first
+     * connection's cost; doing it twice is harmless.
+     *
+     * @return {@code true} if the driver is on the classpath
+     */
+    public static boolean preloadDriver() {
         try {
-            return conn != null && !conn.isClosed();
-        } catch (SQLException e) {
+            Class.forName("com.mysql.cj.jdbc.Driver");
+            DriverManager.getDrivers();
+            return true;
+        } catch (ClassNotFoundException e) {
             return false;
         }
     }
 
     /**
-     * Closes the JDBC connection if it is open.
+     * Opens up to {@code count} extra pooled connections concurrently in the background
+     * (see {@link ConnectionPool#prestartAsync(int)}), for callers about to run several
+     * queries in parallel right after connecting.
      *
-     * @throws SQLException if closing the connection fails
+     * @param count connections to open
+     * @throws IllegalStateException if not connected
      */
-    public void close() throws SQLException {
-        if (conn != null && !conn.isClosed()) {
-            conn.close();
+    public void prestartConnections(int count) {
+        ConnectionPool p = pool;
+        if (p == null) throw new IllegalStateException("Not connected");
+        p.prestartAsync(count);
+    }
+
+    /**
+     * Checks whether the connection pool is open.
+     *
+     * @return {@code true} if {@link #connect(String, String, String)} succeeded and {@link #close()} was not called
+     */
+    @Override
+    public boolean isConnected() {
+        ConnectionPool p = pool;
+        return p != null && p.isOpen();
+    }
+
+    /**
+     * Closes the slow-query log (writing its queued entries first) and the connection pool.
+     *
+     * @throws SQLException if closing the pool fails
+     */
+    @Override
+    public synchronized void close() throws SQLException {
+        disableSlowQueryLog();
+        if (pool != null) {
+            pool.close();
+            pool = null;
         }
     }
 
+    /**
+     * Returns occupancy, wait-time and statement-cache statistics of the connection pool.
+     *
+     * @return statistics snapshot
+     * @throws IllegalStateException if not connected
+     */
+    public ConnectionPool.Stats getPoolStats() {
+        ConnectionPool p = pool;
+        if (p == null) throw new IllegalStateException("Not connected");
+        return p.getStats();
+    }
+
+    // ---------- SLOW-QUERY LOG ----------
+
+    /**
+     * Starts logging every statement that takes at least {@code thresholdMs}, with its
+     * bound parameters, row count and {@code EXPLAIN} plan, to a rolling file (see
+     * {@link SlowQueryLog}). Plans are captured on the log's writer thread with a pooled
+     * connection, so the DAO must stay connected for them. A previously enabled log is
+     * closed first.
+     *
+     * @param file        log file (appended to; rolled over at 10 MB)
+     * @param thresholdMs minimum duration to log (&gt;= 0; 0 logs every statement)
+     * @return the new log, for further settings such as {@link SlowQueryLog#setRedactParameters(boolean)}
+     * @throws IOException              if the file cannot be opened
+     * @throws IllegalArgumentException if {@code thresholdMs} is negative
+     */
+    public synchronized SlowQueryLog enableSlowQueryLog(Path file, long thresholdMs) throws IOException {
+        disableSlowQueryLog();
+        slowQueryLog = new SlowQueryLog(file, thresholdMs, this::requireConn);
+        return slowQueryLog;
+    }
+
+    /** Stops the slow-query log, if enabled, after writing its queued entries. */
+    public synchronized void disableSlowQueryLog() {
+        final SlowQueryLog log = slowQueryLog;
+        if (log != null) {
+            slowQueryLog = null;
+            log.close();
+        }
+    }
+
+    /** @return the active slow-query log, or {@code null} if disabled */
+    public SlowQueryLog getSlowQueryLog() {
+        return slowQueryLog;
+    }
+
     // ---------- HELPERS ----------
 
     /**
-     * Maps the current {@link ResultSet} row into a {@link Movie} object.
+     * Adds the Connector/J options this DAO relies on, unless the caller already set them:
+     * <ul>
+     *   <li>{@code useCursorFetch=true} – server-side cursors for statements with a positive
+     *       fetch size ({@link #streamAll(int)}). Connector/J also turns on
+     *       {@code useServerPrepStmts} for every statement when this is set, so each
+     *       {@code prepareStatement} costs a prepare round trip and results use the binary
+     *       protocol; the pool's statement cache amortizes the prepares</li>
+     *   <li>{@code rewriteBatchedStatements=true} – batched inserts are sent as multi-row
+     *       {@code INSERT} statements</li>
+     *   <li>{@code useServerPrepStmts=true} – statements are prepared on the server once; the
+     *       pool's per-connection statement cache keeps them open, so hot single-row calls
+     *       ({@link #findById}, {@link #update}) skip parsing and planning</li>
+     * </ul>
      *
-     * @param rs active {@link ResultSet} positioned at a valid row
-     * @return populated {@link Movie} object
-     * @throws SQLException if a column cannot be accessed
+     * @param jdbcUrl original JDBC URL
+     * @return URL with the options present
      */
-    private static Movie mapRow(ResultSet rs) throws SQLException {
-        return new Movie(
-                rs.getString("movie_id"),
-                rs.getString("title"),
-                rs.getString("director"),
-                rs.getInt("release_year"),
-                rs.getInt("duration_minutes"),
-                rs.getString("genre"),
-                rs.getDouble("rating")
-        );
+    private static String withDriverOptions(String jdbcUrl) {
+        String url = jdbcUrl;
+        if (!url.contains("useCursorFetch=")) {
+            url += (url.contains("?") ? "&" : "?") + "useCursorFetch=true";
+        }
+        if (!url.contains("rewriteBatchedStatements=")) {
+            url += "&rewriteBatchedStatements=true";
+        }
+        if (!url.contains("useServerPrepStmts=")) {
+            url += "&useServerPrepStmts=true";
+        }
+        return url;
     }
 
     /**
-     * Ensures that the database connection is valid before executing queries.
+     * Borrows a validated connection from the pool. The caller must close it
+     * (try-with-resources) to return it to the pool.
      *
-     * @return the active {@link Connection}
-     * @throws SQLException if the connection is null or closed
+     * @return a pooled {@link Connection}
+     * @throws SQLException if not connected or no connection becomes available in time
      */
     private Connection requireConn() throws SQLException {
-        if (conn == null || conn.isClosed()) {
+        ConnectionPool p = pool;
+        if (p == null || !p.isOpen()) {
             throw new SQLException("No open JDBC connection. Call connect(...) first.");
         }
-        return conn;
+        return p.borrow();
+    }
+
+    /**
+     * Prepares a statement, traced by the slow-query log and/or a running flight recording,
+     * with the calling thread's {@link QueryDeadline} as its query timeout.
+     *
+     * @param c   pooled connection
+     * @param sql SQL text
+     * @return prepared (possibly traced) statement
+     * @throws SQLException if preparing fails or the deadline has passed
+     */
+    private PreparedStatement prepare(Connection c, String sql) throws SQLException {
+        return traced(withDeadline(c.prepareStatement(sql)), sql);
+    }
+
+    /**
+     * Prepares a forward-only, read-only statement for cursor fetching, traced like
+     * {@link #prepare(Connection, String)}.
+     *
+     * @param c   pooled connection
+     * @param sql SQL text
+     * @return prepared (possibly traced) statement
+     * @throws SQLException if preparing fails or the deadline has passed
+     */
+    private PreparedStatement prepareForwardOnly(Connection c, String sql) throws SQLException {
+        return traced(withDeadline(c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)), sql);
+    }
+
+    /**
+     * Builds a {@code LIKE ... ESCAPE '!'} pattern matching {@code fragment} literally anywhere
+     * in the value: {@code !}, {@code %} and {@code _} are escaped with {@code !}. The escape
+     * character is not a backslash so the pattern does not depend on the
+     * {@code NO_BACKSLASH_ESCAPES} SQL mode.
+     *
+     * @param fragment text to look for
+     * @return pattern to bind to the {@code LIKE} parameter
+     */
+    static String containsPattern(String fragment) {
+        final StringBuilder sb = new StringBuilder(fragment.length() + 8).append('%');
+        for (int i = 0; i < fragment.length(); i++) {
+            char ch = fragment.charAt(i);
+            if (ch == '!' || ch == '%' || ch == '_') sb.append('!');
+            sb.append(ch);
+        }
+        return sb.append('%').toString();
+    }
+
+    /**
+     * Applies the calling thread's {@link QueryDeadline}, closing the statement if it has
+     * already passed.
+     *
+     * @param ps freshly prepared statement
+     * @return {@code ps}
+     * @throws SQLException if the deadline has passed or the timeout cannot be set
+     */
+    private static PreparedStatement withDeadline(PreparedStatement ps) throws SQLException {
+        try {
+            QueryDeadline.apply(ps);
+            return ps;
+        } catch (SQLException ex) {
+            try {
+                ps.close();
+            } catch (SQLException suppressed) {
+                ex.addSuppressed(suppressed);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Wraps a statement for the slow-query log when enabled and for {@code dms.SqlStatement}
+     * events while a recording has them enabled; returns it unchanged otherwise.
+     */
+    private PreparedStatement traced(PreparedStatement ps, String sql) {
+        PreparedStatement out = ps;
+        final SlowQueryLog log = slowQueryLog;
+        if (log != null) out = log.trace(out, sql);
+        if (SqlStatementEvent.isRecording()) out = StatementTracer.trace(out, sql, SqlStatementEvent.LISTENER);
+        return out;
     }
 
     // ---------- CRUD ----------
@@ -144,13 +412,253 @@ public class MysqlMovieDao implements MovieDao {
      */
     @Override
     public List<Movie> findAll() throws SQLException {
-        final String sql = "SELECT movie_id,title,director,release_year,duration_minutes,genre,rating " +
-                "FROM movies ORDER BY title ASC";
+        final String sql = "SELECT movie_id,title,director,release_year,duration_minutes,genre,rating,version " +
+                "FROM movies ORDER BY title ASC, movie_id ASC";
         final List<Movie> list = new ArrayList<>();
-        try (PreparedStatement ps = requireConn().prepareStatement(sql);
+        try (Connection c = requireConn();
+             PreparedStatement ps = prepare(c, sql);
              ResultSet rs = ps.executeQuery()) {
+            final MovieRowMapper mapper = new MovieRowMapper(rs, interner);
             while (rs.next()) {
-                list.add(mapRow(rs));
+                list.add(mapper.map(rs));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Streams all movies ordered by title using a server-side cursor, so only
+     * {@code fetchSize} rows are held in memory at a time.
+     * <p>The stream keeps a pooled connection borrowed until it is closed;
+     * always consume it in a try-with-resources block:</p>
+     * <pre>{@code
+     * try (Stream<Movie> s = dao.streamAll(MysqlMovieDao.DEFAULT_FETCH_SIZE)) {
+     *     s.forEach(System.out::println);
+     * }
+     * }</pre>
+     *
+     * @param fetchSize rows fetched per round trip (must be &gt; 0)
+     * @return a lazily populated stream of movies
+     * @throws SQLException             if the query cannot be started
+     * @throws IllegalArgumentException if {@code fetchSize} is not positive
+     */
+    @Override
+    public Stream<Movie> streamAll(int fetchSize) throws SQLException {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("fetchSize must be > 0");
+        }
+        final String sql = "SELECT movie_id,title,director,release_year,duration_minutes,genre,rating,version " +
+                "FROM movies ORDER BY title ASC, movie_id ASC";
+        final Connection c = requireConn();
+        try {
+            final PreparedStatement ps = prepareForwardOnly(c, sql);
+            ps.setFetchSize(fetchSize);
+            final ResultSet rs = ps.executeQuery();
+            return StreamSupport.stream(new ResultSetSpliterator(rs, new MovieRowMapper(rs, interner)), false)
+                    .onClose(() -> closeQuietly(rs, ps, c));
+        } catch (SQLException | RuntimeException ex) {
+            c.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Loads every movie into a {@link MovieColumns} store straight from a cursor-based
+     * {@link ResultSet}, reading columns by index. No {@link Movie} objects are created.
+     *
+     * @param fetchSize rows fetched per round trip (must be &gt; 0)
+     * @return a new, trimmed store ordered by title
+     * @throws SQLException             if a database access error occurs
+     * @throws IllegalArgumentException if {@code fetchSize} is not positive
+     */
+    @Override
+    public MovieColumns loadColumns(int fetchSize) throws SQLException {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("fetchSize must be > 0");
+        }
+        final String sql = "SELECT movie_id,title,director,release_year,duration_minutes,genre,rating,version " +
+                "FROM movies ORDER BY title ASC, movie_id ASC";
+        final MovieColumns columns = new MovieColumns(fetchSize);
+        try (Connection c = requireConn();
+             PreparedStatement ps = prepareForwardOnly(c, sql)) {
+            ps.setFetchSize(fetchSize);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    columns.add(rs.getString(1), rs.getString(2), rs.getString(3),
+                            rs.getInt(4), rs.getInt(5), rs.getString(6), rs.getDouble(7), rs.getLong(8));
+                }
+            }
+        }
+        columns.trimToSize();
+        return columns;
+    }
+
+    /**
+     * Closes JDBC resources in order, collecting the first failure.
+     *
+     * @param resources resources to close (innermost first)
+     * @throws UncheckedSQLException if any close fails
+     */
+    private static void closeQuietly(AutoCloseable... resources) {
+        SQLException first = null;
+        for (AutoCloseable r : resources) {
+            try {
+                r.close();
+            } catch (Exception e) {
+                if (first == null) {
+                    first = (e instanceof SQLException) ? (SQLException) e : new SQLException(e);
+                }
+            }
+        }
+        if (first != null) throw new UncheckedSQLException("Failed to release streaming resources", first);
+    }
+
+    /**
+     * Ordered, non-sized spliterator that maps one {@link ResultSet} row per advance.
+     */
+    private static final class ResultSetSpliterator extends Spliterators.AbstractSpliterator<Movie> {
+        private final ResultSet rs;
+        private final MovieRowMapper mapper;
+
+        ResultSetSpliterator(ResultSet rs, MovieRowMapper mapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.rs = rs;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Movie> action) {
+            try {
+                if (!rs.next()) return false;
+                action.accept(mapper.map(rs));
+                return true;
+            } catch (SQLException e) {
+                throw new UncheckedSQLException("Failed to read next movie row", e);
+            }
+        }
+    }
+
+    /**
+     * Returns the page of movies that follows {@code (afterTitle, afterId)} in
+     * {@code (title, movie_id)} order. The seek predicate is spelled out as
+     * {@code title > ? OR (title = ? AND movie_id > ?)} rather than a row-value comparison,
+     * which older MySQL optimizers cannot turn into a range scan, so MySQL seeks through index
+     * {@code idx_movies_title_id} and the cost does not grow with page depth.
+     *
+     * @param afterTitle title of the last row already seen, or {@code null} for the first page
+     * @param afterId    ID of the last row already seen, or {@code null} for the first page
+     * @param limit      maximum rows to return (must be &gt; 0)
+     * @return a non-null list of at most {@code limit} movies
+     * @throws SQLException             if a database access error occurs
+     * @throws IllegalArgumentException if {@code limit} is not positive or only one key part is given
+     */
+    @Override
+    public List<Movie> findPage(String afterTitle, String afterId, int limit) throws SQLException {
+        return seekPage(null, afterTitle, afterId, limit);
+    }
+
+    /**
+     * Ranked full-text search over {@code title}, {@code director} and {@code genre} using the
+     * {@code ft_movies_text} FULLTEXT index (see {@code sql/migrations/V3__fulltext_text_index.sql}).
+     * Results are ordered by relevance, then title.
+     *
+     * @param query search text (natural language words, or boolean-mode expression)
+     * @param mode  how MySQL interprets {@code query}
+     * @param limit maximum rows to return (must be &gt; 0)
+     * @return a non-null list of matches, most relevant first
+     * @throws SQLException             if a database access error occurs or the index is missing
+     * @throws IllegalArgumentException if {@code query} is blank, {@code mode} is null or {@code limit} is not positive
+     */
+    @Override
+    public List<Movie> fullTextSearch(String query, FullTextMode mode, int limit) throws SQLException {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search text cannot be empty");
+        }
+        if (mode == null) throw new IllegalArgumentException("mode cannot be null");
+        if (limit <= 0) throw new IllegalArgumentException("limit must be > 0");
+        final String match = "MATCH(title,director,genre) AGAINST (? " +
+                (mode == FullTextMode.BOOLEAN ? "IN BOOLEAN MODE" : "IN NATURAL LANGUAGE MODE") + ")";
+        final String sql = "SELECT movie_id,title,director,release_year,duration_minutes,genre,rating,version, " +
+                match + " AS score FROM movies WHERE " + match +
+                " ORDER BY score DESC, title ASC, movie_id ASC LIMIT ?";
+        final List<Movie> list = new ArrayList<>(Math.min(limit, 1024));
+        try (Connection c = requireConn();
+             PreparedStatement ps = prepare(c, sql)) {
+            ps.setString(1, query.trim());
+            ps.setString(2, query.trim());
+            ps.setInt(3, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                final MovieRowMapper mapper = new MovieRowMapper(rs, interner);
+                while (rs.next()) list.add(mapper.map(rs));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Keyset-paginated variant of {@link #searchByTitle(String)}.
+     *
+     * @param titleFragment partial title text to search (must not be blank)
+     * @param afterTitle    title of the last row already seen, or {@code null} for the first page
+     * @param afterId       ID of the last row already seen, or {@code null} for the first page
+     * @param limit         maximum rows to return (must be &gt; 0)
+     * @return a non-null list of at most {@code limit} matching movies
+     * @throws SQLException             if a database access error occurs
+     * @throws IllegalArgumentException if arguments are invalid
+     */
+    @Override
+    public List<Movie> searchByTitlePage(String titleFragment, String afterTitle, String afterId, int limit)
+            throws SQLException {
+        if (titleFragment == null || titleFragment.isBlank()) {
+            throw new IllegalArgumentException("Title fragment cannot be empty");
+        }
+        return seekPage(titleFragment.trim(), afterTitle, afterId, limit);
+    }
+
+    /**
+     * Shared keyset query used by {@link #findPage} and {@link #searchByTitlePage}.
+     *
+     * @param titleFragment optional title filter ({@code null} for none)
+     * @param afterTitle    key title or {@code null}
+     * @param afterId       key ID or {@code null}
+     * @param limit         page size
+     * @return page rows
+     * @throws SQLException if a database access error occurs
+     */
+    private List<Movie> seekPage(String titleFragment, String afterTitle, String afterId, int limit)
+            throws SQLException {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be > 0");
+        }
+        if ((afterTitle == null) != (afterId == null)) {
+            throw new IllegalArgumentException("afterTitle and afterId must both be set or both be null");
+        }
+        final StringBuilder sql = new StringBuilder(
+                "SELECT movie_id,title,director,release_year,duration_minutes,genre,rating,version FROM movies");
+        String sep = " WHERE ";
+        if (titleFragment != null) {
+            sql.append(sep).append("LOWER(title) LIKE LOWER(?) ESCAPE '!'");
+            sep = " AND ";
+        }
+        if (afterTitle != null) {
+            sql.append(sep).append("(title > ? OR (title = ? AND movie_id > ?))");
+        }
+        sql.append(" ORDER BY title ASC, movie_id ASC LIMIT ?");
+
+        final List<Movie> list = new ArrayList<>(Math.min(limit, 1024));
+        try (Connection c = requireConn();
+             PreparedStatement ps = prepare(c, sql.toString())) {
+            int i = 1;
+            if (titleFragment != null) ps.setString(i++, containsPattern(titleFragment));
+            if (afterTitle != null) {
+                ps.setString(i++, afterTitle);
+                ps.setString(i++, afterTitle);
+                ps.setString(i++, afterId);
+            }
+            ps.setInt(i, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                final MovieRowMapper mapper = new MovieRowMapper(rs, interner);
+                while (rs.next()) list.add(mapper.map(rs));
             }
         }
         return list;
@@ -169,12 +677,13 @@ public class MysqlMovieDao implements MovieDao {
         if (id == null || id.isBlank()) {
             throw new IllegalArgumentException("Movie ID cannot be empty");
         }
-        final String sql = "SELECT movie_id,title,director,release_year,duration_minutes,genre,rating " +
+        final String sql = "SELECT movie_id,title,director,release_year,duration_minutes,genre,rating,version " +
                 "FROM movies WHERE movie_id = ?";
-        try (PreparedStatement ps = requireConn().prepareStatement(sql)) {
+        try (Connection c = requireConn();
+             PreparedStatement ps = prepare(c, sql)) {
             ps.setString(1, id);
             try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) return Optional.of(mapRow(rs));
+                if (rs.next()) return Optional.of(new MovieRowMapper(rs, interner).map(rs));
                 return Optional.empty();
             }
         }
@@ -195,7 +704,8 @@ public class MysqlMovieDao implements MovieDao {
         }
         final String sql = "INSERT INTO movies (movie_id,title,director,release_year,duration_minutes,genre,rating) " +
                 "VALUES (?,?,?,?,?,?,?)";
-        try (PreparedStatement ps = requireConn().prepareStatement(sql)) {
+        try (Connection c = requireConn();
+             PreparedStatement ps = prepare(c, sql)) {
             ps.setString(1, movie.getMovieId());
             ps.setString(2, movie.getTitle());
             ps.setString(3, movie.getDirector());
@@ -204,15 +714,17 @@ public class MysqlMovieDao implements MovieDao {
             ps.setString(6, movie.getGenre());
             ps.setDouble(7, movie.getRating());
             ps.executeUpdate();
+            movie.setVersion(0);
             return movie;
         }
     }
 
     /**
-     * Updates an existing movie record by its {@code movie_id}.
+     * Updates an existing movie record by its {@code movie_id}, incrementing its version.
      *
      * @param movie the updated movie information (must not be null)
-     * @return {@code true} if at least one record was updated; {@code false} otherwise
+     * @return {@code true} if at least one record was updated (the movie's version is
+     *         advanced); {@code false} otherwise
      * @throws SQLException             if a database access error occurs
      * @throws IllegalArgumentException if {@code movie} is null
      */
@@ -222,9 +734,44 @@ public class MysqlMovieDao implements MovieDao {
             throw new IllegalArgumentException("Movie cannot be null");
         }
         final String sql = "UPDATE movies " +
-                "SET title=?, director=?, release_year=?, duration_minutes=?, genre=?, rating=? " +
+                "SET title=?, director=?, release_year=?, duration_minutes=?, genre=?, rating=?, version=version+1 " +
                 "WHERE movie_id=?";
-        try (PreparedStatement ps = requireConn().prepareStatement(sql)) {
+        try (Connection c = requireConn();
+             PreparedStatement ps = prepare(c, sql)) {
+            ps.setString(1, movie.getTitle());
+            ps.setString(2, movie.getDirector());
+            ps.setInt(3, movie.getReleaseYear());
+            ps.setInt(4, movie.getDurationMinutes());
+            ps.setString(5, movie.getGenre());
+            ps.setDouble(6, movie.getRating());
+            ps.setString(7, movie.getMovieId());
+            if (ps.executeUpdate() == 0) return false;
+            movie.setVersion(movie.getVersion() + 1);
+            return true;
+        }
+    }
+
+    /**
+     * Updates a movie only while its stored version equals {@link Movie#getVersion()}.
+     * <p>The version check and the write are one {@code UPDATE ... WHERE movie_id=? AND version=?}
+     * statement, so a concurrent edit is detected without locking or a prior {@code SELECT}.</p>
+     *
+     * @param movie new values and the version they were based on (must not be null)
+     * @return {@code true} if updated (the movie's version is advanced); {@code false} on a
+     *         version mismatch or missing row
+     * @throws SQLException             if a database access error occurs
+     * @throws IllegalArgumentException if {@code movie} is null
+     */
+    @Override
+    public boolean updateIfUnchanged(Movie movie) throws SQLException {
+        if (movie == null) {
+            throw new IllegalArgumentException("Movie cannot be null");
+        }
+        final String sql = "UPDATE movies " +
+                "SET title=?, director=?, release_year=?, duration_minutes=?, genre=?, rating=?, version=version+1 " +
+                "WHERE movie_id=? AND version=?";
+        try (Connection c = requireConn();
+             PreparedStatement ps = prepare(c, sql)) {
             ps.setString(1, movie.getTitle());
             ps.setString(2, movie.getDirector());
             ps.setInt(3, movie.getReleaseYear());
@@ -232,8 +779,37 @@ public class MysqlMovieDao implements MovieDao {
             ps.setString(5, movie.getGenre());
             ps.setDouble(6, movie.getRating());
             ps.setString(7, movie.getMovieId());
+            ps.setLong(8, movie.getVersion());
+            if (ps.executeUpdate() == 0) return false;
+            movie.setVersion(movie.getVersion() + 1);
+            return true;
+        }
+    }
+
+    /**
+     * Inserts a movie or replaces the row with the same ID in one
+     * {@code INSERT ... ON DUPLICATE KEY UPDATE} statement (no read, no lock held between steps).
+     * <p>Uses {@code VALUES(col)} rather than the row-alias syntax so the statement runs on
+     * MariaDB as well as MySQL 8.</p>
+     *
+     * @param movie the movie to store (must not be null)
+     * @return {@code true} if inserted (the movie's version is set to 0); {@code false} if an
+     *         existing row was replaced (the movie's version is advanced)
+     * @throws SQLException             if a database access error occurs or constraints are violated
+     * @throws IllegalArgumentException if {@code movie} is null
+     */
+    @Override
+    public boolean upsert(Movie movie) throws SQLException {
+        if (movie == null) {
+            throw new IllegalArgumentException("Movie cannot be null");
+        }
+        try (Connection c = requireConn();
+             PreparedStatement ps = prepare(c, UPSERT_SQL)) {
+            bindInsert(ps, movie);
+            // Affected rows: 1 = inserted, 2 = existing row changed (the version always changes).
             final int rows = ps.executeUpdate();
-            return rows > 0;
+            advanceVersion(movie, rows);
+            return rows == 1;
         }
     }
 
@@ -251,7 +827,8 @@ public class MysqlMovieDao implements MovieDao {
             throw new IllegalArgumentException("Movie ID cannot be empty");
         }
         final String sql = "DELETE FROM movies WHERE movie_id = ?";
-        try (PreparedStatement ps = requireConn().prepareStatement(sql)) {
+        try (Connection c = requireConn();
+             PreparedStatement ps = prepare(c, sql)) {
             ps.setString(1, id);
             final int rows = ps.executeUpdate();
             return rows > 0;
@@ -262,25 +839,337 @@ public class MysqlMovieDao implements MovieDao {
 
     /**
      * Searches for movies whose title contains a specific text fragment (case-insensitive).
+     * <p>{@code %} and {@code _} in the fragment match themselves, not any text. Matching
+     * follows the {@code title} column's collation, so with MySQL's default accent-insensitive
+     * collation "e" also matches "é" (unlike {@link dms.service.TitleSearchIndex}).</p>
      *
      * @param titleFragment partial title text to search (must not be blank)
      * @return a non-null list of movies that match the search term
      * @throws SQLException             if a database access error occurs
      * @throws IllegalArgumentException if {@code titleFragment} is null or blank
      */
+    @Override
     public List<Movie> searchByTitle(String titleFragment) throws SQLException {
         if (titleFragment == null || titleFragment.isBlank()) {
             throw new IllegalArgumentException("Title fragment cannot be empty");
         }
-        final String sql = "SELECT movie_id,title,director,release_year,duration_minutes,genre,rating " +
-                "FROM movies WHERE LOWER(title) LIKE LOWER(?) ORDER BY title ASC";
+        final String sql = "SELECT movie_id,title,director,release_year,duration_minutes,genre,rating,version " +
+                "FROM movies WHERE LOWER(title) LIKE LOWER(?) ESCAPE '!' ORDER BY title ASC, movie_id ASC";
         final List<Movie> list = new ArrayList<>();
-        try (PreparedStatement ps = requireConn().prepareStatement(sql)) {
-            ps.setString(1, "%" + titleFragment.trim() + "%");
+        try (Connection c = requireConn();
+             PreparedStatement ps = prepare(c, sql)) {
+            ps.setString(1, containsPattern(titleFragment.trim()));
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) list.add(mapRow(rs));
+                final MovieRowMapper mapper = new MovieRowMapper(rs, interner);
+                while (rs.next()) list.add(mapper.map(rs));
             }
         }
         return list;
     }
+
+    // ---------- AGGREGATES ----------
+
+    /**
+     * Computes catalog aggregates with a single SQL statement returning one row.
+     *
+     * @return catalog summary
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    public CatalogSummary summarize() throws SQLException {
+        final String sql = "SELECT COUNT(*), COALESCE(SUM(duration_minutes),0), COALESCE(MIN(duration_minutes),0), " +
+                "COALESCE(MAX(duration_minutes),0), COALESCE(SUM(rating),0) FROM movies";
+        try (Connection c = requireConn();
+             PreparedStatement ps = prepare(c, sql);
+             ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            return new CatalogSummary(rs.getLong(1), rs.getLong(2), rs.getInt(3), rs.getInt(4), rs.getDouble(5));
+        }
+    }
+
+    /**
+     * Counts movies per group with {@code GROUP BY} in SQL.
+     *
+     * @param groupBy grouping dimension (non-null)
+     * @return map from group key to movie count, ordered by key
+     * @throws SQLException             if a database access error occurs
+     * @throws IllegalArgumentException if {@code groupBy} is null
+     */
+    @Override
+    public Map<String, Long> countBy(GroupBy groupBy) throws SQLException {
+        if (groupBy == null) throw new IllegalArgumentException("groupBy cannot be null");
+        final String key;
+        switch (groupBy) {
+            case GENRE:    key = "genre"; break;
+            case DIRECTOR: key = "director"; break;
+            case RATING:   key = "CAST(FLOOR(rating) AS SIGNED)"; break;
+            default:       key = "(release_year DIV 10) * 10"; break;
+        }
+        final String sql = "SELECT " + key + " AS k, COUNT(*) FROM movies GROUP BY k ORDER BY k";
+        final Map<String, Long> counts = new LinkedHashMap<>();
+        try (Connection c = requireConn();
+             PreparedStatement ps = prepare(c, sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) counts.put(rs.getString(1), rs.getLong(2));
+        }
+        return counts;
+    }
+
+    // ---------- BULK OPERATIONS ----------
+
+    /**
+     * Sets how many rows are sent per {@code executeBatch} and committed per transaction.
+     *
+     * @param batchSize rows per chunk (must be &gt; 0)
+     * @throws IllegalArgumentException if {@code batchSize} is not positive
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) throw new IllegalArgumentException("batchSize must be > 0");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the current bulk chunk size.
+     *
+     * @return rows per chunk
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Inserts movies using JDBC batching, committing every {@link #getBatchSize()} rows.
+     * A failing chunk is rolled back and reported; later chunks still run.
+     *
+     * @param movies movies to insert (no null elements)
+     * @return per-row outcome in input order
+     * @throws SQLException             if no connection can be obtained
+     * @throws IllegalArgumentException if {@code movies} is null or contains null
+     */
+    @Override
+    public BatchResult insertAll(Collection<Movie> movies) throws SQLException {
+        final String sql = "INSERT INTO movies (movie_id,title,director,release_year,duration_minutes,genre,rating) " +
+                "VALUES (?,?,?,?,?,?,?)";
+        return executeChunked(sql, requireNoNulls(movies, "Movie"), MysqlMovieDao::bindInsert);
+    }
+
+    /**
+     * Updates movies using JDBC batching, committing every {@link #getBatchSize()} rows.
+     *
+     * @param movies movies to update (no null elements)
+     * @return per-row outcome in input order; count 0 means the ID was not found
+     * @throws SQLException             if no connection can be obtained
+     * @throws IllegalArgumentException if {@code movies} is null or contains null
+     */
+    @Override
+    public BatchResult updateAll(Collection<Movie> movies) throws SQLException {
+        final String sql = "UPDATE movies " +
+                "SET title=?, director=?, release_year=?, duration_minutes=?, genre=?, rating=?, version=version+1 " +
+                "WHERE movie_id=?";
+        final List<Movie> list = requireNoNulls(movies, "Movie");
+        final BatchResult result = executeChunked(sql, list, (ps, m) -> {
+            ps.setString(1, m.getTitle());
+            ps.setString(2, m.getDirector());
+            ps.setInt(3, m.getReleaseYear());
+            ps.setInt(4, m.getDurationMinutes());
+            ps.setString(5, m.getGenre());
+            ps.setDouble(6, m.getRating());
+            ps.setString(7, m.getMovieId());
+        });
+        for (int i = 0; i < list.size(); i++) {
+            if (result.isApplied(i)) advanceVersion(list.get(i), 2);
+        }
+        return result;
+    }
+
+    /**
+     * Inserts or replaces movies using JDBC batching, committing every {@link #getBatchSize()} rows.
+     * Each row is one {@code INSERT ... ON DUPLICATE KEY UPDATE}, so no row is read first.
+     *
+     * @param movies movies to store (no null elements)
+     * @return per-row outcome in input order (1 = inserted, 2 = replaced, or
+     *         {@link Statement#SUCCESS_NO_INFO} when the driver rewrites the batch)
+     * @throws SQLException             if no connection can be obtained
+     * @throws IllegalArgumentException if {@code movies} is null or contains null
+     */
+    @Override
+    public BatchResult upsertAll(Collection<Movie> movies) throws SQLException {
+        final List<Movie> list = requireNoNulls(movies, "Movie");
+        final BatchResult result = executeChunked(UPSERT_SQL, list, MysqlMovieDao::bindInsert);
+        for (int i = 0; i < list.size(); i++) advanceVersion(list.get(i), result.getRowCount(i));
+        return result;
+    }
+
+    /**
+     * Mirrors a successful write's effect on {@code movies.version} in the caller's movie.
+     *
+     * @param m        written movie
+     * @param rowCount affected rows: 1 = inserted (version 0), 2 = replaced (version + 1);
+     *                 anything else leaves the version alone
+     */
+    private static void advanceVersion(Movie m, int rowCount) {
+        if (rowCount == 1) m.setVersion(0);
+        else if (rowCount == 2) m.setVersion(m.getVersion() + 1);
+    }
+
+    /**
+     * Deletes movies by ID using JDBC batching, committing every {@link #getBatchSize()} rows.
+     *
+     * @param ids IDs to delete (no null or blank elements)
+     * @return per-row outcome in input order; count 0 means the ID was not found
+     * @throws SQLException             if no connection can be obtained
+     * @throws IllegalArgumentException if {@code ids} is null or contains a null/blank ID
+     */
+    @Override
+    public BatchResult deleteAll(Collection<String> ids) throws SQLException {
+        final List<String> list = requireNoNulls(ids, "Movie ID");
+        for (String id : list) {
+            if (id.isBlank()) throw new IllegalArgumentException("Movie ID cannot be empty");
+        }
+        return executeChunked("DELETE FROM movies WHERE movie_id = ?", list, (ps, id) -> ps.setString(1, id));
+    }
+
+    /**
+     * Copies a collection into a list, rejecting null collections and elements.
+     *
+     * @param items collection to check
+     * @param what  element name for the error message
+     * @param <T>   element type
+     * @return list copy in iteration order
+     */
+    private static <T> List<T> requireNoNulls(Collection<T> items, String what) {
+        if (items == null) throw new IllegalArgumentException(what + " collection cannot be null");
+        final List<T> list = new ArrayList<>(items);
+        for (T t : list) {
+            if (t == null) throw new IllegalArgumentException(what + " cannot be null");
+        }
+        return list;
+    }
+
+    /**
+     * Binds a movie to the seven placeholders of an insert-shaped statement, in column order.
+     *
+     * @param ps statement
+     * @param m  movie
+     * @throws SQLException if binding fails
+     */
+    private static void bindInsert(PreparedStatement ps, Movie m) throws SQLException {
+        ps.setString(1, m.getMovieId());
+        ps.setString(2, m.getTitle());
+        ps.setString(3, m.getDirector());
+        ps.setInt(4, m.getReleaseYear());
+        ps.setInt(5, m.getDurationMinutes());
+        ps.setString(6, m.getGenre());
+        ps.setDouble(7, m.getRating());
+    }
+
+    /**
+     * Binds one item's values to a prepared statement.
+     *
+     * @param <T> item type
+     */
+    @FunctionalInterface
+    private interface Binder<T> {
+        void bind(PreparedStatement ps, T item) throws SQLException;
+    }
+
+    /**
+     * Runs {@code sql} once per item with {@code addBatch}/{@code executeBatch} on a single
+     * connection, committing after each chunk of {@link #batchSize} rows.
+     *
+     * @param sql    parameterized statement
+     * @param items  items in input order
+     * @param binder parameter binder
+     * @param <T>    item type
+     * @return per-row outcome
+     * @throws SQLException if no connection can be obtained or the transaction cannot be controlled
+     */
+    private <T> BatchResult executeChunked(String sql, List<T> items, Binder<T> binder) throws SQLException {
+        final int n = items.size();
+        final int[] counts = new int[n];
+        Arrays.fill(counts, Statement.EXECUTE_FAILED);
+        final List<SQLException> errors = new ArrayList<>();
+        if (n == 0) return new BatchResult(counts, errors);
+
+        final int chunk = batchSize;
+        try (Connection c = requireConn();
+             PreparedStatement ps = prepare(c, sql)) {
+            c.setAutoCommit(false);
+            for (int start = 0; start < n; start += chunk) {
+                final int end = Math.min(n, start + chunk);
+                try {
+                    for (int i = start; i < end; i++) {
+                        binder.bind(ps, items.get(i));
+                        ps.addBatch();
+                    }
+                    final int[] r = ps.executeBatch();
+                    c.commit();
+                    for (int i = start; i < end; i++) {
+                        final int k = i - start;
+                        counts[i] = (r.length == end - start) ? r[k] : Statement.SUCCESS_NO_INFO;
+                    }
+                } catch (SQLException ex) {
+                    ps.clearBatch();
+                    c.rollback();
+                    errors.add(ex);
+                }
+            }
+        }
+        return new BatchResult(counts, errors);
+    }
+
+    /**
+     * Bulk-loads a delimited file with {@code LOAD DATA LOCAL INFILE}, the fastest server-side path.
+     * <p>Runs on a dedicated, unpooled connection that only allows local-infile reads from the
+     * file's own directory. Rows violating constraints or duplicating a key are skipped by the
+     * server ({@code IGNORE}); no Java-side validation happens. Columns must be in table order
+     * ({@code movie_id,title,director,release_year,duration_minutes,genre,rating}), fields may be
+     * enclosed in double quotes, and lines must end with {@code \n}. Surrounding spaces are
+     * trimmed from every field, as the Java import path does, since rows are read back
+     * without trimming ({@link MovieRowMapper}). The server must have {@code local_infile}
+     * enabled.</p>
+     *
+     * @param file       file to load (must exist)
+     * @param delimiter  field delimiter, {@code ','} or {@code '\t'}
+     * @param skipHeader {@code true} to ignore the first line
+     * @return number of rows inserted
+     * @throws SQLException             if not connected or the load fails
+     * @throws IllegalArgumentException if {@code file} is null or the delimiter is unsupported
+     */
+    public long loadDataLocalInfile(Path file, char delimiter, boolean skipHeader) throws SQLException {
+        if (file == null) throw new IllegalArgumentException("file cannot be null");
+        if (delimiter != ',' && delimiter != '\t') {
+            throw new IllegalArgumentException("Only ',' and TAB delimiters are supported");
+        }
+        final ConnectionPool p = pool;
+        if (p == null || !p.isOpen()) {
+            throw new SQLException("No open JDBC connection. Call connect(...) first.");
+        }
+        final Path abs = file.toAbsolutePath().normalize();
+        final String dir = (abs.getParent() == null) ? abs.toString() : abs.getParent().toString();
+        final String sql = "LOAD DATA LOCAL INFILE '" + escapeLiteral(abs.toString()) + "' " +
+                "IGNORE INTO TABLE movies CHARACTER SET utf8mb4 " +
+                "FIELDS TERMINATED BY '" + (delimiter == '\t' ? "\\t" : ",") + "' OPTIONALLY ENCLOSED BY '\"' " +
+                "LINES TERMINATED BY '\\n' " +
+                (skipHeader ? "IGNORE 1 LINES " : "") +
+                "(@movie_id,@title,@director,@release_year,@duration_minutes,@genre,@rating) " +
+                "SET movie_id=TRIM(@movie_id), title=TRIM(@title), director=TRIM(@director), " +
+                "release_year=TRIM(@release_year), duration_minutes=TRIM(@duration_minutes), " +
+                "genre=TRIM(@genre), rating=TRIM(@rating)";
+        try (Connection c = p.openUnpooled("allowLoadLocalInfileInPath="
+                     + URLEncoder.encode(dir, StandardCharsets.UTF_8));
+             Statement st = c.createStatement()) {
+            return st.executeLargeUpdate(sql);
+        }
+    }
+
+    /**
+     * Escapes a value for use inside a single-quoted SQL string literal.
+     *
+     * @param s raw value
+     * @return escaped value
+     */
+    private static String escapeLiteral(String s) {
+        return s.replace("\\", "\\\\").replace("'", "''");
+    }
 }
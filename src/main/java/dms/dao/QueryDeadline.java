@@ -0,0 +1,65 @@
+package dms.dao;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.Callable;
+
+/**
+ * Per-thread deadline for the statements a DAO call runs.
+ *
+ * <p>A caller with a time budget (e.g. {@link dms.service.AsyncMovieService}) runs the call
+ * through {@link #callBefore(long, Callable)}; {@link MysqlMovieDao} then sets the remaining
+ * time, rounded up to whole seconds, as the JDBC query timeout of every statement it
+ * prepares on that thread. When it expires the driver cancels the statement on the server
+ * (Connector/J sends {@code KILL QUERY}) and the call fails with
+ * {@link SQLTimeoutException}, instead of running on after the caller gave up.</p>
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+public final class QueryDeadline {
+
+    /** Absolute deadline ({@link System#nanoTime()}) of the current thread's call, if any. */
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private QueryDeadline() { }
+
+    /**
+     * Runs {@code call} with a deadline applied to the statements it executes. Nested calls
+     * keep the earlier of the two deadlines.
+     *
+     * @param deadlineNanos absolute deadline on the {@link System#nanoTime()} clock
+     * @param call          work to run on the current thread
+     * @param <T>           result type
+     * @return the call's result
+     * @throws Exception whatever the call throws
+     */
+    public static <T> T callBefore(long deadlineNanos, Callable<T> call) throws Exception {
+        final Long outer = DEADLINE.get();
+        DEADLINE.set(outer == null || deadlineNanos - outer < 0 ? deadlineNanos : outer);
+        try {
+            return call.call();
+        } finally {
+            if (outer == null) DEADLINE.remove();
+            else DEADLINE.set(outer);
+        }
+    }
+
+    /**
+     * Sets the remaining time of the current thread's deadline as the statement's query
+     * timeout; does nothing without a deadline.
+     *
+     * @param st statement about to run
+     * @throws SQLTimeoutException if the deadline has already passed
+     * @throws SQLException        if the timeout cannot be set
+     */
+    static void apply(Statement st) throws SQLException {
+        final Long deadline = DEADLINE.get();
+        if (deadline == null) return;
+        final long remainingNanos = deadline - System.nanoTime();
+        if (remainingNanos <= 0) throw new SQLTimeoutException("Deadline passed before the statement ran.");
+        final long seconds = (remainingNanos + 999_999_999L) / 1_000_000_000L;
+        st.setQueryTimeout((int) Math.min(Integer.MAX_VALUE, seconds));
+    }
+}
@@ -0,0 +1,377 @@
+package dms.dao;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous slow-query log for {@link MysqlMovieDao}, in the spirit of MySQL's own
+ * {@code slow_query_log} but kept on the client, with the bound parameters and the
+ * {@code EXPLAIN} plan of each slow statement.
+ *
+ * <p><b>How it works:</b> {@link #trace(PreparedStatement, String)} wraps a statement in a
+ * proxy that remembers its bound parameters and times each execution (queries until their
+ * result set is exhausted or closed, so fetching the rows is included). Executions slower
+ * than the threshold are queued and written by a daemon thread, which also runs
+ * {@code EXPLAIN} with the same parameters on a connection of its own, so the caller never
+ * waits for the file or the plan. If the queue is full the entry is dropped and counted
+ * ({@link #getDroppedCount()}).</p>
+ *
+ * <p><b>Output</b> (appended to {@code file}, rolled over to {@code file.1 .. file.N} when
+ * it exceeds the size limit):</p>
+ * <pre>
+ * # Time: 2025-10-18T14:02:11.532Z  Thread: dms-db-worker-1
+ * # Query_time: 0.812  Rows: 100000
+ * # Params: 1='%matrix%'
+ * # Plan:
+ * #   id  select_type  table   type  possible_keys  key   ...  rows   Extra
+ * #   1   SIMPLE       movies  ALL   NULL           NULL  ...  98234  Using where; Using filesort
+ * SELECT ... FROM movies WHERE LOWER(title) LIKE ? ORDER BY title ASC, movie_id ASC;
+ * </pre>
+ *
+ * <p>By default only the types and lengths of parameters are written, since they can hold
+ * user data; {@link #setRedactParameters(boolean) setRedactParameters(false)} writes the
+ * values, with strings truncated to {@value #MAX_PARAM_CHARS} characters. A plan
+ * is captured at most once per minute for the same SQL text.</p>
+ *
+ * <p>While enabled, every call on a traced statement and its result set goes through a
+ * reflective proxy, a small per-row cost; the DAO does not trace at all when the log is
+ * disabled.</p>
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+public final class SlowQueryLog implements Closeable {
+
+    /** Default size at which the log file is rolled over (10 MB). */
+    public static final long DEFAULT_MAX_FILE_BYTES = 10L * 1024 * 1024;
+
+    /** Default number of rolled-over files kept. */
+    public static final int DEFAULT_MAX_FILES = 5;
+
+    /** Longest string parameter written verbatim. */
+    public static final int MAX_PARAM_CHARS = 64;
+
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final long EXPLAIN_INTERVAL_MS = 60_000;
+
+    /**
+     * Supplies a connection for {@code EXPLAIN}; the log closes it after use.
+     */
+    @FunctionalInterface
+    public interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+
+    private final Path file;
+    private final long thresholdNanos;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final ConnectionSource explainConnections;
+
+    private volatile boolean explain = true;
+    private volatile boolean redactParameters = true;
+    private volatile boolean running = true;
+
+    private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writerThread;
+    private final AtomicLong logged = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final StatementTracer.Listener listener = (state, sql, params, nanos, rows, batch) ->
+            finished(sql, params, nanos, rows, batch);
+
+    // Writer-thread state.
+    private BufferedWriter out;
+    private long fileBytes;
+    private final Map<String, Long> lastExplained = new HashMap<>();
+
+    /**
+     * Opens a log with the default rollover settings.
+     *
+     * @param file               log file (created if missing, appended to otherwise)
+     * @param thresholdMs        executions taking at least this long are logged (&gt;= 0)
+     * @param explainConnections connections for {@code EXPLAIN}, or {@code null} to skip plans
+     * @throws IOException if the file cannot be opened
+     */
+    public SlowQueryLog(Path file, long thresholdMs, ConnectionSource explainConnections) throws IOException {
+        this(file, thresholdMs, explainConnections, DEFAULT_MAX_FILE_BYTES, DEFAULT_MAX_FILES);
+    }
+
+    /**
+     * Opens a log.
+     *
+     * @param file               log file (created if missing, appended to otherwise)
+     * @param thresholdMs        executions taking at least this long are logged (&gt;= 0)
+     * @param explainConnections connections for {@code EXPLAIN}, or {@code null} to skip plans
+     * @param maxFileBytes       size at which the file is rolled over (&gt; 0)
+     * @param maxFiles           rolled-over files kept (&gt;= 0)
+     * @throws IllegalArgumentException if an argument is invalid
+     * @throws IOException              if the file cannot be opened
+     */
+    public SlowQueryLog(Path file, long thresholdMs, ConnectionSource explainConnections,
+                        long maxFileBytes, int maxFiles) throws IOException {
+        if (file == null) throw new IllegalArgumentException("file cannot be null");
+        if (thresholdMs < 0) throw new IllegalArgumentException("thresholdMs cannot be negative");
+        if (maxFileBytes <= 0) throw new IllegalArgumentException("maxFileBytes must be > 0");
+        if (maxFiles < 0) throw new IllegalArgumentException("maxFiles cannot be negative");
+        this.file = file;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        this.explainConnections = explainConnections;
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        openFile();
+        this.writerThread = new Thread(this::writeLoop, "dms-slow-query-log");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    // ---------- SETTINGS ----------
+
+    /** @param explain whether to capture {@code EXPLAIN} plans (default {@code true}) */
+    public void setExplain(boolean explain) {
+        this.explain = explain;
+    }
+
+    /** @param redact whether to write parameter types and lengths instead of values (default {@code true}) */
+    public void setRedactParameters(boolean redact) {
+        this.redactParameters = redact;
+    }
+
+    /** @return log file path */
+    public Path getFile() {
+        return file;
+    }
+
+    /** @return slow executions written so far */
+    public long getLoggedCount() {
+        return logged.get();
+    }
+
+    /** @return slow executions dropped because the queue was full */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    // ---------- TRACING ----------
+
+    /**
+     * Wraps a statement so its slow executions are logged. Closing the wrapper closes
+     * {@code ps}.
+     *
+     * @param ps  statement prepared from {@code sql}
+     * @param sql the statement's SQL text
+     * @return traced statement
+     */
+    public PreparedStatement trace(PreparedStatement ps, String sql) {
+        return StatementTracer.trace(ps, sql, listener);
+    }
+
+    /**
+     * Queues an execution if it reached the threshold.
+     *
+     * @param sql    SQL text
+     * @param params bound parameters by index
+     * @param nanos  duration
+     * @param rows   rows returned or affected
+     * @param batch  statements in the batch, 0 if not batched
+     */
+    private void finished(String sql, Map<Integer, Object> params, long nanos, long rows, int batch) {
+        if (nanos < thresholdNanos || !running) return;
+        final Entry e = new Entry(Instant.now(), Thread.currentThread().getName(), sql,
+                new TreeMap<>(params), nanos, rows, batch, redactParameters);
+        if (!queue.offer(e)) dropped.incrementAndGet();
+    }
+
+    // ---------- WRITER ----------
+
+    /** One slow execution waiting to be written. */
+    private static final class Entry {
+        final Instant time;
+        final String thread;
+        final String sql;
+        final Map<Integer, Object> params;
+        final long nanos;
+        final long rows;
+        final int batch;
+        final boolean redact;
+
+        Entry(Instant time, String thread, String sql, Map<Integer, Object> params, long nanos, long rows,
+              int batch, boolean redact) {
+            this.time = time;
+            this.thread = thread;
+            this.sql = sql;
+            this.params = params;
+            this.nanos = nanos;
+            this.rows = rows;
+            this.batch = batch;
+            this.redact = redact;
+        }
+    }
+
+    private void writeLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                final Entry e = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (e != null) write(format(e));
+                if (e == null || queue.isEmpty()) out.flush();
+            } catch (InterruptedException ie) {
+                // close() interrupts to wake us up; keep draining
+            } catch (IOException | RuntimeException ex) {
+                System.err.println("Slow-query log: write failed: " + ex.getMessage());
+            }
+        }
+    }
+
+    private String format(Entry e) {
+        final String nl = System.lineSeparator();
+        final StringBuilder sb = new StringBuilder(512);
+        sb.append("# Time: ").append(e.time).append("  Thread: ").append(e.thread).append(nl);
+        sb.append(String.format(Locale.ROOT, "# Query_time: %.3f  Rows: %d", e.nanos / 1e9, e.rows));
+        if (e.batch > 0) sb.append("  Batch: ").append(e.batch);
+        sb.append(nl);
+        if (!e.params.isEmpty()) {
+            sb.append(e.batch > 0 ? "# Params (last row): " : "# Params: ");
+            boolean first = true;
+            for (Map.Entry<Integer, Object> p : e.params.entrySet()) {
+                if (!first) sb.append(", ");
+                first = false;
+                sb.append(p.getKey()).append('=').append(describe(p.getValue(), e.redact));
+            }
+            sb.append(nl);
+        }
+        final String plan = explain(e);
+        if (plan != null) sb.append("# Plan:").append(nl).append(plan);
+        return sb.append(e.sql.trim()).append(';').append(nl).append(nl).toString();
+    }
+
+    private static String describe(Object v, boolean redact) {
+        if (v == null) return "NULL";
+        if (v instanceof String) {
+            final String s = (String) v;
+            if (redact) return "<string(" + s.length() + ")>";
+            final String shown = s.length() > MAX_PARAM_CHARS ? s.substring(0, MAX_PARAM_CHARS) + "..." : s;
+            return "'" + shown.replace("'", "''").replace("\n", "\\n").replace("\r", "\\r") + "'";
+        }
+        if (redact) return "<" + v.getClass().getSimpleName().toLowerCase(Locale.ROOT) + ">";
+        return String.valueOf(v);
+    }
+
+    /**
+     * Runs {@code EXPLAIN} for an entry with its parameters.
+     *
+     * @param e slow execution
+     * @return plan lines prefixed with {@code "#   "}, or {@code null} if not captured
+     */
+    private String explain(Entry e) {
+        if (!explain || explainConnections == null) return null;
+        final String head = e.sql.trim().toUpperCase(Locale.ROOT);
+        if (!(head.startsWith("SELECT") || head.startsWith("INSERT") || head.startsWith("UPDATE")
+                || head.startsWith("DELETE") || head.startsWith("REPLACE"))) {
+            return null;
+        }
+        final long now = System.currentTimeMillis();
+        final Long last = lastExplained.get(e.sql);
+        if (last != null && now - last < EXPLAIN_INTERVAL_MS) return "#   (captured in an earlier entry)" + System.lineSeparator();
+        lastExplained.put(e.sql, now);
+        final StringBuilder sb = new StringBuilder(256);
+        try (Connection c = explainConnections.get();
+             PreparedStatement ps = c.prepareStatement("EXPLAIN " + e.sql)) {
+            for (Map.Entry<Integer, Object> p : e.params.entrySet()) ps.setObject(p.getKey(), p.getValue());
+            try (ResultSet rs = ps.executeQuery()) {
+                final ResultSetMetaData md = rs.getMetaData();
+                final int n = md.getColumnCount();
+                sb.append("#  ");
+                for (int i = 1; i <= n; i++) sb.append(' ').append(md.getColumnLabel(i));
+                sb.append(System.lineSeparator());
+                while (rs.next()) {
+                    sb.append("#  ");
+                    for (int i = 1; i <= n; i++) sb.append(' ').append(rs.getString(i));
+                    sb.append(System.lineSeparator());
+                }
+            }
+        } catch (SQLException ex) {
+            return "#   EXPLAIN failed: " + ex.getMessage() + System.lineSeparator();
+        }
+        return sb.toString();
+    }
+
+    private void write(String text) throws IOException {
+        final int bytes = text.getBytes(StandardCharsets.UTF_8).length;
+        if (fileBytes > 0 && fileBytes + bytes > maxFileBytes) roll();
+        out.write(text);
+        fileBytes += bytes;
+        logged.incrementAndGet();
+    }
+
+    private void openFile() throws IOException {
+        out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        fileBytes = Files.size(file);
+    }
+
+    /** Renames {@code file.i} to {@code file.(i+1)}, the current file to {@code file.1}, and reopens. */
+    private void roll() throws IOException {
+        out.close();
+        if (maxFiles == 0) {
+            Files.delete(file);
+        } else {
+            Files.deleteIfExists(rolled(maxFiles));
+            for (int i = maxFiles - 1; i >= 1; i--) {
+                if (Files.exists(rolled(i))) Files.move(rolled(i), rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(file, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        openFile();
+    }
+
+    private Path rolled(int i) {
+        return file.resolveSibling(file.getFileName() + "." + i);
+    }
+
+    /**
+     * Writes the queued entries (capturing their plans while connections are still available),
+     * then stops the writer thread and closes the file.
+     */
+    @Override
+    public void close() {
+        running = false;
+        writerThread.interrupt();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            out.close();
+        } catch (IOException ex) {
+            System.err.println("Slow-query log: close failed: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SlowQueryLog{" + file + ", threshold=" + TimeUnit.NANOSECONDS.toMillis(thresholdNanos)
+                + "ms, logged=" + logged.get() + ", dropped=" + dropped.get() + "}";
+    }
+}
@@ -0,0 +1,71 @@
+package dms.dao;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Map;
+
+/**
+ * Flight-recorder event for one JDBC statement executed by {@link MysqlMovieDao}, from
+ * {@code execute*} until its result set is exhausted or closed.
+ *
+ * <p>{@code sqlId} is the hex hash of the SQL text, stable across runs, for grouping in
+ * JDK Mission Control; the text itself is in {@code sql}. The DAO only traces statements
+ * while a recording has this event enabled ({@link #isRecording()}).</p>
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+@Name("dms.SqlStatement")
+@Label("SQL Statement")
+@Category({"DMS", "Database"})
+@Description("JDBC statement executed by the MySQL DAO, including row fetching")
+@StackTrace(false)
+final class SqlStatementEvent extends Event {
+
+    @Label("SQL Id")
+    @Description("Hash of the SQL text (hex)")
+    String sqlId;
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Rows")
+    @Description("Rows returned or affected")
+    long rows;
+
+    @Label("Batch Size")
+    @Description("Statements in the batch, 0 if not batched")
+    int batch;
+
+    /** Begins an event per execution and commits it with the SQL and row count. */
+    static final StatementTracer.Listener LISTENER = new StatementTracer.Listener() {
+        @Override
+        public Object started(String sql) {
+            final SqlStatementEvent event = new SqlStatementEvent();
+            event.begin();
+            return event;
+        }
+
+        @Override
+        public void finished(Object state, String sql, Map<Integer, Object> params, long nanos, long rows, int batch) {
+            final SqlStatementEvent event = (SqlStatementEvent) state;
+            event.end();
+            if (!event.shouldCommit()) return;
+            event.sqlId = Integer.toHexString(sql.hashCode());
+            event.sql = sql;
+            event.rows = rows;
+            event.batch = batch;
+            event.commit();
+        }
+    };
+
+    /** @return {@code true} while a flight recording has this event enabled */
+    static boolean isRecording() {
+        return new SqlStatementEvent().isEnabled();
+    }
+}
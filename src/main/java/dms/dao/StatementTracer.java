@@ -0,0 +1,202 @@
+package dms.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Wraps a {@link PreparedStatement} in a proxy that remembers its bound parameters and
+ * reports each execution to a {@link Listener}; shared by {@link SlowQueryLog} and the
+ * {@link SqlStatementEvent} flight-recorder event.
+ *
+ * <p>Updates and batches end when {@code executeUpdate}/{@code executeBatch} returns;
+ * queries end when their result set is exhausted or closed (or the statement is closed),
+ * so fetching the rows is included. Every other call is forwarded unchanged.</p>
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+final class StatementTracer {
+
+    private StatementTracer() { }
+
+    /** Receives the executions of traced statements, on the executing thread. */
+    @FunctionalInterface
+    interface Listener {
+
+        /**
+         * Called just before an execution starts.
+         *
+         * @param sql SQL text
+         * @return state handed back to {@link #finished}, may be {@code null}
+         */
+        default Object started(String sql) {
+            return null;
+        }
+
+        /**
+         * Called once per execution.
+         *
+         * @param state  value returned by {@link #started(String)}
+         * @param sql    SQL text
+         * @param params bound parameters by index (do not keep a reference)
+         * @param nanos  duration
+         * @param rows   rows returned or affected
+         * @param batch  statements in the batch, 0 if not batched
+         */
+        void finished(Object state, String sql, Map<Integer, Object> params, long nanos, long rows, int batch);
+    }
+
+    /**
+     * Wraps a statement. Closing the wrapper closes {@code ps}.
+     *
+     * @param ps       statement prepared from {@code sql}
+     * @param sql      the statement's SQL text
+     * @param listener receives every execution
+     * @return traced statement
+     */
+    static PreparedStatement trace(PreparedStatement ps, String sql, Listener listener) {
+        return (PreparedStatement) Proxy.newProxyInstance(
+                StatementTracer.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                new StatementHandler(ps, sql, listener));
+    }
+
+    /** Statement proxy that records parameters and times executions. */
+    private static final class StatementHandler implements InvocationHandler {
+        private final PreparedStatement raw;
+        private final String sql;
+        private final Listener listener;
+        private final Map<Integer, Object> params = new TreeMap<>();
+        private int batch;
+        private QueryTrace openQuery;
+
+        StatementHandler(PreparedStatement raw, String sql, Listener listener) {
+            this.raw = raw;
+            this.sql = sql;
+            this.listener = listener;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            final String name = method.getName();
+            switch (name) {
+                case "executeQuery": {
+                    if (args != null && args.length > 0) break;   // Statement.executeQuery(String)
+                    final Object state = listener.started(sql);
+                    final long start = System.nanoTime();
+                    final ResultSet rs = (ResultSet) forward(method, args);
+                    openQuery = new QueryTrace(state, new TreeMap<>(params), start);
+                    return Proxy.newProxyInstance(StatementTracer.class.getClassLoader(),
+                            new Class<?>[]{ResultSet.class}, new ResultSetHandler(rs, openQuery));
+                }
+                case "executeUpdate":
+                case "executeLargeUpdate": {
+                    if (args != null && args.length > 0) break;
+                    final Object state = listener.started(sql);
+                    final long start = System.nanoTime();
+                    final Object n = forward(method, args);
+                    listener.finished(state, sql, params, System.nanoTime() - start, ((Number) n).longValue(), 0);
+                    return n;
+                }
+                case "executeBatch": {
+                    final Object state = listener.started(sql);
+                    final long start = System.nanoTime();
+                    final int[] counts = (int[]) forward(method, args);
+                    long rows = 0;
+                    for (int c : counts) if (c > 0) rows += c;
+                    listener.finished(state, sql, params, System.nanoTime() - start, rows, batch);
+                    batch = 0;
+                    return counts;
+                }
+                case "addBatch":
+                    if (args == null || args.length == 0) batch++;
+                    break;
+                case "clearBatch":
+                    batch = 0;
+                    break;
+                case "clearParameters":
+                    params.clear();
+                    break;
+                case "close":
+                    if (openQuery != null) openQuery.finish();
+                    break;
+                case "setNull":
+                    params.put((Integer) args[0], null);
+                    break;
+                default:
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                        params.put((Integer) args[0], args[1]);
+                    }
+            }
+            return forward(method, args);
+        }
+
+        private Object forward(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(raw, args);
+            } catch (InvocationTargetException ite) {
+                throw ite.getCause();
+            }
+        }
+
+        /** One query execution; finished once, when its rows run out or it is closed. */
+        private final class QueryTrace {
+            final Object state;
+            final Map<Integer, Object> params;
+            final long start;
+            long rows;
+            boolean done;
+
+            QueryTrace(Object state, Map<Integer, Object> params, long start) {
+                this.state = state;
+                this.params = params;
+                this.start = start;
+            }
+
+            void finish() {
+                if (done) return;
+                done = true;
+                listener.finished(state, sql, params, System.nanoTime() - start, rows, 0);
+            }
+        }
+
+        /** Result-set proxy that counts rows and finishes its query. */
+        private final class ResultSetHandler implements InvocationHandler {
+            private final ResultSet rs;
+            private final QueryTrace query;
+
+            ResultSetHandler(ResultSet rs, QueryTrace query) {
+                this.rs = rs;
+                this.query = query;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                final Object result;
+                try {
+                    result = method.invoke(rs, args);
+                } catch (InvocationTargetException ite) {
+                    throw ite.getCause();
+                }
+                switch (method.getName()) {
+                    case "next":
+                        if ((Boolean) result) query.rows++;
+                        else query.finish();
+                        break;
+                    case "close":
+                        query.finish();
+                        break;
+                    default:
+                        break;
+                }
+                return result;
+            }
+        }
+    }
+}
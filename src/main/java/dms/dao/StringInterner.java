@@ -0,0 +1,66 @@
+package dms.dao;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, thread-safe table of canonical strings for low-cardinality columns
+ * (genre, director).
+ *
+ * <p>{@link #intern(String)} returns the first instance seen for each value, so thousands of
+ * rows share one {@code String} and the duplicates the driver creates die young. Once the
+ * table holds {@code maxEntries} values, new values are returned as-is instead of being
+ * added, so a high-cardinality column cannot grow it without bound.</p>
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+public final class StringInterner {
+
+    /** Default maximum number of canonical values. */
+    public static final int DEFAULT_MAX_ENTRIES = 8192;
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, String> table;
+
+    /** Creates a table holding up to {@link #DEFAULT_MAX_ENTRIES} values. */
+    public StringInterner() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Creates a table with an explicit bound.
+     *
+     * @param maxEntries maximum canonical values (&gt; 0)
+     * @throws IllegalArgumentException if not positive
+     */
+    public StringInterner(int maxEntries) {
+        if (maxEntries <= 0) throw new IllegalArgumentException("maxEntries must be > 0");
+        this.maxEntries = maxEntries;
+        this.table = new ConcurrentHashMap<>(Math.min(maxEntries, 256));
+    }
+
+    /**
+     * Returns the canonical instance equal to {@code s}.
+     *
+     * @param s value (may be null)
+     * @return canonical instance, or {@code s} itself if new and the table is full
+     */
+    public String intern(String s) {
+        if (s == null) return null;
+        String canonical = table.get(s);
+        if (canonical != null) return canonical;
+        if (table.size() >= maxEntries) return s;
+        canonical = table.putIfAbsent(s, s);
+        return canonical == null ? s : canonical;
+    }
+
+    /** @return number of canonical values held */
+    public int size() {
+        return table.size();
+    }
+
+    /** Drops every canonical value. */
+    public void clear() {
+        table.clear();
+    }
+}
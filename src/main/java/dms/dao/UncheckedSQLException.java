@@ -0,0 +1,35 @@
+package dms.dao;
+
+import java.sql.SQLException;
+
+/**
+ * Unchecked wrapper for a {@link SQLException} raised where a checked exception
+ * cannot be thrown, e.g. while a {@link java.util.stream.Stream} of rows is consumed.
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+public class UncheckedSQLException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Wraps a checked SQL exception.
+     *
+     * @param message context message
+     * @param cause   the original {@link SQLException}
+     */
+    public UncheckedSQLException(String message, SQLException cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Returns the wrapped {@link SQLException}.
+     *
+     * @return original cause
+     */
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
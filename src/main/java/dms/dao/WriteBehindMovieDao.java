@@ -0,0 +1,841 @@
+package dms.dao;
+
+import dms.dao.WriteJournal.Entry;
+import dms.dao.WriteJournal.Op;
+import dms.model.Movie;
+import dms.model.MovieColumns;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Write-behind decorator for any {@link MovieDao}: updates, upserts and deletes are
+ * acknowledged once they are buffered (and journaled), and a background thread applies
+ * them in bulk. Inserts are not deferred.
+ *
+ * <p><b>Responsibilities:</b></p>
+ * <ul>
+ *   <li>Coalesce pending writes by {@code movie_id}, last write wins (a burst of rating
+ *       updates to one movie costs one {@code UPDATE})</li>
+ *   <li>Flush with the delegate's batched bulk operations when {@code batchSize} writes are
+ *       pending, every {@code flushIntervalMs}, on {@link #flush()} and on {@link #close()}</li>
+ *   <li>Append every write to a local {@link WriteJournal} and {@code fsync} it before
+ *       acknowledging (one {@code fsync} per group of concurrent writes); the journal is
+ *       replayed on the next start if the process dies with writes pending</li>
+ *   <li>Bound memory: writers wait while {@code 4 × batchSize} writes are pending</li>
+ * </ul>
+ *
+ * <p><b>Semantics:</b> {@link #update}, {@link #upsert} and {@link #delete} return
+ * {@code true} once buffered. Updates whose ID is missing when applied, and rows the
+ * database rejects (constraint violations), are counted in {@link #getNotFoundCount()} and
+ * {@link #getFailedCount()} and reported to every {@link RejectionListener}, so callers that
+ * mirrored the write (search index, statistics, a table on screen) can undo it. A bulk
+ * operation rolls back a whole chunk when one row fails, so a failed chunk is retried row by
+ * row and only the rows that fail alone are rejected; a chunk that failed for a transient
+ * reason (deadlock, lock-wait timeout, lost connection) is requeued instead.
+ * {@link #insert} and {@link #insertAll} run synchronously, so a duplicate ID or invalid row
+ * fails the call itself; they flush first if one of their IDs has a pending write, to keep
+ * the order of the two. {@link #updateIfUnchanged} flushes and then runs synchronously, since
+ * its version check has to reach the database. {@link #findById} answers pending deletes from the
+ * buffer and flushes only when its ID has another pending write; every other read flushes
+ * first, so reads always reflect acknowledged writes. Replay is
+ * at-least-once: writes applied just before a crash may be applied again (updates, upserts
+ * and deletes are idempotent).</p>
+ *
+ * <p>If the delegate is unavailable, the buffer is kept and retried on the next cycle.
+ * Without a journal ({@code journalFile == null}) pending writes are lost on a crash.</p>
+ *
+ * <h2>Usage</h2>
+ * <pre>{@code
+ * MovieDao dao = new WriteBehindMovieDao(new MysqlMovieDao(), Path.of("dms-writes.journal"));
+ * MovieService service = new MovieService(dao);
+ * ...
+ * service.flush();   // optional: apply now
+ * service.close();   // flushes, then closes the MySQL pool
+ * }</pre>
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+public class WriteBehindMovieDao implements DelegatingMovieDao {
+
+    /** Default number of pending writes that triggers a flush. */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /** Default maximum age of a pending write (ms). */
+    public static final long DEFAULT_FLUSH_INTERVAL_MS = 200;
+
+    /** Longest a writer waits for room in a full buffer (ms). */
+    private static final long BACKPRESSURE_TIMEOUT_MS = 30_000;
+
+    private final MovieDao delegate;
+    private final WriteJournal journal;
+    private final int batchSize;
+    private final int maxPending;
+
+    /** Writes not yet taken by a flush, in arrival order; guarded by {@code this}. */
+    private LinkedHashMap<String, Entry> pending = new LinkedHashMap<>();
+
+    /** Writes taken by the running flush (empty otherwise); guarded by {@code this}. */
+    private Map<String, Entry> inFlight = Collections.emptyMap();
+
+    private boolean closed;  // guarded by this
+
+    /** Serializes flushes. */
+    private final Object flushLock = new Object();
+
+    private final ScheduledExecutorService flusher;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Thread shutdownHook;
+
+    private final AtomicLong acknowledged = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong notFound = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private volatile Exception lastError;
+    private final List<RejectionListener> rejectionListeners = new CopyOnWriteArrayList<>();
+
+    /** Receives buffered writes that turned out not to apply. */
+    @FunctionalInterface
+    public interface RejectionListener {
+
+        /**
+         * Called on the flushing thread once the flush that tried the writes has finished
+         * (so the listener may read through this DAO).
+         *
+         * @param movieIds IDs whose acknowledged writes were not applied (never empty)
+         * @param cause    the database error, or {@code null} for updates whose row no longer existed
+         */
+        void writesRejected(List<String> movieIds, SQLException cause);
+    }
+
+    /**
+     * Wraps a DAO with default batch size and flush interval.
+     *
+     * @param delegate    DAO the writes are applied to (non-null)
+     * @param journalFile crash-recovery journal, or {@code null} for none
+     * @throws IOException if the journal cannot be opened or replayed
+     */
+    public WriteBehindMovieDao(MovieDao delegate, Path journalFile) throws IOException {
+        this(delegate, journalFile, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL_MS);
+    }
+
+    /**
+     * Wraps a DAO with explicit thresholds. Writes found in an existing journal are buffered
+     * again and applied once the delegate is connected.
+     *
+     * @param delegate        DAO the writes are applied to (non-null)
+     * @param journalFile     crash-recovery journal, or {@code null} for none
+     * @param batchSize       pending writes that trigger a flush (&gt; 0)
+     * @param flushIntervalMs maximum age of a pending write in milliseconds (&gt; 0)
+     * @throws IllegalArgumentException if an argument is invalid
+     * @throws IOException              if the journal cannot be opened or replayed
+     */
+    public WriteBehindMovieDao(MovieDao delegate, Path journalFile, int batchSize, long flushIntervalMs)
+            throws IOException {
+        if (delegate == null) throw new IllegalArgumentException("delegate cannot be null");
+        if (batchSize <= 0) throw new IllegalArgumentException("batchSize must be > 0");
+        if (flushIntervalMs <= 0) throw new IllegalArgumentException("flushIntervalMs must be > 0");
+        this.delegate = delegate;
+        this.batchSize = batchSize;
+        this.maxPending = batchSize * 4;
+        this.journal = (journalFile == null) ? null : new WriteJournal(journalFile);
+        if (journal != null) {
+            for (Entry e : journal.readAll()) pending.merge(e.id, e, Entry::then);
+            if (!pending.isEmpty()) {
+                System.err.println("Write-behind: recovered " + pending.size() + " pending writes from " + journalFile);
+            }
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "dms-write-behind");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        this.shutdownHook = new Thread(this::flushQuietly, "dms-write-behind-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public MovieDao getDelegate() {
+        return delegate;
+    }
+
+    // ---------- CONNECTION ----------
+
+    @Override
+    public void connect(String jdbcUrl, String user, String pass) throws SQLException {
+        delegate.connect(jdbcUrl, user, pass);
+    }
+
+    @Override
+    public boolean isConnected() {
+        return delegate.isConnected();
+    }
+
+    /**
+     * Flushes pending writes, stops the background thread and closes the journal and the
+     * delegate. Writes that cannot be applied stay in the journal for the next start.
+     *
+     * @throws SQLException if the final flush or closing the delegate fails
+     */
+    @Override
+    public void close() throws SQLException {
+        synchronized (this) {
+            if (closed) return;
+        }
+        try {
+            flush();
+        } finally {
+            synchronized (this) {
+                closed = true;
+                notifyAll();
+            }
+            flusher.shutdownNow();
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException alreadyShuttingDown) {
+                // the hook is running or about to run; it will find nothing to do
+            }
+            try {
+                if (journal != null) journal.close();
+            } catch (IOException ex) {
+                System.err.println("Write-behind: closing journal failed: " + ex.getMessage());
+            }
+            delegate.close();
+        }
+    }
+
+    // ---------- LISTENERS ----------
+
+    /**
+     * Registers a listener for writes rejected after they were acknowledged.
+     *
+     * @param listener listener (non-null)
+     */
+    public void addRejectionListener(RejectionListener listener) {
+        if (listener == null) throw new IllegalArgumentException("listener cannot be null");
+        rejectionListeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener added with {@link #addRejectionListener}.
+     *
+     * @param listener listener to remove
+     */
+    public void removeRejectionListener(RejectionListener listener) {
+        rejectionListeners.remove(listener);
+    }
+
+    // ---------- WRITE OPERATIONS ----------
+
+    /**
+     * Inserts synchronously, after applying any pending write for the same ID.
+     *
+     * @param movie movie to insert (non-null)
+     * @return the delegate's result
+     * @throws SQLException if the flush or the insert fails (e.g. duplicate ID)
+     */
+    @Override
+    public Movie insert(Movie movie) throws SQLException {
+        if (movie == null) {
+            throw new IllegalArgumentException("Movie cannot be null");
+        }
+        flushIfPending(Collections.singletonList(movie));
+        return delegate.insert(movie);
+    }
+
+    /**
+     * Buffers an update. The movie's version is advanced as the stored one will be: by one,
+     * unless the update coalesces with a write still pending for the same ID, since the
+     * database then sees both as a single write.
+     *
+     * @param movie updated movie (non-null)
+     * @return always {@code true}; a missing ID is reported by {@link #getNotFoundCount()}
+     * @throws SQLException if the write cannot be journaled or the buffer stays full
+     */
+    @Override
+    public boolean update(Movie movie) throws SQLException {
+        if (movie == null) {
+            throw new IllegalArgumentException("Movie cannot be null");
+        }
+        if (!buffer(Entry.update(copy(movie)))) movie.setVersion(movie.getVersion() + 1);
+        return true;
+    }
+
+    /**
+     * Buffers an insert-or-replace. Unlike {@link #insert}, it never needs to flush first:
+     * it coalesces with any pending write for the same ID. The movie's version is advanced
+     * as for {@link #update}, i.e. as if an existing row is replaced; a row the write ends
+     * up creating is stored with version 0.
+     *
+     * @param movie movie to store (non-null)
+     * @return always {@code true}; whether the row existed is only known when it is applied
+     * @throws SQLException if the write cannot be journaled or the buffer stays full
+     */
+    @Override
+    public boolean upsert(Movie movie) throws SQLException {
+        if (movie == null) {
+            throw new IllegalArgumentException("Movie cannot be null");
+        }
+        if (!buffer(Entry.upsert(copy(movie)))) movie.setVersion(movie.getVersion() + 1);
+        return true;
+    }
+
+    /**
+     * Applies pending writes, then runs the version-checked update on the delegate directly:
+     * its outcome must be known before returning, so it cannot be deferred.
+     *
+     * @param movie new values and the version they were based on
+     * @return the delegate's result
+     * @throws SQLException if the flush or the update fails
+     */
+    @Override
+    public boolean updateIfUnchanged(Movie movie) throws SQLException {
+        if (movie == null) {
+            throw new IllegalArgumentException("Movie cannot be null");
+        }
+        flush();
+        return delegate.updateIfUnchanged(movie);
+    }
+
+    /**
+     * Buffers a delete.
+     *
+     * @param id movie ID (non-blank)
+     * @return always {@code true}; a missing ID is reported by {@link #getNotFoundCount()}
+     * @throws SQLException if the write cannot be journaled or the buffer stays full
+     */
+    @Override
+    public boolean delete(String id) throws SQLException {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("Movie ID cannot be empty");
+        }
+        buffer(Entry.delete(id.trim()));
+        return true;
+    }
+
+    /**
+     * Inserts synchronously with the delegate's bulk path, after applying any pending write
+     * for one of the IDs.
+     *
+     * @param movies movies to insert (non-null)
+     * @return the delegate's per-row outcome
+     * @throws SQLException if the flush or the bulk insert fails as a whole
+     */
+    @Override
+    public BatchResult insertAll(Collection<Movie> movies) throws SQLException {
+        if (movies == null) throw new IllegalArgumentException("Movie collection cannot be null");
+        flushIfPending(movies);
+        return delegate.insertAll(movies);
+    }
+
+    @Override
+    public BatchResult updateAll(Collection<Movie> movies) throws SQLException {
+        for (Movie m : movies) update(m);
+        return acknowledgedAll(movies.size());
+    }
+
+    @Override
+    public BatchResult upsertAll(Collection<Movie> movies) throws SQLException {
+        for (Movie m : movies) upsert(m);
+        return acknowledgedAll(movies.size());
+    }
+
+    @Override
+    public BatchResult deleteAll(Collection<String> ids) throws SQLException {
+        for (String id : ids) delete(id);
+        return acknowledgedAll(ids.size());
+    }
+
+    // ---------- READ OPERATIONS ----------
+
+    /**
+     * Answers a pending delete from the buffer; an ID with another pending write is flushed
+     * first, so the returned movie carries its stored version (needed by
+     * {@link #updateIfUnchanged}); other IDs go straight to the delegate.
+     *
+     * @param id movie ID
+     * @return the movie as of the latest acknowledged write
+     * @throws SQLException if the flush or the delegate fails
+     */
+    @Override
+    public Optional<Movie> findById(String id) throws SQLException {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("Movie ID cannot be empty");
+        }
+        final String key = id.trim();
+        final Entry e;
+        synchronized (this) {
+            Entry p = pending.get(key);
+            e = (p != null) ? p : inFlight.get(key);
+        }
+        if (e == null) return delegate.findById(key);
+        if (e.op == Op.DELETE) return Optional.empty();
+        flush();
+        return delegate.findById(key);
+    }
+
+    @Override
+    public List<Movie> findAll() throws SQLException {
+        flush();
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<Movie> streamAll(int fetchSize) throws SQLException {
+        flush();
+        return delegate.streamAll(fetchSize);
+    }
+
+    @Override
+    public MovieColumns loadColumns(int fetchSize) throws SQLException {
+        flush();
+        return delegate.loadColumns(fetchSize);
+    }
+
+    @Override
+    public List<Movie> findPage(String afterTitle, String afterId, int limit) throws SQLException {
+        flush();
+        return delegate.findPage(afterTitle, afterId, limit);
+    }
+
+    @Override
+    public List<Movie> searchByTitle(String titleFragment) throws SQLException {
+        flush();
+        return delegate.searchByTitle(titleFragment);
+    }
+
+    @Override
+    public List<Movie> searchByTitlePage(String titleFragment, String afterTitle, String afterId, int limit)
+            throws SQLException {
+        flush();
+        return delegate.searchByTitlePage(titleFragment, afterTitle, afterId, limit);
+    }
+
+    @Override
+    public List<Movie> fullTextSearch(String query, FullTextMode mode, int limit) throws SQLException {
+        flush();
+        return delegate.fullTextSearch(query, mode, limit);
+    }
+
+    @Override
+    public CatalogSummary summarize() throws SQLException {
+        flush();
+        return delegate.summarize();
+    }
+
+    @Override
+    public Map<String, Long> countBy(GroupBy groupBy) throws SQLException {
+        flush();
+        return delegate.countBy(groupBy);
+    }
+
+    // ---------- FLUSHING ----------
+
+    /**
+     * Applies every pending write now, as at most four bulk operations (deletes, inserts
+     * replayed from the journal, upserts, updates). Only one flush runs at a time; writers
+     * keep buffering meanwhile. Rejected rows are reported to the
+     * {@link RejectionListener}s before this method returns.
+     *
+     * @throws SQLException if a bulk operation fails as a whole or transiently; its writes
+     *                      are buffered again (newer writes to the same IDs still win) and
+     *                      retried later
+     */
+    @Override
+    public void flush() throws SQLException {
+        final List<Rejection> rejections = new ArrayList<>();
+        try {
+            flush(rejections);
+        } finally {
+            for (Rejection r : rejections) notifyRejected(r);
+        }
+    }
+
+    /**
+     * Body of {@link #flush()}; listeners are notified by the caller, outside the flush lock.
+     *
+     * @param rejections receives the rows that were not applied
+     * @throws SQLException as for {@link #flush()}
+     */
+    private void flush(List<Rejection> rejections) throws SQLException {
+        synchronized (flushLock) {
+            final LinkedHashMap<String, Entry> batch;
+            final long journalMark;
+            synchronized (this) {
+                if (pending.isEmpty()) return;
+                batch = pending;
+                pending = new LinkedHashMap<>();
+                inFlight = batch;
+                journalMark = (journal == null) ? 0 : journal.position();
+                notifyAll();
+            }
+            flushes.incrementAndGet();
+            try {
+                apply(batch, Op.DELETE, rejections);
+                apply(batch, Op.INSERT, rejections);
+                apply(batch, Op.UPSERT, rejections);
+                apply(batch, Op.UPDATE, rejections);
+            } catch (SQLException | RuntimeException ex) {
+                requeue(batch);
+                lastError = ex;
+                throw ex;
+            }
+            synchronized (this) {
+                inFlight = Collections.emptyMap();
+            }
+            if (journal != null) {
+                try {
+                    journal.discardBefore(journalMark);
+                } catch (IOException ex) {
+                    // Applied writes stay in the journal and would be replayed once more.
+                    System.err.println("Write-behind: journal checkpoint failed: " + ex.getMessage());
+                }
+            }
+        }
+    }
+
+    /** Scheduler-friendly {@link #flush()} that waits for a connection and logs failures. */
+    private void flushQuietly() {
+        flushRequested.set(false);
+        if (!delegate.isConnected()) return;
+        try {
+            flush();
+        } catch (Exception ex) {
+            System.err.println("Write-behind flush failed (will retry): " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Flushes if one of the movies' IDs has a pending or in-flight write.
+     *
+     * @param movies movies about to be written synchronously
+     * @throws SQLException if the flush fails
+     */
+    private void flushIfPending(Collection<Movie> movies) throws SQLException {
+        boolean pendingWrite = false;
+        synchronized (this) {
+            for (Movie m : movies) {
+                if (m == null) continue;
+                final String id = m.getMovieId();
+                if (pending.containsKey(id) || inFlight.containsKey(id)) {
+                    pendingWrite = true;
+                    break;
+                }
+            }
+        }
+        if (pendingWrite) flush();
+    }
+
+    /**
+     * Applies the writes of one kind with the delegate's bulk operation and removes them
+     * from {@code batch}.
+     *
+     * <p>A bulk operation rolls back a whole chunk when one of its rows fails, so rows
+     * reported as failed are not necessarily bad. If the chunk failed for a transient reason
+     * (deadlock, lock-wait timeout, lost connection) its rows stay in {@code batch} and the
+     * error is thrown, so the flush requeues them. Otherwise each failed row is retried on
+     * its own and only the rows that fail alone are rejected.</p>
+     *
+     * @param batch      writes taken from the buffer
+     * @param op         kind to apply
+     * @param rejections receives the rows that were not applied
+     * @throws SQLException if the bulk operation fails as a whole or a chunk failed transiently
+     */
+    private void apply(Map<String, Entry> batch, Op op, List<Rejection> rejections) throws SQLException {
+        final List<Movie> movies = new ArrayList<>();
+        final List<String> ids = new ArrayList<>();
+        for (Entry e : batch.values()) {
+            if (e.op != op) continue;
+            ids.add(e.id);
+            if (e.movie != null) movies.add(e.movie);
+        }
+        if (ids.isEmpty()) return;
+        final BatchResult result = applyBulk(op, ids, movies);
+        final List<Integer> retry = new ArrayList<>();
+        final List<String> failedIds = new ArrayList<>();
+        final List<String> missingIds = new ArrayList<>();
+        for (int i = 0; i < result.size(); i++) {
+            if (result.isApplied(i)) {
+                applied.incrementAndGet();
+            } else if (result.isFailed(i)) {
+                retry.add(i);
+            } else {
+                notFound.incrementAndGet();
+                if (op != Op.DELETE) missingIds.add(ids.get(i));  // a missing delete is already done
+            }
+        }
+        SQLException transientError = firstTransient(result.getErrors());
+        final List<String> requeued = new ArrayList<>();
+        SQLException cause = null;
+        for (int i : retry) {
+            final String id = ids.get(i);
+            if (transientError != null) {
+                requeued.add(id);
+                continue;
+            }
+            final BatchResult one = applyBulk(op, List.of(id),
+                    op == Op.DELETE ? List.of() : List.of(movies.get(i)));
+            if (one.isApplied(0)) {
+                applied.incrementAndGet();
+            } else if (one.isFailed(0)) {
+                transientError = firstTransient(one.getErrors());
+                if (transientError != null) {
+                    requeued.add(id);
+                    continue;
+                }
+                failed.incrementAndGet();
+                failedIds.add(id);
+                if (cause == null && !one.getErrors().isEmpty()) cause = one.getErrors().get(0);
+            } else {
+                notFound.incrementAndGet();
+                if (op != Op.DELETE) missingIds.add(id);
+            }
+        }
+        if (!failedIds.isEmpty()) {
+            if (cause == null) cause = new SQLException(op + " rejected by the database");
+            lastError = cause;
+            System.err.println("Write-behind: " + failedIds.size() + " " + op + " rows rejected: "
+                    + cause.getMessage());
+            rejections.add(new Rejection(failedIds, cause));
+        }
+        if (!missingIds.isEmpty()) rejections.add(new Rejection(missingIds, null));
+        ids.removeAll(requeued);
+        batch.keySet().removeAll(ids);
+        if (transientError != null) throw transientError;
+    }
+
+    /**
+     * Runs the delegate's bulk operation for one kind of write.
+     *
+     * @param op     kind to apply
+     * @param ids    IDs in input order
+     * @param movies movies in the same order ({@code op != DELETE})
+     * @return per-row outcome
+     * @throws SQLException if the operation fails as a whole
+     */
+    private BatchResult applyBulk(Op op, List<String> ids, List<Movie> movies) throws SQLException {
+        switch (op) {
+            case DELETE: return delegate.deleteAll(ids);
+            case INSERT: return delegate.insertAll(movies);
+            case UPSERT: return delegate.upsertAll(movies);
+            default:     return delegate.updateAll(movies);
+        }
+    }
+
+    /**
+     * Returns the first error that says nothing about the rows themselves.
+     *
+     * @param errors errors of failed chunks
+     * @return the first transient error, or {@code null}
+     */
+    private static SQLException firstTransient(List<SQLException> errors) {
+        for (SQLException ex : errors) if (isTransient(ex)) return ex;
+        return null;
+    }
+
+    /**
+     * Indicates whether an error is worth retrying as is: a deadlock (1213), a lock-wait
+     * timeout (1205), a serialization failure (SQLState {@code 40xxx}) or a lost
+     * connection (SQLState {@code 08xxx}).
+     *
+     * @param ex error of a failed chunk
+     * @return {@code true} if the same rows may succeed later
+     */
+    static boolean isTransient(SQLException ex) {
+        for (Throwable t = ex; t instanceof SQLException; t = t.getCause()) {
+            final SQLException sql = (SQLException) t;
+            if (sql instanceof SQLTransientException || sql instanceof SQLRecoverableException) return true;
+            final String state = sql.getSQLState();
+            if (state != null && (state.startsWith("40") || state.startsWith("08"))) return true;
+            if (sql.getErrorCode() == 1205 || sql.getErrorCode() == 1213) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Tells every listener about one group of rejected writes; listener failures are logged.
+     *
+     * @param r rejected writes
+     */
+    private void notifyRejected(Rejection r) {
+        for (RejectionListener l : rejectionListeners) {
+            try {
+                l.writesRejected(r.movieIds, r.cause);
+            } catch (RuntimeException ex) {
+                System.err.println("Write-behind: rejection listener failed: " + ex);
+            }
+        }
+    }
+
+    /** IDs of writes that were not applied, with their common cause. */
+    private static final class Rejection {
+        final List<String> movieIds;
+        final SQLException cause;
+
+        Rejection(List<String> movieIds, SQLException cause) {
+            this.movieIds = Collections.unmodifiableList(movieIds);
+            this.cause = cause;
+        }
+    }
+
+    /**
+     * Puts the unapplied writes of a failed flush back in front of newer writes.
+     *
+     * @param batch writes that were not applied
+     */
+    private synchronized void requeue(Map<String, Entry> batch) {
+        final LinkedHashMap<String, Entry> merged = new LinkedHashMap<>(batch);
+        for (Map.Entry<String, Entry> e : pending.entrySet()) merged.merge(e.getKey(), e.getValue(), Entry::then);
+        pending = merged;
+        inFlight = Collections.emptyMap();
+    }
+
+    // ---------- BUFFERING ----------
+
+    /**
+     * Journals and buffers one write, coalescing it with a pending write for the same ID.
+     * Returns once the journal entry is on disk.
+     *
+     * @param e write to buffer
+     * @return {@code true} if it was merged into a pending insert, update or upsert (the
+     *         database will apply both as one write)
+     * @throws SQLException if the journal fails, the buffer stays full or the DAO is closed
+     */
+    private boolean buffer(Entry e) throws SQLException {
+        final long position;
+        final boolean merged;
+        synchronized (this) {
+            awaitRoom();
+            try {
+                position = (journal == null) ? 0 : journal.append(e);
+            } catch (IOException ex) {
+                throw new SQLException("Cannot write the write-behind journal", ex);
+            }
+            final Entry before = pending.get(e.id);
+            pending.put(e.id, before == null ? e : before.then(e));
+            if (before != null) coalesced.incrementAndGet();
+            merged = before != null && before.op != Op.DELETE;
+            acknowledged.incrementAndGet();
+            if (pending.size() >= batchSize) requestFlush();
+        }
+        if (journal != null) {
+            try {
+                journal.sync(position);
+            } catch (IOException ex) {
+                throw new SQLException("Cannot sync the write-behind journal", ex);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Waits on this monitor until the buffer has room; the caller holds the monitor.
+     *
+     * @throws SQLException if closed, interrupted, or still full after the timeout
+     */
+    private void awaitRoom() throws SQLException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(BACKPRESSURE_TIMEOUT_MS);
+        while (!closed && pending.size() >= maxPending) {
+            requestFlush();
+            long left = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (left <= 0) throw new SQLTransientException("Write-behind buffer is full; is the database reachable?");
+            try {
+                wait(left);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientException("Interrupted while waiting for the write-behind buffer", ie);
+            }
+        }
+        if (closed) throw new SQLException("Write-behind DAO is closed");
+    }
+
+    /** Schedules an immediate background flush unless one is already queued. */
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flushQuietly);
+            } catch (RejectedExecutionException closing) {
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    // ---------- STATISTICS ----------
+
+    /** @return writes currently waiting to be applied (after coalescing) */
+    public synchronized int getPendingCount() { return pending.size() + inFlight.size(); }
+
+    /** @return writes acknowledged so far */
+    public long getAcknowledgedCount() { return acknowledged.get(); }
+
+    /** @return writes merged into an earlier pending write for the same ID */
+    public long getCoalescedCount() { return coalesced.get(); }
+
+    /** @return rows written to the delegate */
+    public long getAppliedCount() { return applied.get(); }
+
+    /** @return updates/deletes whose ID no longer existed when applied */
+    public long getNotFoundCount() { return notFound.get(); }
+
+    /** @return rows the delegate rejected (also reported to the {@link RejectionListener}s) */
+    public long getFailedCount() { return failed.get(); }
+
+    /** @return number of flushes that found work */
+    public long getFlushCount() { return flushes.get(); }
+
+    /** @return most recent flush or row error, or {@code null} */
+    public Exception getLastError() { return lastError; }
+
+    @Override
+    public String toString() {
+        return String.format("WriteBehindMovieDao{pending=%d, acknowledged=%d, coalesced=%d, applied=%d, "
+                        + "notFound=%d, failed=%d, flushes=%d}",
+                getPendingCount(), getAcknowledgedCount(), getCoalescedCount(), getAppliedCount(),
+                getNotFoundCount(), getFailedCount(), getFlushCount());
+    }
+
+    // ---------- HELPERS ----------
+
+    private static BatchResult acknowledgedAll(int size) {
+        final int[] counts = new int[size];
+        Arrays.fill(counts, 1);
+        return new BatchResult(counts, Collections.emptyList());
+    }
+
+    /**
+     * Defensive copy so buffered state cannot be changed through the caller's instance.
+     *
+     * @param m movie to copy
+     * @return equal, independent instance
+     */
+    private static Movie copy(Movie m) {
+        final Movie c = Movie.ofNormalized(m.getMovieId(), m.getTitle(), m.getDirector(), m.getReleaseYear(),
+                m.getDurationMinutes(), m.getGenre(), m.getRating());
+        c.setVersion(m.getVersion());
+        return c;
+    }
+}
@@ -0,0 +1,292 @@
+package dms.dao;
+
+import dms.model.Movie;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only local log of the writes buffered by {@link WriteBehindMovieDao}, replayed
+ * after a crash.
+ *
+ * <p><b>Group commit:</b> {@link #append} only writes to the OS; {@link #sync(long)} forces
+ * the file to disk. Threads that append concurrently and then sync share a single
+ * {@code fsync}: whoever syncs first covers everything appended so far, and later callers
+ * whose entries are already covered return immediately.</p>
+ *
+ * <p><b>Format:</b> one UTF-8 line per entry, tab-separated, with {@code \\}, tab, CR and LF
+ * escaped. A torn last line (crash mid-write) is ignored on replay.</p>
+ *
+ * <p>Positions are logical: they keep growing across {@link #discardBefore(long)}, which
+ * drops entries that have been applied to the database.</p>
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+final class WriteJournal implements Closeable {
+
+    /** Kind of buffered write. */
+    enum Op {
+        INSERT('I'), UPDATE('U'), UPSERT('S'), DELETE('D');
+
+        final char code;
+
+        Op(char code) {
+            this.code = code;
+        }
+
+        static Op of(char code) {
+            for (Op op : values()) if (op.code == code) return op;
+            return null;
+        }
+    }
+
+    /**
+     * One buffered write; {@code movie} is {@code null} for deletes.
+     */
+    static final class Entry {
+        final Op op;
+        final String id;
+        final Movie movie;
+
+        private Entry(Op op, String id, Movie movie) {
+            this.op = op;
+            this.id = id;
+            this.movie = movie;
+        }
+
+        static Entry insert(Movie m) { return new Entry(Op.INSERT, m.getMovieId(), m); }
+
+        static Entry update(Movie m) { return new Entry(Op.UPDATE, m.getMovieId(), m); }
+
+        static Entry upsert(Movie m) { return new Entry(Op.UPSERT, m.getMovieId(), m); }
+
+        static Entry delete(String id) { return new Entry(Op.DELETE, id, null); }
+
+        /**
+         * Coalesces this (older) write with a newer one for the same ID, last write wins:
+         * an update keeps a pending insert an insert and a pending upsert an upsert, and an
+         * update after a delete is dropped (it would match no row).
+         *
+         * @param next newer write for the same ID
+         * @return single write with the same effect as both
+         */
+        Entry then(Entry next) {
+            if (next.op == Op.UPDATE) {
+                if (op == Op.INSERT) return insert(next.movie);
+                if (op == Op.UPSERT) return upsert(next.movie);
+                if (op == Op.DELETE) return this;
+            }
+            return next;
+        }
+    }
+
+    private final Path file;
+    private final Object syncLock = new Object();
+
+    private FileChannel channel;  // guarded by this
+    private long base;            // logical position of the first byte in the file; guarded by this
+    private long written;         // logical end position; guarded by this
+    private long synced;          // logical position known to be on disk; guarded by syncLock
+
+    /**
+     * Opens (creating if needed) a journal file.
+     *
+     * @param file journal path
+     * @throws IOException if the file cannot be opened
+     */
+    WriteJournal(Path file) throws IOException {
+        this.file = file;
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.written = channel.size();
+        this.synced = written;
+        channel.position(written);
+    }
+
+    /**
+     * Reads back every complete entry, oldest first.
+     *
+     * @return entries in the journal
+     * @throws IOException if the file cannot be read
+     */
+    synchronized List<Entry> readAll() throws IOException {
+        final String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        final List<Entry> out = new ArrayList<>();
+        int start = 0;
+        int end;
+        while ((end = text.indexOf('\n', start)) >= 0) {
+            Entry e = decode(text.substring(start, end));
+            if (e != null) out.add(e);
+            start = end + 1;
+        }
+        return out;
+    }
+
+    /**
+     * Appends an entry without forcing it to disk.
+     *
+     * @param e entry
+     * @return logical position after the entry (pass to {@link #sync(long)})
+     * @throws IOException if writing fails
+     */
+    synchronized long append(Entry e) throws IOException {
+        final ByteBuffer buf = ByteBuffer.wrap(encode(e).getBytes(StandardCharsets.UTF_8));
+        while (buf.hasRemaining()) channel.write(buf);
+        written += buf.capacity();
+        return written;
+    }
+
+    /**
+     * Returns the logical end of the journal.
+     *
+     * @return position after the last appended entry
+     */
+    synchronized long position() {
+        return written;
+    }
+
+    /**
+     * Ensures everything up to {@code position} is on disk, sharing one {@code fsync}
+     * between concurrent callers.
+     *
+     * @param position logical position returned by {@link #append}
+     * @throws IOException if forcing fails
+     */
+    void sync(long position) throws IOException {
+        synchronized (syncLock) {
+            if (synced >= position) return;
+            final long target;
+            final FileChannel ch;
+            synchronized (this) {
+                target = written;
+                ch = channel;
+            }
+            ch.force(false);
+            synced = target;
+        }
+    }
+
+    /**
+     * Drops entries before {@code position} (already applied); entries appended later are kept.
+     *
+     * @param position logical position captured when the applied entries were taken
+     * @throws IOException if the file cannot be rewritten
+     */
+    void discardBefore(long position) throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                if (position <= base) return;
+                if (position >= written) {
+                    channel.truncate(0);
+                    channel.position(0);
+                    channel.force(false);
+                } else {
+                    final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+                    try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                        long from = position - base;
+                        long remaining = written - position;
+                        while (remaining > 0) {
+                            long n = channel.transferTo(from, remaining, out);
+                            from += n;
+                            remaining -= n;
+                        }
+                        out.force(false);
+                    }
+                    channel.close();
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    channel.position(channel.size());
+                }
+                base = position;
+                synced = written;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    // ---------- ENCODING ----------
+
+    private static String encode(Entry e) {
+        final StringBuilder sb = new StringBuilder(96).append(e.op.code).append('\t').append(escape(e.id));
+        if (e.movie != null) {
+            Movie m = e.movie;
+            sb.append('\t').append(escape(m.getTitle()))
+              .append('\t').append(escape(m.getDirector()))
+              .append('\t').append(m.getReleaseYear())
+              .append('\t').append(m.getDurationMinutes())
+              .append('\t').append(escape(m.getGenre()))
+              .append('\t').append(m.getRating());
+        }
+        return sb.append('\n').toString();
+    }
+
+    /**
+     * Parses one line.
+     *
+     * @param line line without terminator
+     * @return entry, or {@code null} if the line is malformed
+     */
+    private static Entry decode(String line) {
+        final String[] f = line.split("\t", -1);
+        if (f.length < 2 || f[0].length() != 1) return null;
+        final Op op = Op.of(f[0].charAt(0));
+        if (op == null) return null;
+        final String id = unescape(f[1]);
+        if (op == Op.DELETE) return Entry.delete(id);
+        if (f.length != 8) return null;
+        try {
+            Movie m = Movie.ofNormalized(id, unescape(f[2]), unescape(f[3]), Integer.parseInt(f[4]),
+                    Integer.parseInt(f[5]), unescape(f[6]), Double.parseDouble(f[7]));
+            return new Entry(op, id, m);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static String escape(String s) {
+        final StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '\\': sb.append("\\\\"); break;
+                case '\t': sb.append("\\t"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                default:   sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String unescape(String s) {
+        if (s.indexOf('\\') < 0) return s;
+        final StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\' && i + 1 < s.length()) {
+                char n = s.charAt(++i);
+                sb.append(n == 't' ? '\t' : n == 'n' ? '\n' : n == 'r' ? '\r' : n);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
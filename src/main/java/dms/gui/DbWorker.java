@@ -0,0 +1,109 @@
+package dms.gui;
+
+import javax.swing.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * {@link SwingWorker} that runs one piece of database work off the Event Dispatch Thread
+ * and hands its outcome back to the EDT.
+ *
+ * <p>Exactly one of the callbacks runs on the EDT when the work ends: {@code onSuccess} with
+ * the result, {@code onFailure} with the unwrapped cause, or nothing if the worker was
+ * cancelled. {@code onFinish} always runs afterwards (e.g. to hide a busy indicator).</p>
+ *
+ * <p><b>Cancellation:</b> {@link #cancel(boolean)} interrupts the worker thread and
+ * guarantees the result is never delivered. A JDBC call already waiting on the server may
+ * still run to completion in the background.</p>
+ *
+ * @param <T> result type
+ *
+ * @author
+ *     Luis Augusto Monserratt Alvarado
+ * @version 1.1
+ */
+final class DbWorker<T> extends SwingWorker<T, Void> {
+
+    /**
+     * Background computation that may throw checked exceptions (typically {@code SQLException}).
+     *
+     * @param <T> result type
+     */
+    @FunctionalInterface
+    interface Work<T> {
+        T call() throws Exception;
+    }
+
+    private final Work<T> work;
+    private final Consumer<? super T> onSuccess;
+    private final Consumer<Throwable> onFailure;
+    private Runnable onFinish = () -> {};
+
+    /**
+     * Creates a worker; call {@link #execute()} (or use {@link #start}) to run it.
+     *
+     * @param work      background computation
+     * @param onSuccess EDT callback receiving the result
+     * @param onFailure EDT callback receiving the failure cause
+     */
+    DbWorker(Work<T> work, Consumer<? super T> onSuccess, Consumer<Throwable> onFailure) {
+        this.work = work;
+        this.onSuccess = onSuccess;
+        this.onFailure = onFailure;
+    }
+
+    /**
+     * Creates and starts a worker.
+     *
+     * @param work      background computation
+     * @param onSuccess EDT callback receiving the result
+     * @param onFailure EDT callback receiving the failure cause
+     * @param <T>       result type
+     * @return the running worker (keep it to cancel)
+     */
+    static <T> DbWorker<T> start(Work<T> work, Consumer<? super T> onSuccess, Consumer<Throwable> onFailure) {
+        DbWorker<T> w = new DbWorker<>(work, onSuccess, onFailure);
+        w.execute();
+        return w;
+    }
+
+    /**
+     * Sets a callback that runs on the EDT after success, failure or cancellation.
+     * Must be called before {@link #execute()}.
+     *
+     * @param onFinish completion callback
+     * @return this worker
+     */
+    DbWorker<T> onFinish(Runnable onFinish) {
+        this.onFinish = onFinish;
+        return this;
+    }
+
+    @Override
+    protected T doInBackground() throws Exception {
+        return work.call();
+    }
+
+    @Override
+    protected void done() {
+        try {
+            if (isCancelled()) return;
+            T result;
+            try {
+                result = get();
+            } catch (CancellationException ce) {
+                return;
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException ee) {
+                onFailure.accept(ee.getCause() != null ? ee.getCause() : ee);
+                return;
+            }
+            onSuccess.accept(result);
+        } finally {
+            onFinish.run();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package dms.gui;
 
 import dms.model.Movie;
 import dms.service.MovieService;
+import dms.service.StaleMovieException;
 
 import javax.swing.*;
 import java.awt.*;
@@ -20,6 +21,8 @@ import java.sql.SQLException;
  *   <li>Input validation before saving</li>
  *   <li>Delegates persistence to {@link MovieService}</li>
  *   <li>User-friendly success/error messages</li>
+ *   <li>Saves on a background thread so the UI keeps repainting</li>
+ *   <li>Edits are version-checked: saving over a concurrent change is refused, not lost</li>
  * </ul>
  *
  * @author
@@ -40,9 +43,15 @@ public class MovieFormDialog extends JDialog {
     /** True if this dialog is editing an existing record. */
     private final boolean editMode;
 
+    /** Row version of the movie being edited; the update only applies while it is unchanged. */
+    private long loadedVersion;
+
     /** Callback invoked after a successful save/update. */
     private final Runnable onSuccess;
 
+    /** Create/Update button (disabled while a save is running). */
+    private JButton btnSave;
+
     // ---------- FACTORY METHODS ----------
 
     /**
@@ -105,7 +114,7 @@ public class MovieFormDialog extends JDialog {
         spDuration = new JSpinner(new SpinnerNumberModel(120, 1, 999, 1));
         spRating = new JSpinner(new SpinnerNumberModel(7.5, 0.0, 10.0, 0.1));
 
-        JButton btnSave = new JButton(editMode ? "Update" : "Create");
+        btnSave = new JButton(editMode ? "Update" : "Create");
         JButton btnCancel = new JButton("Cancel");
 
         JPanel form = new JPanel(new GridBagLayout());
@@ -174,6 +183,7 @@ public class MovieFormDialog extends JDialog {
         spDuration.setValue(m.getDurationMinutes());
         txtGenre.setText(m.getGenre());
         spRating.setValue(m.getRating());
+        loadedVersion = m.getVersion();
     }
 
     // ---------- SAVE OPERATION ----------
@@ -182,11 +192,12 @@ public class MovieFormDialog extends JDialog {
      * Handles the save/update button click event.
      * <p>
      * Validates input fields, constructs a {@link Movie} object,
-     * and either creates or updates the record via {@link MovieService}.
+     * and either creates or updates the record via {@link MovieService} on a background thread.
      * </p>
      * <p>Displays error dialogs if validation or SQL exceptions occur.</p>
      */
     private void onSave() {
+        final Movie movie;
         try {
             String id = txtId.getText();
             String title = txtTitle.getText();
@@ -196,24 +207,45 @@ public class MovieFormDialog extends JDialog {
             String genre = txtGenre.getText();
             double rating = ((Number) spRating.getValue()).doubleValue();
 
-            Movie movie = new Movie(id, title, director, year, duration, genre, rating);
-
-            if (editMode) {
-                service.update(movie);
-                JOptionPane.showMessageDialog(this, "Movie updated successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
-            } else {
-                service.create(movie);
-                JOptionPane.showMessageDialog(this, "Movie created successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
-            }
+            movie = new Movie(id, title, director, year, duration, genre, rating);
+            movie.setVersion(loadedVersion);
+        } catch (IllegalArgumentException iae) {
+            showError("Validation error:\n" + iae.getMessage());
+            return;
+        }
 
+        btnSave.setEnabled(false);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new DbWorker<Void>(() -> {
+            if (editMode) service.updateIfUnchanged(movie);
+            else service.create(movie);
+            return null;
+        }, ignored -> {
+            JOptionPane.showMessageDialog(this,
+                    editMode ? "Movie updated successfully." : "Movie created successfully.",
+                    "Success", JOptionPane.INFORMATION_MESSAGE);
             onSuccess.run();
             dispose();
+        }, this::showSaveFailure).onFinish(() -> {
+            btnSave.setEnabled(true);
+            setCursor(Cursor.getDefaultCursor());
+        }).execute();
+    }
 
-        } catch (IllegalArgumentException iae) {
-            showError("Validation error:\n" + iae.getMessage());
-        } catch (SQLException sqle) {
-            showError("Database error:\n" + friendlySqlMessage(sqle));
-        } catch (Exception ex) {
+    /**
+     * Shows the error of a failed background save.
+     *
+     * @param ex failure cause
+     */
+    private void showSaveFailure(Throwable ex) {
+        if (ex instanceof IllegalArgumentException) {
+            showError("Validation error:\n" + ex.getMessage());
+        } else if (ex instanceof StaleMovieException) {
+            showError("This movie was changed by someone else after you opened it.\n"
+                    + "Your changes were not saved. Cancel, refresh the list and edit it again.");
+        } else if (ex instanceof SQLException) {
+            showError("Database error:\n" + friendlySqlMessage((SQLException) ex));
+        } else {
             showError("Unexpected error:\n" + ex.getMessage());
         }
     }
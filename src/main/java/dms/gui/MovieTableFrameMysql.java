@@ -1,15 +1,35 @@
 package dms.gui;
 
+import dms.dao.DelegatingMovieDao;
+import dms.dao.MetricsMovieDao;
 import dms.dao.MovieDao;
 import dms.dao.MysqlMovieDao;
+import dms.dao.UncheckedSQLException;
+import dms.dao.WriteBehindMovieDao;
 import dms.model.Movie;
+import dms.model.MovieColumns;
+import dms.service.ImportReport;
+import dms.service.MovieImporter;
 import dms.service.MovieService;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
+import javax.management.JMException;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
  * Main Swing window for the MySQL-backed Movie Manager DMS.
@@ -18,16 +38,36 @@ import java.util.List;
  * <ul>
  *   <li>Auto-connects to MySQL on startup using default/system properties</li>
  *   <li>Provides full CRUD actions (Create, Read, Update, Delete)</li>
- *   <li>Search by title and custom action to compute average duration</li>
+ *   <li>Search-as-you-type by title and custom action to compute average duration</li>
+ *   <li>Bulk import of CSV/TSV files in the background</li>
  *   <li>Manual connection dialog fallback if auto-connection fails</li>
  *   <li>Optional one-row seed if the table is empty (first run)</li>
  * </ul>
  *
+ * <p><b>Threading:</b> every database call runs on a {@link DbWorker}, never on the Event
+ * Dispatch Thread. A status bar shows what is running and offers a Cancel button; a newer
+ * table load (refresh/search) cancels the previous one so stale rows are never shown.</p>
+ *
+ * <p><b>Startup:</b> connecting starts in the background before the window is first painted
+ * (the launcher has already loaded the JDBC driver), extra pool connections open in parallel,
+ * and the first page of rows is shown as soon as it arrives, with the time to first row
+ * printed to stdout. The rest of the catalog, the search index, statistics and JMX export
+ * follow in the background.</p>
+ *
  * <p><b>System properties / environment variables</b>:</p>
  * <ul>
  *   <li><b>JDBC_URL</b> – e.g., {@code jdbc:mysql://localhost:3306/dms_movies?serverTimezone=UTC&amp;useUnicode=true&amp;characterEncoding=utf8}</li>
  *   <li><b>DB_USER</b> – DB username</li>
  *   <li><b>DB_PASS</b> – DB password</li>
+ *   <li><b>DMS_WRITE_BEHIND_JOURNAL</b> – optional journal file; when set, writes are
+ *       buffered and applied in batches by a {@link WriteBehindMovieDao}</li>
+ *   <li><b>DMS_METRICS_REPORT_MS</b> – optional period for printing DAO latency metrics to
+ *       stdout; they are always available over JMX ({@code dms:type=MovieDao,name=gui,*})</li>
+ *   <li><b>DMS_SLOW_QUERY_LOG</b> – optional file for the MySQL slow-query log (statements,
+ *       parameters and {@code EXPLAIN} plans); <b>DMS_SLOW_QUERY_MS</b> sets its threshold
+ *       (default 200); parameter values are hidden unless <b>DMS_SLOW_QUERY_REDACT=false</b></li>
+ *   <li><b>DMS_POOL_LEAK_MS</b> – optional connection-leak threshold; connections held longer
+ *       are logged with the stack that borrowed them (off by default)</li>
  * </ul>
  *
  * @author
@@ -48,8 +88,41 @@ public class MovieTableFrameMysql extends JFrame {
     /** Default DB password (overridden by -DDB_PASS or env DB_PASS). */
     private static final String DEFAULT_DB_PASS = getPropOrEnv("DB_PASS", "");
 
-    /** Table model backing the JTable. */
-    private final DefaultTableModel tableModel;
+    /** Write-behind journal path (-DDMS_WRITE_BEHIND_JOURNAL or env); blank keeps writes synchronous. */
+    private static final String WRITE_BEHIND_JOURNAL = getPropOrEnv("DMS_WRITE_BEHIND_JOURNAL", "");
+
+    /** DAO metrics report period (-DDMS_METRICS_REPORT_MS or env); 0 or blank disables the dump. */
+    private static final String METRICS_REPORT_MS = getPropOrEnv("DMS_METRICS_REPORT_MS", "0");
+
+    /** Slow-query log file (-DDMS_SLOW_QUERY_LOG or env); blank disables the log. */
+    private static final String SLOW_QUERY_LOG = getPropOrEnv("DMS_SLOW_QUERY_LOG", "");
+
+    /** Slow-query threshold in ms (-DDMS_SLOW_QUERY_MS or env). */
+    private static final String SLOW_QUERY_MS = getPropOrEnv("DMS_SLOW_QUERY_MS", "200");
+
+    /** Whether the slow-query log hides parameter values (-DDMS_SLOW_QUERY_REDACT or env). */
+    private static final String SLOW_QUERY_REDACT = getPropOrEnv("DMS_SLOW_QUERY_REDACT", "true");
+
+    /** Connection-leak threshold in ms (-DDMS_POOL_LEAK_MS or env); 0 disables leak detection. */
+    private static final String POOL_LEAK_MS = getPropOrEnv("DMS_POOL_LEAK_MS", "0");
+
+    /** Rows fetched by the first query after connecting, shown before the full catalog loads. */
+    private static final int FIRST_PAGE_SIZE = 200;
+
+    /**
+     * Extra pooled connections opened in parallel right after connecting, for the
+     * concurrent startup work (full load, search-index warm-up, statistics).
+     */
+    private static final int STARTUP_CONNECTIONS = 3;
+
+    /** Period of the running-statistics reconciliation with the database (ms). */
+    private static final long STATS_RECONCILE_MS = 5 * 60_000;
+
+    /** Quiet time after the last keystroke before the live search runs (ms). */
+    private static final int SEARCH_DEBOUNCE_MS = 250;
+
+    /** Table model backing the JTable (serves cells straight from {@link Movie} objects). */
+    private final MovieTableModel tableModel;
 
     /** Main grid displaying movie rows. */
     private final JTable table;
@@ -63,43 +136,99 @@ public class MovieTableFrameMysql extends JFrame {
     /** Service layer handling validation, orchestration, and DB calls. */
     private final MovieService service;
 
+    /** Status bar text (current activity or row count). */
+    private final JLabel lblStatus = new JLabel(" ");
+
+    /**
+     * Warning appended to the idle status text after buffered writes were rejected, until
+     * the user refreshes; {@code null} if none. EDT only.
+     */
+    private String rejectedWritesWarning;
+
+    /** Indeterminate progress bar, visible while background work runs. */
+    private final JProgressBar busyBar = new JProgressBar();
+
+    /** Cancels every running background task. */
+    private final JButton btnCancel = new JButton("Cancel");
+
+    /** Background tasks currently running; EDT only. */
+    private final Set<DbWorker<?>> activeWorkers = new LinkedHashSet<>();
+
+    /** Task currently filling the table (refresh/search); a newer load cancels it. EDT only. */
+    private DbWorker<?> tableLoad;
+
+    /** Restarted on every keystroke in {@link #txtSearch}; fires the live search once typing pauses. */
+    private final Timer searchDebounce = new Timer(SEARCH_DEBOUNCE_MS, e -> onSearchTyped());
+
+    /**
+     * Lower-cased title query whose complete match list the table shows, or {@code null}
+     * when it shows something else (all movies, or a load is pending). EDT only.
+     */
+    private String shownQuery;
+
+    /** {@link System#nanoTime()} when this window started being built, for time-to-first-row. */
+    private final long startNanos;
+
+    /** Set by the first warm-up that registers the DAO metrics MBeans. */
+    private final AtomicBoolean metricsExported = new AtomicBoolean();
+
     /**
      * Builds the main window, initializes UI widgets, and attempts an automatic MySQL connection.
-     * <p>If auto-connection fails, a manual connection dialog is offered.</p>
+     * <p>The connection starts in the background before the window is shown, so it overlaps
+     * with the first paint. If auto-connection fails, a manual connection dialog is offered.</p>
      */
     public MovieTableFrameMysql() {
         super("DMS – Movies (MySQL)");
-        this.dao = new MysqlMovieDao();
+        this.startNanos = System.nanoTime();
+        this.dao = createDao();
         this.service = new MovieService(dao);
+        service.addWriteRejectionListener((ids, cause) ->
+                SwingUtilities.invokeLater(() -> onWritesRejected(ids, cause)));
 
         // ---- Table model and UI wiring ----
-        this.tableModel = new DefaultTableModel(
-                new String[]{"ID", "Title", "Director", "Year", "Duration", "Genre", "Rating"}, 0) {
-            @Override public boolean isCellEditable(int r, int c) { return false; }
+        this.tableModel = new MovieTableModel();
+        this.table = new JTable(tableModel) {
+            @Override
+            protected void paintComponent(Graphics g) {
+                final TablePaintEvent event = new TablePaintEvent();
+                event.begin();
+                super.paintComponent(g);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.rowCount = getRowCount();
+                    event.paintedRows = rowsIn(g.getClipBounds());
+                    event.commit();
+                }
+            }
+
+            /** Number of view rows intersecting a clip rectangle (all rows if unclipped). */
+            private int rowsIn(Rectangle clip) {
+                final int count = getRowCount();
+                if (clip == null || count == 0) return count;
+                int first = rowAtPoint(new Point(0, clip.y));
+                int last = rowAtPoint(new Point(0, clip.y + clip.height - 1));
+                if (first < 0) first = 0;
+                if (last < 0) last = count - 1;
+                return Math.max(0, last - first + 1);
+            }
         };
-        this.table = new JTable(tableModel);
         table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         table.setAutoCreateRowSorter(true);
         this.txtSearch = new JTextField(20);
+        searchDebounce.setRepeats(false);
+        txtSearch.getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { searchDebounce.restart(); }
+            @Override public void removeUpdate(DocumentEvent e) { searchDebounce.restart(); }
+            @Override public void changedUpdate(DocumentEvent e) { searchDebounce.restart(); }
+        });
 
         setContentPane(buildContent());
         setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
         setSize(980, 520);
         setLocationRelativeTo(null);
 
-        // ---- Auto-connect on startup, then load table data ----
-        SwingUtilities.invokeLater(() -> {
-            if (autoConnectAndLoad()) {
-                // Connected and data loaded successfully.
-            } else {
-                // Fallback: show manual connection dialog if auto-connect fails.
-                if (showConnectionDialogAndConnect()) {
-                    // Ensure seed and then refresh after manual connection
-                    ensureSeedIfEmpty();
-                    safeRefreshAll();
-                }
-            }
-        });
+        // ---- Auto-connect on startup (in the background), then load table data ----
+        autoConnectAndLoad();
     }
 
     /**
@@ -117,6 +246,7 @@ public class MovieTableFrameMysql extends JFrame {
         JButton btnEdit = new JButton("Edit");
         JButton btnDelete = new JButton("Delete");
         JButton btnAverage = new JButton("Average Duration");
+        JButton btnImport = new JButton("Import...");
         JButton btnExit = new JButton("Exit");
 
         tb.add(btnConnect);
@@ -127,6 +257,7 @@ public class MovieTableFrameMysql extends JFrame {
         tb.add(btnDelete);
         tb.addSeparator();
         tb.add(btnAverage);
+        tb.add(btnImport);
         tb.add(Box.createHorizontalGlue());
         tb.add(btnExit);
 
@@ -145,58 +276,107 @@ public class MovieTableFrameMysql extends JFrame {
         center.add(searchPanel, BorderLayout.NORTH);
         center.add(scroll, BorderLayout.CENTER);
 
+        // Status bar
+        busyBar.setIndeterminate(true);
+        busyBar.setVisible(false);
+        btnCancel.setEnabled(false);
+        JPanel status = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 2));
+        status.add(lblStatus);
+        status.add(busyBar);
+        status.add(btnCancel);
+
         // Root container
         JPanel root = new JPanel(new BorderLayout());
         root.add(tb, BorderLayout.NORTH);
         root.add(center, BorderLayout.CENTER);
+        root.add(status, BorderLayout.SOUTH);
 
         // Actions
-        btnConnect.addActionListener(e -> {
-            if (showConnectionDialogAndConnect()) {
-                ensureSeedIfEmpty();
-                safeRefreshAll();
-            }
-        });
-        btnRefresh.addActionListener(e -> safeRefreshAll());
+        btnConnect.addActionListener(e -> showConnectionDialogAndConnect());
+        btnRefresh.addActionListener(e -> { rejectedWritesWarning = null; safeRefreshAll(); });
         btnAdd.addActionListener(e -> onAdd());
         btnEdit.addActionListener(e -> onEdit());
         btnDelete.addActionListener(e -> onDelete());
         btnAverage.addActionListener(e -> onAverage());
+        btnImport.addActionListener(e -> onImport());
         btnExit.addActionListener(e -> onExit());
         btnSearch.addActionListener(e -> onSearch());
-        btnClear.addActionListener(e -> { txtSearch.setText(""); safeRefreshAll(); });
+        btnClear.addActionListener(e -> { txtSearch.setText(""); searchDebounce.stop(); safeRefreshAll(); });
         txtSearch.addActionListener(e -> onSearch());
+        btnCancel.addActionListener(e -> cancelBackgroundWork());
         return root;
     }
 
     /**
-     * Attempts an automatic connection using default URL/credentials.
-     * If successful, seeds the DB if empty and loads all movies into the table.
+     * Attempts an automatic connection using default URL/credentials in the background.
+     * If successful, seeds the DB if empty, shows the first page and loads the rest; otherwise
+     * falls back to the manual connection dialog.
+     */
+    private void autoConnectAndLoad() {
+        track("Connecting to MySQL", new DbWorker<>(
+                () -> connectSeedAndReadFirstPage(DEFAULT_JDBC_URL, DEFAULT_DB_USER, DEFAULT_DB_PASS),
+                firstPage -> {
+                    showFirstPageAndLoadRest(firstPage, startNanos);
+                    System.out.println("✅ Auto-connected to MySQL, seeded if empty, and loaded data.");
+                },
+                ex -> {
+                    // Let the user enter connection details manually.
+                    System.err.println("Auto-connect failed: " + ex.getMessage());
+                    showConnectionDialogAndConnect();
+                }));
+    }
+
+    /**
+     * Connects, opens the extra startup connections in parallel, and reads the first page
+     * of movies, seeding an empty table first. Runs on a background thread.
      *
-     * @return {@code true} if auto-connect succeeded; {@code false} otherwise
+     * @param jdbcUrl JDBC URL
+     * @param user    DB user
+     * @param pass    DB password
+     * @return up to {@link #FIRST_PAGE_SIZE} movies in title order
+     * @throws SQLException if connecting or loading fails
      */
-    private boolean autoConnectAndLoad() {
-        try {
-            service.connect(DEFAULT_JDBC_URL, DEFAULT_DB_USER, DEFAULT_DB_PASS);
-            if (service.isConnected()) {
-                ensureSeedIfEmpty();             // Seed only when table is empty
-                applyTableData(service.readAll());
-                System.out.println("✅ Auto-connected to MySQL, seeded if empty, and loaded data.");
-                return true;
-            }
-        } catch (Exception ex) {
-            // Swallow here and let caller show manual dialog.
-            System.err.println("Auto-connect failed: " + ex.getMessage());
+    private MovieColumns connectSeedAndReadFirstPage(String jdbcUrl, String user, String pass) throws SQLException {
+        service.connect(jdbcUrl, user, pass);
+        MysqlMovieDao mysql = DelegatingMovieDao.unwrap(dao, MysqlMovieDao.class);
+        if (mysql != null) mysql.prestartConnections(STARTUP_CONNECTIONS);
+        List<Movie> firstPage = service.readPage(null, FIRST_PAGE_SIZE);
+        if (firstPage.isEmpty() && seedIfEmpty()) {
+            firstPage = service.readPage(null, FIRST_PAGE_SIZE);
         }
-        return false;
+        return MovieColumns.of(firstPage);
     }
 
     /**
-     * Shows a modal dialog to capture MySQL connection parameters and connect.
+     * Shows the first page, reports the time to first row, loads the remaining rows if the
+     * page was full, and starts the background warm-up. EDT only.
      *
-     * @return {@code true} if connected successfully; {@code false} otherwise
+     * <p>Two times are printed: since JVM start (what the user waits for, including class
+     * loading and any console prompts before the window) and since this window started
+     * being built (connect, first query and first paint only).</p>
+     *
+     * @param firstPage  first page of movies
+     * @param sinceNanos {@link System#nanoTime()} when this window started being built
      */
-    private boolean showConnectionDialogAndConnect() {
+    private void showFirstPageAndLoadRest(MovieColumns firstPage, long sinceNanos) {
+        applyTableData(firstPage);
+        final long sinceJvmStart = System.currentTimeMillis()
+                - ManagementFactory.getRuntimeMXBean().getStartTime();
+        System.out.println("⏱️ Time to first row: " + sinceJvmStart + " ms since JVM start, "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sinceNanos)
+                + " ms since the window was created (" + firstPage.size() + " rows)");
+        if (firstPage.size() >= FIRST_PAGE_SIZE) {
+            loadTable("Loading movies", () -> service.readAllColumns(MysqlMovieDao.DEFAULT_FETCH_SIZE),
+                    "Failed to load data", null);
+        }
+        warmUpInBackground();
+    }
+
+    /**
+     * Shows a modal dialog to capture MySQL connection parameters, then connects, seeds and
+     * loads the table in the background.
+     */
+    private void showConnectionDialogAndConnect() {
         JTextField host = new JTextField("localhost");
         JTextField port = new JTextField("3306");
         JTextField db = new JTextField("dms_movies");
@@ -212,77 +392,139 @@ public class MovieTableFrameMysql extends JFrame {
 
         int res = JOptionPane.showConfirmDialog(this, p, "Connect to MySQL",
                 JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
-        if (res != JOptionPane.OK_OPTION) return false;
+        if (res != JOptionPane.OK_OPTION) return;
 
         String jdbcUrl = String.format(
                 "jdbc:mysql://%s:%s/%s?serverTimezone=UTC&useUnicode=true&characterEncoding=utf8",
                 host.getText().trim(), port.getText().trim(), db.getText().trim());
+        final String dbUser = user.getText();
+        final String dbPass = new String(pass.getPassword());
+        final long connectStart = System.nanoTime();
+        runInBackground("Connecting to MySQL",
+                () -> connectSeedAndReadFirstPage(jdbcUrl, dbUser, dbPass),
+                firstPage -> {
+                    showFirstPageAndLoadRest(firstPage, connectStart);
+                    JOptionPane.showMessageDialog(this, "Connected to MySQL successfully.",
+                            "Connection", JOptionPane.INFORMATION_MESSAGE);
+                },
+                "Database connection failed");
+    }
+
+    /**
+     * Seeds table {@code movies} with one row, through the service's own connection pool.
+     * Called only when the first page came back empty. Non-blocking on failure.
+     *
+     * @return {@code true} if a row was inserted
+     */
+    private boolean seedIfEmpty() {
         try {
-            service.connect(jdbcUrl, user.getText(), new String(pass.getPassword()));
-            JOptionPane.showMessageDialog(this, "Connected to MySQL successfully.",
-                    "Connection", JOptionPane.INFORMATION_MESSAGE);
+            // Minimal seed (replace with your full 20 inserts if desired)
+            service.create(new Movie("INT2010", "Inception", "Christopher Nolan", 2010, 148, "Science Fiction", 9.0));
+            System.out.println("ℹ️ Seeded table 'movies' with a minimal row.");
             return true;
-        } catch (IllegalArgumentException iae) {
-            showError("Validation error:\n" + iae.getMessage());
-        } catch (SQLException sqle) {
-            showError("Database connection failed:\n" + friendlySql(sqle));
-        } catch (Exception ex) {
-            showError("Unexpected error:\n" + ex.getMessage());
+        } catch (Exception ignore) {
+            // Do not block the app if seeding fails; it's just a convenience.
+            System.err.println("Seeding skipped/failed: " + ignore.getMessage());
+            return false;
         }
-        return false;
     }
 
     /**
-     * Seeds the database with at least one row if table {@code movies} is empty.
-     * <p>This ensures a fresh DB shows content on first run. Non-blocking on failure.</p>
+     * Loads the in-memory search index and seeds the running statistics on a background
+     * thread, so title searches and "Average Duration" stop hitting MySQL once ready.
+     * Both fall back to SQL until then. The first run also exports the DAO metrics over JMX.
      */
-    private void ensureSeedIfEmpty() {
-        try (java.sql.Connection c =
-                     java.sql.DriverManager.getConnection(
-                             System.getProperty("JDBC_URL", DEFAULT_JDBC_URL),
-                             System.getProperty("DB_USER", DEFAULT_DB_USER),
-                             System.getProperty("DB_PASS", DEFAULT_DB_PASS))) {
-
-            try (java.sql.Statement st = c.createStatement();
-                 java.sql.ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM movies")) {
-                rs.next();
-                if (rs.getInt(1) == 0) {
-                    // Minimal seed (replace with your full 20 inserts if desired)
-                    st.executeUpdate(
-                            "INSERT INTO movies (movie_id,title,director,release_year,duration_minutes,genre,rating) VALUES " +
-                                    "('INT2010','Inception','Christopher Nolan',2010,148,'Science Fiction',9.0)"
-                    );
-                    System.out.println("ℹ️ Seeded table 'movies' with a minimal row.");
-                }
+    private void warmUpInBackground() {
+        Thread t = new Thread(() -> {
+            exportMetrics();
+            try {
+                service.warmSearchIndex(MysqlMovieDao.DEFAULT_FETCH_SIZE);
+                service.enableStatistics(STATS_RECONCILE_MS);
+            } catch (Exception ex) {
+                System.err.println("Background warm-up failed: " + ex.getMessage());
             }
-        } catch (Exception ignore) {
-            // Do not block the app if seeding fails; it's just a convenience.
-            System.err.println("Seeding skipped/failed: " + ignore.getMessage());
+        }, "dms-warm-up");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /**
+     * Registers the DAO metrics MBeans ({@code dms:type=MovieDao,name=gui,*}). Called from the
+     * warm-up thread because creating the platform MBean server costs noticeable startup time.
+     * Only the first call registers them.
+     */
+    private void exportMetrics() {
+        if (!metricsExported.compareAndSet(false, true)) return;
+        MetricsMovieDao metrics = DelegatingMovieDao.unwrap(dao, MetricsMovieDao.class);
+        if (metrics == null) return;
+        try {
+            metrics.registerMBeans("gui");
+        } catch (JMException ex) {
+            System.err.println("DAO metrics not exported over JMX: " + ex.getMessage());
         }
     }
 
     /** Reloads all data from the DB into the table; shows an error if not connected. */
     private void safeRefreshAll() {
         if (!service.isConnected()) { showError("You are not connected to MySQL. Click Connect first."); return; }
-        try {
-            applyTableData(service.readAll());
-        } catch (SQLException sqle) {
-            showError("Failed to load data:\n" + friendlySql(sqle));
-        }
+        loadTable("Loading movies", () -> service.readAllColumns(MysqlMovieDao.DEFAULT_FETCH_SIZE),
+                "Failed to load data", null);
     }
 
-    /** Search action: filters by title (case-insensitive LIKE on DAO side). */
+    /** Search action (Enter / Search button): filters by title (in-memory index when warm, otherwise SQL LIKE). */
     private void onSearch() {
+        searchDebounce.stop();
         if (!service.isConnected()) { showError("You are not connected to MySQL. Click Connect first."); return; }
         String q = txtSearch.getText();
         if (q == null || q.isBlank()) { safeRefreshAll(); return; }
-        try {
-            applyTableData(service.searchByTitle(q.trim()));
-        } catch (SQLException sqle) {
-            showError("Search failed:\n" + friendlySql(sqle));
-        } catch (IllegalArgumentException iae) {
-            showError("Validation error:\n" + iae.getMessage());
+        runSearch(q.trim());
+    }
+
+    /**
+     * Live search, fired by {@link #searchDebounce} once typing pauses.
+     *
+     * <p>If the new text contains the query whose matches are on screen, every match is
+     * already in the table (a title containing the new text also contains the old one), so
+     * the rows are filtered in memory without a query. Otherwise a new search starts and
+     * cancels the one in flight.</p>
+     */
+    private void onSearchTyped() {
+        if (!service.isConnected()) return;
+        final String q = txtSearch.getText().trim();
+        if (q.isEmpty()) {
+            if (shownQuery != null || tableLoad != null) safeRefreshAll();
+            return;
+        }
+        final String lower = q.toLowerCase(Locale.ROOT);
+        if (tableLoad == null && shownQuery != null) {
+            if (lower.equals(shownQuery)) return;
+            if (lower.contains(shownQuery)) {
+                MovieColumns shown = tableModel.getColumns();
+                MovieColumns narrowed = new MovieColumns();
+                for (int row = 0; row < shown.size(); row++) {
+                    String title = shown.getTitle(row);
+                    if (title.toLowerCase(Locale.ROOT).contains(lower)) {
+                        narrowed.add(shown.getMovieId(row), title, shown.getDirector(row), shown.getReleaseYear(row),
+                                shown.getDurationMinutes(row), shown.getGenre(row), shown.getRating(row),
+                                shown.getVersion(row));
+                    }
+                }
+                applyTableData(narrowed);
+                shownQuery = lower;
+                return;
+            }
         }
+        runSearch(q);
+    }
+
+    /**
+     * Starts a title search in the background, replacing any load in progress.
+     *
+     * @param fragment trimmed, non-blank search text
+     */
+    private void runSearch(String fragment) {
+        loadTable("Searching \"" + fragment + "\"", () -> MovieColumns.of(service.searchByTitle(fragment)), "Search failed",
+                fragment.toLowerCase(Locale.ROOT));
     }
 
     /** Create handler: opens the modal creation dialog and refreshes the table on success. */
@@ -308,67 +550,217 @@ public class MovieTableFrameMysql extends JFrame {
                 "Delete movie with ID: " + selected.getMovieId() + "?",
                 "Confirm delete", JOptionPane.YES_NO_OPTION);
         if (confirm != JOptionPane.YES_OPTION) return;
-        try {
-            boolean ok = service.deleteById(selected.getMovieId());
-            if (ok) safeRefreshAll();
-            else showError("Movie ID not found: " + selected.getMovieId());
-        } catch (SQLException sqle) {
-            showError("Delete failed:\n" + friendlySql(sqle));
-        }
+        final String id = selected.getMovieId();
+        runInBackground("Deleting " + id, () -> service.deleteById(id), ok -> {
+            if (ok) tableModel.removeMovie(id);
+            else showError("Movie ID not found: " + id);
+        }, "Delete failed");
     }
 
     /** Custom action handler: computes and shows the average duration of all movies. */
     private void onAverage() {
         if (!service.isConnected()) { showError("You are not connected to MySQL. Click Connect first."); return; }
-        try {
-            double avg = service.averageDuration();
-            JOptionPane.showMessageDialog(this, String.format("Average duration: %.2f minutes", avg),
-                    "Custom Feature", JOptionPane.INFORMATION_MESSAGE);
-        } catch (SQLException sqle) {
-            showError("Unable to compute average:\n" + friendlySql(sqle));
-        }
+        runInBackground("Computing average duration", service::averageDuration, avg ->
+                JOptionPane.showMessageDialog(this, String.format("Average duration: %.2f minutes", avg),
+                        "Custom Feature", JOptionPane.INFORMATION_MESSAGE),
+                "Unable to compute average");
+    }
+
+    /**
+     * Bulk import handler: picks a CSV/TSV file and imports it on a background thread,
+     * then shows the summary and refreshes the table.
+     */
+    private void onImport() {
+        if (!service.isConnected()) { showError("You are not connected to MySQL. Click Connect first."); return; }
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Import movies (CSV/TSV)");
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        final Path file = chooser.getSelectedFile().toPath();
+        int mode = JOptionPane.showConfirmDialog(this,
+                "Use MySQL LOAD DATA LOCAL INFILE (fastest, no client-side validation)?",
+                "Import mode", JOptionPane.YES_NO_CANCEL_OPTION);
+        if (mode == JOptionPane.CANCEL_OPTION || mode == JOptionPane.CLOSED_OPTION) return;
+
+        final MovieImporter importer = new MovieImporter(service);
+        importer.setUseLoadData(mode == JOptionPane.YES_OPTION);
+        final String originalTitle = getTitle();
+        importer.setProgressListener((read, inserted, rejected) -> SwingUtilities.invokeLater(() ->
+                setTitle(originalTitle + String.format(" – importing: %d read, %d inserted, %d rejected",
+                        read, inserted, rejected))));
+
+        new SwingWorker<ImportReport, Void>() {
+            @Override protected ImportReport doInBackground() throws Exception {
+                return importer.importFile(file);
+            }
+
+            @Override protected void done() {
+                setTitle(originalTitle);
+                try {
+                    ImportReport report = get();
+                    StringBuilder msg = new StringBuilder(report.toString());
+                    report.getRejections().stream().limit(10)
+                            .forEach(r -> msg.append("\n  ").append(r));
+                    JOptionPane.showMessageDialog(MovieTableFrameMysql.this, msg.toString(),
+                            "Import finished", JOptionPane.INFORMATION_MESSAGE);
+                    safeRefreshAll();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ee) {
+                    Throwable cause = ee.getCause();
+                    showError("Import failed:\n" + (cause instanceof SQLException
+                            ? friendlySql((SQLException) cause) : String.valueOf(cause.getMessage())));
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Reports buffered writes the database rejected after they had been acknowledged
+     * (write-behind mode) in the status bar and reloads the table, which still shows them.
+     * EDT only.
+     *
+     * @param ids   IDs whose writes were not applied
+     * @param cause database error, or {@code null} if the movies no longer existed
+     */
+    private void onWritesRejected(List<String> ids, SQLException cause) {
+        final String reason = (cause == null) ? "movie no longer exists" : friendlySql(cause);
+        System.err.println("⚠️ Saved changes rejected for " + ids + ": " + reason);
+        final String shown = String.join(", ", ids.subList(0, Math.min(5, ids.size())))
+                + (ids.size() > 5 ? ", ..." : "");
+        rejectedWritesWarning = ids.size() + " saved change(s) rejected (" + shown + "): " + reason;
+        if (service.isConnected()) safeRefreshAll();
+        else updateBusyState(null);
     }
 
-    /** Graceful exit handler: closes DB connection (if open), disposes the frame, and exits JVM. */
+    /** Graceful exit handler: cancels background work, applies buffered writes, closes DB connection (if open), disposes the frame, and exits JVM. */
     private void onExit() {
+        searchDebounce.stop();
+        cancelBackgroundWork();
+        try {
+            service.flush();
+        } catch (SQLException ex) {
+            System.err.println("Buffered writes not applied (kept in the journal): " + ex.getMessage());
+        }
         try { service.close(); } catch (SQLException ignore) {}
         dispose();
         System.exit(0);
     }
 
+    // ---------- BACKGROUND WORK ----------
+
     /**
-     * Applies a list of movies to the table model and clears selection.
+     * Runs database work on a background thread and delivers the result on the EDT;
+     * failures are shown in an error dialog.
      *
-     * @param list list of {@link Movie} objects to render
+     * @param activity    status bar text while running
+     * @param work        background computation
+     * @param onSuccess   EDT callback receiving the result
+     * @param errorPrefix dialog text shown before the SQL error message
+     * @param <T>         result type
+     * @return the running worker
      */
-    private void applyTableData(List<Movie> list) {
-        tableModel.setRowCount(0);
-        for (Movie m : list) {
-            tableModel.addRow(new Object[]{
-                    m.getMovieId(), m.getTitle(), m.getDirector(),
-                    m.getReleaseYear(), m.getDurationMinutes(), m.getGenre(), m.getRating()
-            });
+    private <T> DbWorker<T> runInBackground(String activity, DbWorker.Work<T> work,
+                                            Consumer<? super T> onSuccess, String errorPrefix) {
+        return track(activity, new DbWorker<>(work, onSuccess, ex -> showFailure(errorPrefix, ex)));
+    }
+
+    /**
+     * Loads rows into the table in the background, cancelling any load still in progress
+     * so an older result can never overwrite a newer one.
+     *
+     * @param activity    status bar text while running
+     * @param work        background query
+     * @param errorPrefix dialog text shown before the SQL error message
+     * @param searchQuery lower-cased title query the rows match, or {@code null} for all movies
+     */
+    private void loadTable(String activity, DbWorker.Work<MovieColumns> work, String errorPrefix, String searchQuery) {
+        if (tableLoad != null) tableLoad.cancel(true);
+        shownQuery = null;
+        tableLoad = runInBackground(activity, work, list -> {
+            applyTableData(list);
+            shownQuery = searchQuery;
+        }, errorPrefix);
+    }
+
+    /**
+     * Registers a worker with the status bar and starts it.
+     *
+     * @param activity status bar text while running
+     * @param worker   worker to start (not yet executed)
+     * @param <T>      result type
+     * @return the started worker
+     */
+    private <T> DbWorker<T> track(String activity, DbWorker<T> worker) {
+        activeWorkers.add(worker);
+        worker.onFinish(() -> {
+            activeWorkers.remove(worker);
+            if (tableLoad == worker) tableLoad = null;
+            updateBusyState(null);
+        });
+        updateBusyState(activity);
+        worker.execute();
+        return worker;
+    }
+
+    /** Cancels every running background task; their results are discarded. */
+    private void cancelBackgroundWork() {
+        for (DbWorker<?> w : new ArrayList<>(activeWorkers)) w.cancel(true);
+    }
+
+    /**
+     * Refreshes the status bar.
+     *
+     * @param activity text of a task that just started, or {@code null} after one finished
+     */
+    private void updateBusyState(String activity) {
+        boolean busy = !activeWorkers.isEmpty();
+        busyBar.setVisible(busy);
+        btnCancel.setEnabled(busy);
+        if (activity != null) lblStatus.setText(activity + "...");
+        else if (!busy) lblStatus.setText(tableModel.getRowCount() + " movies"
+                + (rejectedWritesWarning == null ? "" : "   ⚠️ " + rejectedWritesWarning));
+    }
+
+    /**
+     * Shows a background failure using the same wording as the former synchronous handlers.
+     *
+     * @param errorPrefix text shown before the SQL error message
+     * @param ex          failure cause
+     */
+    private void showFailure(String errorPrefix, Throwable ex) {
+        if (ex instanceof UncheckedSQLException) ex = ex.getCause();
+        if (ex instanceof SQLException) {
+            showError(errorPrefix + ":\n" + friendlySql((SQLException) ex));
+        } else if (ex instanceof IllegalArgumentException) {
+            showError("Validation error:\n" + ex.getMessage());
+        } else {
+            showError("Unexpected error:\n" + ex.getMessage());
         }
+    }
+
+    // ---------- TABLE ----------
+
+    /**
+     * Applies a set of movies to the table model and clears selection.
+     *
+     * @param rows columnar store of the movies to render (owned by the table afterwards)
+     */
+    private void applyTableData(MovieColumns rows) {
+        tableModel.setColumns(rows);
+        shownQuery = null;
         table.clearSelection();
+        if (activeWorkers.isEmpty()) updateBusyState(null);
     }
 
     /**
-     * Extracts the currently selected {@link Movie} from the table, or returns {@code null} if none selected.
+     * Returns the {@link Movie} shown in the selected row, or {@code null} if none selected.
      *
      * @return selected movie or {@code null}
      */
     private Movie getSelectedMovieFromTable() {
         int viewRow = table.getSelectedRow();
         if (viewRow < 0) return null;
-        int row = table.convertRowIndexToModel(viewRow);
-        String id = String.valueOf(tableModel.getValueAt(row, 0));
-        String title = String.valueOf(tableModel.getValueAt(row, 1));
-        String director = String.valueOf(tableModel.getValueAt(row, 2));
-        int year = Integer.parseInt(String.valueOf(tableModel.getValueAt(row, 3)));
-        int duration = Integer.parseInt(String.valueOf(tableModel.getValueAt(row, 4)));
-        String genre = String.valueOf(tableModel.getValueAt(row, 5));
-        double rating = Double.parseDouble(String.valueOf(tableModel.getValueAt(row, 6)));
-        return new Movie(id, title, director, year, duration, genre, rating);
+        return tableModel.getMovieAt(table.convertRowIndexToModel(viewRow));
     }
 
     /**
@@ -393,6 +785,48 @@ public class MovieTableFrameMysql extends JFrame {
         return msg;
     }
 
+    /**
+     * Creates the MySQL DAO, wrapped in a {@link WriteBehindMovieDao} when a journal is configured
+     * and always in a {@link MetricsMovieDao} (outermost, so it times what the service sees;
+     * its MBeans are registered later by {@link #exportMetrics()}).
+     * Falls back to synchronous writes if the journal cannot be opened, and runs without a
+     * slow-query log if its file cannot be opened.
+     *
+     * @return DAO for the service layer
+     */
+    private static MovieDao createDao() {
+        final MysqlMovieDao mysql = new MysqlMovieDao();
+        try {
+            mysql.setLeakDetectionThreshold(Long.parseLong(POOL_LEAK_MS.trim()));
+        } catch (IllegalArgumentException ex) {
+            System.err.println("Leak detection disabled: " + ex.getMessage());
+        }
+        if (!SLOW_QUERY_LOG.isBlank()) {
+            try {
+                mysql.enableSlowQueryLog(Path.of(SLOW_QUERY_LOG), Long.parseLong(SLOW_QUERY_MS.trim()))
+                        .setRedactParameters(Boolean.parseBoolean(SLOW_QUERY_REDACT.trim()));
+            } catch (IOException | IllegalArgumentException ex) {
+                System.err.println("Slow-query log disabled: " + ex.getMessage());
+            }
+        }
+        MovieDao dao = mysql;
+        if (!WRITE_BEHIND_JOURNAL.isBlank()) {
+            try {
+                dao = new WriteBehindMovieDao(mysql, Path.of(WRITE_BEHIND_JOURNAL));
+            } catch (IOException ex) {
+                System.err.println("Write-behind disabled, journal unavailable: " + ex.getMessage());
+            }
+        }
+        final MetricsMovieDao metrics = new MetricsMovieDao(dao);
+        try {
+            long reportMs = Long.parseLong(METRICS_REPORT_MS.trim());
+            if (reportMs > 0) metrics.startReporting(reportMs, System.out);
+        } catch (NumberFormatException ex) {
+            System.err.println("Ignoring invalid DMS_METRICS_REPORT_MS: " + METRICS_REPORT_MS);
+        }
+        return metrics;
+    }
+
     /**
      * Utility: reads a value from System properties first, then environment variables, or returns a default.
      * <p>Example: run with {@code -DDB_USER=root} or set env var {@code DB_USER}.</p>
@@ -0,0 +1,243 @@
+package dms.gui;
+
+import dms.model.Movie;
+import dms.model.MovieColumns;
+
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.AbstractTableModel;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Table model that serves cells straight from a columnar {@link MovieColumns} store.
+ *
+ * <p><b>Why not {@code DefaultTableModel}:</b> it copies every value into a
+ * {@code Vector} of {@code Vector}s, boxing each number, and the selected row then has to
+ * be parsed back into a {@code Movie}. This model keeps rows as primitive columns and
+ * dictionary codes, computes cells on demand, reuses canonical boxes for years, durations
+ * and one-decimal ratings, and builds the {@link Movie} for a row only when asked.</p>
+ *
+ * <p>All methods must be called on the Event Dispatch Thread.</p>
+ *
+ * @author
+ *     Luis Augusto Monserratt Alvarado
+ * @version 1.1
+ */
+public class MovieTableModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Column headers, in display order. */
+    private static final String[] COLUMNS = {"ID", "Title", "Director", "Year", "Duration", "Genre", "Rating"};
+
+    /** Column types, so the row sorter compares numbers numerically. */
+    private static final Class<?>[] TYPES = {
+            String.class, String.class, String.class, Integer.class, Integer.class, String.class, Double.class
+    };
+
+    /** Canonical boxes for 0..2100 (covers every valid year and duration). */
+    private static final Integer[] INTS = new Integer[2101];
+
+    /** Canonical boxes for ratings 0.0..10.0 in steps of 0.1. */
+    private static final Double[] RATINGS = new Double[101];
+
+    static {
+        for (int i = 0; i < INTS.length; i++) INTS[i] = i;
+        for (int i = 0; i < RATINGS.length; i++) RATINGS[i] = i / 10.0;
+    }
+
+    /** Rows in model order. */
+    private MovieColumns rows = new MovieColumns();
+
+    // ---------- TableModel ----------
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return TYPES[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        switch (column) {
+            case 0: return rows.getMovieId(row);
+            case 1: return rows.getTitle(row);
+            case 2: return rows.getDirector(row);
+            case 3: return boxInt(rows.getReleaseYear(row));
+            case 4: return boxInt(rows.getDurationMinutes(row));
+            case 5: return rows.getGenre(row);
+            case 6: return boxRating(rows.getRating(row));
+            default: throw new IndexOutOfBoundsException("column " + column);
+        }
+    }
+
+    // ---------- DATA ACCESS ----------
+
+    /**
+     * Returns the movie shown in a model row.
+     *
+     * @param row model row index (convert view indexes with {@code JTable#convertRowIndexToModel})
+     * @return a new {@link Movie} with that row's values
+     */
+    public Movie getMovieAt(int row) {
+        return rows.toMovie(row);
+    }
+
+    /**
+     * Returns the backing store, for read-only scans (do not modify it directly).
+     *
+     * @return rows in model order
+     */
+    public MovieColumns getColumns() {
+        return rows;
+    }
+
+    /**
+     * Replaces all rows with an already-built store, which the model takes ownership of.
+     *
+     * @param columns new contents
+     */
+    public void setColumns(MovieColumns columns) {
+        rows = columns;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Replaces all rows.
+     *
+     * @param movies new contents (encoded into a new columnar store)
+     */
+    public void setMovies(Collection<Movie> movies) {
+        setColumns(MovieColumns.of(movies));
+    }
+
+    /**
+     * Appends rows at the end (e.g. the next page of a paged load).
+     *
+     * @param movies rows to append
+     */
+    public void addMovies(List<Movie> movies) {
+        if (movies.isEmpty()) return;
+        final int first = rows.size();
+        for (Movie m : movies) rows.add(m);
+        fireTableRowsInserted(first, rows.size() - 1);
+    }
+
+    /**
+     * Replaces the row with the same ID, or appends it if absent.
+     *
+     * @param movie new or updated movie
+     */
+    public void upsertMovie(Movie movie) {
+        final int row = indexOf(movie.getMovieId());
+        if (row >= 0) {
+            rows.set(row, movie);
+            fireTableRowsUpdated(row, row);
+        } else {
+            rows.add(movie);
+            fireTableRowsInserted(rows.size() - 1, rows.size() - 1);
+        }
+    }
+
+    /**
+     * Removes the row with the given ID, if present.
+     *
+     * @param movieId ID to remove
+     * @return {@code true} if a row was removed
+     */
+    public boolean removeMovie(String movieId) {
+        final int row = indexOf(movieId);
+        if (row < 0) return false;
+        rows.remove(row);
+        fireTableRowsDeleted(row, row);
+        return true;
+    }
+
+    /**
+     * Finds the model row of a movie ID.
+     *
+     * @param movieId ID to look for
+     * @return model row index, or -1
+     */
+    public int indexOf(String movieId) {
+        return rows.indexOf(movieId);
+    }
+
+    /**
+     * Notifies listeners inside a {@code dms.TableModelUpdate} flight-recorder event, so
+     * time spent re-sorting and revalidating the table shows up in recordings.
+     *
+     * @param e change to deliver
+     */
+    @Override
+    public void fireTableChanged(TableModelEvent e) {
+        final TableModelUpdateEvent event = new TableModelUpdateEvent();
+        event.begin();
+        super.fireTableChanged(e);
+        event.end();
+        if (event.shouldCommit()) {
+            event.type = typeOf(e);
+            event.firstRow = e.getFirstRow();
+            event.lastRow = e.getLastRow();
+            event.rowCount = rows.size();
+            event.commit();
+        }
+    }
+
+    // ---------- HELPERS ----------
+
+    /**
+     * Names the kind of a model change.
+     *
+     * @param e model change
+     * @return INSERT, DELETE, STRUCTURE_CHANGED, DATA_CHANGED or UPDATE
+     */
+    private static String typeOf(TableModelEvent e) {
+        if (e.getFirstRow() == TableModelEvent.HEADER_ROW) return "STRUCTURE_CHANGED";
+        if (e.getType() == TableModelEvent.INSERT) return "INSERT";
+        if (e.getType() == TableModelEvent.DELETE) return "DELETE";
+        if (e.getLastRow() == Integer.MAX_VALUE) return "DATA_CHANGED";
+        return "UPDATE";
+    }
+
+    /**
+     * Returns a canonical {@link Integer} box when available.
+     *
+     * @param v value
+     * @return boxed value (shared instance for 0..2100)
+     */
+    private static Integer boxInt(int v) {
+        return (v >= 0 && v < INTS.length) ? INTS[v] : Integer.valueOf(v);
+    }
+
+    /**
+     * Returns a canonical {@link Double} box for one-decimal ratings.
+     *
+     * @param r rating
+     * @return boxed value (shared instance for 0.0, 0.1, ..., 10.0)
+     */
+    private static Double boxRating(double r) {
+        final long tenths = Math.round(r * 10);
+        if (tenths >= 0 && tenths < RATINGS.length && RATINGS[(int) tenths] == r) return RATINGS[(int) tenths];
+        return r;
+    }
+}
@@ -0,0 +1,38 @@
+package dms.gui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight-recorder event for one {@link MovieTableModel} change notification, timed while
+ * the table, its row sorter and other listeners process it on the Event Dispatch Thread.
+ *
+ * @author
+ *     Luis Augusto Monserratt Alvarado
+ * @version 1.1
+ */
+@Name("dms.TableModelUpdate")
+@Label("Table Model Update")
+@Category({"DMS", "Swing"})
+@Description("MovieTableModel change delivered to its listeners (JTable, row sorter)")
+@StackTrace(false)
+final class TableModelUpdateEvent extends Event {
+
+    @Label("Type")
+    @Description("INSERT, UPDATE, DELETE, DATA_CHANGED or STRUCTURE_CHANGED")
+    String type;
+
+    @Label("First Row")
+    int firstRow;
+
+    @Label("Last Row")
+    int lastRow;
+
+    @Label("Row Count")
+    @Description("Rows in the model after the change")
+    int rowCount;
+}
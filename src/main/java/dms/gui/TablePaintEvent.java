@@ -0,0 +1,34 @@
+package dms.gui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight-recorder event for painting the movie {@code JTable}. Only paints of at least
+ * 10 ms are recorded by default, so scrolling does not flood a continuous recording.
+ *
+ * @author
+ *     Luis Augusto Monserratt Alvarado
+ * @version 1.1
+ */
+@Name("dms.TablePaint")
+@Label("Table Paint")
+@Category({"DMS", "Swing"})
+@Description("JTable paint on the Event Dispatch Thread")
+@StackTrace(false)
+@Threshold("10 ms")
+final class TablePaintEvent extends Event {
+
+    @Label("Painted Rows")
+    @Description("Rows intersecting the clip area")
+    int paintedRows;
+
+    @Label("Row Count")
+    @Description("Rows in the view")
+    int rowCount;
+}
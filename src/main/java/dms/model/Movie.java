@@ -43,6 +43,9 @@ public class Movie {
     /** Viewer rating between 0.0 and 10.0. */
     private double rating;
 
+    /** Optimistic-locking version of the stored row (0 for new or unversioned movies). */
+    private long version;
+
     // ---------- CONSTRUCTOR ----------
 
     /**
@@ -70,6 +73,42 @@ public class Movie {
         this.rating = rating;
     }
 
+    /**
+     * Creates a movie from values that are already normalized (non-null and trimmed), such as
+     * rows read back from the database, skipping the constructor's trimming.
+     *
+     * @param movieId         unique identifier (cannot be null)
+     * @param title           trimmed title
+     * @param director        trimmed director's name
+     * @param releaseYear     release year
+     * @param durationMinutes duration in minutes
+     * @param genre           trimmed genre
+     * @param rating          rating score
+     * @return the movie
+     * @throws IllegalArgumentException if {@code movieId} is null
+     */
+    public static Movie ofNormalized(String movieId, String title, String director, int releaseYear,
+                                     int durationMinutes, String genre, double rating) {
+        if (movieId == null) throw new IllegalArgumentException("movieId cannot be null or blank");
+        return new Movie(movieId, title, director, releaseYear, durationMinutes, genre, rating, true);
+    }
+
+    /**
+     * Field-by-field constructor used by {@link #ofNormalized}; values are stored as given.
+     *
+     * @param normalized marker distinguishing this constructor from the public one
+     */
+    private Movie(String movieId, String title, String director, int releaseYear,
+                  int durationMinutes, String genre, double rating, boolean normalized) {
+        this.movieId = movieId;
+        this.title = (title == null) ? "" : title;
+        this.director = (director == null) ? "" : director;
+        this.releaseYear = releaseYear;
+        this.durationMinutes = durationMinutes;
+        this.genre = (genre == null) ? "" : genre;
+        this.rating = rating;
+    }
+
     // ---------- HELPERS ----------
 
     /**
@@ -213,6 +252,27 @@ public class Movie {
         this.rating = rating;
     }
 
+    /**
+     * Returns the row version this movie was read at.
+     * <p>The database increments it on every update; a conditional update only succeeds
+     * while the stored version still equals this value. It is metadata, not part of the
+     * movie's identity, so {@link #equals(Object)} ignores it.</p>
+     *
+     * @return row version (0 if unknown)
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the row version this movie was read at.
+     *
+     * @param version row version
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     // ---------- OVERRIDDEN METHODS ----------
 
     /**
@@ -254,6 +314,7 @@ public class Movie {
                 ", durationMinutes=" + durationMinutes +
                 ", genre='" + genre + '\'' +
                 ", rating=" + rating +
+                ", version=" + version +
                 '}';
     }
 }
@@ -0,0 +1,526 @@
+package dms.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compact, column-oriented store of movies.
+ *
+ * <p>A {@code List<Movie>} costs one object plus four {@code String}s per row, with the same
+ * genre and director strings repeated over and over. This store keeps one primitive array
+ * per column instead:</p>
+ * <ul>
+ *   <li>{@code int[]} for release year and duration</li>
+ *   <li>{@code double[]} for the rating, kept exact so an edited row writes back what was read</li>
+ *   <li>{@code int[]} dictionary codes for genre and director; each distinct value is stored once</li>
+ *   <li>{@code long[]} for the optimistic-locking row version</li>
+ *   <li>a single UTF-8 byte arena for IDs and titles, addressed by offset/length</li>
+ * </ul>
+ *
+ * <p>A row costs roughly 48 bytes (eight {@code int}s, a {@code double} and a
+ * {@code long}) plus its ID and title bytes, several times less than the equivalent
+ * {@link Movie}. Scans such as {@link #getAverageDuration()} and {@link #countByGenre()}
+ * walk primitive arrays without touching any object. {@link #toMovie(int)} materializes
+ * a single row when an object is needed.</p>
+ *
+ * <p>Not thread-safe: fill it on one thread, then hand it over (e.g. to the EDT).</p>
+ *
+ * <p><b>Author:</b> Luis Augusto Monserratt Alvarado</p>
+ * <p><b>Version:</b> 1.1</p>
+ */
+public class MovieColumns {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private int size;
+
+    private int[] idOffsets;
+    private int[] idLengths;
+    private int[] titleOffsets;
+    private int[] titleLengths;
+    private int[] years;
+    private int[] durations;
+    private double[] ratings;
+    private int[] genreCodes;
+    private int[] directorCodes;
+    private long[] versions;
+
+    /** UTF-8 bytes of every ID and title; rows point into it. */
+    private byte[] text;
+    private int textUsed;
+
+    /** Bytes in {@link #text} no longer referenced by any row (after updates/removals). */
+    private int textGarbage;
+
+    private final Dictionary genres = new Dictionary();
+    private final Dictionary directors = new Dictionary();
+
+    /** Creates an empty store. */
+    public MovieColumns() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty store sized for {@code expectedRows} rows.
+     *
+     * @param expectedRows initial row capacity (&gt;= 0)
+     * @throws IllegalArgumentException if negative
+     */
+    public MovieColumns(int expectedRows) {
+        if (expectedRows < 0) throw new IllegalArgumentException("expectedRows cannot be negative");
+        int cap = Math.max(expectedRows, 1);
+        idOffsets = new int[cap];
+        idLengths = new int[cap];
+        titleOffsets = new int[cap];
+        titleLengths = new int[cap];
+        years = new int[cap];
+        durations = new int[cap];
+        ratings = new double[cap];
+        genreCodes = new int[cap];
+        directorCodes = new int[cap];
+        versions = new long[cap];
+        text = new byte[cap * 32];
+    }
+
+    /**
+     * Builds a store from movies.
+     *
+     * @param movies movies in the desired row order
+     * @return new store
+     */
+    public static MovieColumns of(Collection<Movie> movies) {
+        MovieColumns c = new MovieColumns(movies.size());
+        for (Movie m : movies) c.add(m);
+        return c;
+    }
+
+    // ---------- WRITES ----------
+
+    /**
+     * Appends a row. Strings are stored as given (callers pass already-trimmed values).
+     *
+     * @param movieId         movie ID
+     * @param title           title
+     * @param director        director
+     * @param releaseYear     release year
+     * @param durationMinutes duration in minutes
+     * @param genre           genre
+     * @param rating          rating
+     * @return index of the new row
+     */
+    public int add(String movieId, String title, String director, int releaseYear,
+                   int durationMinutes, String genre, double rating) {
+        return add(movieId, title, director, releaseYear, durationMinutes, genre, rating, 0L);
+    }
+
+    /**
+     * Appends a row including its row version.
+     *
+     * @param movieId         movie ID
+     * @param title           title
+     * @param director        director
+     * @param releaseYear     release year
+     * @param durationMinutes duration in minutes
+     * @param genre           genre
+     * @param rating          rating
+     * @param version         optimistic-locking row version
+     * @return index of the new row
+     */
+    public int add(String movieId, String title, String director, int releaseYear,
+                   int durationMinutes, String genre, double rating, long version) {
+        if (size == years.length) grow();
+        final int row = size++;
+        writeRow(row, movieId, title, director, releaseYear, durationMinutes, genre, rating, version);
+        return row;
+    }
+
+    /**
+     * Appends a movie.
+     *
+     * @param m movie
+     * @return index of the new row
+     */
+    public int add(Movie m) {
+        return add(m.getMovieId(), m.getTitle(), m.getDirector(), m.getReleaseYear(),
+                m.getDurationMinutes(), m.getGenre(), m.getRating(), m.getVersion());
+    }
+
+    /**
+     * Overwrites a row with a movie's values.
+     *
+     * @param row row index
+     * @param m   new values
+     */
+    public void set(int row, Movie m) {
+        checkRow(row);
+        textGarbage += idLengths[row] + titleLengths[row];
+        writeRow(row, m.getMovieId(), m.getTitle(), m.getDirector(), m.getReleaseYear(),
+                m.getDurationMinutes(), m.getGenre(), m.getRating(), m.getVersion());
+        compactTextIfNeeded();
+    }
+
+    /**
+     * Removes a row, shifting later rows up by one.
+     *
+     * @param row row index
+     */
+    public void remove(int row) {
+        checkRow(row);
+        textGarbage += idLengths[row] + titleLengths[row];
+        final int tail = size - row - 1;
+        if (tail > 0) {
+            System.arraycopy(idOffsets, row + 1, idOffsets, row, tail);
+            System.arraycopy(idLengths, row + 1, idLengths, row, tail);
+            System.arraycopy(titleOffsets, row + 1, titleOffsets, row, tail);
+            System.arraycopy(titleLengths, row + 1, titleLengths, row, tail);
+            System.arraycopy(years, row + 1, years, row, tail);
+            System.arraycopy(durations, row + 1, durations, row, tail);
+            System.arraycopy(ratings, row + 1, ratings, row, tail);
+            System.arraycopy(genreCodes, row + 1, genreCodes, row, tail);
+            System.arraycopy(directorCodes, row + 1, directorCodes, row, tail);
+            System.arraycopy(versions, row + 1, versions, row, tail);
+        }
+        size--;
+        compactTextIfNeeded();
+    }
+
+    /** Removes every row (dictionaries are kept). */
+    public void clear() {
+        size = 0;
+        textUsed = 0;
+        textGarbage = 0;
+    }
+
+    // ---------- ROW ACCESS ----------
+
+    /** @return number of rows */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param row row index
+     * @return movie ID of the row
+     */
+    public String getMovieId(int row) {
+        checkRow(row);
+        return new String(text, idOffsets[row], idLengths[row], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param row row index
+     * @return title of the row
+     */
+    public String getTitle(int row) {
+        checkRow(row);
+        return new String(text, titleOffsets[row], titleLengths[row], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param row row index
+     * @return director of the row (shared instance)
+     */
+    public String getDirector(int row) {
+        checkRow(row);
+        return directors.decode(directorCodes[row]);
+    }
+
+    /**
+     * @param row row index
+     * @return genre of the row (shared instance)
+     */
+    public String getGenre(int row) {
+        checkRow(row);
+        return genres.decode(genreCodes[row]);
+    }
+
+    /**
+     * @param row row index
+     * @return release year of the row
+     */
+    public int getReleaseYear(int row) {
+        checkRow(row);
+        return years[row];
+    }
+
+    /**
+     * @param row row index
+     * @return duration in minutes of the row
+     */
+    public int getDurationMinutes(int row) {
+        checkRow(row);
+        return durations[row];
+    }
+
+    /**
+     * @param row row index
+     * @return rating of the row
+     */
+    public double getRating(int row) {
+        checkRow(row);
+        return ratings[row];
+    }
+
+    /**
+     * @param row row index
+     * @return optimistic-locking version of the row
+     */
+    public long getVersion(int row) {
+        checkRow(row);
+        return versions[row];
+    }
+
+    /**
+     * @param row row index
+     * @return dictionary code of the row's genre (see {@link #getGenreDictionary()})
+     */
+    public int getGenreCode(int row) {
+        checkRow(row);
+        return genreCodes[row];
+    }
+
+    /**
+     * @param row row index
+     * @return dictionary code of the row's director (see {@link #getDirectorDictionary()})
+     */
+    public int getDirectorCode(int row) {
+        checkRow(row);
+        return directorCodes[row];
+    }
+
+    /** @return distinct genres, indexed by code */
+    public List<String> getGenreDictionary() {
+        return genres.values();
+    }
+
+    /** @return distinct directors, indexed by code */
+    public List<String> getDirectorDictionary() {
+        return directors.values();
+    }
+
+    /**
+     * Materializes one row.
+     *
+     * @param row row index
+     * @return a new {@link Movie} with the row's values
+     */
+    public Movie toMovie(int row) {
+        final Movie m = new Movie(getMovieId(row), getTitle(row), getDirector(row), getReleaseYear(row),
+                getDurationMinutes(row), getGenre(row), getRating(row));
+        m.setVersion(versions[row]);
+        return m;
+    }
+
+    /**
+     * Finds the row of a movie ID without decoding other rows' IDs.
+     *
+     * @param movieId ID to look for
+     * @return row index, or -1
+     */
+    public int indexOf(String movieId) {
+        if (movieId == null) return -1;
+        final byte[] key = movieId.getBytes(StandardCharsets.UTF_8);
+        rows:
+        for (int row = 0; row < size; row++) {
+            if (idLengths[row] != key.length) continue;
+            final int off = idOffsets[row];
+            for (int i = 0; i < key.length; i++) {
+                if (text[off + i] != key[i]) continue rows;
+            }
+            return row;
+        }
+        return -1;
+    }
+
+    // ---------- AGGREGATES ----------
+
+    /** @return sum of all durations in minutes */
+    public long getTotalDuration() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) sum += durations[i];
+        return sum;
+    }
+
+    /** @return average duration in minutes (0.0 when empty) */
+    public double getAverageDuration() {
+        return size == 0 ? 0.0 : (double) getTotalDuration() / size;
+    }
+
+    /** @return average rating (0.0 when empty) */
+    public double getAverageRating() {
+        if (size == 0) return 0.0;
+        double sum = 0;
+        for (int i = 0; i < size; i++) sum += ratings[i];
+        return sum / size;
+    }
+
+    /** @return movies per genre, ordered by genre */
+    public Map<String, Long> countByGenre() {
+        return countByCode(genreCodes, genres);
+    }
+
+    /** @return movies per director, ordered by director */
+    public Map<String, Long> countByDirector() {
+        return countByCode(directorCodes, directors);
+    }
+
+    /**
+     * Counts rows per dictionary code with one pass over a primitive array.
+     *
+     * @param codes code column
+     * @param dict  dictionary of that column
+     * @return counts keyed by decoded value (zero counts omitted)
+     */
+    private Map<String, Long> countByCode(int[] codes, Dictionary dict) {
+        final long[] counts = new long[dict.size()];
+        for (int i = 0; i < size; i++) counts[codes[i]]++;
+        final Map<String, Long> out = new TreeMap<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) out.merge(dict.decode(code), counts[code], Long::sum);
+        }
+        return out;
+    }
+
+    // ---------- MEMORY ----------
+
+    /**
+     * Returns an estimate of the heap used by the row data (arrays and arena, excluding
+     * the dictionaries' strings).
+     *
+     * @return approximate bytes
+     */
+    public long estimatedBytes() {
+        long perRowCapacity = 4L * 8 + 8 + 8;  // eight int columns + one double + one long column
+        return perRowCapacity * years.length + text.length;
+    }
+
+    /** Shrinks every array to the current row count and drops unused arena bytes. */
+    public void trimToSize() {
+        compactText();
+        int cap = Math.max(size, 1);
+        idOffsets = Arrays.copyOf(idOffsets, cap);
+        idLengths = Arrays.copyOf(idLengths, cap);
+        titleOffsets = Arrays.copyOf(titleOffsets, cap);
+        titleLengths = Arrays.copyOf(titleLengths, cap);
+        years = Arrays.copyOf(years, cap);
+        durations = Arrays.copyOf(durations, cap);
+        ratings = Arrays.copyOf(ratings, cap);
+        genreCodes = Arrays.copyOf(genreCodes, cap);
+        directorCodes = Arrays.copyOf(directorCodes, cap);
+        versions = Arrays.copyOf(versions, cap);
+        text = Arrays.copyOf(text, Math.max(textUsed, 1));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MovieColumns{rows=%d, genres=%d, directors=%d, ~%d bytes}",
+                size, genres.size(), directors.size(), estimatedBytes());
+    }
+
+    // ---------- HELPERS ----------
+
+    private void writeRow(int row, String movieId, String title, String director, int releaseYear,
+                          int durationMinutes, String genre, double rating, long version) {
+        idOffsets[row] = textUsed;
+        idLengths[row] = appendText(movieId);
+        titleOffsets[row] = textUsed;
+        titleLengths[row] = appendText(title);
+        years[row] = releaseYear;
+        durations[row] = durationMinutes;
+        ratings[row] = rating;
+        genreCodes[row] = genres.encode(genre == null ? "" : genre);
+        directorCodes[row] = directors.encode(director == null ? "" : director);
+        versions[row] = version;
+    }
+
+    /**
+     * Appends a string's UTF-8 bytes to the arena.
+     *
+     * @param s string (null stored as empty)
+     * @return number of bytes written
+     */
+    private int appendText(String s) {
+        if (s == null || s.isEmpty()) return 0;
+        final byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        if (textUsed + b.length > text.length) {
+            text = Arrays.copyOf(text, Math.max(text.length * 2, textUsed + b.length));
+        }
+        System.arraycopy(b, 0, text, textUsed, b.length);
+        textUsed += b.length;
+        return b.length;
+    }
+
+    private void grow() {
+        int cap = years.length * 2;
+        idOffsets = Arrays.copyOf(idOffsets, cap);
+        idLengths = Arrays.copyOf(idLengths, cap);
+        titleOffsets = Arrays.copyOf(titleOffsets, cap);
+        titleLengths = Arrays.copyOf(titleLengths, cap);
+        years = Arrays.copyOf(years, cap);
+        durations = Arrays.copyOf(durations, cap);
+        ratings = Arrays.copyOf(ratings, cap);
+        genreCodes = Arrays.copyOf(genreCodes, cap);
+        directorCodes = Arrays.copyOf(directorCodes, cap);
+        versions = Arrays.copyOf(versions, cap);
+    }
+
+    /** Rewrites the arena once more than half of it is garbage. */
+    private void compactTextIfNeeded() {
+        if (textGarbage > 4096 && textGarbage > textUsed / 2) compactText();
+    }
+
+    private void compactText() {
+        if (textGarbage == 0) return;
+        final byte[] fresh = new byte[Math.max(textUsed - textGarbage, 1)];
+        int used = 0;
+        for (int row = 0; row < size; row++) {
+            System.arraycopy(text, idOffsets[row], fresh, used, idLengths[row]);
+            idOffsets[row] = used;
+            used += idLengths[row];
+            System.arraycopy(text, titleOffsets[row], fresh, used, titleLengths[row]);
+            titleOffsets[row] = used;
+            used += titleLengths[row];
+        }
+        text = fresh;
+        textUsed = used;
+        textGarbage = 0;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) throw new IndexOutOfBoundsException("row " + row + ", size " + size);
+    }
+
+    /** Bidirectional mapping between distinct strings and dense int codes. */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final ArrayList<String> values = new ArrayList<>();
+
+        int encode(String s) {
+            Integer code = codes.get(s);
+            if (code != null) return code;
+            int c = values.size();
+            values.add(s);
+            codes.put(s, c);
+            return c;
+        }
+
+        String decode(int code) {
+            return values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        List<String> values() {
+            return Collections.unmodifiableList(values);
+        }
+    }
+}
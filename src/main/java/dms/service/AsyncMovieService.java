@@ -0,0 +1,355 @@
+package dms.service;
+
+import dms.dao.BatchResult;
+import dms.dao.CatalogSummary;
+import dms.dao.MovieDao;
+import dms.dao.QueryDeadline;
+import dms.model.Movie;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking facade over {@link MovieService}: every operation returns a
+ * {@link CompletableFuture} and runs on a bounded executor.
+ *
+ * <p><b>Sizing:</b> the executor has as many threads as the connection pool has connections,
+ * so independent queries (e.g. loading the table while computing statistics) run in
+ * parallel without queueing on the pool. Extra requests wait in a bounded queue; once it is
+ * full, new calls fail fast with {@link RejectedExecutionException}.</p>
+ *
+ * <p><b>Timeouts and cancellation:</b> each future fails with {@link TimeoutException} after
+ * the configured timeout, counted from submission. The time left when a call starts becomes
+ * its {@link QueryDeadline}, so {@link dms.dao.MysqlMovieDao} sets it as the query timeout
+ * of every statement the call runs and the driver cancels a statement still running on
+ * the server when it expires. Timing out or calling {@code cancel} on a returned future
+ * also interrupts the worker thread, which ends a wait for a pooled connection.</p>
+ *
+ * <p>Failures surface as the future's exceptional completion with the original cause
+ * ({@code SQLException}, {@code IllegalArgumentException}, ...).</p>
+ *
+ * <h2>Usage</h2>
+ * <pre>{@code
+ * AsyncMovieService async = new AsyncMovieService(service);
+ * CompletableFuture<List<Movie>> rows = async.readAllAsync();
+ * CompletableFuture<Double> avg = async.averageDurationAsync();
+ * rows.thenAcceptBoth(avg, (list, a) -> render(list, a));
+ * }</pre>
+ *
+ * <p><b>Author:</b> Luis Augusto Monserratt Alvarado</p>
+ * <p><b>Version:</b> 1.1</p>
+ */
+public class AsyncMovieService implements AutoCloseable {
+
+    /** Default per-call timeout (ms). */
+    public static final long DEFAULT_TIMEOUT_MS = 30_000;
+
+    /** Queued calls allowed per worker thread before new calls are rejected. */
+    private static final int QUEUE_PER_THREAD = 64;
+
+    private final MovieService service;
+    private final ThreadPoolExecutor executor;
+    private volatile long timeoutMillis = DEFAULT_TIMEOUT_MS;
+
+    /**
+     * Creates a facade with one worker per connection of the service's pool
+     * ({@link MovieService#maxParallelism()}); create it after connecting so a custom pool
+     * size is picked up.
+     *
+     * @param service blocking service to delegate to (non-null)
+     * @throws IllegalArgumentException if {@code service} is null
+     */
+    public AsyncMovieService(MovieService service) {
+        this(service, parallelismOf(service));
+    }
+
+    /**
+     * Creates a facade with an explicit number of workers.
+     *
+     * @param service     blocking service to delegate to (non-null)
+     * @param parallelism worker threads (&gt; 0)
+     * @throws IllegalArgumentException if an argument is invalid
+     */
+    public AsyncMovieService(MovieService service, int parallelism) {
+        if (service == null) throw new IllegalArgumentException("service cannot be null");
+        if (parallelism <= 0) throw new IllegalArgumentException("parallelism must be > 0");
+        this.service = service;
+        final AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(parallelism * QUEUE_PER_THREAD), r -> {
+                    Thread t = new Thread(r, "dms-async-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns the wrapped blocking service.
+     *
+     * @return service
+     */
+    public MovieService getService() {
+        return service;
+    }
+
+    /**
+     * Sets the timeout applied to calls started afterwards.
+     *
+     * @param timeoutMillis timeout in milliseconds (&gt; 0)
+     * @throws IllegalArgumentException if not positive
+     */
+    public void setTimeoutMillis(long timeoutMillis) {
+        if (timeoutMillis <= 0) throw new IllegalArgumentException("timeoutMillis must be > 0");
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /** @return current per-call timeout (ms) */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    // ---------- READS ----------
+
+    /** @return future of {@link MovieService#readAll()} */
+    public CompletableFuture<List<Movie>> readAllAsync() {
+        return submit(service::readAll);
+    }
+
+    /**
+     * @param after last movie of the previous page, or {@code null} for the first page
+     * @param limit page size
+     * @return future of {@link MovieService#readPage(Movie, int)}
+     */
+    public CompletableFuture<List<Movie>> readPageAsync(Movie after, int limit) {
+        return submit(() -> service.readPage(after, limit));
+    }
+
+    /**
+     * @param id movie ID
+     * @return future of {@link MovieService#readById(String)}
+     */
+    public CompletableFuture<Optional<Movie>> readByIdAsync(String id) {
+        return submit(() -> service.readById(id));
+    }
+
+    /**
+     * @param titleFragment text to look for
+     * @return future of {@link MovieService#searchByTitle(String)}
+     */
+    public CompletableFuture<List<Movie>> searchByTitleAsync(String titleFragment) {
+        return submit(() -> service.searchByTitle(titleFragment));
+    }
+
+    /**
+     * @param query       full-text query
+     * @param booleanMode {@code true} for MySQL boolean mode
+     * @param limit       maximum rows
+     * @return future of {@link MovieService#fullTextSearch(String, boolean, int)}
+     */
+    public CompletableFuture<List<Movie>> fullTextSearchAsync(String query, boolean booleanMode, int limit) {
+        return submit(() -> service.fullTextSearch(query, booleanMode, limit));
+    }
+
+    // ---------- WRITES ----------
+
+    /**
+     * @param movie movie to create
+     * @return future completing when {@link MovieService#create(Movie)} returns
+     */
+    public CompletableFuture<Void> createAsync(Movie movie) {
+        return submit(() -> { service.create(movie); return null; });
+    }
+
+    /**
+     * @param movie movie to update
+     * @return future completing when {@link MovieService#update(Movie)} returns
+     */
+    public CompletableFuture<Void> updateAsync(Movie movie) {
+        return submit(() -> { service.update(movie); return null; });
+    }
+
+    /**
+     * @param movie movie to update, carrying the version it was read at
+     * @return future completing when {@link MovieService#updateIfUnchanged(Movie)} returns;
+     *         fails with {@link StaleMovieException} on a concurrent edit
+     */
+    public CompletableFuture<Void> updateIfUnchangedAsync(Movie movie) {
+        return submit(() -> { service.updateIfUnchanged(movie); return null; });
+    }
+
+    /**
+     * @param movie movie to create or replace
+     * @return future of {@link MovieService#upsert(Movie)}
+     */
+    public CompletableFuture<Boolean> upsertAsync(Movie movie) {
+        return submit(() -> service.upsert(movie));
+    }
+
+    /**
+     * @param id movie ID
+     * @return future of {@link MovieService#deleteById(String)}
+     */
+    public CompletableFuture<Boolean> deleteByIdAsync(String id) {
+        return submit(() -> service.deleteById(id));
+    }
+
+    /**
+     * @param movies movies to create
+     * @return future of {@link MovieService#createAll(Collection)}
+     */
+    public CompletableFuture<BatchResult> createAllAsync(Collection<Movie> movies) {
+        return submit(() -> service.createAll(movies));
+    }
+
+    /**
+     * @param movies movies to update
+     * @return future of {@link MovieService#updateAll(Collection)}
+     */
+    public CompletableFuture<BatchResult> updateAllAsync(Collection<Movie> movies) {
+        return submit(() -> service.updateAll(movies));
+    }
+
+    /**
+     * @param movies movies to create or replace
+     * @return future of {@link MovieService#upsertAll(Collection)}
+     */
+    public CompletableFuture<BatchResult> upsertAllAsync(Collection<Movie> movies) {
+        return submit(() -> service.upsertAll(movies));
+    }
+
+    /**
+     * @param ids movie IDs
+     * @return future of {@link MovieService#deleteAll(Collection)}
+     */
+    public CompletableFuture<BatchResult> deleteAllAsync(Collection<String> ids) {
+        return submit(() -> service.deleteAll(ids));
+    }
+
+    // ---------- AGGREGATES ----------
+
+    /** @return future of {@link MovieService#averageDuration()} */
+    public CompletableFuture<Double> averageDurationAsync() {
+        return submit(service::averageDuration);
+    }
+
+    /** @return future of {@link MovieService#summarize()} */
+    public CompletableFuture<CatalogSummary> summarizeAsync() {
+        return submit(service::summarize);
+    }
+
+    /**
+     * @param groupBy grouping dimension
+     * @return future of {@link MovieService#countBy(MovieDao.GroupBy)}
+     */
+    public CompletableFuture<Map<String, Long>> countByAsync(MovieDao.GroupBy groupBy) {
+        return submit(() -> service.countBy(groupBy));
+    }
+
+    // ---------- LIFECYCLE ----------
+
+    /**
+     * Stops the workers, interrupting running calls; pending futures complete with
+     * {@link CancellationException}. Does not close the wrapped service.
+     */
+    @Override
+    public void close() {
+        for (Runnable r : executor.shutdownNow()) {
+            if (r instanceof Task) ((Task<?>) r).result.cancel(false);
+        }
+    }
+
+    // ---------- HELPERS ----------
+
+    /**
+     * Worker count for {@link #AsyncMovieService(MovieService)}.
+     *
+     * @param service service (null is rejected by the main constructor)
+     * @return the service's parallelism, or 1 for a null service
+     */
+    private static int parallelismOf(MovieService service) {
+        return service == null ? 1 : service.maxParallelism();
+    }
+
+    /**
+     * Blocking call that may throw checked exceptions.
+     *
+     * @param <T> result type
+     */
+    @FunctionalInterface
+    private interface Call<T> {
+        T call() throws Exception;
+    }
+
+    /**
+     * Runs {@code call} on the executor under a {@link QueryDeadline}, applying the timeout
+     * and propagating cancellation of the returned future to the worker thread.
+     *
+     * @param call blocking call
+     * @param <T>  result type
+     * @return future of the call
+     */
+    private <T> CompletableFuture<T> submit(Call<T> call) {
+        final long timeout = timeoutMillis;
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        final Task<T> task = new Task<>(() -> QueryDeadline.callBefore(deadline, call::call));
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ree) {
+            task.result.completeExceptionally(ree);
+            return task.result;
+        }
+        task.result.orTimeout(timeout, TimeUnit.MILLISECONDS).whenComplete((v, ex) -> {
+            if (ex != null) task.interrupt();
+        });
+        return task.result;
+    }
+
+    /**
+     * Queued call plus its future. The running thread is only interrupted while it is
+     * executing this task, so a late cancellation cannot hit the next task on that thread.
+     *
+     * @param <T> result type
+     */
+    private static final class Task<T> implements Runnable {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        private final Call<T> call;
+        private Thread runner;  // guarded by this
+
+        Task(Call<T> call) {
+            this.call = call;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (result.isDone()) return;  // cancelled or timed out while queued
+                runner = Thread.currentThread();
+            }
+            try {
+                result.complete(call.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                    Thread.interrupted();  // clear a cancellation that arrived late
+                }
+            }
+        }
+
+        synchronized void interrupt() {
+            if (runner != null) runner.interrupt();
+        }
+    }
+}
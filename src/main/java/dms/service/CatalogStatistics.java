@@ -0,0 +1,309 @@
+package dms.service;
+
+import dms.dao.CatalogSummary;
+import dms.model.Movie;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Running catalog statistics maintained incrementally by {@link MovieService}.
+ *
+ * <p>Every field is an atomic counter, so each write adjusts the statistics in O(1) and
+ * reads are lock-free and constant-time. Values are seeded from aggregate queries and
+ * periodically reconciled against the database to correct drift from writes that bypass
+ * the service (bulk loads, other clients).</p>
+ *
+ * <p>Writes keep flowing while a reconcile reads its baseline: the changes made meanwhile
+ * are recorded and replayed on top of each query's result (using the epoch taken before
+ * that query), so a reconcile is never discarded. A write that committed just before a
+ * query read the table but was reported just after is counted twice until the next
+ * reconcile; the error is bounded by the writes in flight at that moment and does not
+ * accumulate.</p>
+ *
+ * <p>Tracked: movie count, duration sum, rating sum, a rating histogram with one bucket per
+ * whole point (0..10) and per-genre counts. Min/max duration cannot be maintained under
+ * deletes in O(1); use {@link MovieService#summarize()} for those.</p>
+ *
+ * <p><b>Author:</b> Luis Augusto Monserratt Alvarado</p>
+ * <p><b>Version:</b> 1.1</p>
+ */
+public class CatalogStatistics {
+
+    /** Number of rating buckets: {@code floor(rating)} for 0..10. */
+    public static final int RATING_BUCKETS = 11;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder durationSum = new LongAdder();
+    private final DoubleAdder ratingSum = new DoubleAdder();
+    private final AtomicLongArray ratingHistogram = new AtomicLongArray(RATING_BUCKETS);
+    private final ConcurrentHashMap<String, LongAdder> genres = new ConcurrentHashMap<>();
+
+    /** True once {@link #reset} has loaded a baseline. */
+    private volatile boolean seeded;
+
+    /** Incremented by every incremental change; orders changes against reconcile reads. */
+    private final AtomicLong changeEpoch = new AtomicLong();
+
+    /**
+     * Shared by incremental changes (which stay concurrent with each other), exclusive for
+     * {@link #reset}, so no change is lost while the counters are reloaded.
+     */
+    private final ReentrantReadWriteLock resetLock = new ReentrantReadWriteLock();
+
+    /** Changes made while at least one reconcile is reading; {@code null} otherwise. */
+    private volatile Queue<Delta> recorded;
+
+    /** Reconciles between {@link #beginReconcile()} and {@link #reset}/{@link #abortReconcile()}; guarded by {@link #resetLock}. */
+    private int reconciling;
+
+    /** One recorded change (the fields are copied; callers may reuse their {@link Movie}). */
+    private static final class Delta {
+        final long epoch;
+        final int duration;
+        final double rating;
+        final String genre;
+        final int sign;
+
+        Delta(long epoch, Movie m, int sign) {
+            this.epoch = epoch;
+            this.duration = m.getDurationMinutes();
+            this.rating = m.getRating();
+            this.genre = m.getGenre();
+            this.sign = sign;
+        }
+    }
+
+    // ---------- SEEDING ----------
+
+    /**
+     * Indicates whether the statistics hold a baseline and can answer reads.
+     *
+     * @return {@code true} after the first successful {@link #reset}
+     */
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * Starts recording changes for a reconcile. Call it before the first baseline query,
+     * take {@link #epoch()} before each further one, then pass the epochs to {@link #reset},
+     * or call {@link #abortReconcile()} if a query fails.
+     *
+     * @return change epoch before the first query
+     */
+    public long beginReconcile() {
+        resetLock.writeLock().lock();
+        try {
+            if (reconciling++ == 0) recorded = new ConcurrentLinkedQueue<>();
+            return changeEpoch.get();
+        } finally {
+            resetLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the current change epoch.
+     *
+     * @return change counter
+     */
+    public long epoch() {
+        return changeEpoch.get();
+    }
+
+    /** Ends a reconcile started with {@link #beginReconcile()} without applying a baseline. */
+    public void abortReconcile() {
+        resetLock.writeLock().lock();
+        try {
+            endReconcile();
+        } finally {
+            resetLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces all values with a freshly queried baseline, then replays on top of each part
+     * the changes made after the epoch taken before its query (which it may not include).
+     *
+     * @param summaryEpoch {@link #beginReconcile()} result, taken before the summary query
+     * @param summary      catalog totals
+     * @param genreEpoch   {@link #epoch()} taken before the genre query
+     * @param genreCounts  movies per genre
+     * @param ratingEpoch  {@link #epoch()} taken before the rating query
+     * @param ratingCounts movies per whole rating point, keyed {@code "0"}..{@code "10"}
+     */
+    public void reset(long summaryEpoch, CatalogSummary summary,
+                      long genreEpoch, Map<String, Long> genreCounts,
+                      long ratingEpoch, Map<String, Long> ratingCounts) {
+        resetLock.writeLock().lock();
+        try {
+            count.reset();
+            count.add(summary.getCount());
+            durationSum.reset();
+            durationSum.add(summary.getTotalDuration());
+            ratingSum.reset();
+            ratingSum.add(summary.getRatingSum());
+            for (int i = 0; i < RATING_BUCKETS; i++) ratingHistogram.set(i, 0);
+            ratingCounts.forEach((k, v) -> {
+                int bucket = clampBucket((int) Double.parseDouble(k));
+                ratingHistogram.addAndGet(bucket, v);
+            });
+            genres.clear();
+            genreCounts.forEach((g, v) -> genres.computeIfAbsent(g, x -> new LongAdder()).add(v));
+            if (recorded != null) {
+                for (Delta d : recorded) {
+                    if (d.epoch > summaryEpoch) adjustTotals(d.duration, d.rating, d.sign);
+                    if (d.epoch > genreEpoch) adjustGenre(d.genre, d.sign);
+                    if (d.epoch > ratingEpoch) adjustHistogram(d.rating, d.sign);
+                }
+            }
+            seeded = true;
+            endReconcile();
+        } finally {
+            resetLock.writeLock().unlock();
+        }
+    }
+
+    /** Stops recording once no reconcile is reading; caller holds the write lock. */
+    private void endReconcile() {
+        if (reconciling > 0 && --reconciling == 0) recorded = null;
+    }
+
+    // ---------- INCREMENTAL UPDATES ----------
+
+    /**
+     * Accounts for a newly created movie.
+     *
+     * @param m created movie
+     */
+    public void added(Movie m) {
+        apply(m, +1);
+    }
+
+    /**
+     * Accounts for a deleted movie.
+     *
+     * @param m movie as it was before deletion
+     */
+    public void removed(Movie m) {
+        apply(m, -1);
+    }
+
+    /**
+     * Accounts for an update.
+     *
+     * @param before previous version
+     * @param after  new version
+     */
+    public void replaced(Movie before, Movie after) {
+        apply(before, -1);
+        apply(after, +1);
+    }
+
+    /**
+     * Adds ({@code sign = 1}) or subtracts ({@code sign = -1}) one movie's contribution,
+     * recording it while a reconcile is reading.
+     *
+     * @param m    movie
+     * @param sign +1 or -1
+     */
+    private void apply(Movie m, int sign) {
+        if (m == null) return;
+        resetLock.readLock().lock();
+        try {
+            long epoch = changeEpoch.incrementAndGet();
+            adjustTotals(m.getDurationMinutes(), m.getRating(), sign);
+            adjustGenre(m.getGenre(), sign);
+            adjustHistogram(m.getRating(), sign);
+            Queue<Delta> log = recorded;
+            if (log != null) log.add(new Delta(epoch, m, sign));
+        } finally {
+            resetLock.readLock().unlock();
+        }
+    }
+
+    /** Adjusts count and sums (the {@link CatalogSummary} part) by one movie. */
+    private void adjustTotals(int duration, double rating, int sign) {
+        count.add(sign);
+        durationSum.add((long) sign * duration);
+        ratingSum.add(sign * rating);
+    }
+
+    /** Adjusts one genre count. */
+    private void adjustGenre(String genre, int sign) {
+        genres.computeIfAbsent(genre, g -> new LongAdder()).add(sign);
+    }
+
+    /** Adjusts one rating bucket. */
+    private void adjustHistogram(double rating, int sign) {
+        ratingHistogram.addAndGet(clampBucket((int) Math.floor(rating)), sign);
+    }
+
+    /**
+     * Maps a whole rating to a histogram bucket.
+     *
+     * @param r rating floor
+     * @return bucket index in 0..10
+     */
+    private static int clampBucket(int r) {
+        return Math.max(0, Math.min(RATING_BUCKETS - 1, r));
+    }
+
+    // ---------- READS (lock-free) ----------
+
+    /** @return number of movies */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /** @return average duration in minutes (0.0 when empty) */
+    public double getAverageDuration() {
+        long n = count.sum();
+        return n <= 0 ? 0.0 : (double) durationSum.sum() / n;
+    }
+
+    /** @return average rating (0.0 when empty) */
+    public double getAverageRating() {
+        long n = count.sum();
+        return n <= 0 ? 0.0 : ratingSum.sum() / n;
+    }
+
+    /**
+     * Returns the number of movies whose rating floor is {@code bucket}.
+     *
+     * @param bucket whole rating 0..10
+     * @return movies in that bucket
+     */
+    public long getRatingBucket(int bucket) {
+        return ratingHistogram.get(bucket);
+    }
+
+    /**
+     * Returns a copy of the per-genre counts (genres with zero movies omitted).
+     *
+     * @return unmodifiable map ordered by genre
+     */
+    public Map<String, Long> getGenreCounts() {
+        Map<String, Long> out = new TreeMap<>();
+        genres.forEach((g, c) -> {
+            long v = c.sum();
+            if (v > 0) out.put(g, v);
+        });
+        return Collections.unmodifiableMap(out);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CatalogStatistics{count=%d, avgDuration=%.2f, avgRating=%.2f, genres=%d}",
+                getCount(), getAverageDuration(), getAverageRating(), genres.size());
+    }
+}
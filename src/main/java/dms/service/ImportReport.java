@@ -0,0 +1,111 @@
+package dms.service;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Summary of one bulk import run produced by {@link MovieImporter}.
+ *
+ * <p><b>Author:</b> Luis Augusto Monserratt Alvarado</p>
+ * <p><b>Version:</b> 1.1</p>
+ */
+public final class ImportReport {
+
+    private final Path file;
+    private final long rowsRead;
+    private final long inserted;
+    private final long rejected;
+    private final long elapsedMillis;
+    private final boolean loadDataUsed;
+    private final List<Rejection> rejections;
+
+    /**
+     * Creates a report.
+     *
+     * @param file          imported file
+     * @param rowsRead      data rows read (header excluded)
+     * @param inserted      rows written to the database
+     * @param rejected      rows skipped (parse, validation or database errors)
+     * @param elapsedMillis wall-clock duration of the import
+     * @param loadDataUsed  {@code true} if the {@code LOAD DATA LOCAL INFILE} path was used
+     * @param rejections    details of the first rejected rows (may be truncated)
+     */
+    public ImportReport(Path file, long rowsRead, long inserted, long rejected, long elapsedMillis,
+                        boolean loadDataUsed, List<Rejection> rejections) {
+        this.file = file;
+        this.rowsRead = rowsRead;
+        this.inserted = inserted;
+        this.rejected = rejected;
+        this.elapsedMillis = elapsedMillis;
+        this.loadDataUsed = loadDataUsed;
+        this.rejections = (rejections == null) ? List.of() : Collections.unmodifiableList(rejections);
+    }
+
+    /** @return imported file */
+    public Path getFile() { return file; }
+
+    /** @return data rows read (header excluded) */
+    public long getRowsRead() { return rowsRead; }
+
+    /** @return rows written to the database */
+    public long getInserted() { return inserted; }
+
+    /** @return rows skipped because of parse, validation or database errors */
+    public long getRejected() { return rejected; }
+
+    /** @return wall-clock duration in milliseconds */
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    /** @return {@code true} if the {@code LOAD DATA LOCAL INFILE} fast path was used */
+    public boolean isLoadDataUsed() { return loadDataUsed; }
+
+    /** @return details of the first rejected rows (at most {@link MovieImporter#MAX_REJECTION_DETAILS}) */
+    public List<Rejection> getRejections() { return rejections; }
+
+    /**
+     * Returns the throughput of the run.
+     *
+     * @return rows read per second (0 if the run took no measurable time)
+     */
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? 0.0 : rowsRead * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Imported %s: read=%d, inserted=%d, rejected=%d in %d ms (%.0f rows/s)%s",
+                file == null ? "?" : file.getFileName(), rowsRead, inserted, rejected, elapsedMillis,
+                getRowsPerSecond(), loadDataUsed ? " [LOAD DATA]" : "");
+    }
+
+    /**
+     * A rejected input line and the reason it was skipped.
+     */
+    public static final class Rejection {
+        private final long line;
+        private final String reason;
+
+        /**
+         * Creates a rejection entry.
+         *
+         * @param line   1-based line number in the file
+         * @param reason human-readable reason
+         */
+        public Rejection(long line, String reason) {
+            this.line = line;
+            this.reason = reason;
+        }
+
+        /** @return 1-based line number in the file */
+        public long getLine() { return line; }
+
+        /** @return reason the row was skipped */
+        public String getReason() { return reason; }
+
+        @Override
+        public String toString() {
+            return "line " + line + ": " + reason;
+        }
+    }
+}
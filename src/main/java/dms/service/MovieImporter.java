@@ -0,0 +1,551 @@
+package dms.service;
+
+import dms.dao.BatchResult;
+import dms.dao.DelegatingMovieDao;
+import dms.dao.MovieDao;
+import dms.dao.MysqlMovieDao;
+import dms.model.Movie;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * High-throughput bulk importer for CSV/TSV movie files.
+ *
+ * <p><b>Pipeline</b> (each stage hands chunks to the next through a bounded queue, so a slow
+ * stage blocks the one before it instead of buffering the file in memory):</p>
+ * <ol>
+ *   <li>The calling thread streams the file with NIO ({@link Files#newBufferedReader}) and groups
+ *       raw lines into chunks.</li>
+ *   <li>A parser thread turns each line into a {@link Movie} (or a rejection).</li>
+ *   <li>Several writer threads validate their chunk with {@link MovieService#validateMovie(Movie)}
+ *       and write it with {@link MovieService#createAll}, so the service's search index and
+ *       statistics include the new rows; each writer uses its own pooled connection.</li>
+ *   <li>Rows of a chunk the database rejects are retried one by one to isolate the bad rows.</li>
+ * </ol>
+ *
+ * <p>An exception in any stage (including the progress listener) stops the import and is
+ * rethrown by {@link #importFile(Path)}.</p>
+ *
+ * <p><b>File format:</b> columns {@code movie_id,title,director,release_year,duration_minutes,genre,rating};
+ * {@code .tsv}/{@code .tab} files are tab-separated, anything else comma-separated. Fields may be
+ * enclosed in double quotes ({@code ""} escapes a quote); quoted fields cannot span lines. A first
+ * line starting with {@code movie_id} is treated as a header.</p>
+ *
+ * <p>With {@link #setUseLoadData(boolean)} and a {@link MysqlMovieDao}, the file is instead handed
+ * to {@code LOAD DATA LOCAL INFILE}, which is fastest but skips Java-side validation; the
+ * service then rebuilds its search index and statistics from the database.</p>
+ *
+ * <p><b>Author:</b> Luis Augusto Monserratt Alvarado</p>
+ * <p><b>Version:</b> 1.1</p>
+ */
+public class MovieImporter {
+
+    /** Default rows per chunk/transaction. */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    /** Default number of writer threads (each holds one pooled connection while writing). */
+    public static final int DEFAULT_WRITERS = 4;
+
+    /** Maximum number of rejected rows kept with details in the report. */
+    public static final int MAX_REJECTION_DETAILS = 1000;
+
+    /** How often a blocked stage re-checks for failures elsewhere in the pipeline (ms). */
+    private static final long OFFER_POLL_MS = 100;
+
+    /** Raw-line chunks waiting for the parser. */
+    private static final int LINE_QUEUE_CAPACITY = 2;
+
+    /** Marker telling a writer thread to stop. */
+    private static final List<Row> POISON = new ArrayList<>();
+
+    /** Marker telling the parser thread that the file has been read completely. */
+    private static final LineChunk END_OF_INPUT = new LineChunk(0);
+
+    /**
+     * Receives progress updates while an import runs (called from importer threads).
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Reports the running totals.
+         *
+         * @param rowsRead rows parsed so far
+         * @param inserted rows written so far
+         * @param rejected rows skipped so far
+         */
+        void onProgress(long rowsRead, long inserted, long rejected);
+    }
+
+    private final MovieService service;
+    private final MovieDao dao;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private int writers = DEFAULT_WRITERS;
+    private boolean useLoadData;
+    private ProgressListener listener = (r, i, j) -> { };
+
+    /**
+     * Creates an importer that writes through the given service.
+     *
+     * @param service non-null service used for bulk inserts
+     * @throws IllegalArgumentException if {@code service} is {@code null}
+     */
+    public MovieImporter(MovieService service) {
+        if (service == null) throw new IllegalArgumentException("service cannot be null");
+        this.service = service;
+        this.dao = service.dao();
+    }
+
+    // ---------- CONFIGURATION ----------
+
+    /**
+     * Sets rows per chunk (one batch and one transaction per chunk).
+     *
+     * @param chunkSize rows per chunk (&gt; 0)
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("chunkSize must be > 0");
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Sets the number of concurrent writer threads. Keep it at or below the connection pool size.
+     *
+     * @param writers writer threads (&gt; 0)
+     */
+    public void setWriters(int writers) {
+        if (writers <= 0) throw new IllegalArgumentException("writers must be > 0");
+        this.writers = writers;
+    }
+
+    /**
+     * Enables the {@code LOAD DATA LOCAL INFILE} fast path (only with {@link MysqlMovieDao}).
+     *
+     * @param useLoadData {@code true} to let MySQL parse and load the file directly
+     */
+    public void setUseLoadData(boolean useLoadData) {
+        this.useLoadData = useLoadData;
+    }
+
+    /**
+     * Registers a progress listener (replaces any previous one).
+     *
+     * @param listener listener, or {@code null} to disable progress reporting
+     */
+    public void setProgressListener(ProgressListener listener) {
+        this.listener = (listener != null) ? listener : (r, i, j) -> { };
+    }
+
+    // ---------- IMPORT ----------
+
+    /**
+     * Imports a CSV/TSV file.
+     *
+     * @param file file to import
+     * @return summary with counts, throughput and rejected-row details
+     * @throws IOException              if the file cannot be read
+     * @throws SQLException             if the database becomes unavailable during the import
+     * @throws IllegalArgumentException if {@code file} is null
+     * @throws RuntimeException         if a pipeline stage or the progress listener failed
+     */
+    public ImportReport importFile(Path file) throws IOException, SQLException {
+        if (file == null) throw new IllegalArgumentException("file cannot be null");
+        final char delimiter = delimiterFor(file);
+        final MysqlMovieDao mysql = DelegatingMovieDao.unwrap(dao, MysqlMovieDao.class);
+        if (useLoadData && mysql != null) {
+            service.flush();   // buffered writes go first, as they would through the service
+            final ImportReport report = importWithLoadData(mysql, file, delimiter);
+            service.resyncAfterExternalWrites(MysqlMovieDao.DEFAULT_FETCH_SIZE);
+            return report;
+        }
+
+        final long start = System.nanoTime();
+        final Counters counters = new Counters();
+        final BlockingQueue<LineChunk> lines = new ArrayBlockingQueue<>(LINE_QUEUE_CAPACITY);
+        final BlockingQueue<List<Row>> queue = new ArrayBlockingQueue<>(writers * 2);
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        final AtomicInteger threadNo = new AtomicInteger();
+        final ExecutorService pool = Executors.newFixedThreadPool(writers, r -> {
+            Thread t = new Thread(r, "dms-import-writer-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        final Thread parser = new Thread(() -> parserLoop(lines, queue, delimiter, counters, failure),
+                "dms-import-parser");
+        parser.setDaemon(true);
+
+        try {
+            for (int i = 0; i < writers; i++) {
+                pool.execute(() -> writerLoop(queue, counters, failure));
+            }
+            parser.start();
+
+            try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                LineChunk chunk = new LineChunk(chunkSize);
+                String line;
+                long lineNo = 0;
+                while ((line = in.readLine()) != null && failure.get() == null) {
+                    lineNo++;
+                    if (line.isBlank()) continue;
+                    if (lineNo == 1 && isHeader(line)) continue;
+                    chunk.add(line, lineNo);
+                    if (chunk.size == chunkSize) {
+                        enqueue(lines, chunk, failure);
+                        chunk = new LineChunk(chunkSize);
+                    }
+                }
+                if (chunk.size > 0) enqueue(lines, chunk, failure);
+            } finally {
+                enqueue(lines, END_OF_INPUT, failure);
+                pool.shutdown();
+            }
+            awaitParser(parser, failure);
+            awaitWriters(pool, failure);
+        } finally {
+            parser.interrupt();
+            pool.shutdownNow();
+        }
+
+        final Exception failed = failure.get();
+        if (failed instanceof SQLException) throw (SQLException) failed;
+        if (failed instanceof RuntimeException) throw (RuntimeException) failed;
+        final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return new ImportReport(file, counters.read.get(), counters.inserted.get(), counters.rejected.get(),
+                elapsed, false, new ArrayList<>(counters.rejections));
+    }
+
+    /**
+     * Runs the {@code LOAD DATA LOCAL INFILE} fast path.
+     *
+     * @param mysql     MySQL DAO
+     * @param file      file to load
+     * @param delimiter field delimiter
+     * @return report; rejected rows are derived from the line count
+     * @throws IOException  if the file cannot be read
+     * @throws SQLException if the load fails
+     */
+    private static ImportReport importWithLoadData(MysqlMovieDao mysql, Path file, char delimiter)
+            throws IOException, SQLException {
+        final long start = System.nanoTime();
+        boolean header;
+        long rows;
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String first = in.readLine();
+            header = first != null && isHeader(first);
+        }
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            rows = lines.filter(l -> !l.isBlank()).count() - (header ? 1 : 0);
+        }
+        final long inserted = mysql.loadDataLocalInfile(file, delimiter, header);
+        final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return new ImportReport(file, rows, inserted, Math.max(0, rows - inserted), elapsed, true, List.of());
+    }
+
+    /**
+     * Parser thread body: parses raw-line chunks until {@link #END_OF_INPUT}, then tells
+     * every writer to stop.
+     *
+     * @param lines     raw-line chunks from the reader
+     * @param queue     parsed chunks for the writers
+     * @param delimiter field delimiter
+     * @param counters  shared counters
+     * @param failure   first fatal error (stops the import)
+     */
+    private void parserLoop(BlockingQueue<LineChunk> lines, BlockingQueue<List<Row>> queue, char delimiter,
+                            Counters counters, AtomicReference<Exception> failure) {
+        try {
+            while (true) {
+                final LineChunk chunk = lines.take();
+                if (chunk == END_OF_INPUT || failure.get() != null) break;
+                final List<Row> rows = new ArrayList<>(chunk.size);
+                for (int i = 0; i < chunk.size; i++) {
+                    rows.add(parseLine(chunk.text[i], chunk.number[i], delimiter));
+                }
+                counters.read.addAndGet(chunk.size);
+                enqueue(queue, rows, failure);
+            }
+            for (int i = 0; i < writers; i++) enqueue(queue, POISON, failure);
+        } catch (SQLException | RuntimeException ex) {
+            failure.compareAndSet(null, ex);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, new SQLException("Import interrupted", ie));
+        }
+    }
+
+    /**
+     * Writer thread body: validates and writes chunks until it receives {@link #POISON}.
+     *
+     * @param queue    chunk queue
+     * @param counters shared counters
+     * @param failure  first fatal error (stops the import)
+     */
+    private void writerLoop(BlockingQueue<List<Row>> queue, Counters counters,
+                            AtomicReference<Exception> failure) {
+        try {
+            while (true) {
+                List<Row> chunk = queue.take();
+                if (chunk == POISON || failure.get() != null) return;
+                writeChunk(chunk, counters);
+                listener.onProgress(counters.read.get(), counters.inserted.get(), counters.rejected.get());
+            }
+        } catch (SQLException | RuntimeException ex) {
+            failure.compareAndSet(null, ex);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Validates a chunk, bulk-inserts the valid rows and isolates rows of failed batches.
+     *
+     * @param chunk    parsed rows
+     * @param counters shared counters
+     * @throws SQLException if the database cannot be reached
+     */
+    private void writeChunk(List<Row> chunk, Counters counters) throws SQLException {
+        final List<Movie> valid = new ArrayList<>(chunk.size());
+        final List<Row> validRows = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (row.error != null) {
+                counters.reject(row.line, row.error);
+                continue;
+            }
+            try {
+                MovieService.validateMovie(row.movie);
+                valid.add(row.movie);
+                validRows.add(row);
+            } catch (IllegalArgumentException iae) {
+                counters.reject(row.line, iae.getMessage());
+            }
+        }
+        if (valid.isEmpty()) return;
+
+        final BatchResult result = service.createAll(valid);
+        for (int i = 0; i < valid.size(); i++) {
+            if (!result.isFailed(i)) {
+                counters.inserted.incrementAndGet();
+                continue;
+            }
+            // The whole batch was rolled back; retry this row alone to find out whether it is the bad one.
+            try {
+                service.create(valid.get(i));
+                counters.inserted.incrementAndGet();
+            } catch (SQLException ex) {
+                if (ex.getSQLState() != null && ex.getSQLState().startsWith("08")) throw ex; // connection lost
+                counters.reject(validRows.get(i).line, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Puts a chunk on a queue, giving up if a pipeline stage has failed.
+     *
+     * @param queue   chunk queue
+     * @param chunk   chunk to enqueue
+     * @param failure pipeline failure flag
+     * @param <T>     chunk type
+     * @throws SQLException if interrupted while waiting
+     */
+    private static <T> void enqueue(BlockingQueue<T> queue, T chunk,
+                                    AtomicReference<Exception> failure) throws SQLException {
+        try {
+            while (failure.get() == null) {
+                if (queue.offer(chunk, OFFER_POLL_MS, TimeUnit.MILLISECONDS)) return;
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Import interrupted", ie);
+        }
+    }
+
+    /**
+     * Waits for the parser thread to finish.
+     *
+     * @param parser  parser thread
+     * @param failure pipeline failure flag; on failure the parser is interrupted
+     * @throws SQLException if interrupted while waiting
+     */
+    private static void awaitParser(Thread parser, AtomicReference<Exception> failure) throws SQLException {
+        try {
+            while (parser.isAlive()) {
+                parser.join(OFFER_POLL_MS);
+                if (failure.get() != null) parser.interrupt(); // may be blocked on a full queue
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Import interrupted", ie);
+        }
+    }
+
+    /**
+     * Waits for all writer threads to finish.
+     *
+     * @param pool    writer executor (already shut down)
+     * @param failure pipeline failure flag; on failure idle writers are interrupted
+     * @throws SQLException if interrupted while waiting
+     */
+    private static void awaitWriters(ExecutorService pool, AtomicReference<Exception> failure)
+            throws SQLException {
+        try {
+            while (!pool.awaitTermination(OFFER_POLL_MS, TimeUnit.MILLISECONDS)) {
+                if (failure.get() != null) pool.shutdownNow(); // poison was not delivered
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Import interrupted", ie);
+        }
+    }
+
+    // ---------- PARSING ----------
+
+    /**
+     * Chooses the delimiter from the file extension.
+     *
+     * @param file input file
+     * @return {@code '\t'} for {@code .tsv}/{@code .tab}, otherwise {@code ','}
+     */
+    static char delimiterFor(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        return (name.endsWith(".tsv") || name.endsWith(".tab")) ? '\t' : ',';
+    }
+
+    /**
+     * Detects a header line.
+     *
+     * @param line first line of the file
+     * @return {@code true} if it starts with the {@code movie_id} column name
+     */
+    private static boolean isHeader(String line) {
+        String l = line.startsWith("\uFEFF") ? line.substring(1) : line;
+        l = l.startsWith("\"") ? l.substring(1) : l;
+        return l.regionMatches(true, 0, "movie_id", 0, "movie_id".length());
+    }
+
+    /**
+     * Parses one line into a {@link Row}; errors are captured instead of thrown.
+     *
+     * @param line      raw line
+     * @param lineNo    1-based line number
+     * @param delimiter field delimiter
+     * @return parsed row
+     */
+    static Row parseLine(String line, long lineNo, char delimiter) {
+        final List<String> f = splitFields(line, delimiter);
+        if (f.size() != 7) {
+            return new Row(lineNo, null, "Expected 7 fields but found " + f.size());
+        }
+        try {
+            Movie m = new Movie(f.get(0), f.get(1), f.get(2),
+                    Integer.parseInt(f.get(3).trim()), Integer.parseInt(f.get(4).trim()),
+                    f.get(5), Double.parseDouble(f.get(6).trim()));
+            return new Row(lineNo, m, null);
+        } catch (NumberFormatException nfe) {
+            return new Row(lineNo, null, "Invalid number: " + nfe.getMessage());
+        } catch (IllegalArgumentException iae) {
+            return new Row(lineNo, null, iae.getMessage());
+        }
+    }
+
+    /**
+     * Splits a delimited line, honouring double-quoted fields and {@code ""} escapes.
+     *
+     * @param line      raw line
+     * @param delimiter field delimiter
+     * @return field values
+     */
+    static List<String> splitFields(String line, char delimiter) {
+        final List<String> out = new ArrayList<>(7);
+        final StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        cur.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    cur.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == delimiter) {
+                out.add(cur.toString());
+                cur.setLength(0);
+            } else if (ch != '\r') {
+                cur.append(ch);
+            }
+        }
+        out.add(cur.toString());
+        return out;
+    }
+
+    // ---------- INTERNALS ----------
+
+    /** Raw lines read from the file, with their 1-based line numbers, awaiting the parser. */
+    private static final class LineChunk {
+        final String[] text;
+        final long[] number;
+        int size;
+
+        LineChunk(int capacity) {
+            this.text = new String[capacity];
+            this.number = new long[capacity];
+        }
+
+        void add(String line, long lineNo) {
+            text[size] = line;
+            number[size] = lineNo;
+            size++;
+        }
+    }
+
+    /** One parsed input line: either a movie or an error message. */
+    static final class Row {
+        final long line;
+        final Movie movie;
+        final String error;
+
+        Row(long line, Movie movie, String error) {
+            this.line = line;
+            this.movie = movie;
+            this.error = error;
+        }
+    }
+
+    /** Thread-safe running totals shared by the pipeline threads. */
+    private static final class Counters {
+        final AtomicLong read = new AtomicLong();
+        final AtomicLong inserted = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        final AtomicInteger detailCount = new AtomicInteger();
+        final ConcurrentLinkedQueue<ImportReport.Rejection> rejections = new ConcurrentLinkedQueue<>();
+
+        void reject(long line, String reason) {
+            rejected.incrementAndGet();
+            if (detailCount.incrementAndGet() <= MAX_REJECTION_DETAILS) {
+                rejections.add(new ImportReport.Rejection(line, reason));
+            }
+        }
+    }
+}
@@ -1,12 +1,31 @@
 package dms.service;
 
+import dms.dao.BatchResult;
+import dms.dao.CatalogSummary;
+import dms.dao.ConnectionPool;
+import dms.dao.DelegatingMovieDao;
 import dms.dao.MovieDao;
 import dms.dao.MysqlMovieDao;
+import dms.dao.UncheckedSQLException;
+import dms.dao.WriteBehindMovieDao;
 import dms.model.Movie;
+import dms.model.MovieColumns;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service layer that coordinates validation and orchestration between the GUI and the DAO layer.
@@ -14,8 +33,13 @@ import java.util.Optional;
  * Responsibilities:
  * <ul>
  *   <li>Keep business rules and input validation outside the GUI.</li>
- *   <li>Delegate persistence to a {@link MovieDao} implementation (MySQL in this project).</li>
+ *   <li>Delegate persistence to any {@link MovieDao} implementation (MySQL, in-memory, decorated).</li>
  *   <li>Provide convenience methods used by controllers and dialogs.</li>
+ *   <li>Record each operation as a {@code dms.ServiceOperation} flight-recorder event while a
+ *       JFR recording is running.</li>
+ *   <li>With a {@link WriteBehindMovieDao} in the DAO chain, repair the search index and
+ *       statistics when a buffered write is rejected, then tell the
+ *       {@linkplain #addWriteRejectionListener listeners}.</li>
  * </ul>
  *
  * <p><b>Author:</b> Luis Augusto Monserratt Alvarado</p>
@@ -23,59 +47,166 @@ import java.util.Optional;
  */
 public class MovieService {
 
+    /** Delay that coalesces reconcile requests from writes whose previous version is unknown. */
+    private static final long RECONCILE_DELAY_MS = 1_000;
+
     private final MovieDao dao;
 
+    /**
+     * Whether the DAO's upsert results tell inserts from replaces; a write-behind DAO
+     * acknowledges before it knows.
+     */
+    private final boolean upsertReportsInserts;
+
+    /** In-memory trigram index answering substring searches once warmed up. */
+    private final TitleSearchIndex searchIndex = new TitleSearchIndex();
+
+    /** Running statistics, adjusted on every write and meaningful once seeded. */
+    private final CatalogStatistics stats = new CatalogStatistics();
+
+    /** Runs statistics reconciliation off the writers' threads; created on first use, guarded by {@code this}. */
+    private ScheduledExecutorService statsReconciler;
+
+    /** Periodic run scheduled by {@link #enableStatistics(long)}, if any; guarded by {@code this}. */
+    private ScheduledFuture<?> periodicReconcile;
+
+    /** Set once {@link #close()} ran, so no reconciler is created afterwards; guarded by {@code this}. */
+    private boolean closed;
+
+    /** True while a requested reconcile is scheduled but has not started yet. */
+    private final AtomicBoolean reconcileRequested = new AtomicBoolean();
+
+    /** Notified after a rejected buffered write has been undone in the index and statistics. */
+    private final List<WriteBehindMovieDao.RejectionListener> rejectionListeners = new CopyOnWriteArrayList<>();
+
     /**
      * Constructs the service with a specific DAO implementation.
      *
-     * @param dao non-null DAO implementation (e.g., {@link MysqlMovieDao})
+     * @param dao non-null DAO implementation (e.g., {@link dms.dao.MysqlMovieDao})
      * @throws IllegalArgumentException if {@code dao} is {@code null}
      */
     public MovieService(MovieDao dao) {
         if (dao == null) throw new IllegalArgumentException("dao cannot be null");
         this.dao = dao;
+        WriteBehindMovieDao writeBehind = DelegatingMovieDao.unwrap(dao, WriteBehindMovieDao.class);
+        if (writeBehind != null) writeBehind.addRejectionListener(this::repairRejectedWrites);
+        this.upsertReportsInserts = (writeBehind == null);
+    }
+
+    /**
+     * Returns the DAO this service writes through, for collaborators in this package that
+     * need a DAO-specific fast path ({@link MovieImporter}'s {@code LOAD DATA}).
+     *
+     * @return the DAO passed to the constructor
+     */
+    MovieDao dao() {
+        return dao;
     }
 
     // ---------- CONNECTION ----------
 
     /**
-     * Opens a database connection when the underlying DAO supports it (i.e., {@link MysqlMovieDao}).
+     * Connects the underlying DAO to its store (a no-op for DAOs without one).
      *
      * @param jdbcUrl JDBC URL (e.g., {@code jdbc:mysql://localhost:3306/dms_movies?serverTimezone=UTC})
      * @param user    database username
      * @param pass    database password
      * @throws SQLException if the connection attempt fails
-     * @throws IllegalStateException if the configured DAO does not support connections
      */
     public void connect(String jdbcUrl, String user, String pass) throws SQLException {
-        if (dao instanceof MysqlMovieDao) {
-            ((MysqlMovieDao) dao).connect(jdbcUrl, user, pass);
-        } else {
-            throw new IllegalStateException("Unsupported DAO type for connection");
-        }
+        traced("connect", () -> {
+            dao.connect(jdbcUrl, user, pass);
+            return null;
+        });
     }
 
     /**
-     * Indicates whether the underlying DAO is currently connected (for {@link MysqlMovieDao} only).
+     * Indicates whether the underlying DAO can serve requests.
      *
      * @return {@code true} if connected; {@code false} otherwise
      */
     public boolean isConnected() {
-        if (dao instanceof MysqlMovieDao) {
-            return ((MysqlMovieDao) dao).isConnected();
+        return dao.isConnected();
+    }
+
+    /**
+     * Returns how many calls can run at once without queueing for a database connection:
+     * the connection pool's maximum size when the DAO chain ends in a connected
+     * {@link MysqlMovieDao}, the default pool size if it is not connected yet, otherwise
+     * the number of processors.
+     *
+     * @return useful number of concurrent callers (&gt; 0)
+     */
+    public int maxParallelism() {
+        MysqlMovieDao mysql = DelegatingMovieDao.unwrap(dao, MysqlMovieDao.class);
+        if (mysql == null) return Runtime.getRuntime().availableProcessors();
+        try {
+            return mysql.getPoolStats().getMaxSize();
+        } catch (IllegalStateException notConnected) {
+            return ConnectionPool.DEFAULT_MAX_SIZE;
         }
-        return false;
     }
 
     /**
-     * Closes the database connection if supported by the underlying DAO.
+     * Stops statistics reconciliation and closes the underlying DAO (flushing buffered writes).
      *
      * @throws SQLException if closing the connection fails
      */
     public void close() throws SQLException {
-        if (dao instanceof MysqlMovieDao) {
-            ((MysqlMovieDao) dao).close();
+        synchronized (this) {
+            closed = true;
+            periodicReconcile = null;
+            if (statsReconciler != null) {
+                statsReconciler.shutdownNow();
+                statsReconciler = null;
+            }
+        }
+        dao.close();
+    }
+
+    /**
+     * Applies writes the DAO has buffered (write-behind mode); a no-op otherwise.
+     *
+     * @throws SQLException if the buffered writes cannot be applied
+     */
+    public void flush() throws SQLException {
+        traced("flush", () -> {
+            dao.flush();
+            return null;
+        });
+    }
+
+    /**
+     * Registers a listener for buffered writes the database rejected after they were
+     * acknowledged (write-behind mode only). It runs on the write-behind thread, after the
+     * search index and statistics no longer include the rejected writes.
+     *
+     * @param listener listener (non-null)
+     */
+    public void addWriteRejectionListener(WriteBehindMovieDao.RejectionListener listener) {
+        if (listener == null) throw new IllegalArgumentException("listener cannot be null");
+        rejectionListeners.add(listener);
+    }
+
+    /**
+     * Undoes rejected buffered writes in the search index and statistics (each ID is re-read,
+     * so both hold what the database holds), then notifies listeners.
+     *
+     * @param ids   IDs whose writes were not applied
+     * @param cause database error, or {@code null} for rows that no longer existed
+     */
+    private void repairRejectedWrites(List<String> ids, SQLException cause) {
+        for (String id : ids) {
+            try {
+                Optional<Movie> stored = dao.findById(id);
+                if (stored.isPresent()) recordWrite(stored.get(), false);
+                else recordDelete(id);
+            } catch (SQLException ex) {
+                System.err.println("Cannot re-read rejected movie " + id + ": " + ex.getMessage());
+                requestReconcile();
+            }
         }
+        for (WriteBehindMovieDao.RejectionListener l : rejectionListeners) l.writesRejected(ids, cause);
     }
 
     // ---------- CRUD ----------
@@ -88,8 +219,12 @@ public class MovieService {
      * @throws IllegalArgumentException if validation fails
      */
     public void create(Movie movie) throws SQLException {
-        validateMovie(movie);
-        dao.insert(movie);
+        traced("create", () -> {
+            validateMovie(movie);
+            dao.insert(movie);
+            recordWrite(movie, true);
+            return null;
+        });
     }
 
     /**
@@ -99,7 +234,67 @@ public class MovieService {
      * @throws SQLException if a database access error occurs
      */
     public List<Movie> readAll() throws SQLException {
-        return dao.findAll();
+        return traced("readAll", dao::findAll);
+    }
+
+    /**
+     * Loads all movies in title order into a compact columnar store (no {@link Movie}
+     * object per row), for large tables and scans.
+     *
+     * @param fetchSize rows fetched per round trip (must be &gt; 0)
+     * @return a new store holding every movie
+     * @throws SQLException if a database access error occurs
+     */
+    public MovieColumns readAllColumns(int fetchSize) throws SQLException {
+        return traced("readAllColumns", () -> dao.loadColumns(fetchSize));
+    }
+
+    /**
+     * Streams all movies in title order without materializing the full list.
+     * <p>The stream holds a database connection and must be closed by the caller.</p>
+     *
+     * @param fetchSize rows fetched per round trip (must be &gt; 0)
+     * @return a lazily populated stream of movies
+     * @throws SQLException if the query cannot be started
+     */
+    public Stream<Movie> streamAll(int fetchSize) throws SQLException {
+        return dao.streamAll(fetchSize);
+    }
+
+    /**
+     * Visits every movie in title order, one row at a time, in bounded memory.
+     *
+     * @param fetchSize rows fetched per round trip (must be &gt; 0)
+     * @param consumer  callback invoked for each movie (non-null)
+     * @throws SQLException             if a database access error occurs
+     * @throws IllegalArgumentException if {@code consumer} is null
+     */
+    public void forEachMovie(int fetchSize, Consumer<Movie> consumer) throws SQLException {
+        if (consumer == null) throw new IllegalArgumentException("consumer cannot be null");
+        traced("forEachMovie", () -> {
+            try (Stream<Movie> s = dao.streamAll(fetchSize)) {
+                s.forEach(consumer);
+            } catch (UncheckedSQLException e) {
+                throw e.getCause();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Fetches one page of movies in {@code (title, movie_id)} order using keyset pagination.
+     *
+     * @param after last movie of the previous page, or {@code null} for the first page
+     * @param limit page size (must be &gt; 0)
+     * @return a non-null list of at most {@code limit} movies
+     * @throws SQLException             if a database access error occurs
+     * @throws IllegalArgumentException if {@code limit} is not positive
+     */
+    public List<Movie> readPage(Movie after, int limit) throws SQLException {
+        return traced("readPage", () -> {
+            if (after == null) return dao.findPage(null, null, limit);
+            return dao.findPage(after.getTitle(), after.getMovieId(), limit);
+        });
     }
 
     /**
@@ -114,22 +309,71 @@ public class MovieService {
         if (id == null || id.isBlank()) {
             throw new IllegalArgumentException("id cannot be empty");
         }
-        return dao.findById(id.trim());
+        return traced("readById", () -> dao.findById(id.trim()));
     }
 
     /**
      * Updates an existing movie (matched by the entity's primary key).
+     * <p>The DAO advances the movie's version before it is indexed, so movies later served
+     * from the search index carry the stored version.</p>
      *
      * @param movie updated movie data (must be valid and contain a primary key)
      * @throws SQLException             if the update fails or no row is affected
      * @throws IllegalArgumentException if validation fails
      */
     public void update(Movie movie) throws SQLException {
-        validateMovie(movie);
-        boolean ok = dao.update(movie);
-        if (!ok) {
-            throw new SQLException("Movie ID not found: " + movie.getMovieId());
-        }
+        traced("update", () -> {
+            validateMovie(movie);
+            boolean ok = dao.update(movie);
+            if (!ok) {
+                throw new SQLException("Movie ID not found: " + movie.getMovieId());
+            }
+            recordWrite(movie, false);
+            return null;
+        });
+    }
+
+    /**
+     * Updates a movie only if nobody changed it since it was read (optimistic locking).
+     * <p>The version check is part of the DAO's single update statement, so no lock is held
+     * while the user edits. On success the movie's version is advanced.</p>
+     *
+     * @param movie updated movie data carrying the version it was read at
+     * @throws StaleMovieException      if the stored movie changed since it was read
+     * @throws SQLException             if the movie no longer exists or the update fails
+     * @throws IllegalArgumentException if validation fails
+     */
+    public void updateIfUnchanged(Movie movie) throws SQLException {
+        traced("updateIfUnchanged", () -> {
+            validateMovie(movie);
+            if (!dao.updateIfUnchanged(movie)) {
+                String id = movie.getMovieId().trim();
+                if (dao.findById(id).isEmpty()) {
+                    throw new SQLException("Movie ID not found: " + id);
+                }
+                throw new StaleMovieException(id, movie.getVersion());
+            }
+            recordWrite(movie, false);
+            return null;
+        });
+    }
+
+    /**
+     * Creates a movie, or replaces the existing one with the same ID, in a single DAO call
+     * (no existence check first).
+     *
+     * @param movie movie to store (must be non-null and valid)
+     * @return {@code true} if the DAO reported a new row; {@code false} if one was replaced
+     * @throws SQLException             if the write fails at the DAO layer
+     * @throws IllegalArgumentException if validation fails
+     */
+    public boolean upsert(Movie movie) throws SQLException {
+        return traced("upsert", () -> {
+            validateMovie(movie);
+            boolean inserted = dao.upsert(movie);
+            recordWrite(movie, inserted && upsertReportsInserts);
+            return inserted;
+        });
     }
 
     /**
@@ -144,42 +388,463 @@ public class MovieService {
         if (id == null || id.isBlank()) {
             throw new IllegalArgumentException("id cannot be empty");
         }
-        return dao.delete(id.trim());
+        return traced("deleteById", () -> {
+            boolean deleted = dao.delete(id.trim());
+            if (deleted) recordDelete(id);
+            return deleted;
+        });
+    }
+
+    /**
+     * Mirrors an applied write into the search index and the running statistics. The
+     * previous version comes from the index's own swap, so nothing is read from the
+     * database and concurrent writers of one ID never subtract the same version twice.
+     * When the index cannot tell (cold, or the ID unknown to it) an asynchronous
+     * reconcile is requested instead.
+     *
+     * @param m       written movie
+     * @param created {@code true} if the row is known not to have existed before
+     */
+    private void recordWrite(Movie m, boolean created) {
+        Movie before = searchIndex.put(m);
+        if (before != null) stats.replaced(before, m);
+        else if (created) stats.added(m);
+        else requestReconcile();
     }
 
     /**
-     * Performs a case-insensitive title search via a custom DAO method.
+     * Mirrors an applied delete into the search index and the running statistics.
+     *
+     * @param id deleted movie ID
+     */
+    private void recordDelete(String id) {
+        Movie before = searchIndex.remove(id);
+        if (before != null) stats.removed(before);
+        else requestReconcile();
+    }
+
+    /**
+     * Performs a case-insensitive title search.
+     * <p>Answered from the in-memory trigram index once {@link #warmSearchIndex(int)} has run;
+     * falls back to the DAO's SQL search while the index is cold. Both match the fragment
+     * literally; only the SQL path applies the column collation (accents), see
+     * {@link TitleSearchIndex}.</p>
      *
      * @param titleFragment partial title text to search
      * @return a non-null list of matches (possibly empty)
-     * @throws SQLException         if a database access error occurs
-     * @throws IllegalStateException if the configured DAO does not support this operation
+     * @throws SQLException if a database access error occurs
      */
     public List<Movie> searchByTitle(String titleFragment) throws SQLException {
-        if (!(dao instanceof MysqlMovieDao)) {
-            throw new IllegalStateException("searchByTitle only implemented in MysqlMovieDao");
+        if (titleFragment == null || titleFragment.isBlank()) {
+            throw new IllegalArgumentException("Title fragment cannot be empty");
+        }
+        return traced("searchByTitle", () -> {
+            List<Movie> hits = searchIndex.searchTitle(titleFragment);
+            if (hits != null) return hits;
+            return dao.searchByTitle(titleFragment);
+        });
+    }
+
+    /**
+     * Keyset-paginated title search.
+     *
+     * @param titleFragment partial title text to search
+     * @param after         last movie of the previous page, or {@code null} for the first page
+     * @param limit         page size (must be &gt; 0)
+     * @return a non-null list of at most {@code limit} matches
+     * @throws SQLException if a database access error occurs
+     */
+    public List<Movie> searchByTitlePage(String titleFragment, Movie after, int limit) throws SQLException {
+        return traced("searchByTitlePage", () -> {
+            if (after == null) return dao.searchByTitlePage(titleFragment, null, null, limit);
+            return dao.searchByTitlePage(titleFragment, after.getTitle(), after.getMovieId(), limit);
+        });
+    }
+
+    /**
+     * Case-insensitive director search, served by the in-memory trigram index.
+     *
+     * @param directorFragment partial director name
+     * @return a non-null list of matches ordered by title
+     * @throws IllegalStateException    if the search index has not been warmed up
+     * @throws IllegalArgumentException if {@code directorFragment} is blank
+     */
+    public List<Movie> searchByDirector(String directorFragment) {
+        List<Movie> hits = searchIndex.searchDirector(directorFragment);
+        if (hits == null) throw new IllegalStateException("Search index is not loaded; call warmSearchIndex first");
+        return hits;
+    }
+
+    /**
+     * Ranked full-text search over title, director and genre (MySQL {@code FULLTEXT} index, or
+     * the DAO's own equivalent).
+     *
+     * @param query       search words, or a boolean-mode expression when {@code booleanMode} is set
+     * @param booleanMode {@code true} for {@code IN BOOLEAN MODE} ({@code +word -word prefix* "phrase"})
+     * @param limit       maximum rows to return (must be &gt; 0)
+     * @return a non-null list of matches, most relevant first
+     * @throws SQLException if a database access error occurs or the DAO has no full-text support
+     */
+    public List<Movie> fullTextSearch(String query, boolean booleanMode, int limit) throws SQLException {
+        return traced("fullTextSearch", () -> dao.fullTextSearch(query,
+                booleanMode ? MovieDao.FullTextMode.BOOLEAN : MovieDao.FullTextMode.NATURAL_LANGUAGE,
+                limit));
+    }
+
+    // ---------- SEARCH INDEX ----------
+
+    /**
+     * (Re)builds the in-memory search index from a streaming read of the catalog.
+     * <p>Safe to call from a background thread; searches use SQL until it completes and
+     * concurrent writes through this service are not lost.</p>
+     *
+     * @param fetchSize rows fetched per round trip while loading
+     * @throws SQLException if the catalog cannot be read
+     */
+    public void warmSearchIndex(int fetchSize) throws SQLException {
+        traced("warmSearchIndex", () -> {
+            try (Stream<Movie> s = dao.streamAll(fetchSize)) {
+                searchIndex.rebuild(s);
+            } catch (UncheckedSQLException e) {
+                throw e.getCause();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Brings the search index and running statistics back in line with the database after
+     * rows were written around the service (e.g. {@code LOAD DATA LOCAL INFILE}). Only what
+     * is already loaded is refreshed.
+     *
+     * @param fetchSize rows fetched per round trip while reloading the index
+     * @throws SQLException if the catalog cannot be read
+     */
+    public void resyncAfterExternalWrites(int fetchSize) throws SQLException {
+        if (searchIndex.isReady()) warmSearchIndex(fetchSize);
+        if (stats.isSeeded()) reconcileStatistics();
+    }
+
+    /**
+     * Indicates whether title searches are answered from memory.
+     *
+     * @return {@code true} once the search index is loaded
+     */
+    public boolean isSearchIndexReady() {
+        return searchIndex.isReady();
+    }
+
+    // ---------- BULK OPERATIONS ----------
+
+    /**
+     * Validates and inserts many movies using the DAO's batched bulk path.
+     * <p>All movies are validated before anything is written.</p>
+     *
+     * @param movies movies to create (non-null, each valid)
+     * @return per-row outcome in input order
+     * @throws SQLException             if the bulk operation cannot be started
+     * @throws IllegalArgumentException if any movie fails validation (message includes its index)
+     */
+    public BatchResult createAll(Collection<Movie> movies) throws SQLException {
+        return traced("createAll", () -> {
+            validateAll(movies);
+            BatchResult result = dao.insertAll(movies);
+            recordApplied(movies, result, true);
+            return result;
+        });
+    }
+
+    /**
+     * Validates and updates many movies using the DAO's batched bulk path.
+     *
+     * @param movies movies to update (non-null, each valid)
+     * @return per-row outcome in input order; rows with count 0 were not found
+     * @throws SQLException             if the bulk operation cannot be started
+     * @throws IllegalArgumentException if any movie fails validation (message includes its index)
+     */
+    public BatchResult updateAll(Collection<Movie> movies) throws SQLException {
+        return traced("updateAll", () -> {
+            validateAll(movies);
+            BatchResult result = dao.updateAll(movies);
+            recordApplied(movies, result, false);
+            return result;
+        });
+    }
+
+    /**
+     * Validates and inserts or replaces many movies using the DAO's batched bulk path.
+     *
+     * @param movies movies to store (non-null, each valid)
+     * @return per-row outcome in input order (see {@link MovieDao#upsertAll(Collection)})
+     * @throws SQLException             if the bulk operation cannot be started
+     * @throws IllegalArgumentException if any movie fails validation (message includes its index)
+     */
+    public BatchResult upsertAll(Collection<Movie> movies) throws SQLException {
+        return traced("upsertAll", () -> {
+            validateAll(movies);
+            BatchResult result = dao.upsertAll(movies);
+            int i = 0;
+            for (Movie m : movies) {
+                // 1 = inserted; 2 = replaced, SUCCESS_NO_INFO = unknown (reconciled)
+                if (result.isApplied(i)) recordWrite(m, upsertReportsInserts && result.getRowCount(i) == 1);
+                i++;
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Deletes many movies by ID using the DAO's batched bulk path.
+     *
+     * @param ids IDs to delete (non-null, none blank)
+     * @return per-row outcome in input order; rows with count 0 were not found
+     * @throws SQLException             if the bulk operation cannot be started
+     * @throws IllegalArgumentException if {@code ids} is null or contains a blank ID
+     */
+    public BatchResult deleteAll(Collection<String> ids) throws SQLException {
+        if (ids == null) throw new IllegalArgumentException("ids cannot be null");
+        List<String> trimmed = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            if (id == null || id.isBlank()) throw new IllegalArgumentException("id cannot be empty");
+            trimmed.add(id.trim());
+        }
+        return traced("deleteAll", () -> {
+            BatchResult result = dao.deleteAll(trimmed);
+            for (int i = 0; i < trimmed.size(); i++) {
+                if (result.isApplied(i)) recordDelete(trimmed.get(i));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Mirrors the applied rows of a bulk write into the search index and statistics.
+     *
+     * @param movies  movies in request order
+     * @param result  per-row outcome of the write
+     * @param created see {@link #recordWrite(Movie, boolean)}
+     */
+    private void recordApplied(Collection<Movie> movies, BatchResult result, boolean created) {
+        int i = 0;
+        for (Movie m : movies) {
+            if (result.isApplied(i++)) recordWrite(m, created);
         }
-        return ((MysqlMovieDao) dao).searchByTitle(titleFragment);
     }
 
     // ---------- CUSTOM ACTION ----------
 
     /**
      * Computes the average duration (in minutes) of all movies.
+     * <p>Answered in constant time from the running statistics once {@link #enableStatistics(long)}
+     * has run; otherwise uses {@link MovieDao#summarize()}, which transfers one aggregate row.</p>
      *
      * @return average duration as a {@code double}; returns {@code 0.0} if there are no movies
-     * @throws SQLException if retrieving movies fails
+     * @throws SQLException if the aggregate query fails
      */
     public double averageDuration() throws SQLException {
-        List<Movie> movies = dao.findAll();
-        if (movies.isEmpty()) return 0.0;
-        double total = 0;
-        for (Movie m : movies) total += m.getDurationMinutes();
-        return total / movies.size();
+        if (stats.isSeeded()) return stats.getAverageDuration();
+        return traced("averageDuration", dao::summarize).getAverageDuration();
+    }
+
+    // ---------- RUNNING STATISTICS ----------
+
+    /**
+     * Seeds the running statistics and reconciles them with the database periodically.
+     * Calling it again replaces the schedule.
+     *
+     * @param reconcileIntervalMs reconciliation period in milliseconds (0 disables periodic runs)
+     * @throws SQLException if the initial aggregate queries fail
+     */
+    public void enableStatistics(long reconcileIntervalMs) throws SQLException {
+        if (reconcileIntervalMs < 0) throw new IllegalArgumentException("reconcileIntervalMs cannot be negative");
+        reconcileStatistics();
+        synchronized (this) {
+            if (periodicReconcile != null) periodicReconcile.cancel(false);
+            periodicReconcile = null;
+            ScheduledExecutorService reconciler = reconciler();
+            if (reconcileIntervalMs > 0 && reconciler != null) {
+                periodicReconcile = reconciler.scheduleWithFixedDelay(this::reconcileQuietly,
+                        reconcileIntervalMs, reconcileIntervalMs, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Reloads the running statistics from aggregate queries. Writes made through the service
+     * while the queries run are replayed on top of the result, so it is never discarded.
+     *
+     * @throws SQLException if an aggregate query fails
+     */
+    public void reconcileStatistics() throws SQLException {
+        traced("reconcileStatistics", () -> {
+            long summaryEpoch = stats.beginReconcile();
+            boolean applied = false;
+            try {
+                CatalogSummary summary = dao.summarize();
+                long genreEpoch = stats.epoch();
+                Map<String, Long> genres = dao.countBy(MovieDao.GroupBy.GENRE);
+                long ratingEpoch = stats.epoch();
+                Map<String, Long> ratings = dao.countBy(MovieDao.GroupBy.RATING);
+                stats.reset(summaryEpoch, summary, genreEpoch, genres, ratingEpoch, ratings);
+                applied = true;
+            } finally {
+                if (!applied) stats.abortReconcile();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Returns the running statistics (lock-free, constant-time reads).
+     *
+     * @return statistics; check {@link CatalogStatistics#isSeeded()} before relying on them
+     */
+    public CatalogStatistics statistics() {
+        return stats;
+    }
+
+    /**
+     * Schedules one reconcile on the reconciler thread for writes whose previous version is
+     * unknown. Requests arriving before it starts are coalesced into it; a no-op until the
+     * statistics are seeded.
+     */
+    private void requestReconcile() {
+        if (!stats.isSeeded() || !reconcileRequested.compareAndSet(false, true)) return;
+        ScheduledExecutorService reconciler = reconciler();
+        try {
+            if (reconciler == null) {
+                reconcileRequested.set(false);
+                return;
+            }
+            reconciler.schedule(() -> {
+                reconcileRequested.set(false);
+                reconcileQuietly();
+            }, RECONCILE_DELAY_MS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            reconcileRequested.set(false);   // closed meanwhile
+        }
+    }
+
+    /**
+     * Returns the reconciler thread, creating it on first use.
+     *
+     * @return the executor, or {@code null} once the service is closed
+     */
+    private synchronized ScheduledExecutorService reconciler() {
+        if (closed) return null;
+        if (statsReconciler == null) {
+            statsReconciler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "dms-stats-reconciler");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return statsReconciler;
+    }
+
+    /** Scheduler-friendly {@link #reconcileStatistics()} that logs instead of throwing. */
+    private void reconcileQuietly() {
+        try {
+            reconcileStatistics();
+        } catch (Exception ex) {
+            System.err.println("Statistics reconciliation failed: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Returns catalog-wide aggregates (count, duration min/avg/max, average rating).
+     *
+     * @return catalog summary
+     * @throws SQLException if the aggregate query fails
+     */
+    public CatalogSummary summarize() throws SQLException {
+        return traced("summarize", dao::summarize);
+    }
+
+    /**
+     * Counts movies per genre, decade or director.
+     *
+     * @param groupBy grouping dimension (non-null)
+     * @return map from group key to movie count, ordered by key
+     * @throws SQLException if the aggregate query fails
+     */
+    public Map<String, Long> countBy(MovieDao.GroupBy groupBy) throws SQLException {
+        return traced("countBy", () -> dao.countBy(groupBy));
+    }
+
+    // ---------- FLIGHT RECORDER ----------
+
+    /**
+     * A service operation body that may throw {@link SQLException}.
+     *
+     * @param <T> result type
+     */
+    @FunctionalInterface
+    private interface ServiceCall<T> {
+        T call() throws SQLException;
+    }
+
+    /**
+     * Runs an operation inside a {@code dms.ServiceOperation} flight-recorder event; the
+     * event is only filled in and committed while a JFR recording has it enabled.
+     *
+     * @param operation method name recorded on the event
+     * @param call      the operation body
+     * @param <T>       result type
+     * @return the body's result
+     * @throws SQLException whatever the body throws (recorded as failed)
+     */
+    private static <T> T traced(String operation, ServiceCall<T> call) throws SQLException {
+        final ServiceOperationEvent event = new ServiceOperationEvent();
+        event.begin();
+        T result = null;
+        boolean failed = true;
+        try {
+            result = call.call();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.items = itemCount(result);
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    /** Movies in an operation result: list/map size, applied bulk rows, 1 for a found movie, else 0. */
+    private static long itemCount(Object result) {
+        if (result instanceof Collection) return ((Collection<?>) result).size();
+        if (result instanceof Map) return ((Map<?, ?>) result).size();
+        if (result instanceof MovieColumns) return ((MovieColumns) result).size();
+        if (result instanceof BatchResult) return ((BatchResult) result).getAppliedCount();
+        if (result instanceof Optional) return ((Optional<?>) result).isPresent() ? 1 : 0;
+        return 0;
     }
 
     // ---------- VALIDATION ----------
 
+    /**
+     * Validates every movie of a bulk request.
+     *
+     * @param movies movies to validate
+     * @throws IllegalArgumentException if the collection is null or any movie is invalid
+     */
+    private static void validateAll(Collection<Movie> movies) {
+        if (movies == null) throw new IllegalArgumentException("movies cannot be null");
+        int i = 0;
+        for (Movie m : movies) {
+            try {
+                validateMovie(m);
+            } catch (IllegalArgumentException iae) {
+                throw new IllegalArgumentException("Row " + i + ": " + iae.getMessage(), iae);
+            }
+            i++;
+        }
+    }
+
     /**
      * Validates required fields and value ranges according to database constraints.
      * <p>
@@ -194,10 +859,13 @@ public class MovieService {
      *   <li>{@code rating}: 0.0..10.0</li>
      * </ul>
      *
+     * <p>Stateless and thread-safe, so bulk paths (e.g. {@link MovieImporter}) can call it
+     * from several threads.</p>
+     *
      * @param m movie to validate
      * @throws IllegalArgumentException if any constraint is violated
      */
-    private void validateMovie(Movie m) {
+    public static void validateMovie(Movie m) {
         if (m == null) throw new IllegalArgumentException("Movie cannot be null");
         if (m.getMovieId() == null || m.getMovieId().trim().isEmpty())
             throw new IllegalArgumentException("Movie ID cannot be empty");
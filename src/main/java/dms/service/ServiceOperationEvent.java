@@ -0,0 +1,35 @@
+package dms.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight-recorder event for one {@link MovieService} operation, including validation,
+ * search-index and statistics work around its DAO calls (recorded as nested
+ * {@code dms.DaoCall} events).
+ *
+ * <p><b>Author:</b> Luis Augusto Monserratt Alvarado</p>
+ * <p><b>Version:</b> 1.1</p>
+ */
+@Name("dms.ServiceOperation")
+@Label("Service Operation")
+@Category({"DMS", "Service"})
+@Description("MovieService method call")
+@StackTrace(false)
+final class ServiceOperationEvent extends Event {
+
+    @Label("Operation")
+    @Description("MovieService method name")
+    String operation;
+
+    @Label("Items")
+    @Description("Movies returned or applied, 0 when the result is not a collection")
+    long items;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,49 @@
+package dms.service;
+
+import java.sql.SQLException;
+
+/**
+ * Thrown by {@link MovieService#updateIfUnchanged(dms.model.Movie)} when the stored movie was
+ * changed by someone else after the caller read it (its row version moved on).
+ * <p>The edit was not applied; re-read the movie and apply the change again.</p>
+ *
+ * <p><b>Author:</b> Luis Augusto Monserratt Alvarado</p>
+ * <p><b>Version:</b> 1.1</p>
+ */
+public class StaleMovieException extends SQLException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String movieId;
+    private final long expectedVersion;
+
+    /**
+     * Creates the exception.
+     *
+     * @param movieId         ID of the movie that was edited concurrently
+     * @param expectedVersion version the caller's edit was based on
+     */
+    public StaleMovieException(String movieId, long expectedVersion) {
+        super("Movie " + movieId + " was changed by another user since version " + expectedVersion);
+        this.movieId = movieId;
+        this.expectedVersion = expectedVersion;
+    }
+
+    /**
+     * Returns the ID of the movie that was edited concurrently.
+     *
+     * @return movie ID
+     */
+    public String getMovieId() {
+        return movieId;
+    }
+
+    /**
+     * Returns the version the rejected edit was based on.
+     *
+     * @return expected row version
+     */
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+}
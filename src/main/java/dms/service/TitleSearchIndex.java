@@ -0,0 +1,418 @@
+package dms.service;
+
+import dms.model.Movie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram (3-gram) inverted index for case-insensitive substring search
+ * over movie titles and directors.
+ *
+ * <p><b>How it works:</b></p>
+ * <ul>
+ *   <li>Every lower-cased title/director is split into overlapping 3-character grams;
+ *       each gram maps to a sorted posting list of document numbers.</li>
+ *   <li>A query of 3+ characters intersects the posting lists of its grams (smallest first)
+ *       and verifies the surviving candidates with {@link String#contains}. Shorter queries
+ *       scan the lower-cased strings directly.</li>
+ *   <li>Updates append a new document and tombstone the old one; the index compacts itself
+ *       when tombstones outnumber live documents.</li>
+ * </ul>
+ *
+ * <p>The index starts <i>cold</i>; {@link #rebuild(Stream)} loads it from a stream of movies.
+ * Writes made while a rebuild runs are queued and replayed afterwards.</p>
+ *
+ * <p><b>Matching vs. the SQL fallback:</b> fragments match literally after
+ * {@link Locale#ROOT} lower-casing. The SQL path ({@code LIKE ... ESCAPE}) also treats
+ * {@code %} and {@code _} literally, but compares with the column's collation: with MySQL's
+ * default accent-insensitive collation "e" matches "é" and "ss" may match "ß" there, not
+ * here. Results for such queries differ between a cold and a warm index.</p>
+ *
+ * <p><b>Author:</b> Luis Augusto Monserratt Alvarado</p>
+ * <p><b>Version:</b> 1.1</p>
+ */
+public class TitleSearchIndex {
+
+    /** Result order, matching the SQL {@code ORDER BY title, movie_id}. */
+    private static final Comparator<Movie> RESULT_ORDER =
+            Comparator.comparing(Movie::getTitle, String.CASE_INSENSITIVE_ORDER).thenComparing(Movie::getMovieId);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Active index data; {@code null} while cold. Guarded by {@link #lock}. */
+    private Data data;
+
+    /** Writes received while a rebuild is running (replayed after it finishes); guarded by {@link #lock}. */
+    private List<PendingWrite> pending;
+
+    // ---------- LIFECYCLE ----------
+
+    /**
+     * Indicates whether the index has been loaded and can answer queries.
+     *
+     * @return {@code true} once a {@link #rebuild(Stream)} has completed
+     */
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return data != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the index contents with the given movies. The stream is consumed outside
+     * the lock, so searches keep using the previous data (or the SQL fallback) meanwhile.
+     *
+     * @param movies movies to index (the stream is consumed, not closed)
+     */
+    public void rebuild(Stream<Movie> movies) {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        final Data fresh = new Data();
+        try {
+            movies.forEach(m -> fresh.add(copy(m)));
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+        lock.writeLock().lock();
+        try {
+            for (PendingWrite w : pending) {
+                if (w.movie == null) fresh.remove(w.movieId);
+                else fresh.put(w.movie);
+            }
+            pending = null;
+            data = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Drops all data and returns to the cold state. */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            data = null;
+            pending = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed (live) movies.
+     *
+     * @return live document count, 0 when cold
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return data == null ? 0 : data.live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------- WRITES ----------
+
+    /**
+     * Inserts or replaces a movie (matched by ID). Ignored while the index is cold.
+     * <p>The replaced movie is returned from the same critical section, so concurrent writers
+     * of one ID each see the version they replaced, never the same one twice.</p>
+     *
+     * @param movie movie to index (non-null)
+     * @return a copy of the movie it replaced, or {@code null} if new or the index is cold
+     */
+    public Movie put(Movie movie) {
+        if (movie == null) throw new IllegalArgumentException("movie cannot be null");
+        final Movie stored = copy(movie);
+        final Movie previous;
+        lock.writeLock().lock();
+        try {
+            if (pending != null) pending.add(new PendingWrite(stored.getMovieId(), stored));
+            previous = (data == null) ? null : data.put(stored);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return previous == null ? null : copy(previous);
+    }
+
+    /**
+     * Removes a movie by ID. Ignored while the index is cold.
+     *
+     * @param movieId ID to remove
+     * @return a copy of the removed movie, or {@code null} if unknown or the index is cold
+     */
+    public Movie remove(String movieId) {
+        if (movieId == null) return null;
+        final String id = movieId.trim();
+        final Movie previous;
+        lock.writeLock().lock();
+        try {
+            if (pending != null) pending.add(new PendingWrite(id, null));
+            previous = (data == null) ? null : data.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return previous == null ? null : copy(previous);
+    }
+
+    // ---------- QUERIES ----------
+
+    /**
+     * Returns the indexed version of a movie.
+     *
+     * @param movieId movie ID
+     * @return a copy of the indexed movie, or {@code null} if unknown or the index is cold
+     */
+    public Movie get(String movieId) {
+        if (movieId == null) return null;
+        lock.readLock().lock();
+        try {
+            if (data == null) return null;
+            Integer doc = data.byId.get(movieId.trim());
+            return doc == null ? null : copy(data.docs.get(doc));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds movies whose title contains {@code fragment}, ignoring case.
+     *
+     * @param fragment text to look for (trimmed; must not be blank)
+     * @return matches ordered by title then ID, or {@code null} if the index is cold
+     */
+    public List<Movie> searchTitle(String fragment) {
+        return search(fragment, d -> d.titles);
+    }
+
+    /**
+     * Finds movies whose director contains {@code fragment}, ignoring case.
+     *
+     * @param fragment text to look for (trimmed; must not be blank)
+     * @return matches ordered by title then ID, or {@code null} if the index is cold
+     */
+    public List<Movie> searchDirector(String fragment) {
+        return search(fragment, d -> d.directors);
+    }
+
+    /**
+     * Shared query path.
+     *
+     * @param fragment raw query
+     * @param field    selects the field index to query
+     * @return matches, or {@code null} when cold
+     */
+    private List<Movie> search(String fragment, Function<Data, FieldIndex> field) {
+        if (fragment == null || fragment.isBlank()) {
+            throw new IllegalArgumentException("Search fragment cannot be empty");
+        }
+        final String q = fragment.trim().toLowerCase(Locale.ROOT);
+        final List<Movie> out = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (data == null) return null;
+            for (int doc : field.apply(data).match(q)) {
+                out.add(copy(data.docs.get(doc)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        out.sort(RESULT_ORDER);
+        return out;
+    }
+
+    // ---------- HELPERS ----------
+
+    /**
+     * Defensive copy so indexed state cannot be changed by callers.
+     *
+     * @param m movie
+     * @return independent copy
+     */
+    private static Movie copy(Movie m) {
+        final Movie c = new Movie(m.getMovieId(), m.getTitle(), m.getDirector(), m.getReleaseYear(),
+                m.getDurationMinutes(), m.getGenre(), m.getRating());
+        c.setVersion(m.getVersion());
+        return c;
+    }
+
+    /**
+     * Packs three characters into one key.
+     *
+     * @param s text
+     * @param i start index
+     * @return 48-bit gram key
+     */
+    private static long gram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    // ---------- INTERNALS ----------
+
+    /** A write queued during a rebuild; {@code movie == null} means delete. */
+    private static final class PendingWrite {
+        final String movieId;
+        final Movie movie;
+
+        PendingWrite(String movieId, Movie movie) {
+            this.movieId = movieId;
+            this.movie = movie;
+        }
+    }
+
+    /** All documents plus one inverted index per searchable field. */
+    private static final class Data {
+        final ArrayList<Movie> docs = new ArrayList<>();
+        final Map<String, Integer> byId = new HashMap<>();
+        final FieldIndex titles = new FieldIndex();
+        final FieldIndex directors = new FieldIndex();
+        int live;
+
+        Movie add(Movie m) {
+            Integer old = byId.get(m.getMovieId());
+            Movie previous = null;
+            if (old != null) {
+                previous = docs.get(old);
+                tombstone(old);
+            }
+            int doc = docs.size();
+            docs.add(m);
+            byId.put(m.getMovieId(), doc);
+            titles.add(doc, m.getTitle());
+            directors.add(doc, m.getDirector());
+            live++;
+            return previous;
+        }
+
+        Movie put(Movie m) {
+            Movie previous = add(m);
+            compactIfNeeded();
+            return previous;
+        }
+
+        Movie remove(String id) {
+            Integer doc = byId.remove(id);
+            if (doc == null) return null;
+            Movie previous = docs.get(doc);
+            tombstone(doc);
+            compactIfNeeded();
+            return previous;
+        }
+
+        private void tombstone(int doc) {
+            docs.set(doc, null);
+            titles.lowered.set(doc, null);
+            directors.lowered.set(doc, null);
+            live--;
+        }
+
+        /** Rebuilds postings once dead documents outnumber live ones. */
+        private void compactIfNeeded() {
+            if (docs.size() < 1024 || docs.size() - live <= live) return;
+            Data fresh = new Data();
+            for (Movie m : docs) if (m != null) fresh.add(m);
+            docs.clear();
+            docs.addAll(fresh.docs);
+            byId.clear();
+            byId.putAll(fresh.byId);
+            titles.replaceWith(fresh.titles);
+            directors.replaceWith(fresh.directors);
+            live = fresh.live;
+        }
+    }
+
+    /** Trigram postings and lower-cased values of one field. */
+    private static final class FieldIndex {
+        Map<Long, IntList> postings = new HashMap<>();
+        ArrayList<String> lowered = new ArrayList<>();
+
+        void add(int doc, String value) {
+            String v = (value == null) ? "" : value.toLowerCase(Locale.ROOT);
+            lowered.add(v);
+            for (int i = 0; i + 3 <= v.length(); i++) {
+                IntList list = postings.computeIfAbsent(gram(v, i), k -> new IntList());
+                list.addIfLast(doc);
+            }
+        }
+
+        void replaceWith(FieldIndex other) {
+            postings = other.postings;
+            lowered = other.lowered;
+        }
+
+        int[] match(String q) {
+            if (q.length() < 3) {
+                IntList out = new IntList();
+                for (int doc = 0; doc < lowered.size(); doc++) {
+                    String v = lowered.get(doc);
+                    if (v != null && v.contains(q)) out.addIfLast(doc);
+                }
+                return out.toArray();
+            }
+            Set<Long> grams = new HashSet<>();
+            for (int i = 0; i + 3 <= q.length(); i++) grams.add(gram(q, i));
+            IntList[] lists = new IntList[grams.size()];
+            int k = 0;
+            for (Long g : grams) {
+                IntList l = postings.get(g);
+                if (l == null) return new int[0];
+                lists[k++] = l;
+            }
+            Arrays.sort(lists, Comparator.comparingInt(l -> l.size));
+
+            IntList out = new IntList();
+            IntList smallest = lists[0];
+            candidates:
+            for (int i = 0; i < smallest.size; i++) {
+                int doc = smallest.values[i];
+                for (int j = 1; j < lists.length; j++) {
+                    if (Arrays.binarySearch(lists[j].values, 0, lists[j].size, doc) < 0) continue candidates;
+                }
+                String v = lowered.get(doc);
+                if (v != null && v.contains(q)) out.addIfLast(doc);
+            }
+            return out.toArray();
+        }
+    }
+
+    /** Growable, ascending list of primitive ints. */
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        /** Appends {@code v} unless it equals the current last element (keeps the list duplicate-free). */
+        void addIfLast(int v) {
+            if (size > 0 && values[size - 1] == v) return;
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = v;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package dms.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link ConnectionPool} against a {@link FakeDriver}: concurrent borrowing,
+ * timeouts, validation, leak detection and the statement cache.
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+class ConnectionPoolTest {
+
+    private FakeDriver driver;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        driver = FakeDriver.register();
+        pool = new ConnectionPool(driver.url(), "user", "pass", 0, 1, 1_000, 60_000, 0);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        pool.close();
+        driver.deregister();
+    }
+
+    /** Prepares {@code sql} on a fresh borrow and closes both again. */
+    private void prepareOnce(String sql) throws SQLException {
+        try (Connection c = pool.borrow(); PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.clearParameters();
+        }
+    }
+
+    /** Replaces the default pool with one using the given settings. */
+    private void reopen(int minIdle, int maxSize, long borrowTimeoutMs, long idleTimeoutMs, long leakThresholdMs) {
+        pool.close();
+        pool = new ConnectionPool(driver.url(), "user", "pass", minIdle, maxSize,
+                borrowTimeoutMs, idleTimeoutMs, leakThresholdMs);
+    }
+
+    // ---------- BORROW / RELEASE ----------
+
+    @Test
+    void concurrentBorrowersNeverExceedMaxSize() throws Exception {
+        reopen(0, 3, 5_000, 60_000, 0);
+        final int threads = 8;
+        final int borrowsPerThread = 200;
+        final AtomicInteger inUse = new AtomicInteger();
+        final AtomicInteger maxInUse = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Throwable> failures = new ArrayList<>();
+        final List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread w = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < borrowsPerThread; i++) {
+                        try (Connection c = pool.borrow()) {
+                            maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+                            c.getAutoCommit();
+                            inUse.decrementAndGet();
+                        }
+                    }
+                } catch (Exception ex) {
+                    synchronized (failures) {
+                        failures.add(ex);
+                    }
+                }
+            });
+            workers.add(w);
+            w.start();
+        }
+        start.countDown();
+        for (Thread w : workers) w.join();
+
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertTrue(maxInUse.get() <= 3);
+        assertTrue(driver.connectionsOpened.get() <= 3);
+        ConnectionPool.Stats stats = pool.getStats();
+        assertEquals(threads * borrowsPerThread, stats.getBorrows());
+        assertEquals(0, stats.getActive());
+        assertEquals(stats.getTotal(), stats.getIdle());
+    }
+
+    @Test
+    void borrowTimesOutWhenPoolIsExhausted() throws SQLException {
+        reopen(0, 1, 100, 60_000, 0);
+        try (Connection held = pool.borrow()) {
+            assertFalse(held.isClosed());
+            long start = System.nanoTime();
+            assertThrows(SQLException.class, pool::borrow);
+            assertTrue(System.nanoTime() - start >= 90_000_000L);
+        }
+        assertEquals(1, pool.getStats().getTimeouts());
+        pool.borrow().close();   // usable again once returned
+    }
+
+    @Test
+    void waitingBorrowerGetsTheReturnedConnection() throws Exception {
+        reopen(0, 1, 5_000, 60_000, 0);
+        Connection held = pool.borrow();
+        Thread returner = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+                held.close();
+            } catch (Exception ignore) {
+                // the assertion below fails instead
+            }
+        });
+        returner.start();
+        try (Connection c = pool.borrow()) {
+            assertFalse(c.isClosed());
+        }
+        returner.join();
+        assertEquals(1, driver.connectionsOpened.get());
+    }
+
+    @Test
+    void returnedProxyRejectsFurtherUse() throws SQLException {
+        Connection c = pool.borrow();
+        c.close();
+        assertTrue(c.isClosed());
+        assertThrows(SQLException.class, c::getAutoCommit);
+    }
+
+    @Test
+    void brokenIdleConnectionIsReplacedOnBorrow() throws SQLException {
+        pool.borrow().close();
+        driver.connections.get(0).valid = false;
+        try (Connection c = pool.borrow()) {
+            c.getAutoCommit();
+        }
+        assertEquals(2, driver.connectionsOpened.get());
+        assertEquals(1, pool.getStats().getDestroyed());
+        assertEquals(1, pool.getStats().getTotal());
+    }
+
+    @Test
+    void slowPhysicalCloseDoesNotBlockBorrowers() throws Exception {
+        reopen(0, 2, 5_000, 1, 0);
+        Connection a = pool.borrow();
+        Connection b = pool.borrow();
+        a.close();
+        b.close();
+        Thread.sleep(5);   // both idle longer than the 1 ms idle timeout
+        driver.closeDelayMs = 500;
+        Thread evictor = new Thread(pool::housekeep);
+        evictor.start();
+        while (pool.getStats().getIdle() > 0) Thread.onSpinWait();
+
+        long start = System.nanoTime();
+        pool.borrow().close();
+        long waitedMs = (System.nanoTime() - start) / 1_000_000;
+        evictor.join();
+        assertTrue(waitedMs < 250, "borrow waited " + waitedMs + " ms behind a socket close");
+        assertEquals(2, pool.getStats().getDestroyed());
+    }
+
+    // ---------- LEAK DETECTION ----------
+
+    @Test
+    void leakDetectionIsOffByDefault() throws Exception {
+        assertEquals(0, ConnectionPool.DEFAULT_LEAK_THRESHOLD_MS);
+        try (Connection c = pool.borrow()) {
+            assertFalse(c.isClosed());
+            Thread.sleep(5);
+            pool.housekeep();
+        }
+        assertEquals(0, pool.getStats().getLeaks());
+    }
+
+    @Test
+    void connectionHeldPastThresholdIsReportedOnce() throws Exception {
+        reopen(0, 1, 1_000, 60_000, 1);
+        try (Connection c = pool.borrow()) {
+            assertFalse(c.isClosed());
+            Thread.sleep(5);
+            pool.housekeep();
+            pool.housekeep();
+        }
+        assertEquals(1, pool.getStats().getLeaks());
+        try (Connection c = pool.borrow()) {
+            assertFalse(c.isClosed());
+            pool.housekeep();   // borrowed just now
+        }
+        assertEquals(1, pool.getStats().getLeaks());
+    }
+
+    // ---------- STATEMENT CACHE ----------
+
+    @Test
+    void statementIsReusedAcrossBorrows() throws SQLException {
+        prepareOnce("SELECT 1");
+        prepareOnce("SELECT 1");
+        prepareOnce("SELECT 1");
+
+        ConnectionPool.Stats stats = pool.getStats();
+        assertEquals(2, stats.getStatementHits());
+        assertEquals(1, stats.getStatementMisses());
+        assertEquals(1, driver.statementsPrepared.get());
+        assertTrue(driver.statementsClosed.isEmpty());
+    }
+
+    @Test
+    void sameSqlTwiceInOneBorrowGetsAnUncachedStatement() throws SQLException {
+        try (Connection c = pool.borrow()) {
+            PreparedStatement first = c.prepareStatement("SELECT 1");
+            PreparedStatement second = c.prepareStatement("SELECT 1");
+            assertNotSame(first, second);
+            second.close();
+            assertEquals(List.of("SELECT 1"), driver.statementsClosed);   // the uncached one
+            first.close();
+        }
+        prepareOnce("SELECT 1");
+        assertEquals(1, pool.getStats().getStatementHits());
+        assertEquals(2, pool.getStats().getStatementMisses());
+    }
+
+    @Test
+    void leastRecentlyUsedStatementIsEvicted() throws SQLException {
+        pool.setStatementCacheSize(2);
+        prepareOnce("A");
+        prepareOnce("B");
+        prepareOnce("A");   // B is now least recently used
+        prepareOnce("C");
+
+        assertEquals(1, pool.getStats().getStatementEvictions());
+        assertEquals(List.of("B"), driver.statementsClosed);
+        prepareOnce("A");
+        assertEquals(2, pool.getStats().getStatementHits());
+    }
+
+    @Test
+    void statementEvictedWhileInUseIsClosedByItsHolder() throws SQLException {
+        pool.setStatementCacheSize(1);
+        try (Connection c = pool.borrow()) {
+            PreparedStatement held = c.prepareStatement("A");
+            c.prepareStatement("B").close();   // evicts A, still held
+            assertTrue(driver.statementsClosed.isEmpty());
+            held.close();
+            assertEquals(List.of("A"), driver.statementsClosed);
+        }
+    }
+
+    @Test
+    void unclosedStatementsAreDroppedOnReturn() throws SQLException {
+        try (Connection c = pool.borrow()) {
+            c.prepareStatement("A");
+        }
+        assertEquals(List.of("A"), driver.statementsClosed);
+        prepareOnce("A");
+        assertEquals(0, pool.getStats().getStatementHits());
+    }
+
+    @Test
+    void cachedStatementIsResetBeforeReuse() throws SQLException {
+        try (Connection c = pool.borrow(); PreparedStatement ps = c.prepareStatement("A")) {
+            ps.setFetchSize(500);
+            ps.setMaxRows(10);
+            ps.setQueryTimeout(5);
+        }
+        try (Connection c = pool.borrow(); PreparedStatement ps = c.prepareStatement("A")) {
+            assertEquals(0, ps.getFetchSize());
+            assertEquals(0, ps.getMaxRows());
+            assertEquals(0, ps.getQueryTimeout());
+        }
+        assertEquals(1, pool.getStats().getStatementHits());
+    }
+}
@@ -0,0 +1,234 @@
+package dms.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * In-process {@link Driver} for pool tests. Connections and statements are proxies that
+ * only record what was done to them; each instance answers its own {@link #url()}.
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+final class FakeDriver implements Driver {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final String url = "jdbc:dms-fake:" + SEQUENCE.incrementAndGet();
+
+    final AtomicInteger connectionsOpened = new AtomicInteger();
+    final AtomicInteger connectionsClosed = new AtomicInteger();
+    final AtomicInteger statementsPrepared = new AtomicInteger();
+    final List<String> statementsClosed = new CopyOnWriteArrayList<>();
+    final List<FakeConnection> connections = new CopyOnWriteArrayList<>();
+
+    /** Delay of every {@code connect} call, in milliseconds. */
+    volatile long connectDelayMs;
+
+    /** When set, {@code connect} throws. */
+    volatile boolean failConnect;
+
+    /** Delay of every physical {@code Connection.close()}, in milliseconds. */
+    volatile long closeDelayMs;
+
+    /**
+     * Creates a driver and registers it with {@link DriverManager}.
+     *
+     * @return the registered driver
+     * @throws SQLException if registration fails
+     */
+    static FakeDriver register() throws SQLException {
+        FakeDriver d = new FakeDriver();
+        DriverManager.registerDriver(d);
+        return d;
+    }
+
+    /** Removes the driver from {@link DriverManager}. */
+    void deregister() throws SQLException {
+        DriverManager.deregisterDriver(this);
+    }
+
+    /** @return the URL this driver accepts (options may be appended after {@code ?}) */
+    String url() {
+        return url;
+    }
+
+    @Override
+    public Connection connect(String jdbcUrl, Properties info) throws SQLException {
+        if (!acceptsURL(jdbcUrl)) return null;
+        pause(connectDelayMs);
+        if (failConnect) throw new SQLException("Connection refused");
+        connectionsOpened.incrementAndGet();
+        FakeConnection c = new FakeConnection();
+        connections.add(c);
+        return c.proxy;
+    }
+
+    @Override
+    public boolean acceptsURL(String jdbcUrl) {
+        return jdbcUrl != null && (jdbcUrl.equals(url) || jdbcUrl.startsWith(url + "?"));
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String jdbcUrl, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    /**
+     * Sleeps like a slow network call.
+     *
+     * @param ms milliseconds (0 returns at once)
+     * @throws SQLException if interrupted
+     */
+    private static void pause(long ms) throws SQLException {
+        if (ms <= 0) return;
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("interrupted", ie);
+        }
+    }
+
+    /**
+     * Value a proxy returns for methods it does not model.
+     *
+     * @param type return type
+     * @return zero, {@code false} or {@code null}
+     */
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        return null;
+    }
+
+    /** A fake physical connection. */
+    final class FakeConnection implements InvocationHandler {
+        final Connection proxy = (Connection) Proxy.newProxyInstance(
+                FakeDriver.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+        volatile boolean closed;
+        volatile boolean valid = true;
+        private boolean autoCommit = true;
+
+        @Override
+        public Object invoke(Object p, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        pause(closeDelayMs);
+                        closed = true;
+                        connectionsClosed.incrementAndGet();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "isValid":
+                    return !closed && valid;
+                case "getAutoCommit":
+                    return autoCommit;
+                case "setAutoCommit":
+                    autoCommit = (Boolean) args[0];
+                    return null;
+                case "prepareStatement":
+                    if (closed) throw new SQLException("Connection is closed");
+                    statementsPrepared.incrementAndGet();
+                    return new FakeStatement((String) args[0]).proxy;
+                case "equals":
+                    return p == args[0];
+                case "hashCode":
+                    return System.identityHashCode(p);
+                case "toString":
+                    return "FakeConnection@" + Integer.toHexString(System.identityHashCode(p));
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        }
+    }
+
+    /** A fake prepared statement. */
+    final class FakeStatement implements InvocationHandler {
+        final PreparedStatement proxy = (PreparedStatement) Proxy.newProxyInstance(
+                FakeDriver.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, this);
+        final String sql;
+        private boolean closed;
+        private int fetchSize;
+        private int maxRows;
+        private int queryTimeout;
+
+        FakeStatement(String sql) {
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object p, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        statementsClosed.add(sql);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getFetchSize":
+                    return fetchSize;
+                case "setFetchSize":
+                    fetchSize = (Integer) args[0];
+                    return null;
+                case "getMaxRows":
+                    return maxRows;
+                case "setMaxRows":
+                    maxRows = (Integer) args[0];
+                    return null;
+                case "getQueryTimeout":
+                    return queryTimeout;
+                case "setQueryTimeout":
+                    queryTimeout = (Integer) args[0];
+                    return null;
+                case "equals":
+                    return p == args[0];
+                case "hashCode":
+                    return System.identityHashCode(p);
+                case "toString":
+                    return "FakeStatement[" + sql + "]";
+                default:
+                    if (closed) throw new SQLException("Statement is closed");
+                    return defaultValue(method.getReturnType());
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package dms.dao;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the SQL-building helpers of {@link MysqlMovieDao} that need no database.
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+class MysqlMovieDaoTest {
+
+    @Test
+    void containsPatternEscapesWildcards() {
+        assertEquals("%matrix%", MysqlMovieDao.containsPattern("matrix"));
+        assertEquals("%100!% pure%", MysqlMovieDao.containsPattern("100% pure"));
+        assertEquals("%a!_b%", MysqlMovieDao.containsPattern("a_b"));
+        assertEquals("%wow!!%", MysqlMovieDao.containsPattern("wow!"));
+    }
+}
@@ -0,0 +1,67 @@
+package dms.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for {@link QueryDeadline}.
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+class QueryDeadlineTest {
+
+    private static long inMillis(long ms) {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ms);
+    }
+
+    private static PreparedStatement statement() throws Exception {
+        FakeDriver driver = new FakeDriver();
+        Connection c = driver.connect(driver.url(), null);
+        return c.prepareStatement("SELECT 1");
+    }
+
+    @Test
+    void remainingTimeIsRoundedUpToWholeSeconds() throws Exception {
+        PreparedStatement ps = statement();
+        QueryDeadline.callBefore(inMillis(2_500), () -> {
+            QueryDeadline.apply(ps);
+            return null;
+        });
+        assertEquals(3, ps.getQueryTimeout());
+    }
+
+    @Test
+    void nestedCallKeepsTheEarlierDeadline() throws Exception {
+        PreparedStatement ps = statement();
+        QueryDeadline.callBefore(inMillis(1_500), () -> QueryDeadline.callBefore(inMillis(60_000), () -> {
+            QueryDeadline.apply(ps);
+            return null;
+        }));
+        assertEquals(2, ps.getQueryTimeout());
+    }
+
+    @Test
+    void noDeadlineLeavesTheStatementAlone() throws Exception {
+        PreparedStatement ps = statement();
+        QueryDeadline.callBefore(inMillis(5_000), () -> null);
+        QueryDeadline.apply(ps);   // deadline was cleared when the call returned
+        assertEquals(0, ps.getQueryTimeout());
+    }
+
+    @Test
+    void passedDeadlineFailsBeforeTheStatementRuns() throws Exception {
+        PreparedStatement ps = statement();
+        assertThrows(SQLTimeoutException.class, () -> QueryDeadline.callBefore(System.nanoTime() - 1, () -> {
+            QueryDeadline.apply(ps);
+            return null;
+        }));
+    }
+}
@@ -0,0 +1,252 @@
+package dms.dao;
+
+import dms.model.Movie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link WriteBehindMovieDao}: failed-flush requeueing, rejection reporting,
+ * row-by-row retry of rolled-back chunks, synchronous inserts and crash replay.
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+class WriteBehindMovieDaoTest {
+
+    /** Large enough that only explicit flushes run during a test. */
+    private static final long NO_TIMED_FLUSH_MS = 3_600_000;
+
+    private Path dir;
+    private Path journal;
+    private ScriptedDao store;
+    private WriteBehindMovieDao dao;
+
+    /** In-memory store that records bulk updates and can fail or reject on demand. */
+    private static final class ScriptedDao extends InMemoryMovieDao {
+        final List<String> updatedIds = new ArrayList<>();
+        Runnable beforeNextUpdateAll;
+        boolean failNextUpdateAll;
+        String rejectUpsertOf;
+        int upsertDeadlocks;
+        int upsertAllCalls;
+
+        @Override
+        public BatchResult updateAll(Collection<Movie> movies) throws SQLException {
+            if (beforeNextUpdateAll != null) {
+                Runnable r = beforeNextUpdateAll;
+                beforeNextUpdateAll = null;
+                r.run();
+            }
+            if (failNextUpdateAll) {
+                failNextUpdateAll = false;
+                throw new SQLTransientConnectionException("connection lost");
+            }
+            for (Movie m : movies) updatedIds.add(m.getMovieId());
+            return super.updateAll(movies);
+        }
+
+        @Override
+        public BatchResult upsertAll(Collection<Movie> movies) throws SQLException {
+            // Like one JDBC chunk: a single bad row rolls back every row with it.
+            upsertAllCalls++;
+            final int[] counts = new int[movies.size()];
+            Arrays.fill(counts, Statement.EXECUTE_FAILED);
+            if (upsertDeadlocks > 0) {
+                upsertDeadlocks--;
+                return new BatchResult(counts, List.of(new SQLException("Deadlock found", "40001", 1213)));
+            }
+            for (Movie m : movies) {
+                if (m.getMovieId().equals(rejectUpsertOf)) {
+                    return new BatchResult(counts,
+                            List.of(new SQLException("Check constraint 'chk_rating' is violated.", "HY000", 3819)));
+                }
+            }
+            int i = 0;
+            for (Movie m : movies) counts[i++] = upsert(m) ? 1 : 2;
+            return new BatchResult(counts, List.of());
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("dms-write-behind-test");
+        journal = dir.resolve("writes.journal");
+        store = new ScriptedDao();
+        dao = new WriteBehindMovieDao(store, journal, 1000, NO_TIMED_FLUSH_MS);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        dao.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private static Movie movie(String id, String title) {
+        return new Movie(id, title, "Director", 2001, 120, "Drama", 7.5);
+    }
+
+    @Test
+    void failedFlushRequeuesAheadOfNewerWrites() throws SQLException {
+        store.insert(movie("A", "A0"));
+        store.insert(movie("B", "B0"));
+        store.insert(movie("C", "C0"));
+        dao.update(movie("A", "A1"));
+        dao.update(movie("B", "B1"));
+
+        // While the failing flush is applying A and B, a newer A and a new C arrive.
+        store.failNextUpdateAll = true;
+        store.beforeNextUpdateAll = () -> {
+            try {
+                dao.update(movie("A", "A2"));
+                dao.update(movie("C", "C1"));
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        };
+        assertThrows(SQLTransientConnectionException.class, dao::flush);
+        assertEquals(3, dao.getPendingCount());
+
+        dao.flush();
+        assertEquals(List.of("A", "B", "C"), store.updatedIds);
+        assertEquals("A2", store.findById("A").get().getTitle());
+        assertEquals("B1", store.findById("B").get().getTitle());
+        assertEquals("C1", store.findById("C").get().getTitle());
+        assertEquals(0, dao.getPendingCount());
+    }
+
+    @Test
+    void rejectedAndMissingWritesAreReported() throws SQLException {
+        final List<String> rejected = new ArrayList<>();
+        final List<String> missing = new ArrayList<>();
+        dao.addRejectionListener((ids, cause) -> (cause == null ? missing : rejected).addAll(ids));
+
+        store.insert(movie("OK", "Fine"));
+        store.rejectUpsertOf = "BAD";
+        dao.upsert(movie("BAD", "Rejected"));
+        dao.upsert(movie("OK", "Still fine"));
+        dao.update(movie("GONE", "Deleted meanwhile"));
+        dao.delete("NEVER");   // deleting a missing row is not a rejection
+        dao.flush();
+
+        assertEquals(List.of("BAD"), rejected);
+        assertEquals(List.of("GONE"), missing);
+        assertEquals(1, dao.getFailedCount());
+        assertTrue(dao.getLastError().getMessage().contains("chk_rating"));
+        assertEquals("Still fine", store.findById("OK").get().getTitle());
+    }
+
+    @Test
+    void oneBadRowDoesNotRejectTheRestOfItsChunk() throws SQLException {
+        final List<String> rejected = new ArrayList<>();
+        dao.addRejectionListener((ids, cause) -> rejected.addAll(ids));
+        store.rejectUpsertOf = "BAD";
+        dao.upsert(movie("G1", "Good"));
+        dao.upsert(movie("G2", "Good"));
+        dao.upsert(movie("BAD", "Rejected"));
+        dao.upsert(movie("G3", "Good"));
+        dao.flush();
+
+        assertEquals(List.of("BAD"), rejected);
+        assertEquals(1, dao.getFailedCount());
+        assertEquals(3, dao.getAppliedCount());
+        for (String id : List.of("G1", "G2", "G3")) assertTrue(store.findById(id).isPresent(), id);
+        assertTrue(store.findById("BAD").isEmpty());
+        assertEquals(0, dao.getPendingCount());
+    }
+
+    @Test
+    void transientChunkFailureIsRequeuedNotRejected() throws SQLException {
+        final List<String> rejected = new ArrayList<>();
+        dao.addRejectionListener((ids, cause) -> rejected.addAll(ids));
+        store.upsertDeadlocks = 1;
+        dao.upsert(movie("A", "A1"));
+        dao.upsert(movie("B", "B1"));
+
+        SQLException ex = assertThrows(SQLException.class, dao::flush);
+        assertEquals(1213, ex.getErrorCode());
+        assertEquals(1, store.upsertAllCalls);   // no row-by-row retry into the deadlock
+        assertEquals(2, dao.getPendingCount());
+        assertTrue(rejected.isEmpty());
+
+        dao.flush();
+        assertEquals("A1", store.findById("A").get().getTitle());
+        assertEquals("B1", store.findById("B").get().getTitle());
+        assertEquals(0, dao.getFailedCount());
+        assertEquals(0, dao.getPendingCount());
+    }
+
+    @Test
+    void insertIsSynchronousAndFailsOnDuplicate() throws SQLException {
+        dao.insert(movie("A", "First"));
+        assertEquals("First", store.findById("A").get().getTitle());
+        assertEquals(0, dao.getPendingCount());
+        assertThrows(SQLIntegrityConstraintViolationException.class, () -> dao.insert(movie("A", "Again")));
+    }
+
+    @Test
+    void insertAppliesPendingWriteForSameIdFirst() throws SQLException {
+        store.insert(movie("A", "Old"));
+        dao.delete("A");
+        dao.insert(movie("A", "New"));
+        assertEquals("New", store.findById("A").get().getTitle());
+        assertEquals(0, dao.getPendingCount());
+    }
+
+    @Test
+    void pendingWritesAreReplayedFromTheJournal() throws Exception {
+        store.insert(movie("A", "Old"));
+        dao.update(movie("A", "Journaled"));
+        dao.delete("B");
+
+        // Simulate a crash: a second instance opens the journal before the first flushes.
+        ScriptedDao restarted = new ScriptedDao();
+        restarted.insert(movie("A", "Old"));
+        restarted.insert(movie("B", "Doomed"));
+        WriteBehindMovieDao recovered = new WriteBehindMovieDao(restarted, journal, 1000, NO_TIMED_FLUSH_MS);
+        try {
+            assertEquals(2, recovered.getPendingCount());
+            recovered.flush();
+            assertEquals("Journaled", restarted.findById("A").get().getTitle());
+            assertTrue(restarted.findById("B").isEmpty());
+        } finally {
+            recovered.close();
+        }
+    }
+
+    @Test
+    void coalescedUpdatesAdvanceTheVersionOnce() throws SQLException {
+        store.insert(movie("A", "v0"));
+        Movie m = store.findById("A").get();
+        m.setTitle("v1");
+        dao.update(m);
+        m.setTitle("v2");
+        dao.update(m);
+        dao.flush();
+        assertEquals(store.findById("A").get().getVersion(), m.getVersion());
+        assertNull(dao.getLastError());
+    }
+}
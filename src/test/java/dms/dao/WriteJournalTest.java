@@ -0,0 +1,143 @@
+package dms.dao;
+
+import dms.dao.WriteJournal.Entry;
+import dms.dao.WriteJournal.Op;
+import dms.model.Movie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link WriteJournal}: replay, torn lines and checkpoints.
+ *
+ * @author Luis
+ * @since 1.1.0
+ */
+class WriteJournalTest {
+
+    private Path dir;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("dms-journal-test");
+        file = dir.resolve("writes.journal");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private static Movie movie(String id, String title, double rating) {
+        return new Movie(id, title, "Director", 2001, 120, "Drama", rating);
+    }
+
+    @Test
+    void replaysEntriesInOrderWithEscapedFields() throws IOException {
+        try (WriteJournal j = new WriteJournal(file)) {
+            j.sync(j.append(Entry.update(movie("M1", "Tab\there\\and\nnewline", 7.125))));
+            j.sync(j.append(Entry.upsert(movie("M2", "Second", 8.0))));
+            j.sync(j.append(Entry.delete("M3")));
+        }
+        try (WriteJournal j = new WriteJournal(file)) {
+            List<Entry> entries = j.readAll();
+            assertEquals(3, entries.size());
+
+            assertEquals(Op.UPDATE, entries.get(0).op);
+            assertEquals("M1", entries.get(0).id);
+            assertEquals("Tab\there\\and\nnewline", entries.get(0).movie.getTitle());
+            assertEquals(7.125, entries.get(0).movie.getRating());
+
+            assertEquals(Op.UPSERT, entries.get(1).op);
+            assertEquals("Second", entries.get(1).movie.getTitle());
+
+            assertEquals(Op.DELETE, entries.get(2).op);
+            assertEquals("M3", entries.get(2).id);
+            assertNull(entries.get(2).movie);
+        }
+    }
+
+    @Test
+    void ignoresTornLastLineAndMalformedLines() throws IOException {
+        try (WriteJournal j = new WriteJournal(file)) {
+            j.sync(j.append(Entry.update(movie("M1", "Complete", 5.0))));
+        }
+        // a line with a bad op code, then a write cut off by a crash (no newline)
+        Files.write(file, "X\tM9\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        Files.write(file, "U\tM2\tCut off".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        try (WriteJournal j = new WriteJournal(file)) {
+            List<Entry> entries = j.readAll();
+            assertEquals(1, entries.size());
+            assertEquals("M1", entries.get(0).id);
+        }
+    }
+
+    @Test
+    void discardBeforeKeepsLaterEntries() throws IOException {
+        try (WriteJournal j = new WriteJournal(file)) {
+            j.append(Entry.delete("A"));
+            long mark = j.append(Entry.delete("B"));
+            j.append(Entry.delete("C"));
+            j.sync(j.position());
+
+            j.discardBefore(mark);
+            List<Entry> left = j.readAll();
+            assertEquals(1, left.size());
+            assertEquals("C", left.get(0).id);
+
+            // positions stay logical: appending and discarding again works on the new file
+            long end = j.append(Entry.delete("D"));
+            assertTrue(end > mark);
+            j.discardBefore(end);
+            assertTrue(j.readAll().isEmpty());
+            assertEquals(0, Files.size(file));
+        }
+    }
+
+    @Test
+    void discardBeforeOldPositionIsNoOp() throws IOException {
+        try (WriteJournal j = new WriteJournal(file)) {
+            long first = j.append(Entry.delete("A"));
+            j.append(Entry.delete("B"));
+            j.discardBefore(first);
+            j.discardBefore(first);   // already discarded
+            j.discardBefore(0);
+            assertEquals(1, j.readAll().size());
+        }
+    }
+
+    @Test
+    void coalescingKeepsInsertAndUpsertKinds() {
+        Entry insertThenUpdate = Entry.insert(movie("A", "Old", 1.0)).then(Entry.update(movie("A", "New", 2.0)));
+        assertEquals(Op.INSERT, insertThenUpdate.op);
+        assertEquals("New", insertThenUpdate.movie.getTitle());
+
+        Entry upsertThenUpdate = Entry.upsert(movie("A", "Old", 1.0)).then(Entry.update(movie("A", "New", 2.0)));
+        assertEquals(Op.UPSERT, upsertThenUpdate.op);
+
+        Entry deleteThenUpdate = Entry.delete("A").then(Entry.update(movie("A", "New", 2.0)));
+        assertEquals(Op.DELETE, deleteThenUpdate.op);
+
+        Entry updateThenDelete = Entry.update(movie("A", "Old", 1.0)).then(Entry.delete("A"));
+        assertEquals(Op.DELETE, updateThenDelete.op);
+    }
+}
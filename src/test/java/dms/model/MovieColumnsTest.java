@@ -0,0 +1,31 @@
+package dms.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link MovieColumns}: rows materialized for editing keep their exact values.
+ *
+ * <p><b>Author:</b> Luis Augusto Monserratt Alvarado</p>
+ * <p><b>Version:</b> 1.1</p>
+ */
+class MovieColumnsTest {
+
+    @Test
+    void toMovieKeepsTheExactRatingAndVersion() {
+        Movie m = new Movie("M1", "Title", "Director", 2001, 120, "Drama", 7.125);
+        m.setVersion(4);
+        MovieColumns columns = MovieColumns.of(List.of(m));
+
+        Movie back = columns.toMovie(0);
+        assertEquals(7.125, back.getRating());
+        assertEquals(4, back.getVersion());
+
+        columns.set(0, new Movie("M1", "Title", "Director", 2001, 120, "Drama", 0.005));
+        assertEquals(0.005, columns.getRating(0));
+        assertEquals(0.005, columns.getAverageRating(), 1e-12);
+    }
+}
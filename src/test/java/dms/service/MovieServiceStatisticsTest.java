@@ -0,0 +1,167 @@
+package dms.service;
+
+import dms.dao.CatalogSummary;
+import dms.dao.InMemoryMovieDao;
+import dms.model.Movie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the running statistics kept by {@link MovieService}: writes during a reconcile,
+ * concurrent updates of one ID, upserts of rows the index does not know and writes while
+ * the search index is cold.
+ *
+ * <p><b>Author:</b> Luis Augusto Monserratt Alvarado</p>
+ * <p><b>Version:</b> 1.1</p>
+ */
+class MovieServiceStatisticsTest {
+
+    private HookedDao dao;
+    private MovieService service;
+
+    /** In-memory store that counts lookups and can run a hook inside the summary query. */
+    private static final class HookedDao extends InMemoryMovieDao {
+        final AtomicInteger findByIdCalls = new AtomicInteger();
+        Runnable duringSummarize;
+
+        @Override
+        public Optional<Movie> findById(String id) {
+            findByIdCalls.incrementAndGet();
+            return super.findById(id);
+        }
+
+        @Override
+        public CatalogSummary summarize() throws SQLException {
+            CatalogSummary summary = super.summarize();
+            if (duringSummarize != null) {
+                Runnable r = duringSummarize;
+                duringSummarize = null;
+                r.run();
+            }
+            return summary;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        dao = new HookedDao();
+        service = new MovieService(dao);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        service.close();
+    }
+
+    private static Movie movie(String id, int duration) {
+        return new Movie(id, "Title " + id, "Director", 2001, duration, "Drama", 7.5);
+    }
+
+    @Test
+    void writesDuringReconcileAreReplayed() throws SQLException {
+        service.create(movie("A", 100));
+        service.enableStatistics(0);
+
+        // Lands after the summary was read, so only the replay can account for it.
+        dao.duringSummarize = () -> {
+            try {
+                service.create(movie("B", 200));
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        };
+        service.reconcileStatistics();
+
+        CatalogStatistics stats = service.statistics();
+        assertEquals(2, stats.getCount());
+        assertEquals(150.0, stats.getAverageDuration(), 1e-9);
+        assertEquals(Long.valueOf(2), stats.getGenreCounts().get("Drama"));
+    }
+
+    @Test
+    void concurrentUpdatesOfOneIdDoNotDoubleCount() throws Exception {
+        service.create(movie("A", 100));
+        service.warmSearchIndex(100);
+        service.enableStatistics(0);
+
+        final int threads = 8;
+        final int updatesPerThread = 200;
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> workers = new ArrayList<>();
+        final List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int base = 1 + t * updatesPerThread;
+            Thread w = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < updatesPerThread; i++) service.update(movie("A", (base + i) % 999 + 1));
+                } catch (Exception ex) {
+                    synchronized (failures) {
+                        failures.add(ex);
+                    }
+                }
+            });
+            workers.add(w);
+            w.start();
+        }
+        start.countDown();
+        for (Thread w : workers) w.join();
+
+        assertTrue(failures.isEmpty(), failures.toString());
+        CatalogStatistics stats = service.statistics();
+        assertEquals(1, stats.getCount());
+        Movie indexed = service.searchByTitle("Title A").get(0);
+        assertEquals(indexed.getDurationMinutes(), stats.getAverageDuration(), 1e-9);
+    }
+
+    @Test
+    void upsertOfRowUnknownToWarmIndexIsNotCountedAsNew() throws Exception {
+        service.create(movie("A", 100));
+        service.warmSearchIndex(100);
+        service.enableStatistics(0);
+        dao.insert(movie("B", 200));   // written by another client
+
+        assertFalse(service.upsert(movie("B", 300)));
+        CatalogStatistics stats = service.statistics();
+        assertEquals(1, stats.getCount());   // not guessed; left to the reconcile
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (stats.getCount() != 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(2, stats.getCount());
+        assertEquals(200.0, stats.getAverageDuration(), 1e-9);
+    }
+
+    @Test
+    void coldIndexWritesReconcileWithoutLookups() throws Exception {
+        service.create(movie("A", 100));
+        service.enableStatistics(0);
+        dao.findByIdCalls.set(0);
+
+        service.update(movie("A", 300));
+        service.deleteById("A");
+        service.create(movie("B", 50));
+        assertEquals(0, dao.findByIdCalls.get());
+
+        CatalogStatistics stats = service.statistics();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (stats.getAverageDuration() != 50.0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(1, stats.getCount());
+        assertEquals(50.0, stats.getAverageDuration(), 1e-9);
+    }
+}